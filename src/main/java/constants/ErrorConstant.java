@@ -35,8 +35,36 @@ public class ErrorConstant {
             System.lineSeparator() + "Deleting 'pulsepilot_data.txt' and 'pulsepilot_hash.txt'. Try running again!" +
             System.lineSeparator() + UiConstant.PARTITION_LINE;
     public static final String DATA_INTEGRITY_ERROR = "Data file integrity compromised. Exiting.";
+    public static final String UNSUPPORTED_VERSION_ERROR = "Data file was saved by a newer version of PulsePilot."
+            + System.lineSeparator() + "Update PulsePilot to open it. Exiting.";
+    public static final String HISTORY_LOAD_ERROR = "Older history could not be loaded as the data file has changed."
+            + System.lineSeparator() + "Restart PulsePilot to load it again.";
+    public static final String PARTIAL_RECOVERY_ERROR = "Data file integrity compromised in %d block(s)."
+            + System.lineSeparator() + "Discarded %d affected entries and recovered the rest.";
+    public static final String JOURNAL_REPLAY_ERROR = "Changes could not be restored from record %d of the journal."
+            + System.lineSeparator() + "The journal was kept as %s.";
+    public static final String SEGMENT_RECOVERY_ERROR = "Data file segment %s integrity compromised."
+            + System.lineSeparator() + "Discarded its %d entries and recovered the rest.";
+    public static final String QUERY_FILE_ERROR = "No saved data found to report on.";
+    public static final String QUERY_FORMAT_ERROR = "Date range reports need a data file saved in the text format "
+            + "with the single file layout.";
+    public static final String QUERY_INTEGRITY_ERROR = "Data file integrity compromised."
+            + System.lineSeparator() + "Start PulsePilot to recover it before running a report.";
+    public static final String INVALID_DATE_RANGE_ERROR = "Start date of range must not be after end date.";
+    public static final String EXPORT_WRITE_ERROR = "Unable to write the export files.";
+    public static final String INVALID_EXPORT_FORMAT_ERROR = "Export format must be either csv or tsv.";
+    public static final String IMPORT_READ_ERROR = "Unable to read the import file.";
+    public static final String INSUFFICIENT_IMPORT_PARAMETERS_ERROR = "File to import is missing! "
+            + "Example input: import /file:runs.csv";
+    public static final String INVALID_IMPORT_FILE_ERROR = "Only .csv and .gpx files can be imported.";
     public static final String MISSING_INTEGRITY_ERROR = "Key files for integrity missing. Exiting.";
     public static final String HASH_ERROR = "Error occurred while processing file hash.";
+    public static final String JOURNAL_WRITE_ERROR = "Error occurred while writing to journal: ";
+    public static final String JOURNAL_READ_ERROR = "Error occurred while reading journal: ";
+    public static final String LOG_READ_ERROR = "Unable to read the log file.";
+    public static final String EVENT_LOG_READ_ERROR = "Unable to read the event log.";
+    public static final String INVALID_LOG_LINE_COUNT_ERROR = "Number of log lines must be a positive integer! "
+            + "Example input: log /tail:50";
 
     // Storage Error for Gym
     public static final String LOAD_GYM_FORMAT_ERROR = LOAD_ERROR + "Format of gym entry is incorrect/corrupted";
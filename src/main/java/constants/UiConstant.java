@@ -20,6 +20,11 @@ public class UiConstant {
     public static final String EMPTY_STRING = "";
     public static final String FULL_STOP = ".";
 
+    // Dates
+    public static final String DATE_PATTERN = "dd-MM-yyyy";
+    public static final String TIME_PATTERN = "HH:mm";
+    public static final int MIN_YEAR = 1967;
+
     // Regex
     public static final String VALID_DATE_REGEX = "^\\d{2}-\\d{2}-\\d{4}$";
     public static final String VALID_TWO_DP_NUMBER_REGEX = "^\\d+\\.\\d{2}$";
@@ -39,16 +44,163 @@ public class UiConstant {
     public static final int DATA_TYPE_INDEX = 0;
     public static final int NAME_INDEX = 1;
     public static final String NAME_LABEL = "NAME";
+    public static final String HEADER_LABEL = "PULSEPILOT";
+    public static final int LEGACY_DATA_FILE_VERSION = 1;
+    public static final int DATA_FILE_VERSION = 2;
+    public static final int HEADER_VERSION_INDEX = 1;
+    public static final int HEADER_COUNTS_INDEX = 2;
     public static final String LOG_FILE_PATH = "./pulsepilot_log.txt";
+    public static final boolean IS_LOG_ASYNC = Boolean.parseBoolean(System.getProperty("pulsepilot.log.async", "true"));
+    public static final int LOG_BUFFER_CAPACITY = Integer.getInteger("pulsepilot.log.buffer", 8192);
+    public static final String LOG_OVERFLOW_BLOCK = "block";
+    public static final String LOG_OVERFLOW_DROP = "drop";
+    public static final String LOG_OVERFLOW = System.getProperty("pulsepilot.log.overflow", LOG_OVERFLOW_BLOCK);
+    public static final long LOG_FLUSH_INTERVAL_MILLIS = 20;
+    public static final String LOG_LEVEL_DEBUG = "debug";
+    public static final String LOG_LEVEL_INFO = "info";
+    public static final String LOG_LEVEL_WARN = "warn";
+    public static final String LOG_LEVEL = System.getProperty("pulsepilot.log.level", LOG_LEVEL_INFO);
+    public static final long LOG_FILE_LIMIT_BYTES = Long.getLong("pulsepilot.log.limit", 1024 * 1024);
+    public static final int LOG_FILE_COUNT = Integer.getInteger("pulsepilot.log.count", 5);
+    public static final boolean IS_LOG_COMPRESSED = Boolean.getBoolean("pulsepilot.log.compress");
+    public static final String ROTATED_LOG_FILE_FORMAT = "./pulsepilot_log.%d.txt";
+    public static final String COMPRESSED_LOG_EXTENSION = ".gz";
+    public static final int LOG_ROTATION_CHECK_INTERVAL = 100;
+    public static final String LOG_COMMAND = "LOG";
+    public static final String TAIL_FLAG = "/tail:";
+    public static final String FIND_FLAG = "/find:";
+    public static final int DEFAULT_LOG_LINE_COUNT = 20;
+    public static final int LOG_LINE_COUNT_INDEX = 0;
+    public static final int LOG_SEARCH_TEXT_INDEX = 1;
+    public static final int NUM_LOG_QUERY_PARAMETERS = 2;
+    public static String eventLogPath = "./pulsepilot_events.ndjson";
+    public static final boolean IS_EVENT_LOG_ENABLED = Boolean.parseBoolean(
+            System.getProperty("pulsepilot.events", "true"));
+    public static final String EVENTS_COMMAND = "EVENTS";
+    public static final String UNKNOWN_EVENT_COMMAND = "UNKNOWN";
+    public static final String NO_EVENT_DATA_TYPE = "NA";
+    public static final String EVENT_OK = "OK";
+    public static final String EVENT_ERROR = "ERROR";
+    public static final String OTHER_ERROR_CODE = "OTHER";
+    public static final String EVENT_SUMMARY_HEADER = String.format("%-10s %8s %12s %12s %8s",
+            "Command", "Count", "p50 (ms)", "p99 (ms)", "Errors");
+    public static final String EVENT_SUMMARY_FORMAT = "%-10s %8d %12.3f %12.3f %8d";
+    public static final String EVENT_ERROR_FORMAT = "%-45s %8d";
+    public static final String EVENT_ERROR_HEADER = "Errors shown:";
+    public static final double NANOS_IN_MILLI = 1_000_000.0;
+    public static final int MEDIAN_PERCENTILE = 50;
+    public static final int TAIL_PERCENTILE = 99;
     public static String dataFilePath = "./pulsepilot_data.txt";
     public static String hashFilePath = "./pulsepilot_hash.txt";
     public static File saveFile = new File(UiConstant.dataFilePath);
+    public static final String HASH_ALGORITHM = "SHA-256";
+    public static final int HASH_BUFFER_SIZE = 8192;
+    public static final String MERKLE_LABEL = "MERKLE";
+    public static final int INTEGRITY_BLOCK_SIZE = 64 * 1024;
+    public static final int MERKLE_BLOCK_SIZE_INDEX = 1;
+    public static final int MERKLE_ROOT_INDEX = 2;
+    public static final int INITIAL_LINE_OFFSETS_CAPACITY = 1024;
+    public static final String TEMP_FILE_SUFFIX = ".tmp";
+    public static final long AUTOSAVE_INTERVAL_SECONDS = Long.getLong("pulsepilot.autosave.interval", 30);
+    public static final int AUTOSAVE_CHANGE_THRESHOLD = Integer.getInteger("pulsepilot.autosave.changes", 20);
+    public static final long AUTOSAVE_STOP_TIMEOUT_SECONDS = 10;
+    public static int recentHistoryCount = Integer.getInteger("pulsepilot.history.recent", 100);
+    public static String journalFilePath = "./pulsepilot_journal.txt";
+    public static final String JOURNAL_START_FILE_SUFFIX = ".start.tmp";
+    public static final String JOURNAL_REJECTED_FILE_SUFFIX = ".rejected";
+    public static final String JOURNAL_BASE_LABEL = "BASE";
+    public static final String JOURNAL_ADD_LABEL = "ADD";
+    public static final String JOURNAL_DELETE_LABEL = "DELETE";
+    public static final int JOURNAL_COMPACTION_THRESHOLD = 100;
+    public static final long JOURNAL_COMPACTION_BYTES = Long.getLong("pulsepilot.journal.compaction.bytes",
+            64 * 1024);
+    public static final int JOURNAL_LABEL_INDEX = 0;
+    public static final int JOURNAL_DELETE_TYPE_INDEX = 1;
+    public static final int JOURNAL_DELETE_INDEX_INDEX = 2;
+    public static final int PARALLEL_LOAD_THRESHOLD = 10000;
+    public static final int PARALLEL_LOAD_CHUNK_SIZE = 2048;
+
     public static final int FILE_FOUND = 0;
     public static final int FILE_NOT_FOUND = 1;
     public static final String FILE_FOUND_MESSAGE = "Welcome back, Captain ";
     public static final String FILE_MISSING_MESSAGE = "What is your name, voyager?";
     public static final String SUCCESSFUL_LOAD = "Prior data found. Orbit has been synchronised.";
 
+    // Binary Storage
+    public static final String TEXT_FORMAT = "text";
+    public static final String BINARY_FORMAT = "binary";
+    public static String storageFormat = System.getProperty("pulsepilot.format", TEXT_FORMAT);
+    public static final int BINARY_MAGIC = 0x50504244; // "PPBD"
+    public static final int BINARY_VERSION = 1;
+    public static final String NO_COMPRESSION = "none";
+    public static final String GZIP_COMPRESSION = "gzip";
+    public static String storageCompression = System.getProperty("pulsepilot.compression", NO_COMPRESSION);
+    public static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+    public static final int BINARY_BMI_TAG = 1;
+    public static final int BINARY_APPOINTMENT_TAG = 2;
+    public static final int BINARY_PERIOD_TAG = 3;
+    public static final int BINARY_RUN_TAG = 4;
+    public static final int BINARY_GYM_TAG = 5;
+    public static final int BINARY_NO_DATE = Integer.MIN_VALUE;
+    public static final int HUNDREDTHS_SCALE = 100;
+    public static final int THOUSANDTHS_SCALE = 1000;
+
+    // Segmented Storage
+    public static final String SINGLE_FILE_LAYOUT = "single";
+    public static final String SEGMENTED_LAYOUT = "segmented";
+    public static String storageLayout = System.getProperty("pulsepilot.layout", SINGLE_FILE_LAYOUT);
+    public static final String YEAR_SEGMENTS = "year";
+    public static final String MONTH_SEGMENTS = "month";
+    public static String segmentPeriod = System.getProperty("pulsepilot.segment.period", YEAR_SEGMENTS);
+    public static String segmentDirectoryPath = "./pulsepilot_segments";
+    public static final String MANIFEST_LABEL = "MANIFEST";
+    public static final int MANIFEST_VERSION = 1;
+    public static final String SEGMENT_LABEL = "SEGMENT";
+    public static final String ORDER_LABEL = "ORDER";
+    public static final String UNDATED_SEGMENT_KEY = "undated";
+    public static final String SEGMENT_FILE_SUFFIX = ".txt";
+    public static final int SEGMENT_FILE_HASH_LENGTH = 16;
+    public static final int MANIFEST_VERSION_INDEX = 1;
+    public static final int MANIFEST_PERIOD_INDEX = 2;
+    public static final int SEGMENT_KEY_INDEX = 1;
+    public static final int SEGMENT_FILE_INDEX = 2;
+    public static final int SEGMENT_FIRST_DATE_INDEX = 3;
+    public static final int SEGMENT_LAST_DATE_INDEX = 4;
+    public static final int SEGMENT_HASH_INDEX = 5;
+    public static final int SEGMENT_COUNTS_INDEX = 6;
+
+    // Date Index
+    public static String indexFilePath = "./pulsepilot_index.bin";
+    public static final int INDEX_MAGIC = 0x50504958; // "PPIX"
+    public static final int INDEX_VERSION = 1;
+    public static final String FROM_FLAG = "/from:";
+    public static final String TO_FLAG = "/to:";
+    public static final int NUM_OF_SLASHES_FOR_DATE_RANGE = 3;
+    public static final int NUM_DATE_RANGE_PARAMETERS = 3;
+    public static final int DATE_RANGE_FILTER_INDEX = 0;
+    public static final int DATE_RANGE_FROM_INDEX = 1;
+    public static final int DATE_RANGE_TO_INDEX = 2;
+    public static final String QUERY_JOURNAL_MESSAGE = "Changes made since PulsePilot last saved every entry in full "
+            + "are not included.";
+
+    // Export
+    public static String exportDirectoryPath = "./pulsepilot_export";
+    public static final String CSV_FORMAT = "csv";
+    public static final String TSV_FORMAT = "tsv";
+    public static final String CSV_DELIMITER = ",";
+    public static final String TSV_DELIMITER = "\t";
+    public static final String FORMAT_FLAG = "/format:";
+    public static final String DIRECTORY_FLAG = "/dir:";
+    public static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+    public static final int EXPORT_FORMAT_INDEX = 0;
+    public static final int EXPORT_DIRECTORY_INDEX = 1;
+    public static final int NUM_EXPORT_PARAMETERS = 2;
+    public static final String RUN_EXPORT_FILE = "runs";
+    public static final String GYM_SET_EXPORT_FILE = "gym_sets";
+    public static final String BMI_EXPORT_FILE = "bmi";
+    public static final String PERIOD_EXPORT_FILE = "periods";
+    public static final String APPOINTMENT_EXPORT_FILE = "appointments";
+    public static final String EXPORT_SUMMARY_FORMAT = "Exported %d entries as %s files to %s";
 
     // History
     public static final String ITEM_FLAG = "/item:";
@@ -78,5 +230,10 @@ public class UiConstant {
     public static final int DELETE_ITEM_NUMBER_INDEX = 1;
     public static final int SPLIT_TIME_HOUR_INDEX = 0;
     public static final int SPLIT_TIME_MINUTES_INDEX = 1;
+    public static final int TIME_HOUR_OFFSET = 0;
+    public static final int TIME_MINUTES_OFFSET = 3;
+    public static final int DATE_DAY_OFFSET = 0;
+    public static final int DATE_MONTH_OFFSET = 3;
+    public static final int DATE_YEAR_OFFSET = 6;
 
 }
@@ -62,6 +62,26 @@ public class WorkoutConstant {
     public static final String TWO_DECIMAL_PLACE_FORMAT = "%.2f";
     public static final String TWO_DIGIT_PLACE_FORMAT = "%02d";
 
+    // IMPORT CONSTANTS
+    public static final String FILE_FLAG = "/file:";
+    public static final String CSV_EXTENSION = ".csv";
+    public static final String GPX_EXTENSION = ".gpx";
+    public static final String CSV_DATE_HEADER = "date";
+    public static final String CSV_QUOTE = "\"";
+    public static final String ISO_DATE_REGEX = "^\\d{4}-\\d{2}-\\d{2}$";
+    public static final int CSV_DATE_INDEX = 0;
+    public static final int CSV_DISTANCE_INDEX = 1;
+    public static final int CSV_TIME_INDEX = 2;
+    public static final int NUMBER_OF_CSV_COLUMNS = 3;
+    public static final String GPX_TRACK = "trk";
+    public static final String GPX_SEGMENT = "trkseg";
+    public static final String GPX_POINT = "trkpt";
+    public static final String GPX_TIME = "time";
+    public static final String GPX_LATITUDE = "lat";
+    public static final String GPX_LONGITUDE = "lon";
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final String IMPORT_SUMMARY_FORMAT = "Imported %d run(s) from %s. Skipped %d invalid entries.";
+
     // GYM FILE LOADING CONSTANTS
     public static final int GYM_FILE_INDEX = 0;
     public static final int NUM_OF_STATIONS_FILE_INDEX = 1;
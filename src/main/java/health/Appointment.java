@@ -2,6 +2,7 @@ package health;
 
 import constants.ErrorConstant;
 import constants.HealthConstant;
+import constants.UiConstant;
 import utility.Parser;
 
 import java.time.LocalDate;
@@ -16,7 +17,7 @@ public class Appointment extends Health {
     private LocalDate date;
     private LocalTime time;
     private String description;
-    private final Parser parser = new Parser();
+    private static final Parser parser = new Parser();
     private final HealthList healthList = new HealthList();
 
     //@@author syj02
@@ -35,6 +36,21 @@ public class Appointment extends Health {
         healthList.addAppointment(this);
     }
 
+    /**
+     * Constructor for {@code Appointment} object from values that have already been parsed, such as from a binary
+     * data file.
+     *
+     * @param date The date of the appointment.
+     * @param time The time of the appointment.
+     * @param description A string describing the appointment.
+     */
+    public Appointment(LocalDate date, LocalTime time, String description) {
+        this.date = date;
+        this.time = time;
+        this.description = description;
+        healthList.addAppointment(this);
+    }
+
     /**
      * Retrieves the date of the appointment of LocalDate type.
      *
@@ -64,6 +80,20 @@ public class Appointment extends Health {
         return this.description;
     }
 
+    /**
+     * Converts the {@code Appointment} object into a string format suitable for writing into a file.
+     * Format is APPOINTMENT:DATE:TIME:DESCRIPTION, with the colon in the time replaced by a full stop.
+     *
+     * @return A string representing the {@code Appointment} object for the data file.
+     */
+    public String toFileString() {
+        String formattedTime = String.valueOf(getTime()).replace(UiConstant.SPLIT_BY_COLON, UiConstant.FULL_STOP);
+        return HealthConstant.APPOINTMENT.toUpperCase() + UiConstant.SPLIT_BY_COLON
+                + parser.parseFormattedDate(getDate())
+                + UiConstant.SPLIT_BY_COLON + formattedTime
+                + UiConstant.SPLIT_BY_COLON + getDescription();
+    }
+
     /**
      * Returns the string representation of an {@code Appointment} object.
      *
@@ -20,7 +20,7 @@ public class Bmi extends Health {
     private HealthList healthList = new HealthList();
     private double height;
     private double weight;
-    private Parser parser = new Parser();
+    private static final Parser parser = new Parser();
 
 
     //@@author j013n3
@@ -45,6 +45,27 @@ public class Bmi extends Health {
         healthList.addBmi(this);
     }
 
+    /**
+     * Constructor for {@code Bmi} object from values that have already been decoded, such as from a binary data file.
+     *
+     * @param height The user's height.
+     * @param weight The user's weight.
+     * @param date The date of the record.
+     * @throws AssertionError If height or weight values are not positive.
+     */
+    public Bmi(double height, double weight, LocalDate date) {
+        this.height = height;
+        this.weight = weight;
+
+        assert this.height > HealthConstant.MIN_HEIGHT && this.weight > HealthConstant.MIN_WEIGHT
+                : ErrorConstant.NEGATIVE_VALUE_ERROR;
+
+        this.date = date;
+
+        this.bmiValue = calculateBmiValue();
+        healthList.addBmi(this);
+    }
+
     /**
      * Retrieves height recorded in {@code Bmi} object of {@code String} type.
      *
@@ -125,6 +146,19 @@ public class Bmi extends Health {
         return bmi;
     }
 
+    /**
+     * Converts the {@code Bmi} object into a string format suitable for writing into a file.
+     * Format is BMI:HEIGHT:WEIGHT:BMI_SCORE:DATE.
+     *
+     * @return A string representing the {@code Bmi} object for the data file.
+     */
+    public String toFileString() {
+        return HealthConstant.BMI.toUpperCase() + UiConstant.SPLIT_BY_COLON + getHeight()
+                + UiConstant.SPLIT_BY_COLON + getWeight()
+                + UiConstant.SPLIT_BY_COLON + getBmiValueString()
+                + UiConstant.SPLIT_BY_COLON + parser.parseFormattedDate(getDate());
+    }
+
     /**
      * Returns the string presentation of a {@code Bmi} object.
      *
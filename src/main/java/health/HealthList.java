@@ -37,6 +37,11 @@ public class HealthList extends ArrayList<Health> {
      */
     private static final ArrayList<Appointment> APPOINTMENTS = new ArrayList<>();
 
+    /**
+     * The number of changes made to the lists, used to tell whether they need to be saved.
+     */
+    private static long modificationCount = 0;
+
     public HealthList() {
 
     }
@@ -52,6 +57,7 @@ public class HealthList extends ArrayList<Health> {
     protected void addBmi(Bmi bmi) {
         assert bmi != null : ErrorConstant.NULL_BMI_ERROR;
         BMIS.add(bmi);
+        modificationCount++;
         // bmi sorted from latest to earliest date
         BMIS.sort(Comparator.comparing(Bmi::getDate).reversed());
     }
@@ -68,6 +74,7 @@ public class HealthList extends ArrayList<Health> {
         assert period != null : ErrorConstant.NULL_PERIOD_ERROR;
 
         PERIODS.add(period);
+        modificationCount++;
 
         PERIODS.sort(Comparator.comparing(Period::getStartDate).reversed());
 
@@ -92,9 +99,27 @@ public class HealthList extends ArrayList<Health> {
     protected void addAppointment(Appointment appointment) {
         assert appointment != null : ErrorConstant.NULL_APPOINTMENT_ERROR;
         APPOINTMENTS.add(appointment);
+        modificationCount++;
         APPOINTMENTS.sort(Comparator.comparing(Appointment::getDate).thenComparing(Appointment::getTime));
     }
 
+    /**
+     * Records a change made to an object already in the lists.
+     */
+    static void recordModification() {
+        modificationCount++;
+    }
+
+    /**
+     * Retrieves the number of changes made to the lists so far.
+     * The count only ever increases, so a different count means the lists have changed.
+     *
+     * @return The number of changes made.
+     */
+    public static long getModificationCount() {
+        return modificationCount;
+    }
+
     //@@author j013n3
 
     /**
@@ -188,7 +213,8 @@ public class HealthList extends ArrayList<Health> {
                 deletedBmi.getDate());
         Output.printLine();
         BMIS.remove(index);
-        LogFile.writeLog(HealthConstant.BMI_REMOVED_MESSAGE_PREFIX + index, false);
+        modificationCount++;
+        LogFile.writeDebug(HealthConstant.BMI_REMOVED_MESSAGE_PREFIX + "%d", index);
     }
 
     /**
@@ -212,8 +238,9 @@ public class HealthList extends ArrayList<Health> {
                 deletedPeriod.getStartDate(),
                 endDateUnit);
         PERIODS.remove(index);
+        modificationCount++;
         Output.printLine();
-        LogFile.writeLog(HealthConstant.PERIOD_REMOVED_MESSAGE_PREFIX + index, false);
+        LogFile.writeDebug(HealthConstant.PERIOD_REMOVED_MESSAGE_PREFIX + "%d", index);
     }
 
     //@@author syj02
@@ -239,7 +266,8 @@ public class HealthList extends ArrayList<Health> {
                 deletedAppointment.getDescription());
         Output.printLine();
         APPOINTMENTS.remove(index);
-        LogFile.writeLog(HealthConstant.APPOINTMENT_REMOVED_MESSAGE_PREFIX + index, false);
+        modificationCount++;
+        LogFile.writeDebug(HealthConstant.APPOINTMENT_REMOVED_MESSAGE_PREFIX + "%d", index);
         if (!APPOINTMENTS.isEmpty()) {
             printAppointmentHistory();
         }
@@ -349,6 +377,19 @@ public class HealthList extends ArrayList<Health> {
 
     //@@l5_z
 
+    /**
+     * Makes room in the lists for the given numbers of entries about to be loaded, so each list grows once.
+     *
+     * @param additionalBmis         The number of {@code Bmi} objects about to be added.
+     * @param additionalAppointments The number of {@code Appointment} objects about to be added.
+     * @param additionalPeriods      The number of {@code Period} objects about to be added.
+     */
+    public static void ensureCapacity(int additionalBmis, int additionalAppointments, int additionalPeriods) {
+        BMIS.ensureCapacity(BMIS.size() + additionalBmis);
+        APPOINTMENTS.ensureCapacity(APPOINTMENTS.size() + additionalAppointments);
+        PERIODS.ensureCapacity(PERIODS.size() + additionalPeriods);
+    }
+
     /**
      * Clears {@code PERIODS}, {@code BMIS} and {@code APPOINTMENTS} lists.
      *
@@ -358,6 +399,7 @@ public class HealthList extends ArrayList<Health> {
         PERIODS.clear();
         BMIS.clear();
         APPOINTMENTS.clear();
+        modificationCount++;
         assert BMIS.isEmpty() : ErrorConstant.BMI_LIST_UNCLEARED_ERROR;
         assert PERIODS.isEmpty() : ErrorConstant.PERIOD_LIST_UNCLEARED_ERROR;
         assert APPOINTMENTS.isEmpty() : ErrorConstant.APPOINTMENT_LIST_UNCLEARED_ERROR;
@@ -21,7 +21,7 @@ public class Period extends Health {
     private long periodLength;
     private long cycleLength;
 
-    private final Parser parser = new Parser();
+    private static final Parser parser = new Parser();
     private final HealthList healthList = new HealthList();
 
     //@@author syj02
@@ -53,6 +53,21 @@ public class Period extends Health {
         healthList.addPeriod(this);
     }
 
+    /**
+     * Constructor for {@code Period} object from dates that have already been parsed, such as from a binary
+     * data file.
+     *
+     * @param startDate The start date of the period.
+     * @param endDate   The end date of the period, or null if the period has not ended.
+     */
+    public Period(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.periodLength = (endDate == null) ? 1 : calculatePeriodLength();
+        this.cycleLength = 0;
+        healthList.addPeriod(this);
+    }
+
     /**
      * Gets cycle length.
      *
@@ -70,6 +85,7 @@ public class Period extends Health {
     public void updateEndDate(String stringEndDate) {
         this.endDate = parser.parseDate(stringEndDate);
         this.periodLength = calculatePeriodLength();
+        HealthList.recordModification();
     }
 
     /**
@@ -195,6 +211,19 @@ public class Period extends Health {
         Output.printLine();
     }
 
+    /**
+     * Converts the {@code Period} object into a string format suitable for writing into a file.
+     * Format is PERIOD:START:END:DURATION, with NA used if there is no end date.
+     *
+     * @return A string representing the {@code Period} object for the data file.
+     */
+    public String toFileString() {
+        return HealthConstant.PERIOD.toUpperCase() + UiConstant.SPLIT_BY_COLON
+                + parser.parseFormattedDate(getStartDate())
+                + UiConstant.SPLIT_BY_COLON + parser.parseFormattedDate(getEndDate())
+                + UiConstant.SPLIT_BY_COLON + getPeriodLength();
+    }
+
     /**
      * Returns the string representation of a {@code Period} object.
      *
@@ -1,5 +1,6 @@
 package seedu.pulsepilot;
 
+import constants.UiConstant;
 import ui.Handler;
 
 /**
@@ -9,9 +10,14 @@ public class PulsePilot {
     /**
      * Main entry-point for PulsePilot.
      *
-     * @param args Command-line arguments.
+     * @param args Command-line arguments, which may hold a history command with a date range to report on.
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            // a history command given on the command line is printed as a report without starting PulsePilot
+            new Handler().processQuery(String.join(UiConstant.SPLIT_BY_WHITESPACE, args));
+            return;
+        }
 
         Handler handler = new Handler();
         handler.initialiseBot();
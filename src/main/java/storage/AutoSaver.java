@@ -0,0 +1,197 @@
+package storage;
+
+import java.util.ArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import constants.UiConstant;
+import health.Appointment;
+import health.Bmi;
+import health.HealthList;
+import health.Period;
+import utility.CustomExceptions;
+import workouts.Workout;
+import workouts.WorkoutLists;
+
+/**
+ * Represents the background saver that keeps changes made while PulsePilot is running durable.
+ * Changes are tracked through the modification counts of {@code HealthList} and {@code WorkoutLists}. Every change
+ * is already in the journal, so on a fixed interval, or sooner once enough changes have been made, the journal is
+ * only forced to disk. The data file is rewritten only once the journal grows past its compaction size, so the
+ * journal replayed at startup stays short however long the profile has been in use. Each rewrite is a compaction:
+ * the data file becomes the new snapshot and the journal is cut back to the records appended since, in the same
+ * commit. Saves run on a separate thread, so commands never wait for the disk.
+ * Commands and saves share {@link #LISTS_LOCK}, which is only held by a save while the lists are copied.
+ */
+public class AutoSaver {
+    public static final Object LISTS_LOCK = new Object();
+
+    private final DataFile dataFile;
+    private final long intervalSeconds;
+    private final int changeThreshold;
+    private final AtomicBoolean isSaveQueued = new AtomicBoolean(false);
+    private ScheduledExecutorService executor = null;
+    private volatile long savedVersion;
+
+    /**
+     * Constructs a saver using the interval and change threshold set in {@code UiConstant}.
+     *
+     * @param dataFile The data file to save to.
+     */
+    public AutoSaver(DataFile dataFile) {
+        this(dataFile, UiConstant.AUTOSAVE_INTERVAL_SECONDS, UiConstant.AUTOSAVE_CHANGE_THRESHOLD);
+    }
+
+    /**
+     * Constructs a saver with the given interval and change threshold.
+     *
+     * @param dataFile        The data file to save to.
+     * @param intervalSeconds The number of seconds between checks for unsaved changes, or 0 to only save on changes.
+     * @param changeThreshold The number of unsaved changes that trigger a save straight away.
+     */
+    public AutoSaver(DataFile dataFile, long intervalSeconds, int changeThreshold) {
+        this.dataFile = dataFile;
+        this.intervalSeconds = intervalSeconds;
+        this.changeThreshold = changeThreshold;
+        this.savedVersion = getVersion();
+    }
+
+    /**
+     * Retrieves the combined modification count of the lists.
+     *
+     * @return The version of the lists.
+     */
+    public static long getVersion() {
+        return HealthList.getModificationCount() + WorkoutLists.getModificationCount();
+    }
+
+    /**
+     * Starts saving in the background. The lists as they are now are treated as already saved.
+     */
+    public void start() {
+        savedVersion = getVersion();
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "pulsepilot-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        if (intervalSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::saveIfChanged, intervalSeconds, intervalSeconds,
+                    TimeUnit.SECONDS);
+        }
+        executor = scheduler;
+        LogFile.writeLog("Autosave started", false);
+    }
+
+    /**
+     * Queues a save if enough changes have been made since the last save, or if the journal is due for compaction.
+     * Only one save is queued at a time, so a burst of changes results in a single save.
+     * Called by the command thread after each command.
+     */
+    public void onCommandProcessed() {
+        if (getVersion() - savedVersion < changeThreshold && !JournalFile.isCompactionDue()) {
+            return;
+        }
+        queueSave();
+    }
+
+    /**
+     * Queues a compaction of the journal into the data file, such as for a long journal replayed at startup,
+     * without waiting for it to finish. Does nothing if the saver has not been started.
+     */
+    public void compactInBackground() {
+        LogFile.writeLog("Queued compaction of " + JournalFile.getByteCount() + " journal byte(s)", false);
+        queueSave();
+    }
+
+    /**
+     * Queues a save on the background thread unless one is already queued.
+     */
+    private void queueSave() {
+        if (executor == null) {
+            return;
+        }
+        if (isSaveQueued.compareAndSet(false, true)) {
+            executor.execute(this::saveIfChanged);
+        }
+    }
+
+    /**
+     * Stops saving in the background, waiting for a save in progress to finish.
+     * Changes not yet saved are still in the journal.
+     */
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(UiConstant.AUTOSAVE_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LogFile.writeLog("Autosave did not finish in time", true);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor = null;
+        LogFile.writeLog("Autosave stopped", false);
+    }
+
+    /**
+     * Forces the journal to disk if the lists have changed since the last save, or compacts it into the data file if
+     * it is due for compaction.
+     */
+    void saveIfChanged() {
+        isSaveQueued.set(false);
+        if (JournalFile.isCompactionDue()) {
+            compact();
+            return;
+        }
+        long version;
+        synchronized (LISTS_LOCK) {
+            version = getVersion();
+        }
+        if (version == savedVersion) {
+            return;
+        }
+        // the changes are already in the journal, which only needs to reach the disk
+        JournalFile.sync();
+        savedVersion = version;
+        LogFile.writeLog("Synced journal at version " + version, false);
+    }
+
+    /**
+     * Compacts the journal into the data file. The lists are copied while holding {@link #LISTS_LOCK}, then written
+     * without it. The journal is started again on top of the new data file in the same commit, keeping any records
+     * appended while it was being written.
+     */
+    private void compact() {
+        long version;
+        String name;
+        ArrayList<Bmi> bmis;
+        ArrayList<Appointment> appointments;
+        ArrayList<Period> periods;
+        ArrayList<Workout> workouts;
+        int savedRecordCount;
+        synchronized (LISTS_LOCK) {
+            DeferredHistory.load();
+            version = getVersion();
+            name = DataFile.userName;
+            bmis = new ArrayList<>(HealthList.getBmis());
+            appointments = new ArrayList<>(HealthList.getAppointments());
+            periods = new ArrayList<>(HealthList.getPeriods());
+            workouts = new ArrayList<>(WorkoutLists.getWorkouts());
+            savedRecordCount = JournalFile.getRecordCount();
+        }
+
+        try {
+            dataFile.compactDataFile(name, bmis, appointments, periods, workouts, savedRecordCount);
+            savedVersion = version;
+            LogFile.writeLog("Autosaved data file at version " + version, false);
+        } catch (CustomExceptions.FileWriteError e) {
+            LogFile.writeLog("Autosave failed: " + e.getMessage(), true);
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import constants.WorkoutConstant;
+import health.Appointment;
+import health.Bmi;
+import health.Period;
+import utility.CustomExceptions;
+import utility.Dates;
+import utility.Filters.DataType;
+import utility.Parser;
+import utility.Validation;
+import workouts.Gym;
+import workouts.GymStation;
+import workouts.Run;
+
+/**
+ * Represents the compact binary encoding of the PulsePilot data file.
+ * The file starts with a magic number and version, followed by the user's name and one record per entry.
+ * Each record starts with a type tag byte. Dates are stored as epoch days, run times as seconds,
+ * and distances, heights and weights as scaled integers.
+ * Records are written from the same fields used by the colon-delimited text file, and read straight into entries
+ * from the decoded numbers, so no field is turned back into text and parsed again. The checks made by each entry
+ * itself, such as the pace of a run, still apply, while the file as a whole is checked against its hash file.
+ */
+public class BinaryDataFile {
+    private static final int MAGIC_LENGTH = 4;
+
+    private final Parser parser;
+    private final Validation validation;
+
+    public BinaryDataFile() {
+        parser = new Parser();
+        validation = new Validation();
+    }
+
+    /**
+     * Checks whether the given file starts with the binary data file magic number, once decompressed if it is
+     * stored compressed.
+     *
+     * @param file The data file to check.
+     * @return Returns true if the file is in the binary format. Otherwise, returns false.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public static boolean isBinaryFile(File file) throws IOException {
+        if (file.length() < MAGIC_LENGTH) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(
+                CompressedDataFile.decompressIfNeeded(new FileInputStream(file)))) {
+            return in.readInt() == UiConstant.BINARY_MAGIC;
+        } catch (EOFException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the name and entries, given in the text data file format, to a binary data file.
+     * The stream is flushed but not closed.
+     *
+     * @param outputStream The stream to write the binary data file to.
+     * @param name         The user's name.
+     * @param fileStrings  The entries in the text data file format.
+     * @throws IOException If an I/O error occurs while writing the file.
+     */
+    public void writeBinaryFile(OutputStream outputStream, String name, Iterable<String> fileStrings)
+            throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        writeHeader(out, name);
+        for (String fileString : fileStrings) {
+            writeRecord(out, fileString);
+        }
+        out.flush();
+        LogFile.writeLog("Wrote binary data file", false);
+    }
+
+    /**
+     * Reads a binary data file to the end, decoding each entry from its numbers without adding it to any list.
+     * Nothing is added to the lists, so the file can be verified before any entry is committed.
+     *
+     * @param inputStream The stream to read the binary data file from.
+     * @param records     The list that each decoded entry is added to, in file order.
+     * @return The user's name.
+     * @throws IOException If an I/O error occurs, the file is not in the binary format, or an entry is invalid.
+     */
+    public String readBinaryFile(InputStream inputStream, List<PreparedRecord> records) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        String name = readHeader(in);
+        int tag;
+        while ((tag = in.read()) != -1) {
+            records.add(readRecord(in, tag));
+        }
+        return name;
+    }
+
+    /**
+     * Writes the magic number, format version and user's name.
+     *
+     * @param out  The stream to write to.
+     * @param name The user's name.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeHeader(DataOutputStream out, String name) throws IOException {
+        out.writeInt(UiConstant.BINARY_MAGIC);
+        out.writeByte(UiConstant.BINARY_VERSION);
+        out.writeUTF(name.trim());
+    }
+
+    /**
+     * Reads and checks the magic number and format version, then returns the user's name.
+     *
+     * @param in The stream to read from.
+     * @return The user's name.
+     * @throws IOException If the header is missing or not supported.
+     */
+    private String readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != UiConstant.BINARY_MAGIC || in.readUnsignedByte() != UiConstant.BINARY_VERSION) {
+            throw new IOException(ErrorConstant.CORRUPT_ERROR);
+        }
+        return in.readUTF();
+    }
+
+    /**
+     * Encodes one entry given in the text data file format into a binary record.
+     *
+     * @param out        The stream to write to.
+     * @param fileString The entry in the text data file format.
+     * @throws IOException If an I/O error occurs, or the entry is malformed.
+     */
+    private void writeRecord(DataOutputStream out, String fileString) throws IOException {
+        String[] input = fileString.split(UiConstant.SPLIT_BY_COLON);
+        DataType dataType = DataType.findExact(input[UiConstant.DATA_TYPE_INDEX]);
+        if (dataType == null) {
+            throw new IOException(ErrorConstant.CORRUPT_ERROR);
+        }
+        try {
+            switch (dataType) {
+            case BMI:
+                // bmi format: BMI:HEIGHT:WEIGHT:BMI_SCORE:DATE, the score is recalculated when read
+                out.writeByte(UiConstant.BINARY_BMI_TAG);
+                out.writeInt(toScaledInt(input[1], UiConstant.HUNDREDTHS_SCALE));
+                out.writeInt(toScaledInt(input[2], UiConstant.HUNDREDTHS_SCALE));
+                out.writeInt(toEpochDay(input[4]));
+                break;
+
+            case APPOINTMENT:
+                // appointment format: APPOINTMENT:DATE:TIME:DESCRIPTION
+                out.writeByte(UiConstant.BINARY_APPOINTMENT_TAG);
+                out.writeInt(toEpochDay(input[1]));
+                out.writeShort(parser.parseTime(input[2].trim().replace(UiConstant.FULL_STOP,
+                        UiConstant.SPLIT_BY_COLON)).toSecondOfDay() / UiConstant.NUM_SECONDS_IN_MINUTE);
+                out.writeUTF(input[3].trim());
+                break;
+
+            case PERIOD:
+                // period format: PERIOD:START:END:DURATION, the duration is recalculated when read
+                out.writeByte(UiConstant.BINARY_PERIOD_TAG);
+                out.writeInt(toEpochDay(input[1]));
+                out.writeInt(toEpochDay(input[2]));
+                break;
+
+            case RUN:
+                // run format: RUN:DISTANCE:TIME:DATE
+                out.writeByte(UiConstant.BINARY_RUN_TAG);
+                out.writeInt(toScaledInt(input[1], UiConstant.HUNDREDTHS_SCALE));
+                out.writeInt(toSeconds(input[2]));
+                out.writeInt(toEpochDay(input[3]));
+                break;
+
+            case GYM:
+                // gym format: GYM:NUM_STATIONS:DATE:STATION_NAME:NUM_SETS:REPS:WEIGHT1,WEIGHT2...
+                out.writeByte(UiConstant.BINARY_GYM_TAG);
+                out.writeShort(Integer.parseInt(input[WorkoutConstant.NUM_OF_STATIONS_FILE_INDEX].trim()));
+                out.writeInt(toEpochDay(input[WorkoutConstant.DATE_FILE_INDEX]));
+                int numberOfStations = (input.length - WorkoutConstant.GYM_FILE_BASE_COUNTER)
+                        / WorkoutConstant.INCREMENT_OFFSET;
+                out.writeShort(numberOfStations);
+                for (int i = 0; i < numberOfStations; i++) {
+                    int base = WorkoutConstant.GYM_FILE_BASE_COUNTER + i * WorkoutConstant.INCREMENT_OFFSET;
+                    out.writeUTF(input[base]);
+                    out.writeShort(Integer.parseInt(input[base + WorkoutConstant.SETS_OFFSET].trim()));
+                    out.writeShort(Integer.parseInt(input[base + WorkoutConstant.REPS_OFFSET].trim()));
+                    String[] weights = input[base + WorkoutConstant.WEIGHTS_OFFSET].split(UiConstant.SPLIT_BY_COMMAS);
+                    out.writeShort(weights.length);
+                    for (String weight : weights) {
+                        out.writeInt(toScaledInt(weight, UiConstant.THOUSANDTHS_SCALE));
+                    }
+                }
+                break;
+
+            default:
+                break;
+            }
+        } catch (RuntimeException e) {
+            throw new IOException(ErrorConstant.CORRUPT_ERROR, e);
+        }
+    }
+
+    /**
+     * Decodes one binary record into an entry, to be added to the lists when committed.
+     *
+     * @param in  The stream to read from.
+     * @param tag The type tag of the record, which has already been read.
+     * @return The decoded entry.
+     * @throws IOException If an I/O error occurs, or the record is malformed.
+     */
+    private PreparedRecord readRecord(DataInputStream in, int tag) throws IOException {
+        try {
+            switch (tag) {
+            case UiConstant.BINARY_BMI_TAG:
+                return readBmiRecord(in);
+
+            case UiConstant.BINARY_APPOINTMENT_TAG:
+                LocalDate appointmentDate = toRequiredDate(in.readInt());
+                LocalTime time = LocalTime.ofSecondOfDay((long) in.readUnsignedShort()
+                        * UiConstant.NUM_SECONDS_IN_MINUTE);
+                String description = in.readUTF();
+                return () -> new Appointment(appointmentDate, time, description);
+
+            case UiConstant.BINARY_PERIOD_TAG:
+                LocalDate startDate = toRequiredDate(in.readInt());
+                LocalDate endDate = toDate(in.readInt());
+                return () -> new Period(startDate, endDate);
+
+            case UiConstant.BINARY_RUN_TAG:
+                double distance = (double) in.readInt() / UiConstant.HUNDREDTHS_SCALE;
+                int seconds = in.readInt();
+                LocalDate runDate = toDate(in.readInt());
+                return () -> new Run(seconds, distance, runDate);
+
+            case UiConstant.BINARY_GYM_TAG:
+                return readGymRecord(in);
+
+            default:
+                throw new IOException(ErrorConstant.CORRUPT_ERROR);
+            }
+        } catch (EOFException | RuntimeException e) {
+            throw new IOException(ErrorConstant.CORRUPT_ERROR, e);
+        }
+    }
+
+    /**
+     * Decodes a BMI record. The BMI score is not stored, as it is calculated by the entry.
+     * Checking that no other BMI entry has the same date depends on the lists, so it is done when committed.
+     *
+     * @param in The stream to read from.
+     * @return The decoded BMI entry.
+     * @throws IOException If an I/O error occurs, or the record has no date.
+     */
+    private PreparedRecord readBmiRecord(DataInputStream in) throws IOException {
+        double height = (double) in.readInt() / UiConstant.HUNDREDTHS_SCALE;
+        double weight = (double) in.readInt() / UiConstant.HUNDREDTHS_SCALE;
+        LocalDate date = toRequiredDate(in.readInt());
+        return () -> {
+            validation.validateDateNotPresent(date);
+            new Bmi(height, weight, date);
+        };
+    }
+
+    /**
+     * Decodes a gym record together with all of its stations, which are checked as they are decoded.
+     *
+     * @param in The stream to read from.
+     * @return The decoded gym entry.
+     * @throws IOException If an I/O error occurs, or a station is invalid.
+     */
+    private PreparedRecord readGymRecord(DataInputStream in) throws IOException {
+        int numberOfStationsField = in.readUnsignedShort();
+        LocalDate date = toDate(in.readInt());
+        int numberOfStations = in.readUnsignedShort();
+        if (numberOfStations != numberOfStationsField) {
+            throw new IOException(ErrorConstant.CORRUPT_ERROR);
+        }
+
+        ArrayList<GymStation> stations = new ArrayList<>(numberOfStations);
+        try {
+            for (int i = 0; i < numberOfStations; i++) {
+                String stationName = in.readUTF();
+                int numberOfSets = in.readUnsignedShort();
+                int numberOfRepetitions = in.readUnsignedShort();
+                int numberOfWeights = in.readUnsignedShort();
+                ArrayList<Double> weights = new ArrayList<>(numberOfWeights);
+                for (int j = 0; j < numberOfWeights; j++) {
+                    weights.add((double) in.readInt() / UiConstant.THOUSANDTHS_SCALE);
+                }
+                stations.add(new GymStation(stationName, numberOfSets, numberOfRepetitions, weights));
+            }
+        } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
+            throw new IOException(ErrorConstant.CORRUPT_ERROR, e);
+        }
+        return () -> {
+            Gym gym = new Gym(date);
+            for (GymStation station : stations) {
+                gym.addStation(station);
+            }
+        };
+    }
+
+    /**
+     * Converts a date string in DD-MM-YYYY format, or NA, into an epoch day.
+     *
+     * @param date The date string.
+     * @return The epoch day, or {@code UiConstant.BINARY_NO_DATE} if no date is specified.
+     */
+    private int toEpochDay(String date) {
+        String trimmedDate = date.trim();
+        if (trimmedDate.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR)) {
+            return UiConstant.BINARY_NO_DATE;
+        }
+        return Math.toIntExact(parser.parseDate(trimmedDate).toEpochDay());
+    }
+
+    /**
+     * Converts an epoch day into a date, reusing the date of any other entry on the same day.
+     *
+     * @param epochDay The epoch day, or {@code UiConstant.BINARY_NO_DATE} if no date is specified.
+     * @return The date, or null if no date is specified.
+     */
+    private LocalDate toDate(int epochDay) {
+        if (epochDay == UiConstant.BINARY_NO_DATE) {
+            return null;
+        }
+        return Dates.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Converts an epoch day into a date for an entry that must have one.
+     *
+     * @param epochDay The epoch day.
+     * @return The date.
+     * @throws IOException If no date is specified.
+     */
+    private LocalDate toRequiredDate(int epochDay) throws IOException {
+        LocalDate date = toDate(epochDay);
+        if (date == null) {
+            throw new IOException(ErrorConstant.CORRUPT_ERROR);
+        }
+        return date;
+    }
+
+    /**
+     * Converts a decimal string into an integer scaled by the given factor.
+     *
+     * @param value The decimal string.
+     * @param scale The scale factor.
+     * @return The scaled integer.
+     */
+    private int toScaledInt(String value, int scale) {
+        return Math.toIntExact(Math.round(Double.parseDouble(value.trim()) * scale));
+    }
+
+    /**
+     * Converts a run time in the text format (MM.SS or HH.MM.SS) into seconds.
+     *
+     * @param time The run time string.
+     * @return The total number of seconds.
+     */
+    private int toSeconds(String time) {
+        String[] parts = time.trim().split("\\.");
+        int seconds = 0;
+        for (String part : parts) {
+            seconds = seconds * UiConstant.NUM_SECONDS_IN_MINUTE + Integer.parseInt(part);
+        }
+        return seconds;
+    }
+}
@@ -0,0 +1,106 @@
+package storage;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import constants.UiConstant;
+
+/**
+ * Represents the compressed storage mode of the data file.
+ * Either data file format can be stored gzip-compressed. A compressed file is recognised by the gzip magic number,
+ * so compressed and uncompressed data files can always be read whatever mode is set.
+ * The block hashes always cover the file as stored, so a compressed file is verified before it is decompressed.
+ */
+public class CompressedDataFile {
+    private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+    private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private CompressedDataFile() {
+    }
+
+    /**
+     * Checks whether the data file should be compressed when saved.
+     *
+     * @return Returns true if compression is turned on. Otherwise, returns false.
+     */
+    public static boolean isCompressionEnabled() {
+        return UiConstant.storageCompression.equals(UiConstant.GZIP_COMPRESSION);
+    }
+
+    /**
+     * Checks whether the given file starts with the gzip magic number.
+     *
+     * @param file The data file to check.
+     * @return Returns true if the file is compressed. Otherwise, returns false.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public static boolean isCompressedFile(File file) throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            return isGzipMagic(in.read(), in.read());
+        }
+    }
+
+    /**
+     * Wraps an output stream so that everything written through it is compressed.
+     * {@code GZIPOutputStream.finish} must be called once everything has been written.
+     *
+     * @param out The stream the compressed bytes are written to.
+     * @return The compressing stream.
+     * @throws IOException If an I/O error occurs while writing the gzip header.
+     */
+    public static GZIPOutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, UiConstant.COMPRESSION_BUFFER_SIZE);
+    }
+
+    /**
+     * Wraps an input stream so that it is decompressed if it starts with the gzip magic number.
+     *
+     * @param in The stream as stored.
+     * @return The stream of uncompressed bytes.
+     * @throws IOException If an I/O error occurs while reading the gzip header.
+     */
+    public static InputStream decompressIfNeeded(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, UiConstant.COMPRESSION_BUFFER_SIZE);
+        buffered.mark(2);
+        boolean isCompressed = isGzipMagic(buffered.read(), buffered.read());
+        buffered.reset();
+        return isCompressed ? new GZIPInputStream(buffered, UiConstant.COMPRESSION_BUFFER_SIZE) : buffered;
+    }
+
+    /**
+     * Reads the rest of a stream and discards it, so that a hashing stream underneath sees every stored byte,
+     * including any that the decompressor did not need.
+     *
+     * @param in The stream to drain.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    public static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[UiConstant.COMPRESSION_BUFFER_SIZE];
+        while (in.read(buffer) != -1) {
+            // the bytes are only read so that they are hashed
+        }
+    }
+
+    /**
+     * Checks whether the first two bytes of a stream are the gzip magic number.
+     *
+     * @param first  The first byte, or -1 at the end of the stream.
+     * @param second The second byte, or -1 at the end of the stream.
+     * @return Returns true if the bytes are the gzip magic number. Otherwise, returns false.
+     */
+    private static boolean isGzipMagic(int first, int second) {
+        return first == GZIP_MAGIC_FIRST_BYTE && second == GZIP_MAGIC_SECOND_BYTE;
+    }
+}
@@ -0,0 +1,74 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a line reader over a gzip-compressed text data file.
+ * The file is read as a stream, hashed as stored and decompressed as it goes, so it is only read once.
+ */
+public class CompressedLineReader implements LineReader {
+    private final InputStream storedFile;
+    private final BufferedReader reader;
+    private String nextLine;
+    private boolean isDrained = false;
+
+    /**
+     * Constructs a reader over the given compressed file, updating the given hasher with every byte stored.
+     *
+     * @param file   The file to read.
+     * @param hasher The hasher to be updated, or null if no hash is needed.
+     * @throws IOException If the file cannot be opened or is not compressed.
+     */
+    public CompressedLineReader(File file, MerkleHasher hasher) throws IOException {
+        InputStream in = new FileInputStream(file);
+        storedFile = (hasher == null) ? in : hasher.wrap(in);
+        try {
+            reader = new BufferedReader(new InputStreamReader(CompressedDataFile.decompressIfNeeded(storedFile),
+                    StandardCharsets.UTF_8));
+            nextLine = reader.readLine();
+        } catch (IOException e) {
+            storedFile.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean hasNextLine() throws IOException {
+        if (nextLine == null && !isDrained) {
+            CompressedDataFile.drain(storedFile);
+            isDrained = true;
+        }
+        return nextLine != null;
+    }
+
+    @Override
+    public String nextLine() throws IOException {
+        String line = nextLine;
+        if (line != null) {
+            nextLine = reader.readLine();
+        }
+        hasNextLine();
+        return line;
+    }
+
+    @Override
+    public int getPosition() {
+        return -1;
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException If an I/O error occurs while closing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
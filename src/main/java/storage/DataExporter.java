@@ -0,0 +1,263 @@
+package storage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import health.Appointment;
+import health.Bmi;
+import health.HealthList;
+import health.Period;
+import utility.CustomExceptions;
+import workouts.Gym;
+import workouts.GymSet;
+import workouts.GymStation;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+/**
+ * Represents an export of every entry to one CSV or TSV file per type of entry, for use in spreadsheets and other
+ * analysis tools. Each file starts with a header naming its columns, and values are written in a form tools can
+ * read without conversion: dates as yyyy-MM-dd, times in seconds and numbers without units. Missing values are
+ * left empty. Gym sessions are flattened to one row per set.
+ * Rows are written one at a time through a buffered writer over a file channel, so the files are never held in
+ * memory as a whole.
+ */
+public class DataExporter {
+    private static final String[] RUN_HEADER = {"run_index", "date", "distance_km", "duration_s", "pace_s_per_km"};
+    private static final String[] GYM_SET_HEADER = {"gym_index", "date", "station_index", "station_name",
+        "set_index", "reps", "weight_kg"};
+    private static final String[] BMI_HEADER = {"bmi_index", "date", "height_m", "weight_kg", "bmi"};
+    private static final String[] PERIOD_HEADER = {"period_index", "start_date", "end_date", "length_days",
+        "cycle_length_days"};
+    private static final String[] APPOINTMENT_HEADER = {"appointment_index", "date", "time", "description"};
+    private static final String CSV_QUOTE = "\"";
+
+    private final String format;
+    private final String delimiter;
+    private int exportedCount = 0;
+
+    /**
+     * Constructs an exporter writing files in the given format.
+     *
+     * @param format Either {@code csv} or {@code tsv}.
+     */
+    public DataExporter(String format) {
+        this.format = format;
+        this.delimiter = format.equals(UiConstant.TSV_FORMAT) ? UiConstant.TSV_DELIMITER : UiConstant.CSV_DELIMITER;
+    }
+
+    /**
+     * Exports every entry in the lists to the given directory, creating it if needed and replacing earlier exports.
+     * Older entries not loaded yet must be added to the lists first.
+     *
+     * @param directory The directory to write the files to.
+     * @return The number of entries exported.
+     * @throws CustomExceptions.FileWriteError If the files could not be written.
+     */
+    public int exportAll(Path directory) throws CustomExceptions.FileWriteError {
+        exportedCount = 0;
+        try {
+            Files.createDirectories(directory);
+            exportRuns(directory);
+            exportGymSets(directory);
+            exportBmis(directory);
+            exportPeriods(directory);
+            exportAppointments(directory);
+        } catch (IOException e) {
+            LogFile.writeLog("Error occurred while exporting to " + directory + ": " + e, true);
+            throw new CustomExceptions.FileWriteError(ErrorConstant.EXPORT_WRITE_ERROR);
+        }
+        LogFile.writeLog("Exported " + exportedCount + " entries to " + directory, false);
+        return exportedCount;
+    }
+
+    /**
+     * Writes one row per run.
+     *
+     * @param directory The directory to write the file to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void exportRuns(Path directory) throws IOException {
+        try (Writer writer = openFile(directory, UiConstant.RUN_EXPORT_FILE)) {
+            writeRow(writer, RUN_HEADER);
+            int index = 1;
+            for (Run run : WorkoutLists.getRuns()) {
+                double distance = Double.parseDouble(run.getDistance());
+                writeRow(writer, String.valueOf(index++), toExportDate(run.getDate()), run.getDistance(),
+                        String.valueOf(run.getDurationSeconds()),
+                        String.valueOf(Math.round(run.getDurationSeconds() / distance)));
+                exportedCount++;
+            }
+        }
+    }
+
+    /**
+     * Writes one row per set of each station of each gym session.
+     *
+     * @param directory The directory to write the file to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void exportGymSets(Path directory) throws IOException {
+        try (Writer writer = openFile(directory, UiConstant.GYM_SET_EXPORT_FILE)) {
+            writeRow(writer, GYM_SET_HEADER);
+            int gymIndex = 1;
+            for (Gym gym : WorkoutLists.getGyms()) {
+                String date = toExportDate(gym.getDate());
+                int stationIndex = 1;
+                for (GymStation station : gym.getStations()) {
+                    int setIndex = 1;
+                    for (GymSet set : station.getSets()) {
+                        writeRow(writer, String.valueOf(gymIndex), date, String.valueOf(stationIndex),
+                                station.getStationName(), String.valueOf(setIndex++),
+                                String.valueOf(set.getNumberOfRepetitions()), String.valueOf(set.getWeight()));
+                    }
+                    stationIndex++;
+                }
+                gymIndex++;
+                exportedCount++;
+            }
+        }
+    }
+
+    /**
+     * Writes one row per BMI entry.
+     *
+     * @param directory The directory to write the file to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void exportBmis(Path directory) throws IOException {
+        try (Writer writer = openFile(directory, UiConstant.BMI_EXPORT_FILE)) {
+            writeRow(writer, BMI_HEADER);
+            int index = 1;
+            for (Bmi bmi : HealthList.getBmis()) {
+                writeRow(writer, String.valueOf(index++), toExportDate(bmi.getDate()), bmi.getHeight(),
+                        bmi.getWeight(), bmi.getBmiValueString());
+                exportedCount++;
+            }
+        }
+    }
+
+    /**
+     * Writes one row per period, leaving the length empty if the period has not ended.
+     *
+     * @param directory The directory to write the file to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void exportPeriods(Path directory) throws IOException {
+        try (Writer writer = openFile(directory, UiConstant.PERIOD_EXPORT_FILE)) {
+            writeRow(writer, PERIOD_HEADER);
+            int index = 1;
+            for (Period period : HealthList.getPeriods()) {
+                boolean hasEnded = period.getEndDate() != null;
+                writeRow(writer, String.valueOf(index++), toExportDate(period.getStartDate()),
+                        toExportDate(period.getEndDate()),
+                        hasEnded ? String.valueOf(period.getPeriodLength()) : UiConstant.EMPTY_STRING,
+                        period.getCycleLength() > 0 ? String.valueOf(period.getCycleLength())
+                                : UiConstant.EMPTY_STRING);
+                exportedCount++;
+            }
+        }
+    }
+
+    /**
+     * Writes one row per appointment.
+     *
+     * @param directory The directory to write the file to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void exportAppointments(Path directory) throws IOException {
+        try (Writer writer = openFile(directory, UiConstant.APPOINTMENT_EXPORT_FILE)) {
+            writeRow(writer, APPOINTMENT_HEADER);
+            int index = 1;
+            for (Appointment appointment : HealthList.getAppointments()) {
+                writeRow(writer, String.valueOf(index++), toExportDate(appointment.getDate()),
+                        appointment.getTime().toString(), appointment.getDescription());
+                exportedCount++;
+            }
+        }
+    }
+
+    /**
+     * Opens an export file for writing through a buffered writer over a file channel, replacing any earlier file.
+     *
+     * @param directory The directory holding the file.
+     * @param name      The name of the file without its extension.
+     * @return The writer.
+     * @throws IOException If an I/O error occurs.
+     */
+    private Writer openFile(Path directory, String name) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(name + UiConstant.FULL_STOP + format),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8),
+                UiConstant.EXPORT_BUFFER_SIZE);
+    }
+
+    /**
+     * Writes one row of an export file.
+     *
+     * @param writer The writer of the file.
+     * @param fields The values of the row.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeRow(Writer writer, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(delimiter);
+            }
+            writer.write(escape(fields[i]));
+        }
+        writer.write(System.lineSeparator());
+    }
+
+    /**
+     * Escapes a value so that it stays in a single field. CSV values holding a delimiter, quote or line break are
+     * quoted, while TSV has no quoting, so tabs and line breaks are replaced with spaces.
+     *
+     * @param field The value.
+     * @return The escaped value.
+     */
+    private String escape(String field) {
+        boolean hasLineBreak = field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0;
+        if (delimiter.equals(UiConstant.TSV_DELIMITER)) {
+            if (!hasLineBreak && !field.contains(delimiter)) {
+                return field;
+            }
+            return field.replace('\t', ' ').replace('\r', ' ').replace('\n', ' ');
+        }
+        if (hasLineBreak || field.contains(delimiter) || field.contains(CSV_QUOTE)) {
+            return CSV_QUOTE + field.replace(CSV_QUOTE, CSV_QUOTE + CSV_QUOTE) + CSV_QUOTE;
+        }
+        return field;
+    }
+
+    /**
+     * Formats a date for export.
+     *
+     * @param date The date, or null if there is none.
+     * @return The date in yyyy-MM-dd format, or an empty string.
+     */
+    private String toExportDate(LocalDate date) {
+        return date == null ? UiConstant.EMPTY_STRING : date.toString();
+    }
+
+    /**
+     * Formats the date of a workout for export.
+     *
+     * @param date The date of the workout in yyyy-MM-dd format, or NA if there is none.
+     * @return The date in yyyy-MM-dd format, or an empty string.
+     */
+    private String toExportDate(String date) {
+        return date.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR) ? UiConstant.EMPTY_STRING : date;
+    }
+}
@@ -1,27 +1,43 @@
 //@@author L5-Z
 package storage;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.nio.file.Files;
 import java.io.IOException;
 import java.io.File;
 import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import health.Appointment;
 import health.Bmi;
+import health.HealthList;
 import health.Period;
 import constants.ErrorConstant;
 import ui.Output;
 import utility.Parser;
 import utility.Validation;
 import workouts.Gym;
+import workouts.GymStation;
 import workouts.Run;
 import workouts.Workout;
+import workouts.WorkoutLists;
 import utility.CustomExceptions;
 import constants.UiConstant;
 import utility.Filters.DataType;
@@ -35,10 +51,16 @@ import utility.Filters.DataType;
 public class DataFile {
 
     public static String userName = null;
-    private static DataFile instance = null;
+    private static final SaveCommitter saveCommitter = new SaveCommitter();
 
     private final Output output;
     private final Validation validation;
+    private final Parser parser;
+    private final SegmentedDataFile segmentedDataFile;
+    private final Map<Integer, RecordDecoder> recordDecoders = new HashMap<>();
+    private RecordDecoder recordDecoder;
+    private boolean isPartiallyRecovered = false;
+    private String loadedFormat = null;
 
 
     /**
@@ -48,6 +70,11 @@ public class DataFile {
     public DataFile() {
         output = new Output();
         validation = new Validation();
+        parser = new Parser();
+        segmentedDataFile = new SegmentedDataFile(this);
+        recordDecoders.put(UiConstant.LEGACY_DATA_FILE_VERSION, this::prepareRecord);
+        recordDecoders.put(UiConstant.DATA_FILE_VERSION, this::prepareCurrentRecord);
+        recordDecoder = recordDecoders.get(UiConstant.DATA_FILE_VERSION);
     }
 
     /**
@@ -59,23 +86,114 @@ public class DataFile {
      * @throws IOException              If an I/O error occurs while reading the file.
      */
     protected String generateFileHash(File file) throws NoSuchAlgorithmException, IOException {
-        MessageDigest md = MessageDigest.getInstance("SHA-256");
-        FileInputStream fis = new FileInputStream(file);
-        byte[] dataBytes = new byte[1024];
+        MessageDigest md = MessageDigest.getInstance(UiConstant.HASH_ALGORITHM);
+        try (InputStream in = new DigestInputStream(new FileInputStream(file), md)) {
+            byte[] dataBytes = new byte[UiConstant.HASH_BUFFER_SIZE];
+            while (in.read(dataBytes) != -1) {
+                // the digest is updated by the stream as it is read
+            }
+        }
+        return MerkleHasher.toHexString(md.digest());
+    }
 
-        int bytesRead;
-        while ((bytesRead = fis.read(dataBytes)) != -1) {
-            md.update(dataBytes, 0, bytesRead);
+    /**
+     * Reads the hash file and prepares a hasher with the block size used to save the data file.
+     * Exits if the hash file does not match.
+     *
+     * @param hashLines The lines of the hash file.
+     * @return The leaves stored in the hash file, or an empty list if the hash file has no leaves.
+     */
+    private List<String> readExpectedLeaves(List<String> hashLines) {
+        try {
+            List<String> expectedLeaves = verifyExpectedLeaves(hashLines);
+            if (expectedLeaves != null) {
+                return expectedLeaves;
+            }
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            LogFile.writeLog("Error occurred while processing file hash: " + e, true);
+        }
+        processFail(ErrorConstant.DATA_INTEGRITY_ERROR);
+        System.exit(1);
+        return new ArrayList<>();
+    }
+
+    /**
+     * Checks the hash file the same way as {@link #readExpectedLeaves}, but leaves it to the caller to decide what
+     * to do if a check fails, so that nothing is deleted.
+     *
+     * @param hashLines The lines of the hash file.
+     * @return The leaves stored in the hash file, an empty list if the hash file has no leaves, or null if a check
+     *         fails.
+     * @throws IOException If an I/O error occurs while hashing the whole data file.
+     * @throws NoSuchAlgorithmException If the hash algorithm is not available.
+     */
+    private List<String> verifyExpectedLeaves(List<String> hashLines) throws IOException, NoSuchAlgorithmException {
+        if (isMerkleHashFile(hashLines)) {
+            String[] header = hashLines.get(0).split(UiConstant.SPLIT_BY_COLON);
+            List<String> expectedLeaves = hashLines.subList(1, hashLines.size());
+            if (header.length > UiConstant.MERKLE_ROOT_INDEX
+                    && MerkleHasher.computeRoot(expectedLeaves).equals(header[UiConstant.MERKLE_ROOT_INDEX])) {
+                return expectedLeaves;
+            }
+        } else if (generateFileHash(UiConstant.saveFile).equals(String.join("", hashLines))) {
+            LogFile.writeLog("Verified data file against whole-file hash", false);
+            return new ArrayList<>();
         }
+        return null;
+    }
 
-        byte[] digest = md.digest();
-        StringBuilder sb = new StringBuilder();
-        for (byte b : digest) {
-            sb.append(String.format("%02x", b & 0xff));
+    /**
+     * Checks whether the hash file holds block-level hashes, rather than a single hash of the whole data file.
+     *
+     * @param hashLines The lines of the hash file.
+     * @return Returns true if the hash file holds block-level hashes. Otherwise, returns false.
+     */
+    private boolean isMerkleHashFile(List<String> hashLines) {
+        return !hashLines.isEmpty()
+                && hashLines.get(0).startsWith(UiConstant.MERKLE_LABEL + UiConstant.SPLIT_BY_COLON);
+    }
+
+    /**
+     * Creates a hasher with the block size recorded in the hash file, or the default block size if there is none.
+     *
+     * @param hashLines The lines of the hash file.
+     * @return The hasher to be updated as the data file is read.
+     * @throws NoSuchAlgorithmException If the hash algorithm is not available.
+     */
+    private MerkleHasher createHasher(List<String> hashLines) throws NoSuchAlgorithmException {
+        int blockSize = UiConstant.INTEGRITY_BLOCK_SIZE;
+        if (isMerkleHashFile(hashLines)) {
+            try {
+                blockSize = Integer.parseInt(
+                        hashLines.get(0).split(UiConstant.SPLIT_BY_COLON)[UiConstant.MERKLE_BLOCK_SIZE_INDEX]);
+            } catch (RuntimeException e) {
+                LogFile.writeLog("Invalid block size in hash file: " + e, true);
+            }
         }
+        return new MerkleHasher(blockSize > 0 ? blockSize : UiConstant.INTEGRITY_BLOCK_SIZE);
+    }
 
-        fis.close();
-        return sb.toString();
+    /**
+     * Finds the blocks of the data file just read whose hashes do not match the hash file.
+     *
+     * @param hasher         The hasher updated with every byte of the data file.
+     * @param expectedLeaves The leaves stored in the hash file, or an empty list if the whole file has been verified.
+     * @param hashLines      The lines of the hash file.
+     * @return The indexes of the corrupted blocks, in ascending order.
+     */
+    private List<Integer> findCorruptBlocks(MerkleHasher hasher, List<String> expectedLeaves,
+                                            List<String> hashLines) {
+        List<String> actualLeaves = hasher.getLeaves();
+        if (!isMerkleHashFile(hashLines)) {
+            return new ArrayList<>();
+        }
+        List<Integer> corruptBlocks = MerkleHasher.findCorruptBlocks(expectedLeaves, actualLeaves);
+        if (corruptBlocks.isEmpty()) {
+            LogFile.writeLog("Data file hash verified", false);
+        } else {
+            LogFile.writeLog("Corrupted block(s) in data file: " + corruptBlocks, true);
+        }
+        return corruptBlocks;
     }
 
     /**
@@ -103,27 +221,22 @@ public class DataFile {
 
     /**
      * Initializes the data file to be used. Or loads the existing data file, verifies its integrity, and processes
-     * its content. Exits if the file cannot be created or loaded.
+     * its content. A save interrupted part way is finished or discarded first. Exits if the file cannot be created
+     * or loaded.
      *
      * @return Returns 0 if the file is found. Else, returns 1.
      */
     public int loadDataFile() {
         int status = UiConstant.FILE_NOT_FOUND;
         validation.validateDirectoryPermissions();
+        SaveCommitter.recoverInterruptedSave();
         try {
             File dataFile = UiConstant.saveFile;
             File hashFile = new File(UiConstant.hashFilePath);
 
+            // the hash itself is checked while the data file is read, so the file is only read once
             if (dataFile.exists() && hashFile.exists()) {
-                String expectedHash = generateFileHash(dataFile);
-                String actualHash = readHashFromFile(hashFile);
-
-                if (expectedHash.equals(actualHash)) {
-                    status = verifyIntegrity(dataFile);
-                } else {
-                    processFail(ErrorConstant.DATA_INTEGRITY_ERROR);
-                    System.exit(1);
-                }
+                status = verifyIntegrity(dataFile);
             } else if (!dataFile.exists() && !hashFile.exists()) {
                 status = verifyIntegrity(dataFile);
             } else {
@@ -134,10 +247,6 @@ public class DataFile {
             System.err.println(ErrorConstant.CREATE_FILE_ERROR);
             LogFile.writeLog(ErrorConstant.CREATE_FILE_ERROR, true);
             System.exit(1);
-        } catch (IOException | NoSuchAlgorithmException e) {
-            LogFile.writeLog("Error occurred while processing file hash: " + e.getMessage(), true);
-            output.printException(ErrorConstant.HASH_ERROR);
-            System.exit(1);
         }
 
         Path dataFilePath = Path.of(UiConstant.dataFilePath);
@@ -164,91 +273,156 @@ public class DataFile {
     }
 
     /**
-     * Reads the hash value from a hash file.
+     * Reads the non-blank lines of the hash file.
      *
-     * @param hashFile The hash file to read from.
-     * @return The hash value read from the file.
+     * @return The lines of the hash file.
      * @throws IOException If an I/O error occurs.
      */
-    protected String readHashFromFile(File hashFile) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        Scanner scanner = new Scanner(hashFile);
-        while (scanner.hasNextLine()) {
-            sb.append(scanner.nextLine());
+    private List<String> readHashLines() throws IOException {
+        return toHashLines(Files.readAllLines(Path.of(UiConstant.hashFilePath)));
+    }
+
+    /**
+     * Keeps the non-blank lines of a hash file, without surrounding whitespace.
+     *
+     * @param lines All lines of the hash file.
+     * @return The lines of the hash file.
+     */
+    private List<String> toHashLines(List<String> lines) {
+        List<String> hashLines = new ArrayList<>();
+        for (String line : lines) {
+            if (!line.isBlank()) {
+                hashLines.add(line.trim());
+            }
         }
-        scanner.close();
-        return sb.toString();
+        return hashLines;
     }
 
     /**
-     * Writes the hash value to the hash file.
+     * Reads the hash that identifies the saved data file, which is the Merkle root for block-level hashes.
      *
-     * @param hash     The hash value to write.
+     * @return The root hash, or the whole-file hash if the hash file is from before block-level hashing.
      * @throws IOException If an I/O error occurs.
      */
-    private void writeHashToFile(String hash) throws IOException {
-        FileOutputStream fos = new FileOutputStream(UiConstant.hashFilePath);
-        fos.write(hash.getBytes());
-        fos.close();
+    protected String readBaseHash() throws IOException {
+        return toBaseHash(readHashLines());
     }
 
     /**
-     * Reads data from the existing data file and processes it.
+     * Finds the hash that identifies a data file from the lines of its hash file.
      *
-     * @throws CustomExceptions.FileReadError If there is an error reading the data file.
+     * @param hashLines The lines of the hash file.
+     * @return The root hash, or the whole-file hash if the hash file is from before block-level hashing.
      */
-    public void readDataFile() throws CustomExceptions.FileReadError {
-        int lineNumberCount = 0; // just for getting lineNumber, no other use
-        try (final Scanner readFile = new Scanner(UiConstant.saveFile)) {
-            LogFile.writeLog("Read begins", false);
-            try {
-                String[] input = readFile.nextLine().split(UiConstant.SPLIT_BY_COLON);
-                String name = input[UiConstant.NAME_INDEX].trim();
-                LogFile.writeLog("Processing Name", false);
-                processName(name);
-                LogFile.writeLog("Name Loaded", false);
-
-            } catch (Exception e) {
-                LogFile.writeLog("Data file is missing name, exiting." + e, true);
-                processFail(ErrorConstant.CORRUPT_ERROR);
-                System.exit(1);
+    private String toBaseHash(List<String> hashLines) {
+        if (isMerkleHashFile(hashLines)) {
+            String[] header = hashLines.get(0).split(UiConstant.SPLIT_BY_COLON);
+            if (header.length > UiConstant.MERKLE_ROOT_INDEX) {
+                return header[UiConstant.MERKLE_ROOT_INDEX];
             }
+        }
+        return String.join("", hashLines);
+    }
 
-            while (readFile.hasNextLine()) {
-                String rawInput = readFile.nextLine();
-                LogFile.writeLog("Read String: " + rawInput, false);
-                String[] input = rawInput.split(UiConstant.SPLIT_BY_COLON);
-                String dataType = input[UiConstant.DATA_TYPE_INDEX].trim();
-
-                LogFile.writeLog("Current DataType:" + dataType, false);
-                DataType filter = DataType.valueOf(dataType);
-                switch (filter) {
+    /**
+     * Reads data from the existing data file and processes it once its block hashes match the hash file.
+     * Exits if the data file has been tampered with and cannot be recovered.
+     *
+     * @throws CustomExceptions.FileReadError If there is an error reading the data file.
+     */
+    public void readDataFile() throws CustomExceptions.FileReadError {
+        List<String> hashLines = null;
+        MerkleHasher hasher = null;
+        try {
+            hashLines = readHashLines();
+            hasher = createHasher(hashLines);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LogFile.writeLog("Error occurred while processing file hash: " + e.getMessage(), true);
+            output.printException(ErrorConstant.HASH_ERROR);
+            System.exit(1);
+        }
+        List<String> expectedLeaves = readExpectedLeaves(hashLines);
 
-                case APPOINTMENT:
-                    processAppointment(input);
-                    break;
+        try {
+            if (BinaryDataFile.isBinaryFile(UiConstant.saveFile)) {
+                readBinaryDataFile(hasher, expectedLeaves, hashLines);
+                return;
+            }
+            if (SegmentedDataFile.isManifestFile(UiConstant.saveFile)) {
+                readSegmentedDataFile(hasher, expectedLeaves, hashLines);
+                return;
+            }
+        } catch (Exception e) {
+            LogFile.writeLog("Binary or segmented data file is corrupted, exiting." + e, true);
+            processFail(ErrorConstant.CORRUPT_ERROR);
+            System.exit(1);
+        }
+        readTextDataFile(hasher, expectedLeaves, hashLines);
+    }
 
-                case PERIOD:
-                    processPeriod(input);
-                    break;
+    /**
+     * Reads data from a text data file and processes it.
+     * Only the recent entries of each type are loaded, and the rest are left to {@code DeferredHistory}.
+     *
+     * @param hasher         The hasher to be updated with every byte of the data file.
+     * @param expectedLeaves The leaves stored in the hash file.
+     * @param hashLines      The lines of the hash file.
+     */
+    private void readTextDataFile(MerkleHasher hasher, List<String> expectedLeaves, List<String> hashLines) {
+        // older entries can only be loaded later if the data file can be checked again block by block
+        boolean isLazy = UiConstant.recentHistoryCount > 0 && isMerkleHashFile(hashLines);
+        DeferredHistory.clear();
+        HistoryScan scan = scanTextDataFile(hasher, isLazy ? UiConstant.recentHistoryCount : 0);
 
-                case BMI:
-                    processBmi(input);
-                    break;
+        List<String> lines;
+        List<Integer> corruptBlocks = findCorruptBlocks(hasher, expectedLeaves, hashLines);
+        if (!corruptBlocks.isEmpty()) {
+            if (scan.getNameEnd() < 0) {
+                // compressed data files have no byte offsets for their lines, as a corrupted block breaks
+                // decompression of everything after it
+                processFail(ErrorConstant.DATA_INTEGRITY_ERROR);
+                System.exit(1);
+            }
+            if (scan.hasDeferredLines()) {
+                scan = scanTextDataFile(null, 0);
+            }
+            lines = recoverIntactLines(scan.getEagerLines(), scan.getLineEnds(), scan.getNameEnd(), corruptBlocks,
+                    hasher.getBlockSize());
+        } else {
+            lines = scan.getEagerLines();
+            if (scan.hasDeferredLines()) {
+                DeferredHistory.defer(this, scan, expectedLeaves, hasher.getBlockSize());
+            }
+        }
+        String nameLine = scan.getNameLine();
+        useDecoderFor(scan, lines.size());
 
-                case GYM:
-                    processGym(rawInput);
-                    break;
+        try {
+            String[] input = nameLine.split(UiConstant.SPLIT_BY_COLON);
+            String name = input[UiConstant.NAME_INDEX].trim();
+            LogFile.writeLog("Processing Name", false);
+            processName(name);
+            LogFile.writeLog("Name Loaded", false);
 
-                case RUN:
-                    processRun(input);
-                    break;
+        } catch (Exception e) {
+            LogFile.writeLog("Data file is missing name, exiting." + e, true);
+            processFail(ErrorConstant.CORRUPT_ERROR);
+            System.exit(1);
+        }
 
-                default:
-                    break; // valueOf results in immediate exception for non-match with enum DataType
+        int lineNumberCount = 0; // just for getting lineNumber, no other use
+        try {
+            if (ParallelDataLoader.isParallelLoadWorthwhile(lines.size())) {
+                LogFile.writeLog("Loading " + lines.size() + " record(s) in parallel", false);
+                lineNumberCount = new ParallelDataLoader(this, lines).load();
+            } else {
+                for (String rawInput : lines) {
+                    processRecord(rawInput);
+                    lineNumberCount += 1;
                 }
-                lineNumberCount += 1;
             }
+            LogFile.writeLog("Read " + lineNumberCount + " record(s)", false);
+            loadedFormat = UiConstant.TEXT_FORMAT;
         } catch (Exception e) {
             LogFile.writeLog("Data file is missing content at line " + lineNumberCount + ", exiting." + e,
                     true);
@@ -257,6 +431,325 @@ public class DataFile {
         }
     }
 
+    /**
+     * Chooses the decoder for the version of the text data file that has been scanned, and sizes the lists.
+     *
+     * @param scan      The scan of the data file.
+     * @param lineCount The number of entries to be loaded now.
+     */
+    private void useDecoderFor(HistoryScan scan, int lineCount) {
+        DataFileHeader header = null;
+        try {
+            header = scan.getHeader();
+        } catch (IOException e) {
+            LogFile.writeLog("Data file header is malformed, exiting." + e, true);
+            processFail(ErrorConstant.CORRUPT_ERROR);
+            System.exit(1);
+        }
+        recordDecoder = recordDecoders.get(header.getVersion());
+        if (recordDecoder == null) {
+            LogFile.writeLog("Data file version " + header.getVersion() + " is not supported, exiting.", true);
+            output.printException(ErrorConstant.UNSUPPORTED_VERSION_ERROR);
+            System.exit(1);
+        }
+        LogFile.writeLog("Reading data file version " + header.getVersion(), false);
+        header.presizeLists(scan.hasDeferredLines() ? scan.getLineCount() : lineCount);
+    }
+
+    /**
+     * Reads every line of the text data file, splitting the entries into recent and older ones.
+     * Exits if the data file cannot be read.
+     *
+     * @param hasher      The hasher to be updated with every byte of the data file, or null if it is not hashed.
+     * @param recentCount The number of recent entries of each type to load now, or 0 to load every entry.
+     * @return The scan of the data file.
+     */
+    private HistoryScan scanTextDataFile(MerkleHasher hasher, int recentCount) {
+        HistoryScan scan = new HistoryScan(recentCount);
+        try (final LineReader readFile = LineReader.open(UiConstant.saveFile, hasher)) {
+            LogFile.writeLog("Read begins", false);
+            scan.readFrom(readFile);
+        } catch (IOException e) {
+            LogFile.writeLog("Data file could not be read, exiting." + e, true);
+            processFail(ErrorConstant.CORRUPT_ERROR);
+            System.exit(1);
+        }
+        return scan;
+    }
+
+    /**
+     * Keeps only the lines of the data file that lie entirely within intact blocks.
+     * The name must be intact, otherwise nothing can be recovered and the program exits.
+     *
+     * @param lines         The lines of the data file after the name.
+     * @param lineEnds      The byte offset just past the end of each line.
+     * @param nameEnd       The byte offset just past the end of the name line.
+     * @param corruptBlocks The indexes of the corrupted blocks.
+     * @param blockSize     The number of bytes in each block.
+     * @return The lines that can be trusted, in file order.
+     */
+    private List<String> recoverIntactLines(List<String> lines, int[] lineEnds, int nameEnd,
+                                            List<Integer> corruptBlocks, int blockSize) {
+        BitSet corrupt = new BitSet();
+        for (int block : corruptBlocks) {
+            corrupt.set(block);
+        }
+        if (isRangeCorrupt(corrupt, 0, nameEnd, blockSize)) {
+            processFail(ErrorConstant.DATA_INTEGRITY_ERROR);
+            System.exit(1);
+        }
+
+        List<String> intactLines = new ArrayList<>();
+        int lineStart = nameEnd;
+        for (int i = 0; i < lines.size(); i++) {
+            if (!isRangeCorrupt(corrupt, lineStart, lineEnds[i], blockSize)) {
+                intactLines.add(lines.get(i));
+            }
+            lineStart = lineEnds[i];
+        }
+
+        int discardedCount = lines.size() - intactLines.size();
+        LogFile.writeLog("Recovered " + intactLines.size() + " record(s), discarded " + discardedCount, true);
+        output.printException(String.format(ErrorConstant.PARTIAL_RECOVERY_ERROR, corruptBlocks.size(),
+                discardedCount));
+        isPartiallyRecovered = true;
+        return intactLines;
+    }
+
+    /**
+     * Checks whether any byte in the given range lies in a corrupted block.
+     *
+     * @param corrupt   The set of corrupted block indexes.
+     * @param start     The byte offset of the start of the range.
+     * @param end       The byte offset just past the end of the range.
+     * @param blockSize The number of bytes in each block.
+     * @return Returns true if the range overlaps a corrupted block. Otherwise, returns false.
+     */
+    private boolean isRangeCorrupt(BitSet corrupt, int start, int end, int blockSize) {
+        if (end <= start) {
+            return corrupt.get(start / blockSize);
+        }
+        int nextCorrupt = corrupt.nextSetBit(start / blockSize);
+        return nextCorrupt >= 0 && nextCorrupt <= (end - 1) / blockSize;
+    }
+
+    /**
+     * Reads data from a binary data file, which may be stored compressed, and processes it.
+     * Every entry is decoded before the hashes are checked, and only processed if every block is intact.
+     *
+     * @param hasher         The hasher to be updated with every byte of the data file.
+     * @param expectedLeaves The leaves stored in the hash file.
+     * @param hashLines      The lines of the hash file.
+     * @throws IOException If an I/O error occurs or the file is not in the binary format.
+     * @throws CustomExceptions.InvalidInput If an entry is invalid.
+     * @throws CustomExceptions.InsufficientInput If an entry is missing data.
+     * @throws CustomExceptions.FileReadError If a gym entry cannot be read.
+     */
+    private void readBinaryDataFile(MerkleHasher hasher, List<String> expectedLeaves, List<String> hashLines)
+            throws IOException, CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput,
+            CustomExceptions.FileReadError {
+        LogFile.writeLog("Binary read begins", false);
+        List<PreparedRecord> records = new ArrayList<>();
+        String name;
+        try (InputStream storedFile = hasher.wrap(new FileInputStream(UiConstant.saveFile))) {
+            name = new BinaryDataFile().readBinaryFile(CompressedDataFile.decompressIfNeeded(storedFile), records);
+            CompressedDataFile.drain(storedFile);
+        }
+        if (!findCorruptBlocks(hasher, expectedLeaves, hashLines).isEmpty()) {
+            processFail(ErrorConstant.DATA_INTEGRITY_ERROR);
+            System.exit(1);
+        }
+
+        processName(name);
+        for (PreparedRecord record : records) {
+            record.commit();
+        }
+        loadedFormat = UiConstant.BINARY_FORMAT;
+        LogFile.writeLog("Read " + records.size() + " record(s)", false);
+    }
+
+    /**
+     * Reads the manifest of a segmented data file and loads the segments holding the recent entries.
+     * Exits if the manifest has been tampered with.
+     *
+     * @param hasher         The hasher to be updated with every byte of the manifest.
+     * @param expectedLeaves The leaves stored in the hash file.
+     * @param hashLines      The lines of the hash file.
+     * @throws IOException If an I/O error occurs while reading the manifest.
+     * @throws CustomExceptions.InvalidInput If the manifest or the name in it is not valid.
+     */
+    private void readSegmentedDataFile(MerkleHasher hasher, List<String> expectedLeaves, List<String> hashLines)
+            throws IOException, CustomExceptions.InvalidInput {
+        LogFile.writeLog("Segmented read begins", false);
+        byte[] manifestBytes = Files.readAllBytes(UiConstant.saveFile.toPath());
+        hasher.update(manifestBytes, 0, manifestBytes.length);
+        if (!findCorruptBlocks(hasher, expectedLeaves, hashLines).isEmpty()) {
+            processFail(ErrorConstant.DATA_INTEGRITY_ERROR);
+            System.exit(1);
+        }
+
+        SegmentManifest manifest = SegmentManifest.parse(new String(manifestBytes, StandardCharsets.UTF_8));
+        processName(manifest.getName());
+        DeferredHistory.clear();
+        segmentedDataFile.open(manifest);
+    }
+
+    /**
+     * Checks whether the data file read at startup is stored in a different format from the configured one.
+     *
+     * @return True if the data file should be saved again in the configured format, false otherwise.
+     */
+    public boolean isFormatChangeDue() {
+        if (loadedFormat == null || SegmentedDataFile.isEnabled()
+                || loadedFormat.equals(UiConstant.storageFormat)) {
+            return false;
+        }
+        LogFile.writeLog("Converting data file from " + loadedFormat + " to " + UiConstant.storageFormat, false);
+        return true;
+    }
+
+    /**
+     * Records that some entries of the data file could not be recovered, so the journal is not replayed on top.
+     */
+    void markPartiallyRecovered() {
+        isPartiallyRecovered = true;
+    }
+
+    /**
+     * Processes a single entry from the data file and adds it to the relevant list.
+     *
+     * @param rawInput The raw line read from the data file.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.FileReadError If there is an error reading the gym entry.
+     * @throws IllegalArgumentException If the data type of the entry is not recognised.
+     */
+    protected void processRecord(String rawInput) throws CustomExceptions.InvalidInput,
+            CustomExceptions.InsufficientInput, CustomExceptions.FileReadError {
+        recordDecoder.decode(rawInput, validation, parser).commit();
+    }
+
+    /**
+     * Parses and validates a single entry from the data file with the decoder for the version being read, without
+     * adding it to any list.
+     *
+     * @param rawInput   The raw line read from the data file.
+     * @param validation The validation object used to validate the entry.
+     * @param parser     The parser object used to parse gym entries.
+     * @return The prepared entry, to be committed in file order.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.FileReadError If there is an error reading the gym entry.
+     * @throws IllegalArgumentException If the data type of the entry is not recognised.
+     */
+    protected PreparedRecord decodeRecord(String rawInput, Validation validation, Parser parser)
+            throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput,
+            CustomExceptions.FileReadError {
+        return recordDecoder.decode(rawInput, validation, parser);
+    }
+
+    /**
+     * Parses and validates a single entry from a data file in the current format.
+     *
+     * @param rawInput   The raw line read from the data file.
+     * @param validation The validation object used to validate the entry.
+     * @param parser     The parser object used to parse gym entries.
+     * @return The prepared entry, to be committed in file order.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.FileReadError If there is an error reading the gym entry.
+     * @throws IllegalArgumentException If the data type of the entry is not recognised.
+     */
+    private PreparedRecord prepareCurrentRecord(String rawInput, Validation validation, Parser parser)
+            throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput,
+            CustomExceptions.FileReadError {
+        int labelEnd = rawInput.indexOf(UiConstant.SPLIT_BY_COLON);
+        DataType filter = labelEnd < 0 ? null : DataType.findExact(rawInput, 0, labelEnd);
+        if (filter == null) {
+            throw new IllegalArgumentException(ErrorConstant.CORRUPT_ERROR);
+        }
+        if (filter == DataType.GYM) {
+            return prepareGym(rawInput, parser);
+        }
+        String[] input = rawInput.split(UiConstant.SPLIT_BY_COLON);
+        switch (filter) {
+        case APPOINTMENT:
+            return prepareAppointment(input, validation);
+
+        case PERIOD:
+            return preparePeriod(input, validation);
+
+        case BMI:
+            return prepareBmi(input, validation);
+
+        case RUN:
+            return prepareRun(input, validation);
+
+        default:
+            throw new IllegalArgumentException(ErrorConstant.CORRUPT_ERROR);
+        }
+    }
+
+    /**
+     * Parses and validates a single entry from the data file without adding it to any list.
+     * Only the {@code Validation} and {@code Parser} objects given are used.
+     *
+     * @param rawInput   The raw line read from the data file.
+     * @param validation The validation object used to validate the entry.
+     * @param parser     The parser object used to parse gym entries.
+     * @return The prepared entry, to be committed in file order.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.FileReadError If there is an error reading the gym entry.
+     * @throws IllegalArgumentException If the data type of the entry is not recognised.
+     */
+    protected PreparedRecord prepareRecord(String rawInput, Validation validation, Parser parser)
+            throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput,
+            CustomExceptions.FileReadError {
+        return prepareRecord(rawInput.split(UiConstant.SPLIT_BY_COLON), validation, parser);
+    }
+
+    /**
+     * Parses and validates a single entry, already split into its fields, without adding it to any list.
+     *
+     * @param input      The fields of the entry, in the same order as in the text data file.
+     * @param validation The validation object used to validate the entry.
+     * @param parser     The parser object used to parse gym entries.
+     * @return The prepared entry, to be committed in file order.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.FileReadError If there is an error reading the gym entry.
+     * @throws IllegalArgumentException If the data type of the entry is not recognised.
+     */
+    protected PreparedRecord prepareRecord(String[] input, Validation validation, Parser parser)
+            throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput,
+            CustomExceptions.FileReadError {
+        DataType filter = DataType.findExact(input[UiConstant.DATA_TYPE_INDEX]);
+        if (filter == null) {
+            throw new IllegalArgumentException(ErrorConstant.CORRUPT_ERROR);
+        }
+        switch (filter) {
+
+        case APPOINTMENT:
+            return prepareAppointment(input, validation);
+
+        case PERIOD:
+            return preparePeriod(input, validation);
+
+        case BMI:
+            return prepareBmi(input, validation);
+
+        case GYM:
+            return prepareGym(String.join(UiConstant.SPLIT_BY_COLON, input), parser);
+
+        case RUN:
+            return prepareRun(input, validation);
+
+        default:
+            throw new IllegalArgumentException(ErrorConstant.CORRUPT_ERROR);
+        }
+    }
+
     /**
      * Processes the username from the data file.
      *
@@ -279,13 +772,27 @@ public class DataFile {
      */
     public void processAppointment(String[] input) throws CustomExceptions.InsufficientInput,
             CustomExceptions.InvalidInput {
+        prepareAppointment(input, validation).commit();
+    }
+
+    /**
+     * Validates an appointment entry from the input string array.
+     *
+     * @param input      The input string array containing appointment data.
+     * @param validation The validation object used to validate the entry.
+     * @return The prepared entry, which adds the appointment to the health list when committed.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     */
+    private PreparedRecord prepareAppointment(String[] input, Validation validation)
+            throws CustomExceptions.InsufficientInput, CustomExceptions.InvalidInput {
         String date = input[1].trim(); // date
         String time = input[2].trim(); // time
         String formattedTime = time.replace(".", ":");
         String description = input[3].trim(); // description
         String[] checkAppointmentDetails = {date, formattedTime, description};
         validation.validateAppointmentDetails(checkAppointmentDetails);
-        Appointment appointment = new Appointment(date, formattedTime, description);
+        return () -> new Appointment(date, formattedTime, description);
     }
 
     /**
@@ -297,16 +804,30 @@ public class DataFile {
      */
     public void processPeriod(String[] input) throws CustomExceptions.InsufficientInput,
             CustomExceptions.InvalidInput {
+        preparePeriod(input, validation).commit();
+    }
+
+    /**
+     * Validates a period entry from the input string array.
+     * The period is only constructed when committed.
+     *
+     * @param input      The input string array containing period data.
+     * @param validation The validation object used to validate the entry.
+     * @return The prepared entry, which adds the period to the health list when committed.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     */
+    private PreparedRecord preparePeriod(String[] input, Validation validation)
+            throws CustomExceptions.InsufficientInput, CustomExceptions.InvalidInput {
         String startDate = input[1].trim(); // start
         String endDate = input[2].trim(); // end, skip 3 duration
         String[] checkPeriodInput = {startDate, endDate};
         boolean isParser = false;
         validation.validatePeriodInput(checkPeriodInput, isParser);
         if (endDate.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR)) {
-            new Period(startDate);
-        } else {
-            new Period(startDate, endDate);
+            return () -> new Period(startDate);
         }
+        return () -> new Period(startDate, endDate);
     }
 
     /**
@@ -317,12 +838,30 @@ public class DataFile {
      * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
      */
     public void processBmi(String[] input) throws CustomExceptions.InsufficientInput, CustomExceptions.InvalidInput {
+        prepareBmi(input, validation).commit();
+    }
+
+    /**
+     * Validates a BMI entry from the input string array.
+     * Checking that no other BMI entry has the same date depends on the health list, so it is done when committed.
+     *
+     * @param input      The input string array containing BMI data.
+     * @param validation The validation object used to validate the entry.
+     * @return The prepared entry, which adds the BMI to the health list when committed.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     */
+    private PreparedRecord prepareBmi(String[] input, Validation validation)
+            throws CustomExceptions.InsufficientInput, CustomExceptions.InvalidInput {
         String height = input[1].trim(); // height
         String weight = input[2].trim(); // weight
         String date = input[4].trim();// skip 3, bmi score, 4 is date
         String[] checkBmiInput = {height, weight, date};
-        validation.validateBmiInput(checkBmiInput);
-        new Bmi(height, weight, date);
+        validation.validateBmiDetails(checkBmiInput);
+        return () -> {
+            validation.validateDateNotPresent(date);
+            new Bmi(height, weight, date);
+        };
     }
 
     /**
@@ -333,6 +872,20 @@ public class DataFile {
      * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
      */
     public void processRun(String[] input) throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput {
+        prepareRun(input, validation).commit();
+    }
+
+    /**
+     * Validates a run entry from the input string array.
+     *
+     * @param input      The input string array containing run data.
+     * @param validation The validation object used to validate the entry.
+     * @return The prepared entry, which adds the run to the workout list when committed.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     */
+    private PreparedRecord prepareRun(String[] input, Validation validation)
+            throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput {
         String distance = input[1].trim(); // distance
         String time = input[2].trim(); // time
         String formattedTime = time.replace(".", ":");
@@ -340,10 +893,9 @@ public class DataFile {
         String[] checkRunInput = {formattedTime, distance, date};
         validation.validateRunInput(checkRunInput);
         if (date.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR)) {
-            new Run(formattedTime, distance);
-        } else {
-            new Run(formattedTime, distance, date);
+            return () -> new Run(formattedTime, distance);
         }
+        return () -> new Run(formattedTime, distance, date);
     }
 
     /**
@@ -356,13 +908,252 @@ public class DataFile {
      */
     public void processGym(String rawInput) throws CustomExceptions.InvalidInput, CustomExceptions.FileReadError,
             CustomExceptions.InsufficientInput {
+        prepareGym(rawInput, parser).commit();
+    }
+
+    /**
+     * Validates a gym entry and all of its stations from the raw input string.
+     *
+     * @param rawInput The raw input string containing gym data.
+     * @param parser   The parser object used to parse the entry.
+     * @return The prepared entry, which adds the gym to the workout list when committed.
+     * @throws CustomExceptions.InvalidInput  If there is an error in the input data format.
+     * @throws CustomExceptions.FileReadError If there is an error reading the gym file.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     */
+    private PreparedRecord prepareGym(String rawInput, Parser parser) throws CustomExceptions.InvalidInput,
+            CustomExceptions.FileReadError, CustomExceptions.InsufficientInput {
+        String[] gymDetails = parser.validateGymFileInput(rawInput);
+        ArrayList<GymStation> stations = parser.parseGymFileStations(gymDetails);
+        return () -> parser.createGymFromFile(gymDetails, stations);
+    }
+
+    /**
+     * Replays the journal on top of the data file that has just been read, then reopens the journal for appending.
+     * If a record cannot be applied, the journal is set aside and the user is told where it was kept.
+     */
+    public void replayJournal() {
+        try {
+            String baseHash = readBaseHash();
+            List<String> records = JournalFile.readJournal(baseHash);
+            if (hasDeleteRecord(records) && !isPartiallyRecovered) {
+                // deletes refer to positions in the full lists
+                DeferredHistory.load();
+            }
+            if (isPartiallyRecovered) {
+                // journal deletes refer to positions in the lists before entries were discarded
+                LogFile.writeLog("Skipping journal replay after partial recovery", true);
+                return;
+            }
+            int appliedCount = 0;
+            for (String record : records) {
+                try {
+                    applyJournalRecord(record);
+                } catch (Exception e) {
+                    LogFile.writeLog("Stopping journal replay at record " + appliedCount + ": " + e, true);
+                    break;
+                }
+                appliedCount += 1;
+            }
+            LogFile.writeLog("Replayed " + appliedCount + " journal record(s)", false);
+            if (appliedCount < records.size()) {
+                Path rejectedPath = JournalFile.setAsideJournal();
+                output.printException(String.format(ErrorConstant.JOURNAL_REPLAY_ERROR, appliedCount + 1,
+                        rejectedPath));
+                return;
+            }
+            JournalFile.startJournal(baseHash, records);
+        } catch (IOException e) {
+            LogFile.writeLog(ErrorConstant.JOURNAL_READ_ERROR + e.getMessage(), true);
+        }
+    }
+
+    /**
+     * Reads only the entries of the given types dated within the given range into the lists.
+     * Changes in the journal are not included.
+     *
+     * @param dataTypes The types of entry to read.
+     * @param fromDate  The earliest date to include.
+     * @param toDate    The latest date to include.
+     * @return The number of entries read.
+     * @throws CustomExceptions.FileReadError If there is no data file, it is not a single text data file, or it does
+     *                                        not match its hashes. Nothing is deleted if the hashes do not match.
+     */
+    public int readDateRange(List<DataType> dataTypes, LocalDate fromDate, LocalDate toDate)
+            throws CustomExceptions.FileReadError {
+        SaveCommitter.recoverInterruptedSave();
+        File dataFile = UiConstant.saveFile;
+        if (!dataFile.exists() || !new File(UiConstant.hashFilePath).exists()) {
+            throw new CustomExceptions.FileReadError(ErrorConstant.QUERY_FILE_ERROR);
+        }
+        try {
+            if (BinaryDataFile.isBinaryFile(dataFile) || SegmentedDataFile.isManifestFile(dataFile)) {
+                throw new CustomExceptions.FileReadError(ErrorConstant.QUERY_FORMAT_ERROR);
+            }
+            List<String> hashLines = readHashLines();
+            int blockSize = createHasher(hashLines).getBlockSize();
+            List<String> expectedLeaves = verifyExpectedLeaves(hashLines);
+            if (expectedLeaves == null) {
+                LogFile.writeLog("Hash file does not match for date range", true);
+                throw new CustomExceptions.FileReadError(ErrorConstant.QUERY_INTEGRITY_ERROR);
+            }
+            String baseHash = toBaseHash(hashLines);
+
+            List<String> records = DataFileIndex.findRecords(dataFile, baseHash, expectedLeaves, blockSize,
+                    dataTypes, fromDate, toDate);
+            if (records == null) {
+                records = DataFileIndex.scanRecords(dataFile, expectedLeaves, blockSize, dataTypes, fromDate,
+                        toDate);
+            }
+            if (!JournalFile.readJournal(baseHash).isEmpty()) {
+                output.printQueryJournalNotice();
+            }
+
+            int readCount = 0;
+            for (String record : records) {
+                try {
+                    processRecord(record);
+                    readCount++;
+                } catch (Exception e) {
+                    LogFile.writeLog("Skipping invalid record in date range: " + e.getMessage(), true);
+                }
+            }
+            return readCount;
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            LogFile.writeLog("Error occurred while reading date range: " + e, true);
+            throw new CustomExceptions.FileReadError(ErrorConstant.QUERY_INTEGRITY_ERROR);
+        }
+    }
+
+    /**
+     * Checks whether any of the journal records deletes an entry.
+     *
+     * @param records The journal records.
+     * @return Returns true if there is a delete record. Otherwise, returns false.
+     */
+    private boolean hasDeleteRecord(List<String> records) {
+        String deletePrefix = UiConstant.JOURNAL_DELETE_LABEL + UiConstant.SPLIT_BY_COLON;
+        for (String record : records) {
+            if (record.startsWith(deletePrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applies a single journal record, either adding an entry in data file format or deleting an entry by index.
+     *
+     * @param record The journal record to apply.
+     * @throws CustomExceptions.InvalidInput If there is an error in the record format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient data in the record.
+     * @throws CustomExceptions.FileReadError If there is an error reading a gym entry.
+     */
+    protected void applyJournalRecord(String record) throws CustomExceptions.InvalidInput,
+            CustomExceptions.InsufficientInput, CustomExceptions.FileReadError {
+        int labelEnd = record.indexOf(UiConstant.SPLIT_BY_COLON);
+        String label = record.substring(UiConstant.JOURNAL_LABEL_INDEX, labelEnd);
+
+        if (label.equals(UiConstant.JOURNAL_ADD_LABEL)) {
+            processRecord(record.substring(labelEnd + 1));
+        } else if (label.equals(UiConstant.JOURNAL_DELETE_LABEL)) {
+            String[] input = record.split(UiConstant.SPLIT_BY_COLON);
+            DataType dataType = DataType.findExact(input[UiConstant.JOURNAL_DELETE_TYPE_INDEX]);
+            if (dataType == null) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.CORRUPT_ERROR);
+            }
+            int index = Integer.parseInt(input[UiConstant.JOURNAL_DELETE_INDEX_INDEX]);
+            removeRecord(dataType, index);
+        } else {
+            throw new CustomExceptions.InvalidInput(ErrorConstant.CORRUPT_ERROR);
+        }
+    }
 
-        Parser newParser = new Parser();
-        newParser.parseGymFileInput(rawInput);
+    /**
+     * Removes an entry from the relevant list without printing anything, used when replaying deletes.
+     *
+     * @param dataType The type of entry to remove.
+     * @param index    The index of the entry to remove, starting from 0.
+     * @throws IndexOutOfBoundsException If the index does not exist in the list.
+     */
+    protected void removeRecord(DataType dataType, int index) {
+        switch (dataType) {
+        case BMI:
+            HealthList.getBmis().remove(index);
+            break;
+
+        case PERIOD:
+            HealthList.getPeriods().remove(index);
+            break;
+
+        case APPOINTMENT:
+            HealthList.getAppointments().remove(index);
+            break;
+
+        case RUN:
+            WorkoutLists.getWorkouts().remove(WorkoutLists.getRuns().remove(index));
+            break;
+
+        case GYM:
+            WorkoutLists.getWorkouts().remove(WorkoutLists.getGyms().remove(index));
+            break;
+
+        default:
+            break;
+        }
     }
 
     /**
-     * Saves data to the data file.
+     * Compacts the journal by rewriting the full data file, then starts an empty journal on top of it.
+     * Older entries not loaded yet are added to the given lists first, so the lists must be the ones in use.
+     *
+     * @param name                 The username to be saved.
+     * @param bmiArrayList         List of BMI entries to be saved.
+     * @param appointmentArrayList List of appointment entries to be saved.
+     * @param periodArrayList      List of period entries to be saved.
+     * @param workoutArrayList     List of workout entries to be saved.
+     * @throws CustomExceptions.FileWriteError If there is an error writing to the data file or journal.
+     */
+    public void compactDataFile(String name,
+                                ArrayList<Bmi> bmiArrayList,
+                                ArrayList<Appointment> appointmentArrayList,
+                                ArrayList<Period> periodArrayList,
+                                ArrayList<Workout> workoutArrayList
+    ) throws CustomExceptions.FileWriteError {
+        DeferredHistory.load();
+        compactDataFile(name, bmiArrayList, appointmentArrayList, periodArrayList, workoutArrayList,
+                JournalFile.getRecordCount());
+    }
+
+    /**
+     * Compacts the journal by rewriting the full data file from entries taken when the journal held the given number
+     * of records. The records appended since are carried over to the new journal. Older entries must already be loaded.
+     *
+     * @param name                 The username to be saved.
+     * @param bmiArrayList         List of BMI entries to be saved.
+     * @param appointmentArrayList List of appointment entries to be saved.
+     * @param periodArrayList      List of period entries to be saved.
+     * @param workoutArrayList     List of workout entries to be saved.
+     * @param savedRecordCount     The number of records in the journal when the entries were taken.
+     * @throws CustomExceptions.FileWriteError If there is an error writing to the data file or journal.
+     */
+    public void compactDataFile(String name,
+                                ArrayList<Bmi> bmiArrayList,
+                                ArrayList<Appointment> appointmentArrayList,
+                                ArrayList<Period> periodArrayList,
+                                ArrayList<Workout> workoutArrayList,
+                                int savedRecordCount
+    ) throws CustomExceptions.FileWriteError {
+        saveDataFile(name, bmiArrayList, appointmentArrayList, periodArrayList, workoutArrayList,
+                (hashFileString, moveFiles) -> JournalFile.rebaseJournal(
+                        toBaseHash(toHashLines(hashFileString.lines().collect(Collectors.toList()))),
+                        savedRecordCount, moveFiles));
+        LogFile.writeLog("Compacted journal into data file", false);
+    }
+
+    /**
+     * Saves data to the data file, or to its segments if the segmented layout is turned on, and its hash file.
+     * Refuses to save while older entries are not loaded.
      *
      * @param name                 The username to be saved.
      * @param bmiArrayList         List of BMI entries to be saved.
@@ -377,43 +1168,212 @@ public class DataFile {
                              ArrayList<Period> periodArrayList,
                              ArrayList<Workout> workoutArrayList
     ) throws CustomExceptions.FileWriteError {
+        saveDataFile(name, bmiArrayList, appointmentArrayList, periodArrayList, workoutArrayList, null);
+    }
 
-        try (FileWriter dataFile = new FileWriter(UiConstant.dataFilePath)) {
-            LogFile.writeLog("Attempting to write name: " + name, false);
-            writeName(dataFile, name);
-
-            writeHealthData(dataFile, bmiArrayList,
-                    appointmentArrayList,
-                    periodArrayList);
-
-            writeWorkoutData(dataFile, workoutArrayList);
+    /**
+     * Saves data to the data file, starting the journal again on top of it in the same commit if a rebase is given.
+     *
+     * @param name                 The username to be saved.
+     * @param bmiArrayList         List of BMI entries to be saved.
+     * @param appointmentArrayList List of appointment entries to be saved.
+     * @param periodArrayList      List of period entries to be saved.
+     * @param workoutArrayList     List of workout entries to be saved.
+     * @param rebase               The step that writes the new journal, or null to leave the journal as it is.
+     * @throws CustomExceptions.FileWriteError If there is an error writing to the data file or journal.
+     */
+    private void saveDataFile(String name,
+                              ArrayList<Bmi> bmiArrayList,
+                              ArrayList<Appointment> appointmentArrayList,
+                              ArrayList<Period> periodArrayList,
+                              ArrayList<Workout> workoutArrayList,
+                              SaveCommitter.JournalRebase rebase
+    ) throws CustomExceptions.FileWriteError {
+        if (DeferredHistory.isPending()) {
+            LogFile.writeLog("Refusing to save while older records are not loaded", true);
+            throw new CustomExceptions.FileWriteError(ErrorConstant.SAVE_ERROR);
+        }
+        ArrayList<Bmi> bmis = new ArrayList<>(bmiArrayList);
+        ArrayList<Appointment> appointments = new ArrayList<>(appointmentArrayList);
+        ArrayList<Period> periods = new ArrayList<>(periodArrayList);
+        ArrayList<Workout> workouts = new ArrayList<>(workoutArrayList);
 
+        try {
+            saveCommitter.save(dataFile -> writeDataFile(dataFile, name, bmis, appointments, periods, workouts),
+                    rebase);
             LogFile.writeLog("Write end", false);
-
         } catch (IOException e) {
+            LogFile.writeLog("Error occurred while saving data file: " + e, true);
             throw new CustomExceptions.FileWriteError(ErrorConstant.SAVE_ERROR);
         }
+    }
 
-        try (FileWriter hashFile = new FileWriter(UiConstant.hashFilePath)) {
-            LogFile.writeLog("Attempting to write hash", false);
-            File dataFile = UiConstant.saveFile;
-            writeHashToFile(generateFileHash(dataFile));
+    /**
+     * Writes the data to the data file in the configured storage format, computing its block hashes as it goes.
+     *
+     * @param dataFile             The stream to write the data file to.
+     * @param name                 The username to be saved.
+     * @param bmiArrayList         List of BMI entries to be saved.
+     * @param appointmentArrayList List of appointment entries to be saved.
+     * @param periodArrayList      List of period entries to be saved.
+     * @param workoutArrayList     List of workout entries to be saved.
+     * @return The contents of the hash file for the data written.
+     * @throws IOException If an I/O error occurs while writing, or the hash algorithm is not available.
+     */
+    private String writeDataFile(OutputStream dataFile,
+                                 String name,
+                                 ArrayList<Bmi> bmiArrayList,
+                                 ArrayList<Appointment> appointmentArrayList,
+                                 ArrayList<Period> periodArrayList,
+                                 ArrayList<Workout> workoutArrayList) throws IOException {
+        if (SegmentedDataFile.isEnabled()) {
+            LogFile.writeLog("Attempting to write segmented data file", false);
+            DataFileIndex.delete();
+            return segmentedDataFile.write(dataFile, name,
+                    collectFileStrings(bmiArrayList, appointmentArrayList, periodArrayList, workoutArrayList));
+        }
+        try {
+            MerkleHasher hasher = new MerkleHasher(UiConstant.INTEGRITY_BLOCK_SIZE);
+            DataFileIndex.Builder index = null;
+            OutputStream hashedDataFile = hasher.wrap(dataFile);
+            GZIPOutputStream compressedDataFile = null;
+            if (CompressedDataFile.isCompressionEnabled()) {
+                LogFile.writeLog("Attempting to write compressed data file", false);
+                compressedDataFile = CompressedDataFile.compress(hashedDataFile);
+                hashedDataFile = compressedDataFile;
+            }
+            if (UiConstant.storageFormat.equals(UiConstant.BINARY_FORMAT)) {
+                LogFile.writeLog("Attempting to write binary data file", false);
+                new BinaryDataFile().writeBinaryFile(hashedDataFile, name,
+                        iterateFileStrings(bmiArrayList, appointmentArrayList, periodArrayList, workoutArrayList));
+            } else {
+                // offsets in the index only make sense for the text as stored
+                index = writeTextDataFile(hashedDataFile, compressedDataFile == null, name, bmiArrayList,
+                        appointmentArrayList, periodArrayList, workoutArrayList);
+            }
+            if (compressedDataFile != null) {
+                compressedDataFile.finish();
+            }
+            String hashFileString = hasher.toHashFileString();
+            if (index != null) {
+                DataFileIndex.write(index, MerkleHasher.computeRoot(hasher.getLeaves()));
+            } else {
+                DataFileIndex.delete();
+            }
+            return hashFileString;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
 
-            LogFile.writeLog("Write end", false);
+    /**
+     * Writes the data to the data file in the colon-delimited text format, starting with the header.
+     * The stream is flushed but not closed.
+     *
+     * @param outputStream         The stream to write the data file to.
+     * @param isIndexed            Whether to record where each entry is written, for the date index.
+     * @param name                 The username to be saved.
+     * @param bmiArrayList         List of BMI entries to be saved.
+     * @param appointmentArrayList List of appointment entries to be saved.
+     * @param periodArrayList      List of period entries to be saved.
+     * @param workoutArrayList     List of workout entries to be saved.
+     * @return The date index of the entries written, or null if they are not indexed.
+     * @throws IOException If an I/O error occurs while writing to the file.
+     */
+    private DataFileIndex.Builder writeTextDataFile(OutputStream outputStream,
+                                                    boolean isIndexed,
+                                                    String name,
+                                                    ArrayList<Bmi> bmiArrayList,
+                                                    ArrayList<Appointment> appointmentArrayList,
+                                                    ArrayList<Period> periodArrayList,
+                                                    ArrayList<Workout> workoutArrayList
+    ) throws IOException {
+        String headerLine = DataFileHeader.fromLists(bmiArrayList, appointmentArrayList, periodArrayList,
+                workoutArrayList).toHeaderLine();
+        DataFileIndex.Builder index = isIndexed ? new DataFileIndex.Builder(headerLine, name) : null;
+        Writer dataFile = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        dataFile.write(headerLine + System.lineSeparator());
+        LogFile.writeLog("Attempting to write name: " + name, false);
+        writeName(dataFile, name);
 
-        } catch (IOException | NoSuchAlgorithmException e) {
-            throw new CustomExceptions.FileWriteError(ErrorConstant.SAVE_ERROR);
+        writeHealthData(dataFile, bmiArrayList,
+                appointmentArrayList,
+                periodArrayList, index);
+
+        writeWorkoutData(dataFile, workoutArrayList, index);
+        dataFile.flush();
+
+        LogFile.writeLog("Write end", false);
+        return index;
+    }
+
+    /**
+     * Iterates over every entry in the same format used by the text data file, in the order they are written.
+     * Each entry is only formatted when it is reached, so no list of every entry is built.
+     *
+     * @param bmiArrayList         List of BMI entries.
+     * @param appointmentArrayList List of appointment entries.
+     * @param periodArrayList      List of period entries.
+     * @param workoutArrayList     List of workout entries.
+     * @return The entries in the text data file format.
+     */
+    private Iterable<String> iterateFileStrings(ArrayList<Bmi> bmiArrayList,
+                                                ArrayList<Appointment> appointmentArrayList,
+                                                ArrayList<Period> periodArrayList,
+                                                ArrayList<Workout> workoutArrayList) {
+        return () -> Stream.of(bmiArrayList.stream().map(Bmi::toFileString),
+                        appointmentArrayList.stream().map(Appointment::toFileString),
+                        periodArrayList.stream().map(Period::toFileString),
+                        workoutArrayList.stream().map(this::toWorkoutFileString).filter(Objects::nonNull))
+                .flatMap(entries -> entries)
+                .iterator();
+    }
+
+    /**
+     * Formats a run or gym entry in the same format used by the text data file.
+     *
+     * @param workoutEntry The workout entry.
+     * @return The entry in the text data file format, or null if it is neither a run nor a gym entry.
+     */
+    private String toWorkoutFileString(Workout workoutEntry) {
+        if (workoutEntry instanceof Run) {
+            return ((Run) workoutEntry).toFileString();
+        } else if (workoutEntry instanceof Gym) {
+            return ((Gym) workoutEntry).toFileString();
         }
+        return null;
+    }
+
+    /**
+     * Collects every entry in the same format used by the text data file, in the order they are written, for the
+     * segmented layout, which groups the entries by date before writing any of them.
+     *
+     * @param bmiArrayList         List of BMI entries.
+     * @param appointmentArrayList List of appointment entries.
+     * @param periodArrayList      List of period entries.
+     * @param workoutArrayList     List of workout entries.
+     * @return The list of entries in the text data file format.
+     */
+    private List<String> collectFileStrings(ArrayList<Bmi> bmiArrayList,
+                                            ArrayList<Appointment> appointmentArrayList,
+                                            ArrayList<Period> periodArrayList,
+                                            ArrayList<Workout> workoutArrayList) {
+        List<String> fileStrings = new ArrayList<>();
+        for (String fileString : iterateFileStrings(bmiArrayList, appointmentArrayList, periodArrayList,
+                workoutArrayList)) {
+            fileStrings.add(fileString);
+        }
+        return fileStrings;
     }
 
     /**
      * Writes the user's name to the data file.
      *
-     * @param dataFile The FileWriter object for writing to the data file.
+     * @param dataFile The Writer object for writing to the data file.
      * @param name     The user's name to be written to the file.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
-    public void writeName(FileWriter dataFile, String name) throws IOException {
+    public void writeName(Writer dataFile, String name) throws IOException {
         dataFile.write(UiConstant.NAME_LABEL + UiConstant.SPLIT_BY_COLON + name.trim() + System.lineSeparator());
         LogFile.writeLog("Wrote name to file", false);
     }
@@ -421,89 +1381,69 @@ public class DataFile {
     /**
      * Writes health-related data (BMI, appointments, periods) to the data file.
      *
-     * @param dataFile             The FileWriter object for writing to the data file.
+     * @param dataFile             The Writer object for writing to the data file.
      * @param bmiArrayList         The list of BMI entries to be written.
      * @param appointmentArrayList The list of appointment entries to be written.
      * @param periodArrayList      The list of period entries to be written.
+     * @param index                The date index to record each entry in, or null if the entries are not indexed.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
-    public void writeHealthData(FileWriter dataFile, ArrayList<Bmi> bmiArrayList,
-                                ArrayList<Appointment> appointmentArrayList,
-                                ArrayList<Period> periodArrayList) throws IOException {
-        Parser newParser = new Parser();
+    private void writeHealthData(Writer dataFile, ArrayList<Bmi> bmiArrayList,
+                                 ArrayList<Appointment> appointmentArrayList,
+                                 ArrayList<Period> periodArrayList,
+                                 DataFileIndex.Builder index) throws IOException {
         // Write each bmi entry in a specific format
         // bmi format: bmi:HEIGHT:WEIGHT:BMI_SCORE:DATE (NA if no date)
-        if (!bmiArrayList.isEmpty()) {
-            for (Bmi bmiEntry : bmiArrayList) {
-                String formattedDate = newParser.parseFormattedDate(bmiEntry.getDate());
-
-                dataFile.write(DataType.BMI + UiConstant.SPLIT_BY_COLON + bmiEntry.getHeight() +
-                        UiConstant.SPLIT_BY_COLON + bmiEntry.getWeight() +
-                        UiConstant.SPLIT_BY_COLON + bmiEntry.getBmiValueString() +
-                        UiConstant.SPLIT_BY_COLON + formattedDate + System.lineSeparator());
-            }
+        for (Bmi bmiEntry : bmiArrayList) {
+            writeEntry(dataFile, bmiEntry.toFileString(), index);
         }
 
         // Write each appointment entry in a specific format
         // appointment format: appointment:DATE:TIME:DESCRIPTION
-        if (!appointmentArrayList.isEmpty()) {
-            for (Appointment appointmentEntry : appointmentArrayList) {
-                String formattedDate = newParser.parseFormattedDate(appointmentEntry.getDate());
-                String formattedTime = String.valueOf(appointmentEntry.getTime());
-                formattedTime = formattedTime.replace(":", ".");
-
-                dataFile.write(DataType.APPOINTMENT + UiConstant.SPLIT_BY_COLON + formattedDate +
-                        UiConstant.SPLIT_BY_COLON + formattedTime +
-                        UiConstant.SPLIT_BY_COLON + appointmentEntry.getDescription() + System.lineSeparator());
-            }
+        for (Appointment appointmentEntry : appointmentArrayList) {
+            writeEntry(dataFile, appointmentEntry.toFileString(), index);
         }
 
         // Write each period entry in a specific format
         // period format: period:START:END:DURATION
-        if (!periodArrayList.isEmpty()) {
-            for (Period periodEntry : periodArrayList) {
-                LogFile.writeLog("Writing period to file", false);
-                String formattedStartDate = newParser.parseFormattedDate(periodEntry.getStartDate());
-                String formattedEndDate = newParser.parseFormattedDate(periodEntry.getEndDate());
-
-                dataFile.write(DataType.PERIOD + UiConstant.SPLIT_BY_COLON + formattedStartDate +
-                        UiConstant.SPLIT_BY_COLON + formattedEndDate +
-                        UiConstant.SPLIT_BY_COLON + periodEntry.getPeriodLength() + System.lineSeparator());
-                LogFile.writeLog("Wrote period to file", false);
-            }
+        for (Period periodEntry : periodArrayList) {
+            writeEntry(dataFile, periodEntry.toFileString(), index);
         }
-
     }
 
     /**
      * Writes workout-related data (runs and gym sessions) to the data file.
      *
-     * @param dataFile         The FileWriter object for writing to the data file.
+     * @param dataFile         The Writer object for writing to the data file.
      * @param workoutArrayList The list of workout entries to be written.
+     * @param index            The date index to record each entry in, or null if the entries are not indexed.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
-    public void writeWorkoutData(FileWriter dataFile,
-                                 ArrayList<Workout> workoutArrayList) throws IOException {
-
+    private void writeWorkoutData(Writer dataFile,
+                                  ArrayList<Workout> workoutArrayList,
+                                  DataFileIndex.Builder index) throws IOException {
         // Write each run entry in a specific format
         // run format: run:DISTANCE:TIME:DATE
-        if (!workoutArrayList.isEmpty()) {
-            for (Workout workoutEntry : workoutArrayList) {
-                if (workoutEntry instanceof Run) {
-                    Run runEntry = (Run) workoutEntry;
-                    String formattedDate = runEntry.getDateForFile();
-                    String formattedTime = runEntry.getTimes().replace(":", ".");
-
-                    dataFile.write(DataType.RUN + UiConstant.SPLIT_BY_COLON + runEntry.getDistance() +
-                            UiConstant.SPLIT_BY_COLON + formattedTime +
-                            UiConstant.SPLIT_BY_COLON + formattedDate + System.lineSeparator());
-                } else if (workoutEntry instanceof Gym) {
-                    Gym gymEntry = (Gym) workoutEntry;
-                    String gymString = gymEntry.toFileString();
-                    dataFile.write(gymString + System.lineSeparator());
-                }
+        for (Workout workoutEntry : workoutArrayList) {
+            String fileString = toWorkoutFileString(workoutEntry);
+            if (fileString != null) {
+                writeEntry(dataFile, fileString, index);
             }
         }
     }
-}
 
+    /**
+     * Writes one entry to the data file, recording where it is written in the date index if there is one.
+     *
+     * @param dataFile   The Writer object for writing to the data file.
+     * @param fileString The entry in the text data file format.
+     * @param index      The date index to record the entry in, or null if the entry is not indexed.
+     * @throws IOException If an I/O error occurs while writing to the file.
+     */
+    private void writeEntry(Writer dataFile, String fileString, DataFileIndex.Builder index) throws IOException {
+        dataFile.write(fileString + System.lineSeparator());
+        if (index != null) {
+            index.add(fileString);
+        }
+    }
+}
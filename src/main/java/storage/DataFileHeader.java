@@ -0,0 +1,168 @@
+package storage;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import constants.UiConstant;
+import health.Appointment;
+import health.Bmi;
+import health.HealthList;
+import health.Period;
+import utility.Filters.DataType;
+import workouts.Gym;
+import workouts.Run;
+import workouts.Workout;
+import workouts.WorkoutLists;
+
+/**
+ * Represents the header on the first line of a text data file, holding the version of the format and the number
+ * of entries of each type, such as {@code PULSEPILOT:2:BMI:3:APPOINTMENT:0:PERIOD:1:RUN:12:GYM:4}.
+ * Data files saved before the header was added start with the name instead, and are read as version 1.
+ * The counts let the lists be sized once before any entry is added.
+ */
+class DataFileHeader {
+    private static final DataFileHeader LEGACY = new DataFileHeader(UiConstant.LEGACY_DATA_FILE_VERSION,
+            new EnumMap<>(DataType.class));
+
+    private final int version;
+    private final Map<DataType, Integer> counts;
+
+    /**
+     * Constructs a header with the given version and counts.
+     *
+     * @param version The version of the data file format.
+     * @param counts  The number of entries of each type.
+     */
+    private DataFileHeader(int version, Map<DataType, Integer> counts) {
+        this.version = version;
+        this.counts = counts;
+    }
+
+    /**
+     * Creates the header of a data file in the current format holding the entries in the given lists.
+     * The counts are taken from the sizes of the lists, so no entry has to be formatted first.
+     *
+     * @param bmis         The BMI entries.
+     * @param appointments The appointment entries.
+     * @param periods      The period entries.
+     * @param workouts     The run and gym entries.
+     * @return The header.
+     */
+    static DataFileHeader fromLists(List<Bmi> bmis, List<Appointment> appointments, List<Period> periods,
+                                    List<Workout> workouts) {
+        Map<DataType, Integer> counts = new EnumMap<>(DataType.class);
+        for (DataType dataType : DataType.values()) {
+            counts.put(dataType, 0);
+        }
+        counts.put(DataType.BMI, bmis.size());
+        counts.put(DataType.APPOINTMENT, appointments.size());
+        counts.put(DataType.PERIOD, periods.size());
+        int runCount = 0;
+        int gymCount = 0;
+        for (Workout workout : workouts) {
+            if (workout instanceof Run) {
+                runCount++;
+            } else if (workout instanceof Gym) {
+                gymCount++;
+            }
+        }
+        counts.put(DataType.RUN, runCount);
+        counts.put(DataType.GYM, gymCount);
+        return new DataFileHeader(UiConstant.DATA_FILE_VERSION, counts);
+    }
+
+    /**
+     * Parses the first line of a data file.
+     * Labels of types not known to this version are skipped, so later versions can count new types of entry.
+     *
+     * @param firstLine The first line of the data file.
+     * @return The header, or the header of version 1 if the line holds the name instead.
+     * @throws IOException If the line is labelled as a header but cannot be parsed.
+     */
+    static DataFileHeader parse(String firstLine) throws IOException {
+        if (!isHeaderLine(firstLine)) {
+            return LEGACY;
+        }
+        String[] fields = firstLine.split(UiConstant.SPLIT_BY_COLON);
+        try {
+            int version = Integer.parseInt(fields[UiConstant.HEADER_VERSION_INDEX]);
+            Map<DataType, Integer> counts = new EnumMap<>(DataType.class);
+            for (int i = UiConstant.HEADER_COUNTS_INDEX; i + 1 < fields.length; i += 2) {
+                DataType dataType = HistoryScan.findDataType(fields[i] + UiConstant.SPLIT_BY_COLON);
+                if (dataType != null) {
+                    counts.put(dataType, Integer.parseInt(fields[i + 1]));
+                }
+            }
+            return new DataFileHeader(version, counts);
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IOException("malformed data file header: " + firstLine, e);
+        }
+    }
+
+    /**
+     * Reads up to and including the name line of a data file, skipping the header if there is one.
+     *
+     * @param reader The reader positioned at the start of the data file.
+     * @return The name line, or null if the data file ends before it.
+     * @throws IOException If an I/O error occurs.
+     */
+    static String readNameLine(LineReader reader) throws IOException {
+        String firstLine = reader.nextLine();
+        if (isHeaderLine(firstLine)) {
+            return reader.nextLine();
+        }
+        return firstLine;
+    }
+
+    /**
+     * Checks whether a line is labelled as a data file header.
+     *
+     * @param line The line.
+     * @return Returns true if the line is a header. Otherwise, returns false.
+     */
+    static boolean isHeaderLine(String line) {
+        return line != null && line.startsWith(UiConstant.HEADER_LABEL + UiConstant.SPLIT_BY_COLON);
+    }
+
+    /**
+     * Formats the header as the first line of a data file, without a line separator.
+     *
+     * @return The header line.
+     */
+    String toHeaderLine() {
+        StringBuilder sb = new StringBuilder(UiConstant.HEADER_LABEL).append(UiConstant.SPLIT_BY_COLON)
+                .append(version);
+        for (Map.Entry<DataType, Integer> count : counts.entrySet()) {
+            sb.append(UiConstant.SPLIT_BY_COLON).append(count.getKey())
+                    .append(UiConstant.SPLIT_BY_COLON).append(count.getValue());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Makes room in the lists for the entries counted in the header, so loading grows each list at most once.
+     * Counts are capped at the number of lines read, so a damaged header cannot reserve more than the file holds.
+     * Does nothing for data files without a header.
+     *
+     * @param lineCount The number of lines after the name in the data file.
+     */
+    void presizeLists(int lineCount) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        HealthList.ensureCapacity(Math.min(getCount(DataType.BMI), lineCount),
+                Math.min(getCount(DataType.APPOINTMENT), lineCount), Math.min(getCount(DataType.PERIOD), lineCount));
+        WorkoutLists.ensureCapacity(Math.min(getCount(DataType.RUN), lineCount),
+                Math.min(getCount(DataType.GYM), lineCount));
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    int getCount(DataType dataType) {
+        return counts.getOrDefault(dataType, 0);
+    }
+}
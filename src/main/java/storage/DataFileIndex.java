@@ -0,0 +1,385 @@
+package storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import utility.CustomExceptions;
+import utility.Filters.DataType;
+import utility.InputPatterns;
+
+/**
+ * Represents the date index saved next to a text data file, which maps the type and date of every dated entry to
+ * where it is stored in the data file. Reports over a range of dates look up the matching entries in the index and
+ * read only those entries, so a long history does not have to be read or loaded to report on part of it.
+ * The index holds the root hash of the data file it was written for, and is ignored once the data file changes.
+ * Each block of the data file is checked against the hash file before any entry in it is used.
+ */
+class DataFileIndex {
+    private static final int RECORD_SIZE = Byte.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    /**
+     * Represents where a dated entry is stored in the data file.
+     */
+    private static class Record {
+        private final int typeOrdinal;
+        private final int epochDay;
+        private final long offset;
+        private final int length;
+
+        private Record(int typeOrdinal, int epochDay, long offset, int length) {
+            this.typeOrdinal = typeOrdinal;
+            this.epochDay = epochDay;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private DataFileIndex() {
+    }
+
+    /**
+     * Represents the index of a text data file as it is being written, recording where each entry is stored as the
+     * entries are written one at a time.
+     */
+    static class Builder {
+        private final int separatorLength = System.lineSeparator().getBytes(StandardCharsets.UTF_8).length;
+        private final List<Record> records = new ArrayList<>();
+        private long offset;
+
+        /**
+         * Constructs the index of a text data file starting with the given header and name.
+         *
+         * @param headerLine The header line of the data file, without a line separator.
+         * @param name       The username written after the header.
+         */
+        Builder(String headerLine, String name) {
+            offset = headerLine.getBytes(StandardCharsets.UTF_8).length + separatorLength
+                    + (UiConstant.NAME_LABEL + UiConstant.SPLIT_BY_COLON + name.trim())
+                    .getBytes(StandardCharsets.UTF_8).length + separatorLength;
+        }
+
+        /**
+         * Records the entry written next in the data file.
+         * Entries without a date are left out, as they never fall within a range of dates.
+         *
+         * @param fileString The entry in the text data file format.
+         */
+        void add(String fileString) {
+            int length = fileString.getBytes(StandardCharsets.UTF_8).length;
+            DataType dataType = HistoryScan.findDataType(fileString);
+            if (dataType != null) {
+                String date = SegmentManifest.findDate(dataType, fileString.split(UiConstant.SPLIT_BY_COLON));
+                Integer epochDay = toEpochDay(date);
+                if (epochDay != null) {
+                    records.add(new Record(dataType.ordinal(), epochDay, offset, length));
+                }
+            }
+            offset += length + separatorLength;
+        }
+
+        /**
+         * Formats the index of the entries recorded so far.
+         * Records are ordered by type and then date, keeping entries on the same date in the order they are stored.
+         *
+         * @param root The root hash of the data file.
+         * @return The contents of the index file.
+         */
+        byte[] build(String root) {
+            records.sort(Comparator.<Record>comparingInt(record -> record.typeOrdinal)
+                    .thenComparingInt(record -> record.epochDay));
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(UiConstant.INDEX_MAGIC);
+                out.writeInt(UiConstant.INDEX_VERSION);
+                out.writeUTF(root);
+                out.writeInt(records.size());
+                for (Record record : records) {
+                    out.writeByte(record.typeOrdinal);
+                    out.writeInt(record.epochDay);
+                    out.writeLong(record.offset);
+                    out.writeInt(record.length);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Writes the index of a text data file to the index file.
+     *
+     * @param builder The index of the entries written to the data file.
+     * @param root    The root hash of the data file.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void write(Builder builder, String root) throws IOException {
+        SaveCommitter.writeFile(Path.of(UiConstant.indexFilePath), builder.build(root));
+    }
+
+    /**
+     * Deletes the index file, used when the data file is saved in a form that is not indexed.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    static void delete() throws IOException {
+        Files.deleteIfExists(Path.of(UiConstant.indexFilePath));
+    }
+
+    /**
+     * Reads the entries of the given types dated within the given range, using the index to read only those entries
+     * from the data file. Entries are returned grouped by type, in date order.
+     *
+     * @param dataFile       The text data file.
+     * @param root           The root hash of the data file, as stored in the hash file.
+     * @param expectedLeaves The block hashes stored in the hash file, or an empty list if the data file has already
+     *                       been checked as a whole.
+     * @param blockSize      The number of bytes in each block.
+     * @param dataTypes      The types of entry to read.
+     * @param fromDate       The earliest date to include.
+     * @param toDate         The latest date to include.
+     * @return The matching entries in the text data file format, or null if there is no index for the data file.
+     * @throws IOException                    If an I/O error occurs.
+     * @throws CustomExceptions.FileReadError If a block holding a matching entry does not match its hash.
+     */
+    static List<String> findRecords(File dataFile, String root, List<String> expectedLeaves, int blockSize,
+                                    Collection<DataType> dataTypes, LocalDate fromDate, LocalDate toDate)
+            throws IOException, CustomExceptions.FileReadError {
+        try (RandomAccessFile index = new RandomAccessFile(UiConstant.indexFilePath, "r");
+             RandomAccessFile data = new RandomAccessFile(dataFile, "r")) {
+            if (index.readInt() != UiConstant.INDEX_MAGIC || index.readInt() != UiConstant.INDEX_VERSION
+                    || !index.readUTF().equals(root)) {
+                LogFile.writeLog("Index does not match data file", true);
+                return null;
+            }
+            int recordCount = index.readInt();
+            long recordsStart = index.getFilePointer();
+            if (index.length() != recordsStart + (long) recordCount * RECORD_SIZE) {
+                LogFile.writeLog("Index is incomplete", true);
+                return null;
+            }
+
+            BlockChecker checker = new BlockChecker(data, expectedLeaves, blockSize);
+            List<String> records = new ArrayList<>();
+            int fromDay = (int) fromDate.toEpochDay();
+            int toDay = (int) toDate.toEpochDay();
+            for (DataType dataType : dataTypes) {
+                int position = findFirst(index, recordsStart, recordCount, dataType.ordinal(), fromDay);
+                index.seek(recordsStart + (long) position * RECORD_SIZE);
+                for (; position < recordCount; position++) {
+                    int typeOrdinal = index.readByte();
+                    int epochDay = index.readInt();
+                    long offset = index.readLong();
+                    int length = index.readInt();
+                    if (typeOrdinal != dataType.ordinal() || epochDay > toDay) {
+                        break;
+                    }
+                    records.add(checker.read(offset, length));
+                }
+            }
+            LogFile.writeLog("Read " + records.size() + " record(s) through index", false);
+            return records;
+        } catch (FileNotFoundException | EOFException e) {
+            LogFile.writeLog("Index is missing or incomplete", false);
+            return null;
+        }
+    }
+
+    /**
+     * Finds the position of the first record of the given type dated on or after the given day.
+     *
+     * @param index        The index file.
+     * @param recordsStart The offset of the first record in the index file.
+     * @param recordCount  The number of records in the index file.
+     * @param typeOrdinal  The ordinal of the type of entry.
+     * @param fromDay      The earliest day, counted from the epoch.
+     * @return The position of the record, or the number of records if there is none.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static int findFirst(RandomAccessFile index, long recordsStart, int recordCount, int typeOrdinal,
+                                 int fromDay) throws IOException {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            index.seek(recordsStart + (long) middle * RECORD_SIZE);
+            int middleType = index.readByte();
+            int middleDay = index.readInt();
+            if (middleType < typeOrdinal || (middleType == typeOrdinal && middleDay < fromDay)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Reads the entries of the given types dated within the given range by reading the whole data file, used when
+     * there is no index for it. Only the matching entries are kept. Compressed data files can also be read this way.
+     *
+     * @param dataFile       The text data file.
+     * @param expectedLeaves The block hashes stored in the hash file, or an empty list if the data file has already
+     *                       been checked as a whole.
+     * @param blockSize      The number of bytes in each block.
+     * @param dataTypes      The types of entry to read.
+     * @param fromDate       The earliest date to include.
+     * @param toDate         The latest date to include.
+     * @return The matching entries in the text data file format, in the order they are stored.
+     * @throws IOException                    If an I/O error occurs.
+     * @throws CustomExceptions.FileReadError If the data file does not match its hashes.
+     */
+    static List<String> scanRecords(File dataFile, List<String> expectedLeaves, int blockSize,
+                                    Collection<DataType> dataTypes, LocalDate fromDate, LocalDate toDate)
+            throws IOException, CustomExceptions.FileReadError {
+        List<String> records = new ArrayList<>();
+        MerkleHasher hasher = createHasher(blockSize);
+        int fromDay = (int) fromDate.toEpochDay();
+        int toDay = (int) toDate.toEpochDay();
+        try (LineReader reader = LineReader.open(dataFile, hasher)) {
+            DataFileHeader.readNameLine(reader);
+            while (reader.hasNextLine()) {
+                String line = reader.nextLine();
+                DataType dataType = HistoryScan.findDataType(line);
+                if (dataType == null || !dataTypes.contains(dataType)) {
+                    continue;
+                }
+                Integer epochDay = toEpochDay(SegmentManifest.findDate(dataType,
+                        line.split(UiConstant.SPLIT_BY_COLON)));
+                if (epochDay != null && epochDay >= fromDay && epochDay <= toDay) {
+                    records.add(line);
+                }
+            }
+        }
+        if (!expectedLeaves.isEmpty()
+                && !MerkleHasher.findCorruptBlocks(expectedLeaves, hasher.getLeaves()).isEmpty()) {
+            throw new CustomExceptions.FileReadError(ErrorConstant.QUERY_INTEGRITY_ERROR);
+        }
+        LogFile.writeLog("Read " + records.size() + " record(s) by scanning data file", false);
+        return records;
+    }
+
+    /**
+     * Converts a date in dd-MM-yyyy format to the number of days from the epoch.
+     *
+     * @param date The date in dd-MM-yyyy format, or NA.
+     * @return The number of days from 01-01-1970, or null if there is no date or it is not a valid date.
+     */
+    static Integer toEpochDay(String date) {
+        if (!InputPatterns.isDate(date)) {
+            return null;
+        }
+        String[] dateParts = date.split(UiConstant.DASH);
+        try {
+            return (int) LocalDate.of(Integer.parseInt(dateParts[2]), Integer.parseInt(dateParts[1]),
+                    Integer.parseInt(dateParts[0])).toEpochDay();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a hasher with the given block size.
+     *
+     * @param blockSize The number of bytes in each block.
+     * @return The hasher.
+     * @throws IOException If the hash algorithm is not available.
+     */
+    private static MerkleHasher createHasher(int blockSize) throws IOException {
+        try {
+            return new MerkleHasher(blockSize);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Represents a reader of entries at known offsets in the data file, which checks each block holding an entry
+     * against its hash the first time the block is read.
+     */
+    private static class BlockChecker {
+        private final RandomAccessFile data;
+        private final List<String> expectedLeaves;
+        private final int blockSize;
+        private final BitSet checkedBlocks = new BitSet();
+
+        private BlockChecker(RandomAccessFile data, List<String> expectedLeaves, int blockSize) {
+            this.data = data;
+            this.expectedLeaves = expectedLeaves;
+            this.blockSize = blockSize;
+        }
+
+        /**
+         * Reads the entry stored at the given offset, after checking the blocks that hold it.
+         *
+         * @param offset The offset of the entry in the data file.
+         * @param length The number of bytes in the entry, excluding the line ending.
+         * @return The entry in the text data file format.
+         * @throws IOException                    If an I/O error occurs.
+         * @throws CustomExceptions.FileReadError If a block holding the entry does not match its hash.
+         */
+        private String read(long offset, int length) throws IOException, CustomExceptions.FileReadError {
+            if (!expectedLeaves.isEmpty()) {
+                int firstBlock = (int) (offset / blockSize);
+                int lastBlock = (int) ((offset + Math.max(length, 1) - 1) / blockSize);
+                for (int block = firstBlock; block <= lastBlock; block++) {
+                    checkBlock(block);
+                }
+            }
+            byte[] bytes = new byte[length];
+            data.seek(offset);
+            data.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Checks a block of the data file against its hash, unless it has already been checked.
+         *
+         * @param block The position of the block.
+         * @throws IOException                    If an I/O error occurs.
+         * @throws CustomExceptions.FileReadError If the block does not match its hash.
+         */
+        private void checkBlock(int block) throws IOException, CustomExceptions.FileReadError {
+            if (checkedBlocks.get(block)) {
+                return;
+            }
+            long blockStart = (long) block * blockSize;
+            int blockLength = (int) Math.min(blockSize, data.length() - blockStart);
+            if (block >= expectedLeaves.size() || blockLength <= 0) {
+                throw new CustomExceptions.FileReadError(ErrorConstant.QUERY_INTEGRITY_ERROR);
+            }
+            byte[] bytes = new byte[blockLength];
+            data.seek(blockStart);
+            data.readFully(bytes);
+            MerkleHasher hasher = createHasher(blockSize);
+            hasher.update(bytes, 0, blockLength);
+            if (!hasher.getLeaves().get(0).equals(expectedLeaves.get(block))) {
+                LogFile.writeLog("Block " + block + " does not match its hash", true);
+                throw new CustomExceptions.FileReadError(ErrorConstant.QUERY_INTEGRITY_ERROR);
+            }
+            checkedBlocks.set(block);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package storage;
+
+import java.io.IOException;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import ui.Output;
+import utility.Filters.DataType;
+import workouts.Workout;
+import workouts.WorkoutLists;
+
+/**
+ * Represents the older entries of the data file that were left out when it was loaded.
+ * They are added to the lists the first time the full history is needed.
+ */
+public class DeferredHistory {
+    private static DataFile owner = null;
+    private static int[] deferredLines = new int[0];
+    private static Map<DataType, Integer> deferredCounts = new EnumMap<>(DataType.class);
+    private static List<String> expectedLeaves = new ArrayList<>();
+    private static int blockSize = UiConstant.INTEGRITY_BLOCK_SIZE;
+    private static SegmentedDataFile deferredSegments = null;
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private DeferredHistory() {
+    }
+
+    /**
+     * Records the older entries left out of the lists by a scan of the data file.
+     *
+     * @param dataFile      The data file used to add the older entries.
+     * @param scan          The scan that left out the older entries.
+     * @param leaves        The block hashes the data file was verified against.
+     * @param leafBlockSize The number of bytes in each block.
+     */
+    static void defer(DataFile dataFile, HistoryScan scan, List<String> leaves, int leafBlockSize) {
+        owner = dataFile;
+        deferredLines = scan.getDeferredLines();
+        deferredCounts = new EnumMap<>(scan.getDeferredCounts());
+        expectedLeaves = new ArrayList<>(leaves);
+        blockSize = leafBlockSize;
+        LogFile.writeLog("Deferred loading of " + deferredLines.length + " older record(s)", false);
+    }
+
+    /**
+     * Records that older segments of a segmented data file were left out when it was loaded.
+     *
+     * @param segments The segmented data file holding the older segments.
+     */
+    static void deferSegments(SegmentedDataFile segments) {
+        deferredSegments = segments;
+        LogFile.writeLog("Deferred loading of older segment(s)", false);
+    }
+
+    /**
+     * Checks whether there are older entries that have not been added to the lists yet.
+     *
+     * @return Returns true if the history is not fully loaded. Otherwise, returns false.
+     */
+    public static boolean isPending() {
+        return deferredLines.length > 0 || (deferredSegments != null && deferredSegments.hasUnloadedSegments());
+    }
+
+    /**
+     * Retrieves the number of older entries of the given type that have not been added to the lists yet.
+     *
+     * @param dataType The type of entry.
+     * @return The number of entries not yet added.
+     */
+    public static int getDeferredCount(DataType dataType) {
+        int segmentCount = deferredSegments == null ? 0 : deferredSegments.getUnloadedCount(dataType);
+        return deferredCounts.getOrDefault(dataType, 0) + segmentCount;
+    }
+
+    /**
+     * Adds the older entries to the lists, if there are any.
+     * Nothing is added if the data file has changed since it was loaded.
+     */
+    public static void load() {
+        load(DataType.values());
+    }
+
+    /**
+     * Adds the older entries needed for the given types of entry to the lists, if there are any.
+     *
+     * @param dataTypes The types of entry needed.
+     */
+    public static void load(DataType... dataTypes) {
+        if (deferredSegments != null) {
+            deferredSegments.load(Arrays.asList(dataTypes));
+        }
+        if (deferredLines.length == 0) {
+            return;
+        }
+        LogFile.writeLog("Loading " + deferredLines.length + " older record(s)", false);
+
+        List<String> lines = new ArrayList<>(deferredLines.length);
+        try {
+            MerkleHasher hasher = new MerkleHasher(blockSize);
+            try (LineReader reader = LineReader.open(UiConstant.saveFile, hasher)) {
+                DataFileHeader.readNameLine(reader);
+                int lineNumber = 0;
+                int next = 0;
+                while (reader.hasNextLine()) {
+                    String line = reader.nextLine();
+                    if (next < deferredLines.length && deferredLines[next] == lineNumber) {
+                        lines.add(line);
+                        next++;
+                    }
+                    lineNumber++;
+                }
+            }
+            if (!MerkleHasher.findCorruptBlocks(expectedLeaves, hasher.getLeaves()).isEmpty()
+                    || lines.size() != deferredLines.length) {
+                throw new IOException("data file changed since it was loaded");
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            LogFile.writeLog("Could not load older records: " + e.getMessage(), true);
+            new Output().printException(ErrorConstant.HISTORY_LOAD_ERROR);
+            return;
+        }
+
+        List<Workout> recentWorkouts = new ArrayList<>(WorkoutLists.getWorkouts());
+        int loadedCount = 0;
+        for (String line : lines) {
+            try {
+                owner.processRecord(line);
+                loadedCount++;
+            } catch (Exception e) {
+                LogFile.writeLog("Skipping invalid older record: " + e.getMessage(), true);
+            }
+        }
+        WorkoutLists.moveWorkoutsToEnd(recentWorkouts);
+        LogFile.writeLog("Loaded " + loadedCount + " older record(s)", false);
+        clear();
+    }
+
+    /**
+     * Forgets the older entries without adding them, used when the lists are replaced.
+     */
+    public static void clear() {
+        owner = null;
+        deferredSegments = null;
+        deferredLines = new int[0];
+        deferredCounts = new EnumMap<>(DataType.class);
+        expectedLeaves = new ArrayList<>();
+    }
+}
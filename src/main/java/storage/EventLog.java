@@ -0,0 +1,245 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+
+/**
+ * Represents the event log, which records one typed event per command alongside the text log file.
+ * Each event is a line of JSON holding the time, command, data type, duration in nanoseconds, outcome and the name
+ * of the {@link ErrorConstant} shown, such as
+ * {@code {"time":1712000000000,"command":"WORKOUT","type":"RUN","nanos":81234,"outcome":"OK","error":null}}.
+ * The event log is read one line at a time by {@link #summarise()}, so it is never loaded whole.
+ */
+public class EventLog {
+    private static final String NULL_VALUE = "null";
+
+    private static BufferedWriter writer = null;
+    private static boolean isShutdownHookAdded = false;
+    private static String pendingErrorCode = null;
+    private static Thread commandThread = null;
+    private static Map<String, String> errorCodes = null;
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private EventLog() {
+    }
+
+    /**
+     * Marks the start of a command on the calling thread, so only errors shown by that thread until the command is
+     * recorded are put down to it.
+     */
+    public static synchronized void startCommand() {
+        pendingErrorCode = null;
+        commandThread = Thread.currentThread();
+    }
+
+    /**
+     * Notes the error shown for the command being processed. Only the first error of a command is kept.
+     * Errors shown outside a command, such as while loading the data file or saving in the background, are ignored.
+     *
+     * @param errorMessage The error message the error was raised with, such as a constant from {@link ErrorConstant},
+     *                     without the heading it is shown with.
+     */
+    public static synchronized void recordError(String errorMessage) {
+        if (commandThread == Thread.currentThread() && pendingErrorCode == null) {
+            pendingErrorCode = findErrorCode(errorMessage);
+        }
+    }
+
+    /**
+     * Retrieves the error noted for the command being processed.
+     *
+     * @return The name of the error constant, or null if no error has been noted.
+     */
+    static synchronized String getPendingErrorCode() {
+        return pendingErrorCode;
+    }
+
+    /**
+     * Writes an event for a command that has finished, along with the error noted while it ran, if any.
+     * Does nothing if the event log is turned off.
+     *
+     * @param command       The command run, or {@code UNKNOWN} if it is not a command.
+     * @param dataType      The type of entry the command was for, or {@code NA}.
+     * @param durationNanos The time taken by the command in nanoseconds.
+     */
+    public static synchronized void recordCommand(String command, String dataType, long durationNanos) {
+        String errorCode = pendingErrorCode;
+        pendingErrorCode = null;
+        commandThread = null;
+        if (!UiConstant.IS_EVENT_LOG_ENABLED) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                openEventLog();
+            }
+            writer.write(toEventLine(System.currentTimeMillis(), command, dataType, durationNanos, errorCode));
+            writer.newLine();
+        } catch (IOException e) {
+            LogFile.writeLog("Unable to write event log: " + e.getMessage(), true);
+        }
+    }
+
+    /**
+     * Writes buffered events to the event log file.
+     */
+    public static synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            LogFile.writeLog("Unable to write event log: " + e.getMessage(), true);
+        }
+    }
+
+    /**
+     * Reads the event log from start to end, adding each command event to a summary.
+     * Lines that are not events are skipped.
+     *
+     * @return The summary of every event, which is empty if there is no event log.
+     * @throws IOException If the event log cannot be read.
+     */
+    public static EventSummary summarise() throws IOException {
+        flush();
+        EventSummary summary = new EventSummary();
+        if (!new File(UiConstant.eventLogPath).isFile()) {
+            return summary;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(UiConstant.eventLogPath),
+                StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = readField(line, "command");
+                String nanos = readField(line, "nanos");
+                if (command == null || nanos == null) {
+                    continue;
+                }
+                try {
+                    summary.add(command, Long.parseLong(nanos), readField(line, "error"));
+                } catch (NumberFormatException e) {
+                    LogFile.writeLog("Skipped event log line: " + line, true);
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Formats an event as a line of JSON. Every value written is a number, an enum name or an error constant name,
+     * so none needs escaping.
+     *
+     * @param time          The time the command finished, in milliseconds since the epoch.
+     * @param command       The command run.
+     * @param dataType      The type of entry the command was for.
+     * @param durationNanos The time taken by the command in nanoseconds.
+     * @param errorCode     The name of the error shown, or null if the command succeeded.
+     * @return The event line.
+     */
+    static String toEventLine(long time, String command, String dataType, long durationNanos, String errorCode) {
+        String outcome = errorCode == null ? UiConstant.EVENT_OK : UiConstant.EVENT_ERROR;
+        String error = errorCode == null ? NULL_VALUE : "\"" + errorCode + "\"";
+        return "{\"time\":" + time
+                + ",\"command\":\"" + command
+                + "\",\"type\":\"" + dataType
+                + "\",\"nanos\":" + durationNanos
+                + ",\"outcome\":\"" + outcome
+                + "\",\"error\":" + error + "}";
+    }
+
+    /**
+     * Reads the value of a field from an event line written by {@link #toEventLine}.
+     *
+     * @param line The event line.
+     * @param key  The name of the field.
+     * @return The value without quotes, or null if the field is missing or null.
+     */
+    static String readField(String line, String key) {
+        String label = "\"" + key + "\":";
+        int start = line.indexOf(label);
+        if (start == -1) {
+            return null;
+        }
+        start += label.length();
+        int end = start;
+        while (end < line.length() && line.charAt(end) != ',' && line.charAt(end) != '}') {
+            end++;
+        }
+        String value = line.substring(start, end).trim();
+        if (value.equals(NULL_VALUE)) {
+            return null;
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            return value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+
+    /**
+     * Finds the name of the error constant an error was raised with. The message must be the constant itself, as
+     * passed along by the error, so a message that only contains a constant is not put down to it.
+     *
+     * @param errorMessage The error message the error was raised with.
+     * @return The name of the error constant, or {@code OTHER} if the message is not an error constant.
+     */
+    static String findErrorCode(String errorMessage) {
+        if (errorMessage == null) {
+            return UiConstant.OTHER_ERROR_CODE;
+        }
+        return getErrorCodes().getOrDefault(errorMessage, UiConstant.OTHER_ERROR_CODE);
+    }
+
+    /**
+     * Lists the error messages in {@link ErrorConstant} by their text, built once on first use.
+     *
+     * @return The names of the error constants keyed by their text.
+     */
+    private static Map<String, String> getErrorCodes() {
+        if (errorCodes != null) {
+            return errorCodes;
+        }
+        Map<String, String> codes = new HashMap<>();
+        for (Field field : ErrorConstant.class.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String.class) {
+                continue;
+            }
+            try {
+                codes.putIfAbsent((String) field.get(null), field.getName());
+            } catch (IllegalAccessException e) {
+                LogFile.writeLog("Unable to read error constant " + field.getName(), true);
+            }
+        }
+        errorCodes = codes;
+        return errorCodes;
+    }
+
+    /**
+     * Opens the event log for adding events to its end, and writes buffered events when PulsePilot exits.
+     *
+     * @throws IOException If the event log cannot be opened.
+     */
+    private static void openEventLog() throws IOException {
+        writer = Files.newBufferedWriter(Path.of(UiConstant.eventLogPath), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (!isShutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(EventLog::flush, "pulsepilot-events-shutdown"));
+            isShutdownHookAdded = true;
+        }
+    }
+}
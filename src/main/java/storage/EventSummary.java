@@ -0,0 +1,96 @@
+package storage;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Represents the statistics gathered from the event log: how many times each command ran, its latency percentiles,
+ * and how many times each error was shown.
+ * Events are added one at a time as the event log is read, so only the latencies are held in memory.
+ */
+public class EventSummary {
+    private static final int INITIAL_LATENCY_CAPACITY = 64;
+
+    private final Map<String, long[]> latencies = new TreeMap<>();
+    private final Map<String, Integer> counts = new TreeMap<>();
+    private final Map<String, Integer> commandErrorCounts = new TreeMap<>();
+    private final Map<String, Integer> errorCounts = new TreeMap<>();
+    private boolean isSorted = true;
+
+    /**
+     * Adds one command event to the summary.
+     *
+     * @param command       The command that was run.
+     * @param durationNanos The time taken by the command in nanoseconds.
+     * @param errorCode     The name of the error shown by the command, or null if it succeeded.
+     */
+    public void add(String command, long durationNanos, String errorCode) {
+        int count = counts.getOrDefault(command, 0);
+        long[] commandLatencies = latencies.getOrDefault(command, new long[INITIAL_LATENCY_CAPACITY]);
+        if (count == commandLatencies.length) {
+            commandLatencies = Arrays.copyOf(commandLatencies, count * 2);
+        }
+        commandLatencies[count] = durationNanos;
+        latencies.put(command, commandLatencies);
+        counts.put(command, count + 1);
+        isSorted = false;
+
+        if (errorCode != null) {
+            commandErrorCounts.merge(command, 1, Integer::sum);
+            errorCounts.merge(errorCode, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Retrieves the commands that have events, in alphabetical order.
+     *
+     * @return The names of the commands.
+     */
+    public Set<String> getCommands() {
+        return counts.keySet();
+    }
+
+    public int getCount(String command) {
+        return counts.getOrDefault(command, 0);
+    }
+
+    public int getErrorCount(String command) {
+        return commandErrorCounts.getOrDefault(command, 0);
+    }
+
+    public Map<String, Integer> getErrorCounts() {
+        return errorCounts;
+    }
+
+    /**
+     * Retrieves a latency percentile of a command, using the nearest-rank method.
+     *
+     * @param command    The command.
+     * @param percentile The percentile, from 1 to 100.
+     * @return The latency in nanoseconds, or 0 if the command has no events.
+     */
+    public long getPercentileNanos(String command, int percentile) {
+        int count = getCount(command);
+        if (count == 0) {
+            return 0;
+        }
+        sortLatencies();
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return latencies.get(command)[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Sorts the latencies of every command once all events have been added.
+     */
+    private void sortLatencies() {
+        if (isSorted) {
+            return;
+        }
+        for (Map.Entry<String, long[]> entry : latencies.entrySet()) {
+            Arrays.sort(entry.getValue(), 0, counts.get(entry.getKey()));
+        }
+        isSorted = true;
+    }
+}
@@ -0,0 +1,232 @@
+package storage;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import constants.UiConstant;
+import utility.Filters.DataType;
+
+/**
+ * Represents one pass over the lines of a text data file, splitting them into recent entries to be loaded now
+ * and older entries whose loading is deferred.
+ */
+class HistoryScan {
+    private final int recentCount;
+    private final List<String> eagerLines = new ArrayList<>();
+    private final Map<DataType, Integer> leadingCounts = new EnumMap<>(DataType.class);
+    private final ArrayDeque<String> recentAppointments = new ArrayDeque<>();
+    private final ArrayDeque<Integer> recentAppointmentLines = new ArrayDeque<>();
+    private final ArrayDeque<String> recentWorkouts = new ArrayDeque<>();
+    private final ArrayDeque<Integer> recentWorkoutLines = new ArrayDeque<>();
+    private final ArrayDeque<DataType> recentWorkoutTypes = new ArrayDeque<>();
+    private final Map<DataType, Integer> deferredCounts = new EnumMap<>(DataType.class);
+    private int[] deferredLines = new int[UiConstant.INITIAL_LINE_OFFSETS_CAPACITY];
+    private int deferredCount = 0;
+    private int[] lineEnds = new int[UiConstant.INITIAL_LINE_OFFSETS_CAPACITY];
+    private int lineCount = 0;
+    private String firstLine = null;
+    private String nameLine = null;
+    private int nameEnd = 0;
+
+    /**
+     * Constructs a scan that keeps the given number of recent entries of each type.
+     *
+     * @param recentCount The number of recent entries of each type to load now, or 0 to load every entry.
+     */
+    HistoryScan(int recentCount) {
+        this.recentCount = recentCount;
+    }
+
+    /**
+     * Reads every line of the data file from the given reader, starting with the header if there is one.
+     *
+     * @param reader The reader positioned at the start of the data file.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    void readFrom(LineReader reader) throws IOException {
+        firstLine = reader.nextLine();
+        nameLine = DataFileHeader.isHeaderLine(firstLine) ? reader.nextLine() : firstLine;
+        nameEnd = reader.getPosition();
+        while (reader.hasNextLine()) {
+            addLine(reader.nextLine(), reader.getPosition());
+        }
+    }
+
+    /**
+     * Adds the next line after the name, deciding whether it is loaded now or later.
+     *
+     * @param line    The line without its line ending.
+     * @param lineEnd The byte offset just past the end of the line.
+     */
+    void addLine(String line, int lineEnd) {
+        if (lineCount == lineEnds.length) {
+            lineEnds = Arrays.copyOf(lineEnds, lineEnds.length * 2);
+        }
+        lineEnds[lineCount] = lineEnd;
+        int lineNumber = lineCount++;
+
+        DataType dataType = findDataType(line);
+        if (recentCount <= 0 || dataType == null) {
+            eagerLines.add(line);
+            return;
+        }
+
+        switch (dataType) {
+        case BMI:
+        case PERIOD:
+            int leadingCount = leadingCounts.getOrDefault(dataType, 0);
+            if (leadingCount < recentCount) {
+                leadingCounts.put(dataType, leadingCount + 1);
+                eagerLines.add(line);
+            } else {
+                defer(lineNumber, dataType);
+            }
+            break;
+
+        case APPOINTMENT:
+            recentAppointments.addLast(line);
+            recentAppointmentLines.addLast(lineNumber);
+            if (recentAppointments.size() > recentCount) {
+                recentAppointments.removeFirst();
+                defer(recentAppointmentLines.removeFirst(), DataType.APPOINTMENT);
+            }
+            break;
+
+        case RUN:
+        case GYM:
+            recentWorkouts.addLast(line);
+            recentWorkoutLines.addLast(lineNumber);
+            recentWorkoutTypes.addLast(dataType);
+            if (recentWorkouts.size() > recentCount) {
+                recentWorkouts.removeFirst();
+                defer(recentWorkoutLines.removeFirst(), recentWorkoutTypes.removeFirst());
+            }
+            break;
+
+        default:
+            eagerLines.add(line);
+            break;
+        }
+    }
+
+    /**
+     * Retrieves the lines to be loaded now, with workouts in the order they were added.
+     *
+     * @return The lines to be loaded now.
+     */
+    List<String> getEagerLines() {
+        List<String> lines = new ArrayList<>(eagerLines.size() + recentAppointments.size() + recentWorkouts.size());
+        lines.addAll(eagerLines);
+        lines.addAll(recentAppointments);
+        lines.addAll(recentWorkouts);
+        return lines;
+    }
+
+    /**
+     * Retrieves the line numbers of the deferred entries in ascending order, counting from the line after the name.
+     *
+     * @return The sorted line numbers.
+     */
+    int[] getDeferredLines() {
+        int[] sortedLines = Arrays.copyOf(deferredLines, deferredCount);
+        Arrays.sort(sortedLines);
+        return sortedLines;
+    }
+
+    /**
+     * Retrieves the number of deferred entries of each type.
+     *
+     * @return The counts of deferred entries.
+     */
+    Map<DataType, Integer> getDeferredCounts() {
+        return deferredCounts;
+    }
+
+    /**
+     * Checks whether the loading of any entry has been deferred.
+     *
+     * @return Returns true if some entries are deferred. Otherwise, returns false.
+     */
+    boolean hasDeferredLines() {
+        return deferredCount > 0;
+    }
+
+    /**
+     * Retrieves the byte offset just past the end of each line after the name.
+     *
+     * @return The line end offsets, of which the first {@link #getLineCount()} are used.
+     */
+    int[] getLineEnds() {
+        return lineEnds;
+    }
+
+    /**
+     * Retrieves the number of lines after the name.
+     *
+     * @return The number of lines.
+     */
+    int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Parses the header of the data file.
+     *
+     * @return The header, or the header of version 1 if the data file has none.
+     * @throws IOException If the header is malformed.
+     */
+    DataFileHeader getHeader() throws IOException {
+        return DataFileHeader.parse(firstLine);
+    }
+
+    /**
+     * Retrieves the line of the data file holding the name, which follows the header.
+     *
+     * @return The name line, or null if the data file is empty.
+     */
+    String getNameLine() {
+        return nameLine;
+    }
+
+    /**
+     * Retrieves the byte offset just past the end of the name line, which includes the header.
+     *
+     * @return The end offset of the name line, or -1 if the reader does not track byte offsets.
+     */
+    int getNameEnd() {
+        return nameEnd;
+    }
+
+    /**
+     * Records that the loading of an entry is deferred.
+     *
+     * @param lineNumber The line number of the entry.
+     * @param dataType   The type of the entry.
+     */
+    private void defer(int lineNumber, DataType dataType) {
+        if (deferredCount == deferredLines.length) {
+            deferredLines = Arrays.copyOf(deferredLines, deferredLines.length * 2);
+        }
+        deferredLines[deferredCount++] = lineNumber;
+        deferredCounts.merge(dataType, 1, Integer::sum);
+    }
+
+    /**
+     * Finds the type of entry held in a line from its label.
+     *
+     * @param line The line from the data file.
+     * @return The type of the entry, or null if the label is not recognised.
+     */
+    static DataType findDataType(String line) {
+        int labelEnd = line.indexOf(UiConstant.SPLIT_BY_COLON);
+        if (labelEnd < 0) {
+            return null;
+        }
+        return DataType.findExact(line, 0, labelEnd);
+    }
+}
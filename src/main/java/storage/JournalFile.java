@@ -0,0 +1,362 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import utility.Filters.DataType;
+
+/**
+ * Represents the append-only journal of changes made in PulsePilot since the data file was last saved in full.
+ * The first line of the journal holds the hash of the data file it applies on top of.
+ */
+public class JournalFile {
+    private static FileOutputStream journalStream = null;
+    private static Writer journalWriter = null;
+    private static final List<String> openRecords = new ArrayList<>();
+    private static long openByteCount = 0;
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private JournalFile() {
+    }
+
+    /**
+     * Reads the records from the journal file if it applies on top of the data file with the given hash.
+     * A missing journal, or one written for a different data file, results in no records.
+     *
+     * @param baseHash The hash of the data file that has been loaded.
+     * @return The list of journal records in the order they were written.
+     * @throws IOException If an I/O error occurs while reading the journal.
+     */
+    public static List<String> readJournal(String baseHash) throws IOException {
+        List<String> records = new ArrayList<>();
+        File journal = new File(UiConstant.journalFilePath);
+        if (!journal.exists()) {
+            return records;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(journal, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            String expectedHeader = UiConstant.JOURNAL_BASE_LABEL + UiConstant.SPLIT_BY_COLON + baseHash;
+            if (!expectedHeader.equals(header)) {
+                LogFile.writeLog("Discarding journal written for another data file", true);
+                return records;
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(line);
+                }
+            }
+        }
+        if (!records.isEmpty() && !endsWithLineSeparator(journal)) {
+            LogFile.writeLog("Dropping incomplete journal record: " + records.remove(records.size() - 1), true);
+        }
+        return records;
+    }
+
+    /**
+     * Starts a new journal on top of the data file with the given hash, keeping the records provided.
+     * The new journal replaces the old one only once it is on disk.
+     *
+     * @param baseHash The hash of the data file the journal applies to.
+     * @param records  The records that are still to be applied on top of the data file.
+     * @throws IOException If an I/O error occurs while writing the journal.
+     */
+    public static synchronized void startJournal(String baseHash, List<String> records) throws IOException {
+        closeJournal();
+        Path journalPath = Path.of(UiConstant.journalFilePath);
+        Path tempPath = Path.of(UiConstant.journalFilePath + UiConstant.JOURNAL_START_FILE_SUFFIX);
+        long byteCount = writeTempJournal(tempPath, baseHash, records);
+        SaveCommitter.moveIntoPlace(tempPath, journalPath);
+        SaveCommitter.forceDirectory(journalPath);
+        openJournal(true);
+        openRecords.clear();
+        openRecords.addAll(records);
+        openByteCount = byteCount;
+        LogFile.writeLog("Journal started with " + openRecords.size() + " record(s)", false);
+    }
+
+    /**
+     * Starts a new journal on top of a data file that is being saved, carrying over the records appended since.
+     * No record is appended until {@code moveFiles} has run.
+     *
+     * @param baseHash         The hash of the data file being saved.
+     * @param savedRecordCount The number of records in the journal when the data file was taken.
+     * @param moveFiles        The step that moves the saved files, including the new journal, into place.
+     * @throws IOException If an I/O error occurs while writing the journal or moving the files.
+     */
+    public static synchronized void rebaseJournal(String baseHash, int savedRecordCount,
+                                                  SaveCommitter.FileMove moveFiles) throws IOException {
+        int keptFrom = Math.min(savedRecordCount, openRecords.size());
+        List<String> keptRecords = new ArrayList<>(openRecords.subList(keptFrom, openRecords.size()));
+        Path tempPath = Path.of(UiConstant.journalFilePath + UiConstant.TEMP_FILE_SUFFIX);
+        boolean wasOpen = isOpen();
+        closeJournal();
+
+        long byteCount;
+        try {
+            byteCount = writeTempJournal(tempPath, baseHash, keptRecords);
+        } catch (IOException e) {
+            if (wasOpen) {
+                openJournal(true);
+            }
+            throw e;
+        }
+
+        moveFiles.run();
+        openJournal(true);
+        openRecords.clear();
+        openRecords.addAll(keptRecords);
+        openByteCount = byteCount;
+        LogFile.writeLog("Journal rebased with " + openRecords.size() + " record(s)", false);
+    }
+
+    /**
+     * Moves the journal aside so that it is neither replayed nor replaced, and closes it.
+     *
+     * @return The path the journal was moved to.
+     * @throws IOException If an I/O error occurs while moving the journal.
+     */
+    public static synchronized Path setAsideJournal() throws IOException {
+        closeJournal();
+        Path rejectedPath = Path.of(UiConstant.journalFilePath + "." + System.currentTimeMillis()
+                + UiConstant.JOURNAL_REJECTED_FILE_SUFFIX);
+        Files.move(Path.of(UiConstant.journalFilePath), rejectedPath);
+        openRecords.clear();
+        openByteCount = 0;
+        return rejectedPath;
+    }
+
+    /**
+     * Appends a record of an added entry to the journal.
+     *
+     * @param fileString The entry in the same format used by the data file.
+     */
+    public static void appendAdd(String fileString) {
+        appendRecord(UiConstant.JOURNAL_ADD_LABEL + UiConstant.SPLIT_BY_COLON + fileString);
+    }
+
+    /**
+     * Appends records of several added entries to the journal, flushing them together once all are written.
+     *
+     * @param fileStrings The entries in the same format used by the data file.
+     */
+    public static synchronized void appendAdds(List<String> fileStrings) {
+        if (journalWriter == null || fileStrings.isEmpty()) {
+            return;
+        }
+        try {
+            for (String fileString : fileStrings) {
+                String record = UiConstant.JOURNAL_ADD_LABEL + UiConstant.SPLIT_BY_COLON + fileString;
+                journalWriter.write(record + System.lineSeparator());
+                openRecords.add(record);
+                openByteCount += getRecordSize(record);
+            }
+            journalWriter.flush();
+        } catch (IOException e) {
+            LogFile.writeLog(ErrorConstant.JOURNAL_WRITE_ERROR + e.getMessage(), true);
+            closeJournal();
+        }
+    }
+
+    /**
+     * Appends a record of a deleted entry to the journal.
+     *
+     * @param dataType The type of the entry deleted.
+     * @param index    The index of the entry deleted, starting from 0.
+     */
+    public static void appendDelete(DataType dataType, int index) {
+        appendRecord(UiConstant.JOURNAL_DELETE_LABEL + UiConstant.SPLIT_BY_COLON + dataType
+                + UiConstant.SPLIT_BY_COLON + index);
+    }
+
+    /**
+     * Checks whether the journal has grown enough for the data file to be saved in full.
+     * Always true if the journal is not open.
+     *
+     * @return Returns true if the data file should be compacted. Otherwise, returns false.
+     */
+    public static synchronized boolean isCompactionDue() {
+        return journalWriter == null || openRecords.size() >= UiConstant.JOURNAL_COMPACTION_THRESHOLD
+                || openByteCount >= UiConstant.JOURNAL_COMPACTION_BYTES;
+    }
+
+    /**
+     * Checks whether the journal is open for appending.
+     *
+     * @return Returns true if changes are being journaled. Otherwise, returns false.
+     */
+    public static synchronized boolean isOpen() {
+        return journalWriter != null;
+    }
+
+    /**
+     * Retrieves the number of records in the journal.
+     *
+     * @return The number of records since the last compaction.
+     */
+    public static synchronized int getRecordCount() {
+        return openRecords.size();
+    }
+
+    /**
+     * Retrieves the size of the journal file.
+     *
+     * @return The number of bytes in the journal since the last compaction, including its header.
+     */
+    public static synchronized long getByteCount() {
+        return openByteCount;
+    }
+
+    /**
+     * Forces the records appended so far to disk.
+     * If the journal cannot be forced, it is closed, so the next save compacts it.
+     */
+    public static synchronized void sync() {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.flush();
+            journalStream.getFD().sync();
+        } catch (IOException e) {
+            LogFile.writeLog(ErrorConstant.JOURNAL_WRITE_ERROR + e.getMessage(), true);
+            closeJournal();
+        }
+    }
+
+    /**
+     * Closes the journal. Records appended after closing are ignored.
+     */
+    public static synchronized void closeJournal() {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.close();
+        } catch (IOException e) {
+            LogFile.writeLog(ErrorConstant.JOURNAL_WRITE_ERROR + e.getMessage(), true);
+        }
+        journalWriter = null;
+        journalStream = null;
+    }
+
+    /**
+     * Opens the journal file for writing.
+     *
+     * @param isAppend Whether to append to the journal file rather than replace it.
+     * @throws IOException If an I/O error occurs while opening the journal.
+     */
+    private static void openJournal(boolean isAppend) throws IOException {
+        journalStream = new FileOutputStream(UiConstant.journalFilePath, isAppend);
+        journalWriter = new BufferedWriter(new OutputStreamWriter(journalStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the header of a journal on top of the data file with the given hash, followed by the records given.
+     *
+     * @param writer   The writer to write the journal to.
+     * @param baseHash The hash of the data file the journal applies to.
+     * @param records  The records to be written.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    private static long writeJournal(Writer writer, String baseHash, List<String> records) throws IOException {
+        String header = UiConstant.JOURNAL_BASE_LABEL + UiConstant.SPLIT_BY_COLON + baseHash;
+        writer.write(header + System.lineSeparator());
+        long byteCount = getRecordSize(header);
+        for (String record : records) {
+            writer.write(record + System.lineSeparator());
+            byteCount += getRecordSize(record);
+        }
+        return byteCount;
+    }
+
+    /**
+     * Writes a journal to a temporary file and forces it to disk, deleting the temporary file if it cannot be written.
+     *
+     * @param tempPath The path of the temporary file.
+     * @param baseHash The hash of the data file the journal applies to.
+     * @param records  The records to be written.
+     * @return The number of bytes written.
+     * @throws IOException If an I/O error occurs while writing.
+     */
+    private static long writeTempJournal(Path tempPath, String baseHash, List<String> records) throws IOException {
+        try (FileOutputStream stream = new FileOutputStream(tempPath.toFile(), false)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            long byteCount = writeJournal(writer, baseHash, records);
+            writer.flush();
+            stream.getFD().sync();
+            return byteCount;
+        } catch (IOException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a file ends with a line separator, which a record cut short by a crash does not.
+     *
+     * @param file The file to check.
+     * @return Returns true if the last byte of the file ends a line. Otherwise, returns false.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    private static boolean endsWithLineSeparator(File file) throws IOException {
+        try (RandomAccessFile reader = new RandomAccessFile(file, "r")) {
+            long length = reader.length();
+            if (length == 0) {
+                return false;
+            }
+            reader.seek(length - 1);
+            return reader.read() == '\n';
+        }
+    }
+
+    /**
+     * Writes one record to the journal and flushes it so that it survives a crash.
+     * Does nothing if the journal has not been started.
+     *
+     * @param record The record to be written.
+     */
+    private static synchronized void appendRecord(String record) {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.write(record + System.lineSeparator());
+            journalWriter.flush();
+            openRecords.add(record);
+            openByteCount += getRecordSize(record);
+        } catch (IOException e) {
+            LogFile.writeLog(ErrorConstant.JOURNAL_WRITE_ERROR + e.getMessage(), true);
+            closeJournal();
+        }
+    }
+
+    /**
+     * Computes the approximate number of bytes a record takes up in the journal, including its line separator.
+     *
+     * @param record The record.
+     * @return The size of the record.
+     */
+    private static long getRecordSize(String record) {
+        return record.length() + System.lineSeparator().length();
+    }
+}
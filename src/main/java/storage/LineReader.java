@@ -0,0 +1,52 @@
+package storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Represents a reader of the lines of a text data file, which may be stored compressed.
+ */
+public interface LineReader extends Closeable {
+
+    /**
+     * Opens a reader over the given text data file, decompressing it if it is stored compressed.
+     * The given hasher is updated with every byte stored in the file, so once every line has been read, it covers
+     * the whole file as stored.
+     *
+     * @param file   The file to read.
+     * @param hasher The hasher to be updated, or null if no hash is needed.
+     * @return The reader.
+     * @throws IOException If the file cannot be opened.
+     */
+    static LineReader open(File file, MerkleHasher hasher) throws IOException {
+        if (CompressedDataFile.isCompressedFile(file)) {
+            return new CompressedLineReader(file, hasher);
+        }
+        return new MappedLineReader(file, hasher);
+    }
+
+    /**
+     * Checks whether there is another line to be read.
+     *
+     * @return Returns true if there is another line. Otherwise, returns false.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    boolean hasNextLine() throws IOException;
+
+    /**
+     * Reads the next line, excluding the line ending.
+     *
+     * @return The next line, or null if the end of the file has been reached.
+     * @throws IOException If an I/O error occurs while reading.
+     */
+    String nextLine() throws IOException;
+
+    /**
+     * Retrieves the byte offset in the stored file just past the last line read.
+     * Lines of a compressed file do not map to offsets in the stored file, so -1 is returned for them.
+     *
+     * @return The current byte offset, or -1 if it is not known.
+     */
+    int getPosition();
+}
@@ -1,13 +1,24 @@
 package storage;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Level;
-import java.util.logging.FileHandler;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
 
 
 import constants.UiConstant;
@@ -16,11 +27,31 @@ import utility.Validation;
 //@@author L5-Z
 /**
  * Represents a Logfile object used to write information and error logs for PulsePilot.
+ * Logs are written asynchronously by default: callers add each log to a ring buffer, and a background thread
+ * writes everything buffered to the log file in batches. When the buffer is full, callers either wait for room or
+ * drop the log, as set by {@code pulsepilot.log.overflow}. Buffered logs are written out before the log file is
+ * read and when PulsePilot exits.
+ * Logs below the level set by {@code pulsepilot.log.level} at startup are discarded before anything is allocated.
+ * Debug logs take a {@code Supplier} or a format with one argument, so their message is only built if debug logs
+ * are turned on.
+ * The log file is kept across runs and rotated once it grows past {@code pulsepilot.log.limit} bytes. Logs are
+ * inspected with {@link #tailLog} and {@link #searchLog}, which read the log files backwards from the end.
+ * Logs are written to the log file through a buffered stream that is only flushed after a whole batch, or after
+ * each log if they are written synchronously.
  */
 public class LogFile {
-    protected static FileHandler logFileHandler = null;
+    protected static StreamHandler logFileHandler = null;
     private static LogFile instance = null;
     private static final Logger logger = Logger.getLogger(LogFile.class.getName());
+    private static final Level minimumLevel = parseLevel(UiConstant.LOG_LEVEL);
+    private static final boolean isDebugEnabled = minimumLevel.intValue() <= Level.FINE.intValue();
+    private static final boolean isInfoEnabled = minimumLevel.intValue() <= Level.INFO.intValue();
+    private static final Object DRAIN_LOCK = new Object();
+    private static final List<LogRecord> drainedRecords = new ArrayList<>();
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static LogRingBuffer<LogRecord> buffer = null;
+    private static Thread flusher = null;
+    private static int logsSinceRotationCheck = 0;
 
     /**
      * Private constructor to prevent instantiation from outside the class.
@@ -43,45 +74,139 @@ public class LogFile {
     }
 
     /**
-     * Initialises the log file to be used. Creates the log file if needed, then sets formatters.
+     * Initialises the log file to be used. Creates the log file if needed, rotating it first if it is full, then
+     * sets formatters. New logs are added to the end of the log file.
      * Parent handlers are set to false to prevent printing of logs to terminal.
+     * Starts the background writer if logs are written asynchronously.
      */
     public static void initializeLogFile() {
         Validation validation = new Validation();
         validation.validateDirectoryPermissions();
         try {
             if (logFileHandler == null) {
-                logFileHandler = new FileHandler(UiConstant.LOG_FILE_PATH);
-                logFileHandler.setFormatter(new SimpleFormatter());
-                logger.addHandler(logFileHandler);
+                if (LogRotator.isRotationDue()) {
+                    LogRotator.rotate();
+                }
+                openLogFile();
                 logger.setUseParentHandlers(false);
+                logger.setLevel(minimumLevel);
             }
         } catch (IOException e) {
             throw new RuntimeException("Error setting up log file", e);
         }
         assert(logFileHandler != null);
+        if (UiConstant.IS_LOG_ASYNC && buffer == null) {
+            startFlusher();
+        }
     }
 
     /**
      * Writes information or warning logs to the log file.
+     * If logs are written asynchronously, the log is only added to the buffer.
      *
      * @param input   String representing the user's input.
      * @param isError Boolean variable to determine if log is an error.
      */
     public static void writeLog(String input, boolean isError) {
         if (isError) {
-            logger.log(Level.WARNING, input);
-        } else {
-            logger.log(Level.INFO, input);
+            log(Level.WARNING, input);
+        } else if (isInfoEnabled) {
+            log(Level.INFO, input);
+        }
+    }
+
+    /**
+     * Writes a debug log with a fixed message.
+     *
+     * @param message The message.
+     */
+    public static void writeDebug(String message) {
+        if (isDebugEnabled) {
+            log(Level.FINE, message);
+        }
+    }
+
+    /**
+     * Writes a debug log whose message is only built if debug logs are turned on.
+     *
+     * @param message The supplier of the message.
+     */
+    public static void writeDebug(Supplier<String> message) {
+        if (isDebugEnabled) {
+            log(Level.FINE, message.get());
         }
     }
 
     /**
-     * Reads the log file content.
+     * Writes a debug log formatted from one argument, which is only formatted if debug logs are turned on.
+     *
+     * @param format   The format of the message, as used by {@link String#format}.
+     * @param argument The argument of the format.
+     */
+    public static void writeDebug(String format, Object argument) {
+        if (isDebugEnabled) {
+            log(Level.FINE, String.format(format, argument));
+        }
+    }
+
+    /**
+     * Checks whether debug logs are written, for callers that need to do extra work to produce them.
+     *
+     * @return Returns true if debug logs are turned on. Otherwise, returns false.
+     */
+    public static boolean isDebugEnabled() {
+        return isDebugEnabled;
+    }
+
+    /**
+     * Writes every buffered log to the log file straight away.
+     * Does nothing if logs are written synchronously.
+     */
+    public static void flush() {
+        if (buffer == null) {
+            return;
+        }
+        drain();
+        while (!buffer.isEmpty()) {
+            // a caller has claimed a slot but not filled it yet
+            Thread.yield();
+            drain();
+        }
+    }
+
+    /**
+     * Retrieves the last lines of the logs, reading the log files backwards so that only those lines are read.
+     * Rotated log files are read after the current one, except those that are compressed.
+     *
+     * @param lineCount The number of lines to retrieve.
+     * @return The lines in the order they were written.
+     * @throws IOException If a log file cannot be read.
+     */
+    public static List<String> tailLog(int lineCount) throws IOException {
+        return scanLogBackwards(line -> true, lineCount);
+    }
+
+    /**
+     * Retrieves the most recent lines of the logs holding the given text, reading the log files backwards and
+     * stopping once enough lines are found.
+     * Rotated log files are searched after the current one, except those that are compressed.
+     *
+     * @param text       The text to search for.
+     * @param maxMatches The largest number of lines to retrieve.
+     * @return The matching lines in the order they were written.
+     * @throws IOException If a log file cannot be read.
+     */
+    public static List<String> searchLog(String text, int maxMatches) throws IOException {
+        return scanLogBackwards(line -> line.contains(text), maxMatches);
+    }
+
+    /**
+     * Reads the content of the current log file, without the rotated log files.
      *
      * @return Log file contents.
      */
     public static String readLogContent() {
+        flush();
         StringBuilder logContent = new StringBuilder();
         try {
             List<String> lines = Files.readAllLines(Path.of(UiConstant.LOG_FILE_PATH));
@@ -93,4 +218,178 @@ public class LogFile {
         }
         return logContent.toString();
     }
+
+    /**
+     * Writes a log at the given level, either straight to the log file or through the buffer.
+     *
+     * @param level   The level of the log.
+     * @param message The message.
+     */
+    private static void log(Level level, String message) {
+        if (buffer == null) {
+            synchronized (DRAIN_LOCK) {
+                logger.log(level, message);
+                logFileHandler.flush();
+                if (++logsSinceRotationCheck >= UiConstant.LOG_ROTATION_CHECK_INTERVAL) {
+                    rotateIfDue();
+                }
+            }
+            return;
+        }
+        if (!logger.isLoggable(level)) {
+            return;
+        }
+        LogRecord record = new LogRecord(level, message);
+        record.setLoggerName(logger.getName());
+        // the caller is fixed rather than found from the stack, which would be the writer's by the time it is written
+        record.setSourceClassName(LogFile.class.getName());
+        record.setSourceMethodName("writeLog");
+        enqueue(record);
+    }
+
+    /**
+     * Converts the log level set at startup into the level used by the logger.
+     *
+     * @param level Either {@code debug}, {@code info} or {@code warn}.
+     * @return The logger level, which is the level for info logs if the level given is not recognised.
+     */
+    private static Level parseLevel(String level) {
+        switch (level.toLowerCase()) {
+        case UiConstant.LOG_LEVEL_DEBUG:
+            return Level.FINE;
+
+        case UiConstant.LOG_LEVEL_WARN:
+            return Level.WARNING;
+
+        default:
+            return Level.INFO;
+        }
+    }
+
+    /**
+     * Creates the buffer and starts the background thread that writes it to the log file.
+     * Buffered logs are also written when PulsePilot exits.
+     */
+    private static void startFlusher() {
+        buffer = new LogRingBuffer<>(UiConstant.LOG_BUFFER_CAPACITY);
+        flusher = new Thread(() -> {
+            while (true) {
+                drain();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(UiConstant.LOG_FLUSH_INTERVAL_MILLIS));
+            }
+        }, "pulsepilot-log");
+        flusher.setDaemon(true);
+        flusher.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(LogFile::flush, "pulsepilot-log-shutdown"));
+    }
+
+    /**
+     * Adds a log to the buffer. If the buffer is full, either drops the log or waits until the background thread
+     * has made room, as configured.
+     *
+     * @param record The log to add.
+     */
+    private static void enqueue(LogRecord record) {
+        if (buffer.offer(record)) {
+            return;
+        }
+        if (UiConstant.LOG_OVERFLOW.equals(UiConstant.LOG_OVERFLOW_DROP)) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        while (!buffer.offer(record)) {
+            LockSupport.unpark(flusher);
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Writes the logs in the buffer to the log file as one batch, followed by a warning if any were dropped.
+     * The log file is flushed once, after the whole batch.
+     */
+    private static void drain() {
+        synchronized (DRAIN_LOCK) {
+            if (buffer.drainTo(drainedRecords) == 0 && droppedCount.get() == 0) {
+                return;
+            }
+            for (LogRecord record : drainedRecords) {
+                logFileHandler.publish(record);
+            }
+            drainedRecords.clear();
+            long dropped = droppedCount.getAndSet(0);
+            if (dropped > 0) {
+                LogRecord warning = new LogRecord(Level.WARNING, "Dropped " + dropped
+                        + " log(s) while the log buffer was full");
+                warning.setLoggerName(logger.getName());
+                logFileHandler.publish(warning);
+            }
+            logFileHandler.flush();
+            rotateIfDue();
+        }
+    }
+
+    /**
+     * Reads the log files backwards from the end, collecting the lines that match until enough are found.
+     * Buffered logs are written first, so they are included.
+     *
+     * @param filter     The test each line must pass.
+     * @param maxMatches The largest number of lines to collect.
+     * @return The matching lines in the order they were written.
+     * @throws IOException If a log file cannot be read.
+     */
+    private static List<String> scanLogBackwards(Predicate<String> filter, int maxMatches) throws IOException {
+        flush();
+        List<String> matches = new ArrayList<>();
+        for (File logFile : LogRotator.getTextLogFiles()) {
+            try (ReverseLineReader reader = new ReverseLineReader(logFile)) {
+                String line;
+                while (matches.size() < maxMatches && (line = reader.previousLine()) != null) {
+                    if (filter.test(line)) {
+                        matches.add(line);
+                    }
+                }
+            }
+            if (matches.size() >= maxMatches) {
+                break;
+            }
+        }
+        Collections.reverse(matches);
+        return matches;
+    }
+
+    /**
+     * Opens the log file for adding logs to its end.
+     *
+     * @throws IOException If the log file cannot be opened.
+     */
+    private static void openLogFile() throws IOException {
+        // unlike a FileHandler, a StreamHandler does not flush after every log
+        logFileHandler = new StreamHandler(new BufferedOutputStream(
+                new FileOutputStream(UiConstant.LOG_FILE_PATH, true)), new SimpleFormatter());
+        logFileHandler.setLevel(Level.ALL);
+        logger.addHandler(logFileHandler);
+    }
+
+    /**
+     * Rotates the log file if it has grown past the size limit, then opens a new one.
+     * Must be called while holding {@code DRAIN_LOCK}, so no log is written while the file is being moved.
+     */
+    private static void rotateIfDue() {
+        logsSinceRotationCheck = 0;
+        if (!LogRotator.isRotationDue()) {
+            return;
+        }
+        logger.removeHandler(logFileHandler);
+        logFileHandler.close();
+        try {
+            LogRotator.rotate();
+        } catch (IOException e) {
+            System.err.println("Error rotating log file: " + e.getMessage());
+        }
+        try {
+            openLogFile();
+        } catch (IOException e) {
+            System.err.println("Error reopening log file: " + e.getMessage());
+        }
+    }
 }
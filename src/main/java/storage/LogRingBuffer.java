@@ -0,0 +1,86 @@
+package storage;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Represents a bounded ring buffer of log records, written to by any number of threads and read by one at a time.
+ * Producers claim a slot by advancing the tail with a compare-and-set, so adding a record never takes a lock.
+ * A record becomes visible to the reader once its slot is filled, so the reader stops at a claimed slot that is
+ * still empty and picks it up on the next drain.
+ *
+ * @param <T> The type of record held.
+ */
+class LogRingBuffer<T> {
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Constructs a ring buffer holding at least the given number of records.
+     * The capacity is rounded up to a power of two so slots can be found with a mask.
+     *
+     * @param minimumCapacity The minimum number of records held before the buffer is full.
+     */
+    LogRingBuffer(int minimumCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, minimumCapacity) - 1) << 1;
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds a record to the buffer if there is room.
+     *
+     * @param record The record to add.
+     * @return Returns true if the record was added, or false if the buffer is full.
+     */
+    boolean offer(T record) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head.get() >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.set((int) (claimed & mask), record);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves every record that has been added so far into the given list, in the order the slots were claimed.
+     * Must only be called by one thread at a time.
+     *
+     * @param records The list to add the records to.
+     * @return The number of records moved.
+     */
+    int drainTo(List<T> records) {
+        long next = head.get();
+        int count = 0;
+        while (next < tail.get()) {
+            int slot = (int) (next & mask);
+            T record = slots.get(slot);
+            if (record == null) {
+                // claimed by a producer that has not filled it yet
+                break;
+            }
+            slots.set(slot, null);
+            records.add(record);
+            next++;
+            count++;
+            head.set(next);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether every record added has been drained.
+     *
+     * @return Returns true if the buffer is empty. Otherwise, returns false.
+     */
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
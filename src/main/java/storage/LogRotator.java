@@ -0,0 +1,112 @@
+package storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import constants.UiConstant;
+
+/**
+ * Represents the rotation of the log file once it grows past a size limit.
+ * The full log file becomes {@code pulsepilot_log.1.txt}, earlier rotated files move up by one, and the oldest is
+ * deleted so that at most {@code pulsepilot.log.count} files are kept, including the one being written.
+ * Rotated files can be compressed, in which case they end with {@code .gz}.
+ */
+class LogRotator {
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private LogRotator() {
+    }
+
+    /**
+     * Checks whether the log file has grown past the size limit.
+     *
+     * @return Returns true if the log file should be rotated. Otherwise, returns false.
+     */
+    static boolean isRotationDue() {
+        return UiConstant.LOG_FILE_LIMIT_BYTES > 0
+                && new File(UiConstant.LOG_FILE_PATH).length() >= UiConstant.LOG_FILE_LIMIT_BYTES;
+    }
+
+    /**
+     * Moves the log file and the rotated files up by one, deleting the oldest.
+     * The log file must be closed first, and a new one opened afterwards.
+     *
+     * @throws IOException If a file cannot be moved or compressed.
+     */
+    static void rotate() throws IOException {
+        int rotatedCount = UiConstant.LOG_FILE_COUNT - 1;
+        if (rotatedCount < 1) {
+            Files.deleteIfExists(Path.of(UiConstant.LOG_FILE_PATH));
+            return;
+        }
+        Files.deleteIfExists(getRotatedPath(rotatedCount, false));
+        Files.deleteIfExists(getRotatedPath(rotatedCount, true));
+        for (int generation = rotatedCount - 1; generation >= 1; generation--) {
+            moveIfExists(getRotatedPath(generation, false), getRotatedPath(generation + 1, false));
+            moveIfExists(getRotatedPath(generation, true), getRotatedPath(generation + 1, true));
+        }
+
+        Path rotated = getRotatedPath(1, false);
+        Files.move(Path.of(UiConstant.LOG_FILE_PATH), rotated, StandardCopyOption.REPLACE_EXISTING);
+        if (UiConstant.IS_LOG_COMPRESSED) {
+            Path compressed = getRotatedPath(1, true);
+            try (InputStream in = Files.newInputStream(rotated);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed),
+                         UiConstant.COMPRESSION_BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+            Files.delete(rotated);
+        }
+    }
+
+    /**
+     * Lists the log files that can be read as text, from the one being written to the oldest.
+     * Compressed rotated files are left out.
+     *
+     * @return The log files that exist.
+     */
+    static List<File> getTextLogFiles() {
+        List<File> logFiles = new ArrayList<>();
+        logFiles.add(new File(UiConstant.LOG_FILE_PATH));
+        for (int generation = 1; generation < UiConstant.LOG_FILE_COUNT; generation++) {
+            logFiles.add(getRotatedPath(generation, false).toFile());
+        }
+        logFiles.removeIf(logFile -> !logFile.isFile());
+        return logFiles;
+    }
+
+    /**
+     * Finds the path of a rotated log file.
+     *
+     * @param generation   The number of rotations since the file was written, starting from 1.
+     * @param isCompressed Whether the file is compressed.
+     * @return The path of the file.
+     */
+    private static Path getRotatedPath(int generation, boolean isCompressed) {
+        String path = String.format(UiConstant.ROTATED_LOG_FILE_FORMAT, generation);
+        return Path.of(isCompressed ? path + UiConstant.COMPRESSED_LOG_EXTENSION : path);
+    }
+
+    /**
+     * Moves a file, replacing the target, if the file exists.
+     *
+     * @param source The file to move.
+     * @param target The path to move it to.
+     * @throws IOException If the file cannot be moved.
+     */
+    private static void moveIfExists(Path source, Path target) throws IOException {
+        if (Files.exists(source)) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
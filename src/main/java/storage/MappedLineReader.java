@@ -0,0 +1,124 @@
+package storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Represents a line reader over a memory-mapped data file.
+ * Lines are found by scanning the mapped bytes for line feeds, so no regular expressions or
+ * intermediate character buffers are involved, unlike {@code Scanner}.
+ * Both LF and CRLF line endings are supported.
+ */
+public class MappedLineReader implements LineReader {
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final int INITIAL_LINE_CAPACITY = 256;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final MerkleHasher hasher;
+    private byte[] lineBytes = new byte[INITIAL_LINE_CAPACITY];
+
+    /**
+     * Constructs a reader that maps the whole of the given file.
+     *
+     * @param file The file to read.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public MappedLineReader(File file) throws IOException {
+        this(file, null);
+    }
+
+    /**
+     * Constructs a reader that maps the whole of the given file, updating the given hasher with every byte read,
+     * including line endings. Once every line has been read, the hasher covers the whole file.
+     *
+     * @param file   The file to read.
+     * @param hasher The hasher to be updated, or null if no hash is needed.
+     * @throws IOException If the file cannot be opened or mapped.
+     */
+    public MappedLineReader(File file, MerkleHasher hasher) throws IOException {
+        this.hasher = hasher;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + size + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether there is another line to be read.
+     *
+     * @return Returns true if there are bytes left in the file. Otherwise, returns false.
+     */
+    @Override
+    public boolean hasNextLine() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * Retrieves the byte offset in the file of the next line to be read.
+     * After a line has been read, this is the offset just past its line ending.
+     *
+     * @return The current byte offset.
+     */
+    @Override
+    public int getPosition() {
+        return buffer.position();
+    }
+
+    /**
+     * Reads the next line, excluding the line ending.
+     *
+     * @return The next line, or null if the end of the file has been reached.
+     */
+    @Override
+    public String nextLine() {
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+
+        int start = buffer.position();
+        int limit = buffer.limit();
+        int end = start;
+        while (end < limit && buffer.get(end) != LINE_FEED) {
+            end += 1;
+        }
+        int next = (end < limit) ? end + 1 : limit;
+
+        // the line ending is copied as well, so the hasher sees every byte of the file exactly once
+        int lengthWithEnding = next - start;
+        if (lengthWithEnding > lineBytes.length) {
+            lineBytes = new byte[Math.max(lengthWithEnding, lineBytes.length * 2)];
+        }
+        buffer.get(lineBytes, 0, lengthWithEnding);
+        if (hasher != null) {
+            hasher.update(lineBytes, 0, lengthWithEnding);
+        }
+
+        if (end > start && lineBytes[end - 1 - start] == CARRIAGE_RETURN) {
+            end -= 1;
+        }
+        return new String(lineBytes, 0, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the underlying file channel.
+     *
+     * @throws IOException If an I/O error occurs while closing the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,259 @@
+package storage;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import constants.UiConstant;
+
+/**
+ * Represents the block-level integrity hash of the data file.
+ * The file is split into fixed-size blocks and each block is hashed into a leaf. The leaves are combined
+ * pairwise into a Merkle tree, whose root identifies the whole file. Storing the leaves as well as the root
+ * lets a corrupted file be traced down to the exact blocks that changed, instead of rejecting the whole file.
+ * Leaves and inner nodes are hashed with different prefixes, so one can never be passed off as the other.
+ */
+public class MerkleHasher {
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+    private static final int HEX_RADIX = 16;
+    private static final int NIBBLE_BITS = 4;
+    private static final int NIBBLE_MASK = 0xf;
+
+    private final int blockSize;
+    private final MessageDigest blockDigest;
+    private final List<String> leaves = new ArrayList<>();
+    private int blockFill = 0;
+
+    /**
+     * Constructs a hasher that splits the bytes given to it into blocks of the given size.
+     *
+     * @param blockSize The number of bytes in each block.
+     * @throws NoSuchAlgorithmException If the hash algorithm is not available.
+     */
+    public MerkleHasher(int blockSize) throws NoSuchAlgorithmException {
+        this.blockSize = blockSize;
+        this.blockDigest = MessageDigest.getInstance(UiConstant.HASH_ALGORITHM);
+        blockDigest.update(LEAF_PREFIX);
+    }
+
+    /**
+     * Adds the given bytes to the hash, finishing a leaf every time a block is filled.
+     *
+     * @param bytes  The array holding the bytes.
+     * @param offset The index of the first byte to add.
+     * @param length The number of bytes to add.
+     */
+    public void update(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            int count = Math.min(length, blockSize - blockFill);
+            blockDigest.update(bytes, offset, count);
+            blockFill += count;
+            offset += count;
+            length -= count;
+            if (blockFill == blockSize) {
+                finishBlock();
+            }
+        }
+    }
+
+    /**
+     * Retrieves the leaf hashes of every block added so far, finishing the last block if it is partly filled.
+     * Once called, no more bytes should be added.
+     *
+     * @return The hexadecimal leaf hashes in block order.
+     */
+    public List<String> getLeaves() {
+        if (blockFill > 0) {
+            finishBlock();
+        }
+        return leaves;
+    }
+
+    /**
+     * Retrieves the number of bytes in each block.
+     *
+     * @return The block size.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Formats the block size, root and leaves in the layout stored in the hash file.
+     * The first line holds the label, block size and root, followed by one leaf per line.
+     *
+     * @return The contents of the hash file.
+     * @throws NoSuchAlgorithmException If the hash algorithm is not available.
+     */
+    public String toHashFileString() throws NoSuchAlgorithmException {
+        List<String> blockHashes = getLeaves();
+        StringBuilder sb = new StringBuilder();
+        sb.append(UiConstant.MERKLE_LABEL).append(UiConstant.SPLIT_BY_COLON)
+                .append(blockSize).append(UiConstant.SPLIT_BY_COLON)
+                .append(computeRoot(blockHashes));
+        for (String leaf : blockHashes) {
+            sb.append(System.lineSeparator()).append(leaf);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Wraps an output stream so that every byte written through it is also added to this hash.
+     *
+     * @param out The stream to write to.
+     * @return The wrapped stream.
+     */
+    public OutputStream wrap(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                update(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+                update(bytes, offset, length);
+            }
+        };
+    }
+
+    /**
+     * Wraps an input stream so that every byte read through it is also added to this hash.
+     *
+     * @param in The stream to read from.
+     * @return The wrapped stream.
+     */
+    public InputStream wrap(InputStream in) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = in.read();
+                if (b != -1) {
+                    update(new byte[]{(byte) b}, 0, 1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] bytes, int offset, int length) throws IOException {
+                int count = in.read(bytes, offset, length);
+                if (count > 0) {
+                    update(bytes, offset, count);
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Combines leaf hashes pairwise until a single root hash is left.
+     * A node without a partner on its level is carried up unchanged. A file with no blocks has the hash of
+     * no input as its root.
+     *
+     * @param leaves The hexadecimal leaf hashes in block order.
+     * @return The hexadecimal root hash.
+     * @throws NoSuchAlgorithmException If the hash algorithm is not available.
+     */
+    public static String computeRoot(List<String> leaves) throws NoSuchAlgorithmException {
+        MessageDigest nodeDigest = MessageDigest.getInstance(UiConstant.HASH_ALGORITHM);
+        if (leaves.isEmpty()) {
+            return toHexString(nodeDigest.digest());
+        }
+
+        List<byte[]> level = new ArrayList<>(leaves.size());
+        for (String leaf : leaves) {
+            level.add(fromHexString(leaf));
+        }
+        while (level.size() > 1) {
+            List<byte[]> nextLevel = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i < level.size(); i += 2) {
+                if (i + 1 == level.size()) {
+                    nextLevel.add(level.get(i));
+                    break;
+                }
+                nodeDigest.update(NODE_PREFIX);
+                nodeDigest.update(level.get(i));
+                nodeDigest.update(level.get(i + 1));
+                nextLevel.add(nodeDigest.digest());
+            }
+            level = nextLevel;
+        }
+        return toHexString(level.get(0));
+    }
+
+    /**
+     * Compares the leaves stored in the hash file against the leaves of the data file as read.
+     * A block that is missing from either side counts as corrupted.
+     *
+     * @param expectedLeaves The leaves stored in the hash file.
+     * @param actualLeaves   The leaves computed from the data file.
+     * @return The indexes of the corrupted blocks, in ascending order.
+     */
+    public static List<Integer> findCorruptBlocks(List<String> expectedLeaves, List<String> actualLeaves) {
+        List<Integer> corruptBlocks = new ArrayList<>();
+        int blockCount = Math.max(expectedLeaves.size(), actualLeaves.size());
+        for (int i = 0; i < blockCount; i++) {
+            if (i >= expectedLeaves.size() || i >= actualLeaves.size()
+                    || !expectedLeaves.get(i).equals(actualLeaves.get(i))) {
+                corruptBlocks.add(i);
+            }
+        }
+        return corruptBlocks;
+    }
+
+    /**
+     * Converts a hash value to a lowercase hexadecimal string.
+     *
+     * @param digest The hash value.
+     * @return A String representing the hash value in hexadecimal.
+     */
+    public static String toHexString(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            sb.append(Character.forDigit((b >> NIBBLE_BITS) & NIBBLE_MASK, HEX_RADIX));
+            sb.append(Character.forDigit(b & NIBBLE_MASK, HEX_RADIX));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Converts a hexadecimal string back to the hash value it represents.
+     *
+     * @param hex The hexadecimal string.
+     * @return The hash value.
+     * @throws IllegalArgumentException If the string is not valid hexadecimal.
+     */
+    private static byte[] fromHexString(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException(hex);
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), HEX_RADIX);
+            int low = Character.digit(hex.charAt(2 * i + 1), HEX_RADIX);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException(hex);
+            }
+            bytes[i] = (byte) ((high << NIBBLE_BITS) | low);
+        }
+        return bytes;
+    }
+
+    /**
+     * Finishes the current block, adding its hash to the leaves and starting the next block.
+     */
+    private void finishBlock() {
+        leaves.add(toHexString(blockDigest.digest()));
+        blockDigest.update(LEAF_PREFIX);
+        blockFill = 0;
+    }
+}
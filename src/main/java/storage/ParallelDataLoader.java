@@ -0,0 +1,117 @@
+package storage;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import constants.UiConstant;
+import utility.Parser;
+import utility.Validation;
+
+/**
+ * Represents a loader that parses and validates the entries of a large data file on the fork-join pool.
+ * Each entry is prepared on whichever core is free, then committed to the lists on the calling thread in file order,
+ * so the lists end up exactly the same as when loading one line at a time.
+ * If an entry is invalid, every entry before it is still added, and the error for the first invalid entry is thrown.
+ */
+public class ParallelDataLoader {
+    private final DataFile dataFile;
+    private final List<String> lines;
+    private final PreparedRecord[] preparedRecords;
+    private final Exception[] failures;
+
+    /**
+     * Constructs a loader for the given entries.
+     *
+     * @param dataFile The {@code DataFile} used to prepare each entry.
+     * @param lines    The lines of the data file after the name, in file order.
+     */
+    public ParallelDataLoader(DataFile dataFile, List<String> lines) {
+        this.dataFile = dataFile;
+        this.lines = lines;
+        this.preparedRecords = new PreparedRecord[lines.size()];
+        this.failures = new Exception[lines.size()];
+    }
+
+    /**
+     * Checks whether a data file with the given number of entries is large enough to be worth loading in parallel.
+     *
+     * @param lineCount The number of entries in the data file.
+     * @return Returns true if the entries should be loaded in parallel. Otherwise, returns false.
+     */
+    public static boolean isParallelLoadWorthwhile(int lineCount) {
+        return lineCount >= UiConstant.PARALLEL_LOAD_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+    }
+
+    /**
+     * Prepares every entry in parallel, then adds them to the lists in file order.
+     *
+     * @return The number of entries added.
+     * @throws Exception The error thrown by the first entry that could not be prepared or added.
+     */
+    public int load() throws Exception {
+        int firstFailure = ForkJoinPool.commonPool().invoke(new PrepareTask(0, lines.size()));
+        int commitLimit = (firstFailure < 0) ? lines.size() : firstFailure;
+
+        for (int i = 0; i < commitLimit; i++) {
+            preparedRecords[i].commit();
+            preparedRecords[i] = null;
+        }
+        if (firstFailure >= 0) {
+            LogFile.writeLog("Data file is missing content at line " + firstFailure, true);
+            throw failures[firstFailure];
+        }
+        return commitLimit;
+    }
+
+    /**
+     * Represents the task of preparing the entries in a range of lines, splitting the range until it is small enough.
+     * The result is the index of the first entry in the range that could not be prepared, or -1 if there is none.
+     */
+    private class PrepareTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+        private final int end;
+
+        PrepareTask(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (end - start <= UiConstant.PARALLEL_LOAD_CHUNK_SIZE) {
+                return prepareRange();
+            }
+
+            int middle = (start + end) >>> 1;
+            PrepareTask left = new PrepareTask(start, middle);
+            PrepareTask right = new PrepareTask(middle, end);
+            right.fork();
+            int leftFailure = left.compute();
+            int rightFailure = right.join();
+            return (leftFailure >= 0) ? leftFailure : rightFailure;
+        }
+
+        /**
+         * Prepares each entry in the range, stopping at the first entry that cannot be prepared.
+         * Each range uses its own {@code Validation} and {@code Parser} objects.
+         *
+         * @return The index of the entry that could not be prepared, or -1 if every entry was prepared.
+         */
+        private int prepareRange() {
+            Validation validation = new Validation();
+            Parser parser = new Parser();
+            for (int i = start; i < end; i++) {
+                try {
+                    preparedRecords[i] = dataFile.decodeRecord(lines.get(i), validation, parser);
+                } catch (Exception e) {
+                    failures[i] = e;
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
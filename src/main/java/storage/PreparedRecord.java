@@ -0,0 +1,19 @@
+package storage;
+
+import utility.CustomExceptions;
+
+/**
+ * Represents an entry from the data file that has been parsed and validated, but not yet added to the lists.
+ * Preparing an entry does not depend on the lists, so it can be done on any thread.
+ * Committing an entry adds it to {@code HealthList} or {@code WorkoutLists}, and must be done in file order.
+ */
+@FunctionalInterface
+public interface PreparedRecord {
+
+    /**
+     * Adds the entry to the relevant list.
+     *
+     * @throws CustomExceptions.InvalidInput If the entry conflicts with an entry already in the lists.
+     */
+    void commit() throws CustomExceptions.InvalidInput;
+}
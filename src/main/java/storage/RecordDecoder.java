@@ -0,0 +1,29 @@
+package storage;
+
+import utility.CustomExceptions;
+import utility.Parser;
+import utility.Validation;
+
+/**
+ * Represents the parsing and validation of an entry from one version of the text data file format.
+ * Decoders are registered in {@code DataFile} by the version they read, and chosen from the data file header.
+ */
+@FunctionalInterface
+interface RecordDecoder {
+
+    /**
+     * Parses and validates a single entry without adding it to any list.
+     *
+     * @param rawInput   The raw line read from the data file.
+     * @param validation The validation object used to validate the entry.
+     * @param parser     The parser object used to parse gym entries.
+     * @return The prepared entry, to be committed in file order.
+     * @throws CustomExceptions.InvalidInput If there is an error in the input data format.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input data.
+     * @throws CustomExceptions.FileReadError If there is an error reading the gym entry.
+     * @throws IllegalArgumentException If the data type of the entry is not recognised.
+     */
+    PreparedRecord decode(String rawInput, Validation validation, Parser parser)
+            throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput,
+            CustomExceptions.FileReadError;
+}
@@ -0,0 +1,116 @@
+package storage;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Represents a reader that returns the lines of a text file from the last to the first.
+ * The file is read in fixed-size blocks from the end, so only the blocks holding the lines returned so far are
+ * ever read, and memory use does not depend on the size of the file.
+ */
+class ReverseLineReader implements Closeable {
+    private static final int BLOCK_SIZE = 8192;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final RandomAccessFile file;
+    private final ArrayDeque<String> readyLines = new ArrayDeque<>();
+    private long position;
+    private byte[] partialLine = new byte[0];
+    private boolean isAtEnd = true;
+
+    /**
+     * Opens a file to be read from its last line.
+     *
+     * @param textFile The file to read.
+     * @throws IOException If the file cannot be opened.
+     */
+    ReverseLineReader(File textFile) throws IOException {
+        file = new RandomAccessFile(textFile, "r");
+        position = file.length();
+        if (position == 0) {
+            partialLine = null;
+        }
+    }
+
+    /**
+     * Reads the line before the last one returned.
+     *
+     * @return The line without its line ending, or null if the start of the file has been reached.
+     * @throws IOException If an I/O error occurs.
+     */
+    String previousLine() throws IOException {
+        while (readyLines.isEmpty()) {
+            if (position == 0) {
+                if (partialLine == null) {
+                    return null;
+                }
+                String firstLine = decode(partialLine, 0, partialLine.length);
+                partialLine = null;
+                return firstLine;
+            }
+            readPreviousBlock();
+        }
+        return readyLines.removeFirst();
+    }
+
+    /**
+     * Reads the block before the current position and splits off every line that is now complete.
+     * The bytes before the first line break in the block may continue into the block before it, so they are kept
+     * until that block is read.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void readPreviousBlock() throws IOException {
+        int length = (int) Math.min(BLOCK_SIZE, position);
+        position -= length;
+        byte[] data = new byte[length + partialLine.length];
+        file.seek(position);
+        file.readFully(data, 0, length);
+        System.arraycopy(partialLine, 0, data, length, partialLine.length);
+
+        int lineEnd = data.length;
+        if (isAtEnd && lineEnd > 0 && data[lineEnd - 1] == LINE_FEED) {
+            // the line break ending the file does not start another line
+            lineEnd--;
+        }
+        isAtEnd = false;
+        for (int i = lineEnd - 1; i >= 0; i--) {
+            if (data[i] == LINE_FEED) {
+                readyLines.addLast(decode(data, i + 1, lineEnd));
+                lineEnd = i;
+            }
+        }
+        partialLine = Arrays.copyOf(data, lineEnd);
+    }
+
+    /**
+     * Decodes a line, dropping the carriage return of a Windows line ending.
+     *
+     * @param data  The bytes holding the line.
+     * @param start The offset of the start of the line.
+     * @param end   The offset just past the end of the line.
+     * @return The line.
+     */
+    private String decode(byte[] data, int start, int end) {
+        if (end > start && data[end - 1] == CARRIAGE_RETURN) {
+            end--;
+        }
+        return new String(data, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException If an I/O error occurs while closing the file.
+     */
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,393 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import constants.WorkoutConstant;
+import utility.CustomExceptions;
+import utility.Dates;
+import utility.InputPatterns;
+import utility.Validation;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+/**
+ * Represents an import of runs from a CSV or GPX file.
+ * Files are read in a single streaming pass, so only the details of each run are kept rather than the whole file.
+ * CSV files hold one run per row with the date, distance in km and time taken. GPX files hold one run per track,
+ * with the distance measured along its points and the time taken from its first and last timestamps.
+ * Every run is validated like a run entered by hand, invalid entries are skipped, and the valid runs are then added
+ * to the lists and journaled together.
+ */
+public class RunImporter {
+    private final Validation validation = new Validation();
+    private final List<String[]> runDetailsList = new ArrayList<>();
+    private int importedCount = 0;
+    private int skippedCount = 0;
+
+    /**
+     * Imports the runs in a CSV or GPX file, chosen by its extension.
+     *
+     * @param file The file to import.
+     * @throws CustomExceptions.FileReadError If the file cannot be read.
+     * @throws CustomExceptions.InvalidInput  If the file is not a CSV or GPX file.
+     */
+    public void importFile(Path file) throws CustomExceptions.FileReadError, CustomExceptions.InvalidInput {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        try {
+            if (fileName.endsWith(WorkoutConstant.CSV_EXTENSION)) {
+                readCsvFile(file);
+            } else if (fileName.endsWith(WorkoutConstant.GPX_EXTENSION)) {
+                readGpxFile(file);
+            } else {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_IMPORT_FILE_ERROR);
+            }
+        } catch (IOException | XMLStreamException e) {
+            LogFile.writeLog("Error occurred while importing " + file + ": " + e, true);
+            throw new CustomExceptions.FileReadError(ErrorConstant.IMPORT_READ_ERROR);
+        }
+        addRuns();
+        LogFile.writeLog("Imported " + importedCount + " run(s), skipped " + skippedCount, false);
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Reads the runs in a CSV file with the date, distance and time of one run per row.
+     * A header row is skipped, and dates may be given as either dd-MM-yyyy or yyyy-MM-dd.
+     *
+     * @param file The CSV file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void readCsvFile(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            boolean isFirstLine = true;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] columns = line.split(UiConstant.SPLIT_BY_COMMAS, -1);
+                if (isFirstLine && columns[WorkoutConstant.CSV_DATE_INDEX].trim()
+                        .replace(WorkoutConstant.CSV_QUOTE, UiConstant.EMPTY_STRING)
+                        .equalsIgnoreCase(WorkoutConstant.CSV_DATE_HEADER)) {
+                    isFirstLine = false;
+                    continue;
+                }
+                isFirstLine = false;
+                if (columns.length != WorkoutConstant.NUMBER_OF_CSV_COLUMNS) {
+                    skippedCount++;
+                    continue;
+                }
+                addRunDetails(formatTime(readCsvColumn(columns, WorkoutConstant.CSV_TIME_INDEX)),
+                        formatDistance(readCsvColumn(columns, WorkoutConstant.CSV_DISTANCE_INDEX)),
+                        formatDate(readCsvColumn(columns, WorkoutConstant.CSV_DATE_INDEX)));
+            }
+        }
+    }
+
+    /**
+     * Reads a column of a CSV row without surrounding whitespace or quotes.
+     *
+     * @param columns The columns of the row.
+     * @param index   The index of the column.
+     * @return The value of the column.
+     */
+    private String readCsvColumn(String[] columns, int index) {
+        return columns[index].trim().replace(WorkoutConstant.CSV_QUOTE, UiConstant.EMPTY_STRING).trim();
+    }
+
+    /**
+     * Reads the runs in a GPX file, one for each track.
+     * The distance of a track is the sum of the great-circle distances between consecutive points in each of its
+     * segments, and its time is the time between its first and last timestamps. Runs are dated by the day of their
+     * first timestamp in the local time zone. Tracks without timestamps are skipped.
+     *
+     * @param file The GPX file.
+     * @throws IOException        If an I/O error occurs.
+     * @throws XMLStreamException If the file is not well-formed XML.
+     */
+    private void readGpxFile(Path file) throws IOException, XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                GpxTrack track = null;
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        track = readGpxElement(reader, track);
+                    } else if (event == XMLStreamConstants.END_ELEMENT
+                            && reader.getLocalName().equals(WorkoutConstant.GPX_TRACK) && track != null) {
+                        addGpxTrack(track);
+                        track = null;
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Updates the track being read with the element the reader is at.
+     *
+     * @param reader The reader, positioned at the start of an element.
+     * @param track  The track being read, or null if the reader is outside a track.
+     * @return The track being read after this element.
+     * @throws XMLStreamException If the file is not well-formed XML.
+     */
+    private GpxTrack readGpxElement(XMLStreamReader reader, GpxTrack track) throws XMLStreamException {
+        String name = reader.getLocalName();
+        if (name.equals(WorkoutConstant.GPX_TRACK)) {
+            return new GpxTrack();
+        }
+        if (track == null) {
+            return null;
+        }
+        switch (name) {
+        case WorkoutConstant.GPX_SEGMENT:
+            track.startSegment();
+            break;
+
+        case WorkoutConstant.GPX_POINT:
+            try {
+                track.addPoint(Double.parseDouble(reader.getAttributeValue(null, WorkoutConstant.GPX_LATITUDE)),
+                        Double.parseDouble(reader.getAttributeValue(null, WorkoutConstant.GPX_LONGITUDE)));
+            } catch (NullPointerException | NumberFormatException e) {
+                track.markInvalid();
+            }
+            break;
+
+        case WorkoutConstant.GPX_TIME:
+            // the metadata of the file also has a time, which is outside every track
+            try {
+                track.addTime(OffsetDateTime.parse(reader.getElementText().trim()).toInstant());
+            } catch (DateTimeParseException e) {
+                track.markInvalid();
+            }
+            break;
+
+        default:
+            break;
+        }
+        return track;
+    }
+
+    /**
+     * Converts a track read from a GPX file to the details of a run.
+     *
+     * @param track The track.
+     */
+    private void addGpxTrack(GpxTrack track) {
+        if (!track.isValid()) {
+            skippedCount++;
+            return;
+        }
+        long totalSeconds = Duration.between(track.firstTime, track.lastTime).getSeconds();
+        long hours = totalSeconds / UiConstant.NUM_SECONDS_IN_HOUR;
+        long minutes = totalSeconds % UiConstant.NUM_SECONDS_IN_HOUR / UiConstant.NUM_SECONDS_IN_MINUTE;
+        long seconds = totalSeconds % UiConstant.NUM_SECONDS_IN_MINUTE;
+        String time = hours > UiConstant.MIN_HOURS
+                ? String.format(WorkoutConstant.TIME_WITH_HOURS_FORMAT, hours, minutes, seconds)
+                : String.format(WorkoutConstant.TIME_WITHOUT_HOURS_FORMAT, minutes, seconds);
+        String date = track.firstTime.atZone(ZoneId.systemDefault()).toLocalDate().format(Dates.DATE_FORMATTER);
+        addRunDetails(time, String.format(WorkoutConstant.TWO_DECIMAL_PLACE_FORMAT, track.distance), date);
+    }
+
+    /**
+     * Validates the details of a run like a run entered by hand, keeping them to be added if they are valid.
+     *
+     * @param time     The time taken in mm:ss or hh:mm:ss format.
+     * @param distance The distance in km to two decimal places.
+     * @param date     The date in dd-MM-yyyy format, or null if there is none.
+     */
+    private void addRunDetails(String time, String distance, String date) {
+        String[] runDetails = new String[WorkoutConstant.NUMBER_OF_RUN_PARAMETERS];
+        runDetails[WorkoutConstant.RUN_TIME_INDEX] = time;
+        runDetails[WorkoutConstant.RUN_DISTANCE_INDEX] = distance;
+        runDetails[WorkoutConstant.RUN_DATE_INDEX] = date;
+        try {
+            validation.validateRunInput(runDetails);
+            runDetailsList.add(runDetails);
+        } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
+            skippedCount++;
+        }
+    }
+
+    /**
+     * Adds every valid run read to the lists, then journals them together.
+     * Runs that fail the checks made when a run is created are skipped.
+     */
+    private void addRuns() {
+        WorkoutLists.ensureRunCapacity(runDetailsList.size());
+        List<String> fileStrings = new ArrayList<>(runDetailsList.size());
+        for (String[] runDetails : runDetailsList) {
+            try {
+                Run run;
+                if (runDetails[WorkoutConstant.RUN_DATE_INDEX] == null) {
+                    run = new Run(runDetails[WorkoutConstant.RUN_TIME_INDEX],
+                            runDetails[WorkoutConstant.RUN_DISTANCE_INDEX]);
+                } else {
+                    run = new Run(runDetails[WorkoutConstant.RUN_TIME_INDEX],
+                            runDetails[WorkoutConstant.RUN_DISTANCE_INDEX],
+                            runDetails[WorkoutConstant.RUN_DATE_INDEX]);
+                }
+                fileStrings.add(run.toFileString());
+                importedCount++;
+            } catch (CustomExceptions.InvalidInput | NumberFormatException e) {
+                skippedCount++;
+            }
+        }
+        runDetailsList.clear();
+        JournalFile.appendAdds(fileStrings);
+    }
+
+    /**
+     * Formats a time as mm:ss, or hh:mm:ss if it is an hour or longer, padding each part to two digits.
+     *
+     * @param time The time as given, such as 1:05:30 or 0:45:10.
+     * @return The formatted time, or the time as given if it is not made of numbers.
+     */
+    private String formatTime(String time) {
+        String[] parts = time.split(UiConstant.SPLIT_BY_COLON);
+        try {
+            if (parts.length == WorkoutConstant.NUMBER_OF_PARTS_FOR_RUN_TIME_WITH_HOURS
+                    && Integer.parseInt(parts[WorkoutConstant.RUN_TIME_HOUR_INDEX]) == UiConstant.MIN_HOURS) {
+                return String.format(WorkoutConstant.TIME_WITHOUT_HOURS_FORMAT,
+                        Integer.parseInt(parts[WorkoutConstant.RUN_TIME_MINUTE_INDEX]),
+                        Integer.parseInt(parts[WorkoutConstant.RUN_TIME_SECOND_INDEX]));
+            } else if (parts.length == WorkoutConstant.NUMBER_OF_PARTS_FOR_RUN_TIME_WITH_HOURS) {
+                return String.format(WorkoutConstant.TIME_WITH_HOURS_FORMAT,
+                        Integer.parseInt(parts[WorkoutConstant.RUN_TIME_HOUR_INDEX]),
+                        Integer.parseInt(parts[WorkoutConstant.RUN_TIME_MINUTE_INDEX]),
+                        Integer.parseInt(parts[WorkoutConstant.RUN_TIME_SECOND_INDEX]));
+            } else if (parts.length == WorkoutConstant.NUMBER_OF_PARTS_FOR_RUN_TIME) {
+                return String.format(WorkoutConstant.TIME_WITHOUT_HOURS_FORMAT,
+                        Integer.parseInt(parts[WorkoutConstant.RUN_TIME_NO_HOURS_MINUTE_INDEX]),
+                        Integer.parseInt(parts[WorkoutConstant.RUN_TIME_NO_HOURS_SECOND_INDEX]));
+            }
+        } catch (NumberFormatException e) {
+            return time;
+        }
+        return time;
+    }
+
+    /**
+     * Formats a distance in km to two decimal places.
+     *
+     * @param distance The distance as given, such as 5 or 5.125.
+     * @return The formatted distance, or the distance as given if it is not a number.
+     */
+    private String formatDistance(String distance) {
+        try {
+            return String.format(WorkoutConstant.TWO_DECIMAL_PLACE_FORMAT, Double.parseDouble(distance));
+        } catch (NumberFormatException e) {
+            return distance;
+        }
+    }
+
+    /**
+     * Formats a date as dd-MM-yyyy, converting it from yyyy-MM-dd if needed.
+     *
+     * @param date The date as given, which may be blank or NA if the run has no date.
+     * @return The formatted date, or null if the run has no date.
+     */
+    private String formatDate(String date) {
+        if (date.isEmpty() || date.equalsIgnoreCase(ErrorConstant.NO_DATE_SPECIFIED_ERROR)) {
+            return null;
+        }
+        if (InputPatterns.isIsoDate(date)) {
+            String[] dateParts = date.split(UiConstant.DASH);
+            return dateParts[2] + UiConstant.DASH + dateParts[1] + UiConstant.DASH + dateParts[0];
+        }
+        return date;
+    }
+
+    /**
+     * Represents a track being read from a GPX file.
+     */
+    private static class GpxTrack {
+        private double distance = 0;
+        private Instant firstTime = null;
+        private Instant lastTime = null;
+        private double lastLatitude = Double.NaN;
+        private double lastLongitude = Double.NaN;
+        private boolean isInvalid = false;
+
+        /**
+         * Starts a new segment, so that no distance is counted between the end of the last segment and this one.
+         */
+        private void startSegment() {
+            lastLatitude = Double.NaN;
+            lastLongitude = Double.NaN;
+        }
+
+        /**
+         * Adds a point to the track, counting the great-circle distance from the last point in the segment.
+         *
+         * @param latitude  The latitude of the point in degrees.
+         * @param longitude The longitude of the point in degrees.
+         */
+        private void addPoint(double latitude, double longitude) {
+            if (!Double.isNaN(lastLatitude)) {
+                double latitudeChange = Math.toRadians(latitude - lastLatitude);
+                double longitudeChange = Math.toRadians(longitude - lastLongitude);
+                double a = Math.pow(Math.sin(latitudeChange / 2), UiConstant.POWER_OF_TWO)
+                        + Math.cos(Math.toRadians(lastLatitude)) * Math.cos(Math.toRadians(latitude))
+                        * Math.pow(Math.sin(longitudeChange / 2), UiConstant.POWER_OF_TWO);
+                distance += 2 * WorkoutConstant.EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+            }
+            lastLatitude = latitude;
+            lastLongitude = longitude;
+        }
+
+        /**
+         * Adds the timestamp of a point to the track.
+         *
+         * @param time The timestamp.
+         */
+        private void addTime(Instant time) {
+            if (firstTime == null) {
+                firstTime = time;
+            }
+            lastTime = time;
+        }
+
+        private void markInvalid() {
+            isInvalid = true;
+        }
+
+        private boolean isValid() {
+            return !isInvalid && firstTime != null && lastTime.isAfter(firstTime);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package storage;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import constants.UiConstant;
+
+/**
+ * Represents the durable commit path for the data file, its hash file and the journal started on top of them.
+ * Saves requested while another save is being written are grouped with others of the same journal handling.
+ */
+public class SaveCommitter {
+    private Batch pendingBatch = null;
+    private boolean isCommitting = false;
+
+    /**
+     * Represents the writer of a complete data file.
+     */
+    @FunctionalInterface
+    public interface SaveWriter {
+
+        /**
+         * Writes the data file to the given stream.
+         *
+         * @param dataFile The stream to write the data file to.
+         * @return The contents of the hash file for the data written.
+         * @throws IOException If an I/O error occurs while writing.
+         */
+        String write(OutputStream dataFile) throws IOException;
+    }
+
+    /**
+     * Represents the step that starts the journal again on top of the data file being saved.
+     */
+    @FunctionalInterface
+    public interface JournalRebase {
+
+        /**
+         * Writes the new journal to its temporary file, then moves the saved files into place.
+         *
+         * @param hashFileString The contents of the hash file for the data written.
+         * @param moveFiles      The step that moves the data file, hash file and new journal into place.
+         * @throws IOException If an I/O error occurs while writing the journal or moving the files.
+         */
+        void rebase(String hashFileString, FileMove moveFiles) throws IOException;
+    }
+
+    /**
+     * Represents the step that moves the saved files into place.
+     */
+    @FunctionalInterface
+    public interface FileMove {
+
+        /**
+         * Moves the saved files into place.
+         *
+         * @throws IOException If an I/O error occurs.
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Represents a group of saves that are committed by a single write.
+     */
+    private static class Batch {
+        private SaveWriter writer;
+        private JournalRebase rebase;
+        private boolean isDone = false;
+        private IOException failure = null;
+    }
+
+    /**
+     * Saves the data file durably, returning once a save at least as recent as this one is on disk.
+     *
+     * @param writer The writer of the data file to be saved.
+     * @throws IOException If the data file or hash file could not be saved.
+     */
+    public void save(SaveWriter writer) throws IOException {
+        save(writer, null);
+    }
+
+    /**
+     * Saves the data file durably together with a new journal on top of it, returning once a save at least as recent
+     * as this one is on disk.
+     *
+     * @param writer The writer of the data file to be saved.
+     * @param rebase The step that writes the new journal, or null to leave the journal as it is.
+     * @throws IOException If the data file, hash file or journal could not be saved.
+     */
+    public void save(SaveWriter writer, JournalRebase rebase) throws IOException {
+        Batch batch;
+        synchronized (this) {
+            boolean isInterrupted = false;
+            // a rebase only applies to the data file taken with it, so saves with and without one are not grouped
+            while (pendingBatch != null && (pendingBatch.rebase == null) != (rebase == null)) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+            if (pendingBatch == null) {
+                pendingBatch = new Batch();
+            }
+            batch = pendingBatch;
+            batch.writer = writer;
+            batch.rebase = rebase;
+            while (isCommitting && !batch.isDone) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    isInterrupted = true;
+                }
+            }
+            if (isInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (batch.isDone) {
+                if (batch.failure != null) {
+                    throw batch.failure;
+                }
+                return;
+            }
+            isCommitting = true;
+            pendingBatch = null;
+            notifyAll();
+        }
+
+        try {
+            commitFiles(batch.writer, batch.rebase);
+        } catch (IOException e) {
+            batch.failure = e;
+        } catch (RuntimeException e) {
+            batch.failure = new IOException(e);
+        } finally {
+            synchronized (this) {
+                batch.isDone = true;
+                isCommitting = false;
+                notifyAll();
+            }
+        }
+        if (batch.failure != null) {
+            throw batch.failure;
+        }
+    }
+
+    /**
+     * Finishes or discards a save that was interrupted before all of its files were moved into place.
+     */
+    public static void recoverInterruptedSave() {
+        Path tempDataPath = Path.of(UiConstant.dataFilePath + UiConstant.TEMP_FILE_SUFFIX);
+        Path tempHashPath = Path.of(UiConstant.hashFilePath + UiConstant.TEMP_FILE_SUFFIX);
+        Path tempJournalPath = Path.of(UiConstant.journalFilePath + UiConstant.TEMP_FILE_SUFFIX);
+        try {
+            if (!Files.exists(tempDataPath) && (Files.exists(tempHashPath) || Files.exists(tempJournalPath))) {
+                if (Files.exists(tempHashPath)) {
+                    moveIntoPlace(tempHashPath, Path.of(UiConstant.hashFilePath));
+                }
+                if (Files.exists(tempJournalPath)) {
+                    moveIntoPlace(tempJournalPath, Path.of(UiConstant.journalFilePath));
+                }
+                LogFile.writeLog("Finished interrupted save", true);
+            }
+            if (Files.deleteIfExists(tempDataPath) | Files.deleteIfExists(tempHashPath)
+                    | Files.deleteIfExists(tempJournalPath)) {
+                LogFile.writeLog("Discarded interrupted save", true);
+            }
+        } catch (IOException e) {
+            LogFile.writeLog("Could not recover interrupted save: " + e, true);
+        }
+    }
+
+    /**
+     * Writes a file through a temporary file that is forced to disk and then moved into place.
+     *
+     * @param path     The path of the file.
+     * @param contents The contents of the file.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void writeFile(Path path, byte[] contents) throws IOException {
+        Path tempPath = Path.of(path + UiConstant.TEMP_FILE_SUFFIX);
+        try (FileChannel channel = openTempFile(tempPath)) {
+            OutputStream file = Channels.newOutputStream(channel);
+            file.write(contents);
+            file.flush();
+            channel.force(true);
+        }
+        moveIntoPlace(tempPath, path);
+    }
+
+    /**
+     * Writes both files to temporary files, forces them to disk, then moves them into place.
+     * If the journal is to be started again, the new journal is written before any file is moved, and moved last.
+     *
+     * @param writer The writer of the data file.
+     * @param rebase The step that writes the new journal, or null to leave the journal as it is.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void commitFiles(SaveWriter writer, JournalRebase rebase) throws IOException {
+        Path dataPath = Path.of(UiConstant.dataFilePath);
+        Path tempDataPath = Path.of(UiConstant.dataFilePath + UiConstant.TEMP_FILE_SUFFIX);
+        Path tempHashPath = Path.of(UiConstant.hashFilePath + UiConstant.TEMP_FILE_SUFFIX);
+
+        String hash;
+        try (FileChannel channel = openTempFile(tempDataPath)) {
+            OutputStream dataFile = Channels.newOutputStream(channel);
+            hash = writer.write(dataFile);
+            dataFile.flush();
+            channel.force(true);
+        }
+
+        LogFile.writeLog("Attempting to write hash", false);
+        try (FileChannel channel = openTempFile(tempHashPath)) {
+            OutputStream hashFile = Channels.newOutputStream(channel);
+            hashFile.write(hash.getBytes(StandardCharsets.UTF_8));
+            hashFile.flush();
+            channel.force(true);
+        }
+
+        if (rebase == null) {
+            moveFiles(false);
+        } else {
+            rebase.rebase(hash, () -> moveFiles(true));
+        }
+        forceDirectory(dataPath);
+    }
+
+    /**
+     * Moves the temporary data file, hash file and, if there is one, journal into place, in that order.
+     *
+     * @param hasJournal Whether a new journal has been written to its temporary file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static void moveFiles(boolean hasJournal) throws IOException {
+        moveIntoPlace(Path.of(UiConstant.dataFilePath + UiConstant.TEMP_FILE_SUFFIX), Path.of(UiConstant.dataFilePath));
+        moveIntoPlace(Path.of(UiConstant.hashFilePath + UiConstant.TEMP_FILE_SUFFIX), Path.of(UiConstant.hashFilePath));
+        if (hasJournal) {
+            moveIntoPlace(Path.of(UiConstant.journalFilePath + UiConstant.TEMP_FILE_SUFFIX),
+                    Path.of(UiConstant.journalFilePath));
+        }
+    }
+
+    /**
+     * Opens a temporary file for writing, replacing any earlier contents.
+     *
+     * @param path The path of the temporary file.
+     * @return The channel to write to.
+     * @throws IOException If an I/O error occurs.
+     */
+    private static FileChannel openTempFile(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Moves a temporary file over the file it replaces in a single step where the file system allows it.
+     *
+     * @param source The temporary file.
+     * @param target The file to be replaced.
+     * @throws IOException If an I/O error occurs.
+     */
+    static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces the directory holding the data file to disk, where the platform allows it.
+     *
+     * @param dataPath The path of the data file, or of any other file in the directory to be forced.
+     */
+    static void forceDirectory(Path dataPath) {
+        Path directory = dataPath.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            LogFile.writeLog("Could not force data directory: " + e.getMessage(), false);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import utility.CustomExceptions;
+import utility.InputPatterns;
+import utility.Filters.DataType;
+
+/**
+ * Represents the manifest of a segmented data file, which is stored in place of the entries in the data file.
+ * The manifest lists every segment in date order with its range of dates, number of entries of each type and hash.
+ * Workouts are kept in the order they were added rather than by date, so the manifest also records that order as
+ * runs of consecutive workouts from the same segment.
+ */
+class SegmentManifest {
+    private final String period;
+    private final String name;
+    private final TreeMap<String, Segment> segments = new TreeMap<>();
+    private final List<String> orderKeys = new ArrayList<>();
+    private final List<Integer> orderCounts = new ArrayList<>();
+
+    /**
+     * Represents one segment file listed in the manifest.
+     */
+    static class Segment {
+        private final String key;
+        private final String fileName;
+        private final String firstDate;
+        private final String lastDate;
+        private final String hash;
+        private final Map<DataType, Integer> counts;
+
+        /**
+         * Constructs a segment entry of the manifest.
+         *
+         * @param key       The calendar year or month covered by the segment, or the key for undated entries.
+         * @param fileName  The name of the segment file in the segment directory.
+         * @param firstDate The earliest date of an entry in the segment, or NA if the segment is undated.
+         * @param lastDate  The latest date of an entry in the segment, or NA if the segment is undated.
+         * @param hash      The hash of the segment file as stored.
+         * @param counts    The number of entries of each type in the segment.
+         */
+        Segment(String key, String fileName, String firstDate, String lastDate, String hash,
+                Map<DataType, Integer> counts) {
+            this.key = key;
+            this.fileName = fileName;
+            this.firstDate = firstDate;
+            this.lastDate = lastDate;
+            this.hash = hash;
+            this.counts = new EnumMap<>(counts);
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+
+        String getHash() {
+            return hash;
+        }
+
+        /**
+         * Retrieves the number of entries of the given type in the segment.
+         *
+         * @param dataType The type of entry.
+         * @return The number of entries.
+         */
+        int getCount(DataType dataType) {
+            return counts.getOrDefault(dataType, 0);
+        }
+
+        /**
+         * Retrieves the total number of entries in the segment.
+         *
+         * @return The number of entries.
+         */
+        int getTotalCount() {
+            int totalCount = 0;
+            for (int count : counts.values()) {
+                totalCount += count;
+            }
+            return totalCount;
+        }
+
+        /**
+         * Formats the segment entry as a line of the manifest.
+         *
+         * @return The line in the manifest.
+         */
+        String toFileString() {
+            StringBuilder sb = new StringBuilder(UiConstant.SEGMENT_LABEL);
+            for (String field : new String[]{key, fileName, firstDate, lastDate, hash}) {
+                sb.append(UiConstant.SPLIT_BY_COLON).append(field);
+            }
+            for (DataType dataType : DataType.values()) {
+                sb.append(UiConstant.SPLIT_BY_COLON).append(getCount(dataType));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Constructs an empty manifest.
+     *
+     * @param period The length of time covered by each segment, either a year or a month.
+     * @param name   The username stored with the entries.
+     */
+    SegmentManifest(String period, String name) {
+        this.period = period;
+        this.name = name;
+    }
+
+    String getPeriod() {
+        return period;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the segments listed in the manifest, ordered by the dates they cover.
+     *
+     * @return The segments by key.
+     */
+    NavigableMap<String, Segment> getSegments() {
+        return Collections.unmodifiableNavigableMap(segments);
+    }
+
+    /**
+     * Adds a segment to the manifest, replacing any segment with the same key.
+     *
+     * @param segment The segment to be added.
+     */
+    void addSegment(Segment segment) {
+        segments.put(segment.getKey(), segment);
+    }
+
+    /**
+     * Records that the next workout added belongs to the segment with the given key.
+     *
+     * @param key The key of the segment holding the workout.
+     */
+    void appendWorkout(String key) {
+        int last = orderKeys.size() - 1;
+        if (last >= 0 && orderKeys.get(last).equals(key)) {
+            orderCounts.set(last, orderCounts.get(last) + 1);
+        } else {
+            orderKeys.add(key);
+            orderCounts.add(1);
+        }
+    }
+
+    /**
+     * Retrieves the segment keys of each run of consecutive workouts from the same segment, in the order they were
+     * added. Used together with {@link #getOrderCounts()}.
+     *
+     * @return The segment key of each run.
+     */
+    List<String> getOrderKeys() {
+        return orderKeys;
+    }
+
+    /**
+     * Retrieves the number of workouts in each run of consecutive workouts from the same segment.
+     *
+     * @return The number of workouts in each run.
+     */
+    List<Integer> getOrderCounts() {
+        return orderCounts;
+    }
+
+    /**
+     * Formats the manifest in the layout stored in the data file.
+     * The first line holds the label, version and segment period, followed by the name, one line per segment and
+     * the order of workouts.
+     *
+     * @return The contents of the manifest.
+     */
+    String toFileString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(UiConstant.MANIFEST_LABEL).append(UiConstant.SPLIT_BY_COLON).append(UiConstant.MANIFEST_VERSION)
+                .append(UiConstant.SPLIT_BY_COLON).append(period).append(System.lineSeparator());
+        sb.append(UiConstant.NAME_LABEL).append(UiConstant.SPLIT_BY_COLON).append(name.trim())
+                .append(System.lineSeparator());
+        for (Segment segment : segments.values()) {
+            sb.append(segment.toFileString()).append(System.lineSeparator());
+        }
+        sb.append(UiConstant.ORDER_LABEL);
+        for (int i = 0; i < orderKeys.size(); i++) {
+            sb.append(UiConstant.SPLIT_BY_COLON).append(orderKeys.get(i))
+                    .append(UiConstant.SPLIT_BY_COLON).append(orderCounts.get(i));
+        }
+        sb.append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    /**
+     * Parses the contents of a manifest.
+     *
+     * @param contents The contents of the data file holding the manifest.
+     * @return The manifest.
+     * @throws CustomExceptions.InvalidInput If the contents are not a valid manifest.
+     */
+    static SegmentManifest parse(String contents) throws CustomExceptions.InvalidInput {
+        String[] lines = InputPatterns.LINE_BREAK.split(contents);
+        try {
+            String[] header = lines[0].split(UiConstant.SPLIT_BY_COLON);
+            String[] nameLine = lines[1].split(UiConstant.SPLIT_BY_COLON, 2);
+            if (!header[UiConstant.DATA_TYPE_INDEX].equals(UiConstant.MANIFEST_LABEL)
+                    || Integer.parseInt(header[UiConstant.MANIFEST_VERSION_INDEX]) != UiConstant.MANIFEST_VERSION
+                    || !nameLine[UiConstant.DATA_TYPE_INDEX].equals(UiConstant.NAME_LABEL)) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.CORRUPT_ERROR);
+            }
+            SegmentManifest manifest = new SegmentManifest(header[UiConstant.MANIFEST_PERIOD_INDEX],
+                    nameLine[UiConstant.NAME_INDEX]);
+            for (int i = 2; i < lines.length; i++) {
+                manifest.parseLine(lines[i]);
+            }
+            return manifest;
+        } catch (RuntimeException e) {
+            throw new CustomExceptions.InvalidInput(ErrorConstant.CORRUPT_ERROR);
+        }
+    }
+
+    /**
+     * Parses a segment or order line of the manifest.
+     *
+     * @param line The line of the manifest.
+     * @throws CustomExceptions.InvalidInput If the line is not recognised.
+     */
+    private void parseLine(String line) throws CustomExceptions.InvalidInput {
+        if (line.isBlank()) {
+            return;
+        }
+        String[] input = line.split(UiConstant.SPLIT_BY_COLON);
+        String label = input[UiConstant.DATA_TYPE_INDEX];
+        if (label.equals(UiConstant.SEGMENT_LABEL)) {
+            Map<DataType, Integer> counts = new EnumMap<>(DataType.class);
+            DataType[] dataTypes = DataType.values();
+            for (int i = 0; i < dataTypes.length; i++) {
+                counts.put(dataTypes[i], Integer.parseInt(input[UiConstant.SEGMENT_COUNTS_INDEX + i]));
+            }
+            addSegment(new Segment(input[UiConstant.SEGMENT_KEY_INDEX], input[UiConstant.SEGMENT_FILE_INDEX],
+                    input[UiConstant.SEGMENT_FIRST_DATE_INDEX], input[UiConstant.SEGMENT_LAST_DATE_INDEX],
+                    input[UiConstant.SEGMENT_HASH_INDEX], counts));
+        } else if (label.equals(UiConstant.ORDER_LABEL)) {
+            for (int i = 1; i + 1 < input.length; i += 2) {
+                orderKeys.add(input[i]);
+                orderCounts.add(Integer.parseInt(input[i + 1]));
+            }
+        } else {
+            throw new CustomExceptions.InvalidInput(ErrorConstant.CORRUPT_ERROR);
+        }
+    }
+
+    /**
+     * Finds the date of an entry from its fields in the text data file format.
+     * Periods are placed by their start date.
+     *
+     * @param dataType The type of the entry.
+     * @param input    The fields of the entry.
+     * @return The date in dd-MM-yyyy format, or NA if the entry has no date.
+     */
+    static String findDate(DataType dataType, String[] input) {
+        int dateIndex;
+        switch (dataType) {
+        case BMI:
+            dateIndex = 4;
+            break;
+
+        case RUN:
+            dateIndex = 3;
+            break;
+
+        case GYM:
+            dateIndex = 2;
+            break;
+
+        default:
+            // appointments and periods
+            dateIndex = 1;
+            break;
+        }
+        if (dateIndex >= input.length || !InputPatterns.isDate(input[dateIndex].trim())) {
+            return ErrorConstant.NO_DATE_SPECIFIED_ERROR;
+        }
+        return input[dateIndex].trim();
+    }
+
+    /**
+     * Finds the key of the segment holding entries with the given date.
+     * Keys sort in date order, with undated entries after every dated segment.
+     *
+     * @param period The length of time covered by each segment, either a year or a month.
+     * @param date   The date in dd-MM-yyyy format, or NA.
+     * @return The segment key, which is yyyy for yearly segments or yyyy-MM for monthly segments.
+     */
+    static String findSegmentKey(String period, String date) {
+        if (date.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR)) {
+            return UiConstant.UNDATED_SEGMENT_KEY;
+        }
+        String[] dateParts = date.split(UiConstant.DASH);
+        if (period.equals(UiConstant.MONTH_SEGMENTS)) {
+            return dateParts[2] + UiConstant.DASH + dateParts[1];
+        }
+        return dateParts[2];
+    }
+
+    /**
+     * Converts a date in dd-MM-yyyy format to a form that sorts in date order.
+     *
+     * @param date The date in dd-MM-yyyy format.
+     * @return The date in yyyyMMdd format.
+     */
+    static String toSortableDate(String date) {
+        String[] dateParts = date.split(UiConstant.DASH);
+        return dateParts[2] + dateParts[1] + dateParts[0];
+    }
+}
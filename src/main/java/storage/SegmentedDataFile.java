@@ -0,0 +1,530 @@
+package storage;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import ui.Output;
+import utility.Filters.DataType;
+import workouts.Workout;
+import workouts.WorkoutLists;
+
+/**
+ * Represents the segmented layout of the data file, where entries are stored in one segment file per calendar year
+ * or month, and the data file holds only the {@link SegmentManifest} listing the segments.
+ * Each segment file is named after the hash of its contents, so a save only writes the segments that have changed,
+ * and the manifest is then committed with its hash file as the data file always is. Loading reads only the newest
+ * segments needed for the recent entries of each type, leaving older segments to {@code DeferredHistory}.
+ * Every segment is checked against the hash in the manifest, and a corrupted segment only loses its own entries.
+ */
+public class SegmentedDataFile {
+    private static final byte[] MANIFEST_PREFIX =
+            (UiConstant.MANIFEST_LABEL + UiConstant.SPLIT_BY_COLON).getBytes(StandardCharsets.UTF_8);
+
+    private final DataFile owner;
+    private SegmentManifest manifest = null;
+    private final Set<String> loadedKeys = new HashSet<>();
+    private final Set<String> droppedKeys = new HashSet<>();
+
+    /**
+     * Represents the entries of one segment as they are collected for saving.
+     */
+    private static class SegmentContents {
+        private final String key;
+        private final List<String> lines = new ArrayList<>();
+        private final Map<DataType, Integer> counts = new EnumMap<>(DataType.class);
+        private String firstDate = ErrorConstant.NO_DATE_SPECIFIED_ERROR;
+        private String lastDate = ErrorConstant.NO_DATE_SPECIFIED_ERROR;
+
+        private SegmentContents(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Adds an entry to the segment, widening its range of dates to include the entry.
+         *
+         * @param line     The entry in the text data file format.
+         * @param dataType The type of the entry.
+         * @param date     The date of the entry, or NA if it has none.
+         */
+        private void add(String line, DataType dataType, String date) {
+            lines.add(line);
+            counts.merge(dataType, 1, Integer::sum);
+            if (date.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR)) {
+                return;
+            }
+            String sortableDate = SegmentManifest.toSortableDate(date);
+            if (firstDate.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR)
+                    || sortableDate.compareTo(SegmentManifest.toSortableDate(firstDate)) < 0) {
+                firstDate = date;
+            }
+            if (lastDate.equals(ErrorConstant.NO_DATE_SPECIFIED_ERROR)
+                    || sortableDate.compareTo(SegmentManifest.toSortableDate(lastDate)) > 0) {
+                lastDate = date;
+            }
+        }
+    }
+
+    /**
+     * Constructs the segmented layout used by the given data file.
+     *
+     * @param owner The data file used to add the entries read from segments.
+     */
+    SegmentedDataFile(DataFile owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * Checks whether the data file should be saved in the segmented layout.
+     *
+     * @return Returns true if the segmented layout is turned on. Otherwise, returns false.
+     */
+    public static boolean isEnabled() {
+        return UiConstant.storageLayout.equals(UiConstant.SEGMENTED_LAYOUT);
+    }
+
+    /**
+     * Checks whether the given file holds a segment manifest rather than entries.
+     *
+     * @param file The data file to check.
+     * @return Returns true if the file starts with the manifest label. Otherwise, returns false.
+     * @throws IOException If an I/O error occurs while reading the file.
+     */
+    public static boolean isManifestFile(File file) throws IOException {
+        if (file.length() < MANIFEST_PREFIX.length) {
+            return false;
+        }
+        byte[] prefix = new byte[MANIFEST_PREFIX.length];
+        try (InputStream in = new FileInputStream(file)) {
+            int readCount = 0;
+            while (readCount < prefix.length) {
+                int count = in.read(prefix, readCount, prefix.length - readCount);
+                if (count == -1) {
+                    return false;
+                }
+                readCount += count;
+            }
+        }
+        return Arrays.equals(prefix, MANIFEST_PREFIX);
+    }
+
+    /**
+     * Starts using the given manifest, loading the newest segments needed for the recent entries of each type.
+     * The remaining segments are left to {@code DeferredHistory}.
+     *
+     * @param loadedManifest The manifest read from the data file.
+     */
+    void open(SegmentManifest loadedManifest) {
+        manifest = loadedManifest;
+        loadedKeys.clear();
+        droppedKeys.clear();
+
+        List<SegmentManifest.Segment> recentSegments = new ArrayList<>();
+        Map<DataType, Integer> recentCounts = new EnumMap<>(DataType.class);
+        // undated entries sort after every dated segment, so they are always loaded
+        for (SegmentManifest.Segment segment : manifest.getSegments().descendingMap().values()) {
+            if (isNeededForRecent(segment, recentCounts)) {
+                recentSegments.add(segment);
+            }
+            for (DataType dataType : DataType.values()) {
+                recentCounts.merge(dataType, segment.getCount(dataType), Integer::sum);
+            }
+        }
+        loadSegments(recentSegments);
+        if (hasUnloadedSegments()) {
+            DeferredHistory.deferSegments(this);
+        }
+    }
+
+    /**
+     * Checks whether there are segments that have not been read yet.
+     *
+     * @return Returns true if some segments are not loaded. Otherwise, returns false.
+     */
+    boolean hasUnloadedSegments() {
+        return !findUnloadedSegments(List.of(DataType.values())).isEmpty();
+    }
+
+    /**
+     * Retrieves the number of entries of the given type in segments that have not been read yet.
+     *
+     * @param dataType The type of entry.
+     * @return The number of entries not yet added.
+     */
+    int getUnloadedCount(DataType dataType) {
+        int unloadedCount = 0;
+        for (SegmentManifest.Segment segment : findUnloadedSegments(List.of(dataType))) {
+            unloadedCount += segment.getCount(dataType);
+        }
+        return unloadedCount;
+    }
+
+    /**
+     * Reads every segment not loaded yet that holds entries of any of the given types, and adds its entries.
+     *
+     * @param dataTypes The types of entry needed.
+     */
+    void load(Collection<DataType> dataTypes) {
+        List<SegmentManifest.Segment> segments = findUnloadedSegments(dataTypes);
+        if (!segments.isEmpty()) {
+            loadSegments(segments);
+        }
+    }
+
+    /**
+     * Writes the segments that have changed and the manifest listing every segment.
+     * Segment files no longer listed in the manifest last committed or the one being written are deleted.
+     *
+     * @param dataFile    The stream to write the manifest to.
+     * @param name        The username to be saved.
+     * @param fileStrings Every entry in the text data file format, in the order they are written.
+     * @return The contents of the hash file for the manifest.
+     * @throws IOException If an I/O error occurs while writing, or the hash algorithm is not available.
+     */
+    String write(OutputStream dataFile, String name, List<String> fileStrings) throws IOException {
+        String period = UiConstant.segmentPeriod.equals(UiConstant.MONTH_SEGMENTS)
+                ? UiConstant.MONTH_SEGMENTS : UiConstant.YEAR_SEGMENTS;
+        SegmentManifest newManifest = new SegmentManifest(period, name);
+        Map<String, SegmentContents> contents = new TreeMap<>();
+        for (String line : fileStrings) {
+            DataType dataType = HistoryScan.findDataType(line);
+            String date = SegmentManifest.findDate(dataType, line.split(UiConstant.SPLIT_BY_COLON));
+            String key = SegmentManifest.findSegmentKey(period, date);
+            contents.computeIfAbsent(key, SegmentContents::new).add(line, dataType, date);
+            if (dataType == DataType.RUN || dataType == DataType.GYM) {
+                newManifest.appendWorkout(key);
+            }
+        }
+
+        try {
+            SegmentManifest committedManifest = readCommittedManifest();
+            Path directory = Path.of(UiConstant.segmentDirectoryPath);
+            Files.createDirectories(directory);
+            int writtenCount = 0;
+            Path writtenPath = null;
+            for (SegmentContents segmentContents : contents.values()) {
+                byte[] bytes = toSegmentBytes(segmentContents.lines);
+                String hash = hashSegment(bytes);
+                String fileName = segmentContents.key + UiConstant.DASH
+                        + hash.substring(0, UiConstant.SEGMENT_FILE_HASH_LENGTH) + UiConstant.SEGMENT_FILE_SUFFIX;
+                newManifest.addSegment(new SegmentManifest.Segment(segmentContents.key, fileName,
+                        segmentContents.firstDate, segmentContents.lastDate, hash, segmentContents.counts));
+                if (!isCommitted(committedManifest, segmentContents.key, fileName, hash, directory)) {
+                    writtenPath = directory.resolve(fileName);
+                    SaveCommitter.writeFile(writtenPath, bytes);
+                    writtenCount++;
+                }
+            }
+            if (writtenPath != null) {
+                // the new segments must be on disk before the manifest listing them is committed
+                SaveCommitter.forceDirectory(writtenPath);
+            }
+            deleteUnlistedFiles(directory, committedManifest, newManifest);
+            LogFile.writeLog("Wrote " + writtenCount + " of " + contents.size() + " segment(s)", false);
+
+            MerkleHasher hasher = new MerkleHasher(UiConstant.INTEGRITY_BLOCK_SIZE);
+            OutputStream hashedDataFile = hasher.wrap(dataFile);
+            hashedDataFile.write(newManifest.toFileString().getBytes(StandardCharsets.UTF_8));
+            hashedDataFile.flush();
+            return hasher.toHashFileString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Reads the given segments and adds their entries, then puts the workouts back in the order they were added.
+     * The workouts in the lists are those of the segments loaded before, in the order given by the manifest,
+     * followed by the workouts added since the manifest was loaded.
+     *
+     * @param segments The segments to be loaded.
+     */
+    private void loadSegments(List<SegmentManifest.Segment> segments) {
+        List<Workout> workouts = WorkoutLists.getWorkouts();
+        Set<String> previousKeys = new HashSet<>(loadedKeys);
+        int baseCount = Math.min(countOrderedWorkouts(previousKeys), workouts.size());
+        List<Workout> baseWorkouts = new ArrayList<>(workouts.subList(0, baseCount));
+        List<Workout> laterWorkouts = new ArrayList<>(workouts.subList(baseCount, workouts.size()));
+
+        Map<String, Deque<Workout>> segmentWorkouts = new HashMap<>();
+        int recordCount = 0;
+        for (SegmentManifest.Segment segment : segments) {
+            List<String> lines;
+            try {
+                lines = readSegment(segment);
+            } catch (IOException | NoSuchAlgorithmException e) {
+                dropSegment(segment, e);
+                continue;
+            }
+            int firstNewWorkout = workouts.size();
+            for (String line : lines) {
+                try {
+                    owner.processRecord(line);
+                    recordCount++;
+                } catch (Exception e) {
+                    LogFile.writeLog("Skipping invalid record in segment " + segment.getKey() + ": " + e, true);
+                }
+            }
+            segmentWorkouts.put(segment.getKey(),
+                    new ArrayDeque<>(workouts.subList(firstNewWorkout, workouts.size())));
+            loadedKeys.add(segment.getKey());
+        }
+
+        List<Workout> orderedWorkouts = new ArrayList<>(workouts.size());
+        Iterator<Workout> baseIterator = baseWorkouts.iterator();
+        List<String> orderKeys = manifest.getOrderKeys();
+        List<Integer> orderCounts = manifest.getOrderCounts();
+        for (int i = 0; i < orderKeys.size(); i++) {
+            Deque<Workout> newWorkouts = segmentWorkouts.get(orderKeys.get(i));
+            boolean isPreviouslyLoaded = previousKeys.contains(orderKeys.get(i));
+            for (int j = 0; j < orderCounts.get(i); j++) {
+                if (newWorkouts != null && !newWorkouts.isEmpty()) {
+                    orderedWorkouts.add(newWorkouts.poll());
+                } else if (isPreviouslyLoaded && baseIterator.hasNext()) {
+                    orderedWorkouts.add(baseIterator.next());
+                }
+            }
+        }
+        // anything the manifest did not account for keeps its place after the ordered workouts
+        baseIterator.forEachRemaining(orderedWorkouts::add);
+        for (Deque<Workout> remainingWorkouts : segmentWorkouts.values()) {
+            orderedWorkouts.addAll(remainingWorkouts);
+        }
+        orderedWorkouts.addAll(laterWorkouts);
+        WorkoutLists.moveWorkoutsToEnd(orderedWorkouts);
+        LogFile.writeLog("Loaded " + recordCount + " record(s) from " + segmentWorkouts.size() + " segment(s)",
+                false);
+    }
+
+    /**
+     * Checks whether a segment has to be loaded for the recent entries of each type, given the number of entries
+     * of each type in newer segments.
+     *
+     * @param segment      The segment to check.
+     * @param recentCounts The number of entries of each type in newer segments.
+     * @return Returns true if the segment holds entries that are among the recent ones. Otherwise, returns false.
+     */
+    private boolean isNeededForRecent(SegmentManifest.Segment segment, Map<DataType, Integer> recentCounts) {
+        if (UiConstant.recentHistoryCount <= 0) {
+            return true;
+        }
+        for (DataType dataType : DataType.values()) {
+            if (segment.getCount(dataType) > 0
+                    && recentCounts.getOrDefault(dataType, 0) < UiConstant.recentHistoryCount) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the segments not loaded yet that hold entries of any of the given types.
+     *
+     * @param dataTypes The types of entry.
+     * @return The segments in date order.
+     */
+    private List<SegmentManifest.Segment> findUnloadedSegments(Collection<DataType> dataTypes) {
+        List<SegmentManifest.Segment> segments = new ArrayList<>();
+        if (manifest == null) {
+            return segments;
+        }
+        for (SegmentManifest.Segment segment : manifest.getSegments().values()) {
+            if (loadedKeys.contains(segment.getKey()) || droppedKeys.contains(segment.getKey())) {
+                continue;
+            }
+            for (DataType dataType : dataTypes) {
+                if (segment.getCount(dataType) > 0) {
+                    segments.add(segment);
+                    break;
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Counts the workouts listed in the manifest that belong to the given segments.
+     *
+     * @param keys The keys of the segments.
+     * @return The number of workouts.
+     */
+    private int countOrderedWorkouts(Set<String> keys) {
+        int workoutCount = 0;
+        List<String> orderKeys = manifest.getOrderKeys();
+        for (int i = 0; i < orderKeys.size(); i++) {
+            if (keys.contains(orderKeys.get(i))) {
+                workoutCount += manifest.getOrderCounts().get(i);
+            }
+        }
+        return workoutCount;
+    }
+
+    /**
+     * Reads the lines of a segment file after checking it against the hash in the manifest.
+     *
+     * @param segment The segment to read.
+     * @return The entries in the segment, in the order they were written.
+     * @throws IOException If the segment file cannot be read or does not match its hash.
+     * @throws NoSuchAlgorithmException If the hash algorithm is not available.
+     */
+    private List<String> readSegment(SegmentManifest.Segment segment) throws IOException, NoSuchAlgorithmException {
+        byte[] bytes = Files.readAllBytes(Path.of(UiConstant.segmentDirectoryPath, segment.getFileName()));
+        if (!hashSegment(bytes).equals(segment.getHash())) {
+            throw new IOException("segment hash does not match manifest");
+        }
+        List<String> lines = new ArrayList<>(segment.getTotalCount());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                CompressedDataFile.decompressIfNeeded(new ByteArrayInputStream(bytes)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Leaves out a segment that could not be read, keeping the entries of every other segment.
+     *
+     * @param segment The segment that could not be read.
+     * @param cause   The reason the segment could not be read.
+     */
+    private void dropSegment(SegmentManifest.Segment segment, Exception cause) {
+        LogFile.writeLog("Discarding segment " + segment.getKey() + ": " + cause, true);
+        new Output().printException(String.format(ErrorConstant.SEGMENT_RECOVERY_ERROR, segment.getKey(),
+                segment.getTotalCount()));
+        droppedKeys.add(segment.getKey());
+        owner.markPartiallyRecovered();
+    }
+
+    /**
+     * Formats the entries of a segment as they are stored, compressing them if compression is turned on.
+     *
+     * @param lines The entries in the text data file format.
+     * @return The bytes of the segment file.
+     * @throws IOException If an I/O error occurs while compressing.
+     */
+    private static byte[] toSegmentBytes(List<String> lines) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream out = bytes;
+        GZIPOutputStream compressed = null;
+        if (CompressedDataFile.isCompressionEnabled()) {
+            compressed = CompressedDataFile.compress(bytes);
+            out = compressed;
+        }
+        for (String line : lines) {
+            out.write((line + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+        }
+        if (compressed != null) {
+            compressed.finish();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Computes the hash of a segment file as stored.
+     *
+     * @param bytes The bytes of the segment file.
+     * @return The hexadecimal hash.
+     * @throws NoSuchAlgorithmException If the hash algorithm is not available.
+     */
+    private static String hashSegment(byte[] bytes) throws NoSuchAlgorithmException {
+        return MerkleHasher.toHexString(MessageDigest.getInstance(UiConstant.HASH_ALGORITHM).digest(bytes));
+    }
+
+    /**
+     * Reads the manifest currently committed in the data file, used to find the segment files already on disk.
+     *
+     * @return The committed manifest, or null if the data file does not hold a valid manifest.
+     */
+    private static SegmentManifest readCommittedManifest() {
+        try {
+            if (isManifestFile(UiConstant.saveFile)) {
+                return SegmentManifest.parse(Files.readString(UiConstant.saveFile.toPath()));
+            }
+        } catch (Exception e) {
+            LogFile.writeLog("Could not read committed manifest: " + e, true);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a segment file with the given contents is already listed in the committed manifest.
+     *
+     * @param committedManifest The manifest currently committed, or null if there is none.
+     * @param key               The key of the segment.
+     * @param fileName          The name of the segment file.
+     * @param hash              The hash of the segment file.
+     * @param directory         The segment directory.
+     * @return Returns true if the segment file does not need to be written. Otherwise, returns false.
+     */
+    private static boolean isCommitted(SegmentManifest committedManifest, String key, String fileName, String hash,
+                                       Path directory) {
+        if (committedManifest == null) {
+            return false;
+        }
+        SegmentManifest.Segment committed = committedManifest.getSegments().get(key);
+        return committed != null && committed.getFileName().equals(fileName) && committed.getHash().equals(hash)
+                && Files.exists(directory.resolve(fileName));
+    }
+
+    /**
+     * Deletes the files in the segment directory that are listed in neither manifest, such as segments replaced by
+     * an earlier save or left behind by an interrupted one.
+     *
+     * @param directory         The segment directory.
+     * @param committedManifest The manifest currently committed, or null if there is none.
+     * @param newManifest       The manifest being written.
+     */
+    private static void deleteUnlistedFiles(Path directory, SegmentManifest committedManifest,
+                                            SegmentManifest newManifest) {
+        Set<String> listedFiles = new HashSet<>();
+        for (SegmentManifest listed : new SegmentManifest[]{committedManifest, newManifest}) {
+            if (listed == null) {
+                continue;
+            }
+            for (SegmentManifest.Segment segment : listed.getSegments().values()) {
+                listedFiles.add(segment.getFileName());
+            }
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (!listedFiles.contains(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            LogFile.writeLog("Could not delete old segments: " + e.getMessage(), false);
+        }
+    }
+}
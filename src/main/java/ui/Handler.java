@@ -5,22 +5,35 @@ import health.Appointment;
 import health.Bmi;
 import health.HealthList;
 import health.Period;
+import storage.AutoSaver;
+import storage.DataExporter;
 import storage.DataFile;
+import storage.DeferredHistory;
+import storage.EventLog;
+import storage.JournalFile;
+import storage.RunImporter;
+import utility.CommandTokenizer;
 import utility.CustomExceptions;
 import constants.ErrorConstant;
 import constants.UiConstant;
 import constants.HealthConstant;
 import constants.WorkoutConstant;
 import utility.Filters.Command;
+import utility.Filters.DataType;
 import utility.Filters.DeleteFilters;
 import utility.Filters.HealthFilters;
+import utility.Filters.HistoryAndLatestFilters;
 import utility.Parser;
 import utility.Filters.WorkoutFilters;
 import utility.Validation;
 import workouts.Workout;
 import workouts.WorkoutLists;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 import storage.LogFile;
 
@@ -36,6 +49,7 @@ public class Handler {
     private final DataFile dataFile;
     private final Output output;
     private final Validation validation;
+    private final AutoSaver autoSaver;
 
     public Handler(){
         in = new Scanner(System.in);
@@ -43,6 +57,7 @@ public class Handler {
         dataFile = new DataFile();
         output = new Output();
         validation = new Validation();
+        autoSaver = new AutoSaver(dataFile);
     }
 
     public Handler(String input){
@@ -51,65 +66,112 @@ public class Handler {
         dataFile = new DataFile();
         output = new Output();
         validation = new Validation();
+        autoSaver = new AutoSaver(dataFile);
     }
 
     //@@author L5-Z
     /**
      * Processes user input and filters for valid command words from enum {@code Command},
      * then creates the relevant object based on details entered.
+     * Each command holds the lists for as long as it runs, so a background save never copies them part way.
      *
      * @throws IllegalArgumentException If an error occurs during command processing.
      */
     public void processInput() {
         while (in.hasNextLine()) {
             String userInput = in.nextLine().trim();
-            String instruction = userInput.toUpperCase().split(UiConstant.SPLIT_BY_WHITESPACE)[0];
-            LogFile.writeLog("User Input: " + userInput, false);
+            Command command = parser.tokenize(userInput).findCommand();
+            LogFile.writeDebug("User Input: %s", userInput);
             assert userInput != null : "Object cannot be null";
-
-            try {
-                Command command = Command.valueOf(instruction);
-                switch (command) {
-                case EXIT:
-                    System.out.println(UiConstant.EXIT_MESSAGE);
-                    return;
-
-                case WORKOUT:
-                    handleWorkout(userInput);
-                    break;
-
-                case HEALTH:
-                    handleHealth(userInput);
-                    break;
-
-                case HISTORY:
-                    handleHistory(userInput);
-                    break;
-
-                case LATEST:
-                    handleLatest(userInput);
-                    break;
-
-                case DELETE:
-                    handleDelete(userInput);
-                    break;
-
-                case HELP:
-                    output.printHelp();
-                    break;
-
-                default:
-                    break; // valueOf results in immediate exception for non-match with enum Command
-                }
-            } catch (CustomExceptions.InvalidInput e) {
-                output.printException(e.getMessage());
-            } catch (IllegalArgumentException e) {
+            long startNanos = System.nanoTime();
+            EventLog.startCommand();
+            String eventCommand = UiConstant.UNKNOWN_EVENT_COMMAND;
+            if (command == null) {
                 LogFile.writeLog("Invalid Command Error: " + userInput, true);
                 output.printException(ErrorConstant.INVALID_COMMAND_ERROR);
+                EventLog.recordCommand(eventCommand, UiConstant.NO_EVENT_DATA_TYPE, System.nanoTime() - startNanos);
+                continue;
             }
+
+            synchronized (AutoSaver.LISTS_LOCK) {
+                try {
+                    eventCommand = command.name();
+                    switch (command) {
+                    case EXIT:
+                        System.out.println(UiConstant.EXIT_MESSAGE);
+                        EventLog.recordCommand(eventCommand, UiConstant.NO_EVENT_DATA_TYPE,
+                                System.nanoTime() - startNanos);
+                        return;
+
+                    case WORKOUT:
+                        handleWorkout(userInput);
+                        break;
+
+                    case HEALTH:
+                        handleHealth(userInput);
+                        break;
+
+                    case HISTORY:
+                        handleHistory(userInput);
+                        break;
+
+                    case LATEST:
+                        handleLatest(userInput);
+                        break;
+
+                    case DELETE:
+                        handleDelete(userInput);
+                        break;
+
+                    case HELP:
+                        output.printHelp();
+                        break;
+
+                    case IMPORT:
+                        handleImport(userInput);
+                        break;
+
+                    case EXPORT:
+                        handleExport(userInput);
+                        break;
+
+                    default:
+                        break;
+                    }
+                } catch (CustomExceptions.InvalidInput e) {
+                    output.printException(e);
+                } catch (IllegalArgumentException e) {
+                    LogFile.writeLog("Invalid Command Error: " + userInput, true);
+                    output.printException(ErrorConstant.INVALID_COMMAND_ERROR);
+                }
+            }
+            EventLog.recordCommand(eventCommand, findEventDataType(userInput), System.nanoTime() - startNanos);
+            autoSaver.onCommandProcessed();
         }
     }
 
+    /**
+     * Finds the type of entry a command is for, from its exercise, health or item flag.
+     * The command has usually been tokenized already while it was handled, so its flags are not scanned again.
+     *
+     * @param userInput The user input string.
+     * @return The name of the type of entry, or {@code NA} if the command is not for one type.
+     */
+    private String findEventDataType(String userInput) {
+        CommandTokenizer tokens = parser.tokenize(userInput);
+        String[] flags = {WorkoutConstant.EXERCISE_FLAG, HealthConstant.HEALTH_FLAG, UiConstant.ITEM_FLAG};
+        for (String flag : flags) {
+            if (!tokens.hasFlag(flag)) {
+                continue;
+            }
+            DataType dataType = DataType.find(tokens.getValue(flag));
+            if (dataType != null) {
+                return dataType.name();
+            }
+        }
+        return UiConstant.NO_EVENT_DATA_TYPE;
+    }
+
     //@@author JustinSoh
     /**
      * Handles workout command.
@@ -121,7 +183,11 @@ public class Handler {
         try {
             String typeOfWorkout = parser.extractSubstringFromSpecificIndex(userInput,
                     WorkoutConstant.EXERCISE_FLAG);
-            WorkoutFilters filter = WorkoutFilters.valueOf(typeOfWorkout.toUpperCase());
+            WorkoutFilters filter = WorkoutFilters.find(typeOfWorkout);
+            if (filter == null) {
+                output.printException(ErrorConstant.INVALID_WORKOUT_TYPE_ERROR);
+                return;
+            }
             switch(filter) {
             case RUN:
                 parser.parseRunInput(userInput);
@@ -135,7 +201,7 @@ public class Handler {
                 break;
             }
         } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
-            output.printException(e.getMessage());
+            output.printException(e);
         } catch (IllegalArgumentException e) {
             output.printException(ErrorConstant.INVALID_WORKOUT_TYPE_ERROR);
         }
@@ -152,7 +218,7 @@ public class Handler {
         String filter = parser.parseHistory(userInput);
         if (filter != null) {
             output.printHistory(filter);
-            LogFile.writeLog("Viewed history for " + filter, false);
+            LogFile.writeDebug("Viewed history for %s", filter);
         }
     }
 
@@ -164,12 +230,17 @@ public class Handler {
      * @throws CustomExceptions.InvalidInput If the user input is invalid.
      */
     public void handleDelete(String userInput) throws CustomExceptions.InvalidInput {
+        DeferredHistory.load();
         String[] parsedInputs = parser.parseDeleteInput(userInput);
         if (parsedInputs == null) {
             return;
         }
         try {
-            DeleteFilters filter = DeleteFilters.valueOf(parsedInputs[0].toUpperCase());
+            DeleteFilters filter = DeleteFilters.find(parsedInputs[0]);
+            if (filter == null) {
+                output.printException(ErrorConstant.INVALID_LATEST_OR_DELETE_FILTER);
+                return;
+            }
             int index = Integer.parseInt(parsedInputs[1]) - 1;
             switch (filter) {
             case BMI:
@@ -195,8 +266,9 @@ public class Handler {
             default:
                 break;
             }
+            JournalFile.appendDelete(DataType.find(filter.name()), index);
         } catch (CustomExceptions.OutOfBounds e) {
-            output.printException(e.getMessage());
+            output.printException(e);
         }
     }
 
@@ -210,7 +282,11 @@ public class Handler {
     public void handleHealth(String userInput) {
         try {
             String typeOfHealth = parser.extractSubstringFromSpecificIndex(userInput, HealthConstant.HEALTH_FLAG);
-            HealthFilters filter = HealthFilters.valueOf(typeOfHealth.toUpperCase());
+            HealthFilters filter = HealthFilters.find(typeOfHealth);
+            if (filter == null) {
+                output.printException(ErrorConstant.INVALID_HEALTH_INPUT_ERROR);
+                return;
+            }
             switch(filter) {
             case BMI:
                 parser.parseBmiInput(userInput);
@@ -232,7 +308,7 @@ public class Handler {
                 break;
             }
         } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput | CustomExceptions.OutOfBounds e) {
-            output.printException(e.getMessage());
+            output.printException(e);
         } catch (IllegalArgumentException e) {
             output.printException(ErrorConstant.INVALID_HEALTH_INPUT_ERROR);
         }
@@ -249,7 +325,55 @@ public class Handler {
         String filter = parser.parseLatest(userInput);
         if (filter != null) {
             output.printLatest(filter);
-            LogFile.writeLog("Viewed latest for " + filter, false);
+            LogFile.writeDebug("Viewed latest for %s", filter);
+        }
+    }
+
+    /**
+     * Handles import command.
+     * Adds the runs in a CSV or GPX file to PulsePilot.
+     *
+     * @param userInput The user input string.
+     */
+    public void handleImport(String userInput) {
+        String filePath = parser.parseImportInput(userInput);
+        if (filePath == null) {
+            return;
+        }
+        try {
+            Path file = Path.of(filePath);
+            RunImporter importer = new RunImporter();
+            importer.importFile(file);
+            output.printImportedRuns(file.getFileName().toString(), importer.getImportedCount(),
+                    importer.getSkippedCount());
+        } catch (CustomExceptions.FileReadError | CustomExceptions.InvalidInput e) {
+            output.printException(e);
+        } catch (InvalidPathException e) {
+            output.printException(ErrorConstant.IMPORT_READ_ERROR);
+        }
+    }
+
+    /**
+     * Handles export command.
+     * Writes every entry to one CSV or TSV file per type, loading older entries first.
+     *
+     * @param userInput The user input string.
+     */
+    public void handleExport(String userInput) {
+        String[] exportDetails = parser.parseExportInput(userInput);
+        if (exportDetails == null) {
+            return;
+        }
+        String format = exportDetails[UiConstant.EXPORT_FORMAT_INDEX];
+        String directory = exportDetails[UiConstant.EXPORT_DIRECTORY_INDEX];
+        try {
+            DeferredHistory.load();
+            int exportedCount = new DataExporter(format).exportAll(Path.of(directory));
+            output.printExport(exportedCount, format, directory);
+        } catch (CustomExceptions.FileWriteError e) {
+            output.printException(e);
+        } catch (InvalidPathException e) {
+            output.printException(ErrorConstant.EXPORT_WRITE_ERROR);
         }
     }
 
@@ -295,26 +419,35 @@ public class Handler {
         if (status == 0) {
             try {
                 dataFile.readDataFile(); // File read
+                dataFile.replayJournal();
                 output.printGreeting(status, DataFile.userName);
             } catch (CustomExceptions.FileReadError e) {
-                output.printException(e.getMessage());
+                output.printException(e);
             }
         } else {
             output.printGreeting(status, DataFile.userName);
             userInduction();
         }
 
+        // new profiles are written out in full so later changes only need to be journaled, and a data file saved
+        // in another format is converted the same way
+        if (!JournalFile.isOpen() || dataFile.isFormatChangeDue()) {
+            saveData();
+        }
+        autoSaver.start();
+        // long journals are compacted in the background so commands are accepted straight away
+        if (JournalFile.isCompactionDue()) {
+            autoSaver.compactInBackground();
+        }
+
         System.out.println("Terminal primed. Command inputs are now accepted...");
         Output.printLine();
     }
 
     /**
-     * Terminates PulsePilot by saving tasks to storage, printing a goodbye message,
-     * and indicating the filename where tasks are saved.
+     * Saves all data by compacting the journal into a full rewrite of the data file.
      */
-    public void terminateBot() {
-        LogFile.writeLog("User terminating PulsePilot", false);
-
+    private void saveData() {
         try {
             LogFile.writeLog("Attempting to save data file", false);
 
@@ -323,16 +456,131 @@ public class Handler {
             ArrayList<Bmi> bmiList = HealthList.getBmis();
             ArrayList<Appointment> appointmentList = HealthList.getAppointments();
             ArrayList<Period> periodList = HealthList.getPeriods();
-            dataFile.saveDataFile(userName, bmiList, appointmentList, periodList, workoutList);
+            dataFile.compactDataFile(userName, bmiList, appointmentList, periodList, workoutList);
 
         } catch (CustomExceptions.FileWriteError e) {
             LogFile.writeLog("File write error", true);
-            output.printException(e.getMessage());
+            output.printException(e);
+        }
+    }
+
+    /**
+     * Prints a report of the entries of one type dated within a range, given as a history command with the
+     * {@code /from:} and {@code /to:} flags, such as {@code history /item:run /from:01-03-2024 /to:31-03-2024}.
+     * Only the matching entries are read from the data file, and nothing is saved.
+     * A log command, such as {@code log /tail:50 /find:error}, prints the latest lines of the log file instead,
+     * and an events command prints the latency and errors of each command from the event log.
+     *
+     * @param query The history, log or events command to report on.
+     */
+    public void processQuery(String query) {
+        LogFile.writeLog("Report Query: " + query, false);
+        CommandTokenizer tokens = parser.tokenize(query.trim());
+        if (tokens.isCommandWord(UiConstant.LOG_COMMAND)) {
+            processLogQuery(query);
+            return;
+        }
+        if (tokens.isCommandWord(UiConstant.EVENTS_COMMAND)) {
+            try {
+                output.printEventSummary(EventLog.summarise());
+            } catch (IOException e) {
+                output.printException(ErrorConstant.EVENT_LOG_READ_ERROR);
+            }
+            return;
+        }
+        if (tokens.findCommand() != Command.HISTORY) {
+            output.printException(ErrorConstant.INVALID_COMMAND_ERROR);
+            return;
+        }
+        String[] range = parser.parseHistoryDateRange(query);
+        if (range == null) {
+            return;
+        }
+        String filter = range[UiConstant.DATE_RANGE_FILTER_INDEX];
+        try {
+            dataFile.readDateRange(findDataTypes(filter), parser.parseDate(range[UiConstant.DATE_RANGE_FROM_INDEX]),
+                    parser.parseDate(range[UiConstant.DATE_RANGE_TO_INDEX]));
+            output.printHistory(filter);
+        } catch (CustomExceptions.FileReadError e) {
+            output.printException(e);
+        }
+    }
+
+    /**
+     * Prints the latest lines of the log files, keeping only those holding the search text if one is given.
+     *
+     * @param query The log command.
+     */
+    private void processLogQuery(String query) {
+        String[] logQuery = parser.parseLogQuery(query);
+        if (logQuery == null) {
+            return;
+        }
+        int lineCount = Integer.parseInt(logQuery[UiConstant.LOG_LINE_COUNT_INDEX]);
+        String searchText = logQuery[UiConstant.LOG_SEARCH_TEXT_INDEX];
+        try {
+            List<String> lines = searchText.isEmpty()
+                    ? LogFile.tailLog(lineCount)
+                    : LogFile.searchLog(searchText, lineCount);
+            output.printLogLines(lines);
+        } catch (IOException e) {
+            output.printException(ErrorConstant.LOG_READ_ERROR);
+        }
+    }
+
+    /**
+     * Finds the types of entry shown by a history filter.
+     *
+     * @param filter The history filter, set to 'run', 'gym', 'workouts', 'bmi', 'period' or 'appointment'.
+     * @return The types of entry.
+     */
+    private List<DataType> findDataTypes(String filter) {
+        HistoryAndLatestFilters parsedFilter = HistoryAndLatestFilters.find(filter);
+        if (parsedFilter == null) {
+            return List.of();
+        }
+        switch (parsedFilter) {
+        case WORKOUTS:
+            return List.of(DataType.RUN, DataType.GYM);
+
+        case RUN:
+            return List.of(DataType.RUN);
+
+        case GYM:
+            return List.of(DataType.GYM);
+
+        case BMI:
+            return List.of(DataType.BMI);
+
+        case PERIOD:
+            return List.of(DataType.PERIOD);
+
+        case APPOINTMENT:
+            return List.of(DataType.APPOINTMENT);
+
+        default:
+            return List.of();
+        }
+    }
+
+    /**
+     * Terminates PulsePilot by saving tasks to storage, printing a goodbye message,
+     * and indicating the filename where tasks are saved.
+     */
+    public void terminateBot() {
+        LogFile.writeLog("User terminating PulsePilot", false);
+        autoSaver.stop();
+
+        if (JournalFile.isCompactionDue()) {
+            saveData();
         }
+        JournalFile.closeJournal();
 
         output.printGoodbyeMessage();
         // Yet to implement : Reply.printReply("Saved tasks as: " + Constant.FILE_NAME);
         LogFile.writeLog("Bot exited gracefully", false);
+        LogFile.flush();
+        EventLog.flush();
         System.exit(0);
     }
 
@@ -4,6 +4,9 @@ import constants.ErrorConstant;
 import constants.UiConstant;
 import constants.WorkoutConstant;
 import constants.HealthConstant;
+import storage.DeferredHistory;
+import storage.EventLog;
+import storage.EventSummary;
 import utility.CustomExceptions;
 
 import workouts.Gym;
@@ -15,9 +18,12 @@ import health.HealthList;
 import health.Bmi;
 import health.Period;
 import health.Appointment;
+import utility.Filters.DataType;
 import utility.Filters.HistoryAndLatestFilters;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The Output class handles printing various messages, data, and ASCII art for the user interface.
@@ -54,6 +60,9 @@ public class Output {
         System.out.println("delete /item:[run/gym/bmi/period/appointment] /index:INDEX - " +
                 "Deletes a run/gym/bmi/period/appointment record");
 
+        System.out.println("import /file:PATH - Adds the runs in a .csv (date,distance,time) or .gpx file");
+        System.out.println("export [/format:csv/tsv] [/dir:DIRECTORY] - Saves every entry to one file per type");
+
         System.out.println("help - Show this help message");
         System.out.println("exit - Exit the program");
         printLine();
@@ -106,6 +115,77 @@ public class Output {
         printLine();
     }
 
+    /**
+     * Prints the number of runs imported from a file and the number of entries skipped.
+     *
+     * @param fileName      The name of the file imported.
+     * @param importedCount The number of runs added.
+     * @param skippedCount  The number of invalid entries skipped.
+     */
+    public void printImportedRuns(String fileName, int importedCount, int skippedCount) {
+        printLine();
+        System.out.println(String.format(WorkoutConstant.IMPORT_SUMMARY_FORMAT, importedCount, fileName,
+                skippedCount));
+        printLine();
+    }
+
+    /**
+     * Prints the number of entries exported and where they were written.
+     *
+     * @param exportedCount The number of entries exported.
+     * @param format        The format of the files.
+     * @param directory     The directory holding the files.
+     */
+    public void printExport(int exportedCount, String format, String directory) {
+        printLine();
+        System.out.println(String.format(UiConstant.EXPORT_SUMMARY_FORMAT, exportedCount, format, directory));
+        printLine();
+    }
+
+    /**
+     * Prints a notice that a report over a date range leaves out changes only held in the journal.
+     */
+    public void printQueryJournalNotice() {
+        System.out.println(UiConstant.QUERY_JOURNAL_MESSAGE);
+    }
+
+    /**
+     * Prints lines read from the log files.
+     *
+     * @param lines The lines, in the order they were written.
+     */
+    public void printLogLines(List<String> lines) {
+        printLine();
+        for (String line : lines) {
+            System.out.println(line);
+        }
+        printLine();
+    }
+
+    /**
+     * Prints the count, median and 99th percentile latency, and error count of each command in the event log,
+     * followed by how many times each error was shown.
+     *
+     * @param summary The summary of the event log.
+     */
+    public void printEventSummary(EventSummary summary) {
+        printLine();
+        System.out.println(UiConstant.EVENT_SUMMARY_HEADER);
+        for (String command : summary.getCommands()) {
+            System.out.println(String.format(UiConstant.EVENT_SUMMARY_FORMAT, command, summary.getCount(command),
+                    summary.getPercentileNanos(command, UiConstant.MEDIAN_PERCENTILE) / UiConstant.NANOS_IN_MILLI,
+                    summary.getPercentileNanos(command, UiConstant.TAIL_PERCENTILE) / UiConstant.NANOS_IN_MILLI,
+                    summary.getErrorCount(command)));
+        }
+        if (!summary.getErrorCounts().isEmpty()) {
+            System.out.println(UiConstant.EVENT_ERROR_HEADER);
+            for (Map.Entry<String, Integer> entry : summary.getErrorCounts().entrySet()) {
+                System.out.println(String.format(UiConstant.EVENT_ERROR_FORMAT, entry.getKey(), entry.getValue()));
+            }
+        }
+        printLine();
+    }
+
     //@@author j013n3
     /**
      * Prints the message when a new Bmi is added.
@@ -342,7 +422,7 @@ public class Output {
             HealthList.printBmiHistory();
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException(e.getMessage());
+            printException(e);
         }
 
     }
@@ -358,7 +438,7 @@ public class Output {
             HealthList.printPeriodHistory();
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException(e.getMessage());
+            printException(e);
         }
 
     }
@@ -375,7 +455,7 @@ public class Output {
             HealthList.printAppointmentHistory();
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException(e.getMessage());
+            printException(e);
         }
 
     }
@@ -389,13 +469,14 @@ public class Output {
         try {
             printLine();
             Run latestRun = WorkoutLists.getLatestRun();
-            String latestRunString = getFormattedRunWithIndex(WorkoutLists.getRunSize(), latestRun);
+            int index = WorkoutLists.getRunSize() + DeferredHistory.getDeferredCount(DataType.RUN);
+            String latestRunString = getFormattedRunWithIndex(index, latestRun);
             System.out.println("Your latest run:");
             System.out.println(WorkoutConstant.RUN_HEADER_INDEX_FORMAT);
             System.out.println(latestRunString);
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException(e.getMessage());
+            printException(e);
         }
 
     }
@@ -407,13 +488,13 @@ public class Output {
         try {
             printLine();
             Gym latestGym = WorkoutLists.getLatestGym();
-            int index = WorkoutLists.getGymSize();
+            int index = WorkoutLists.getGymSize() + DeferredHistory.getDeferredCount(DataType.GYM);
             System.out.println("Your latest gym:");
             System.out.println("Gym Session " + index + latestGym);
             printGymStats(latestGym);
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException((e.getMessage()));
+            printException(e);
         }
 
     }
@@ -428,7 +509,7 @@ public class Output {
             HealthList.printLatestBmi();
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException(e.getMessage());
+            printException(e);
         }
 
     }
@@ -443,7 +524,7 @@ public class Output {
             HealthList.printLatestPeriod();
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException(e.getMessage());
+            printException(e);
         }
 
     }
@@ -457,7 +538,7 @@ public class Output {
             HealthList.printLatestAppointment();
             printLine();
         } catch (CustomExceptions.OutOfBounds e) {
-            printException(e.getMessage());
+            printException(e);
         }
 
     }
@@ -468,34 +549,34 @@ public class Output {
      * @param filter The type of item, which is set to Run, Gym, Bmi, Period, or Appointment.
      */
     protected void printLatest(String filter) {
-        try {
-            HistoryAndLatestFilters parsedFilter = HistoryAndLatestFilters.valueOf(filter.toUpperCase());
-            switch (parsedFilter) {
-            case RUN:
-                printLatestRun();
-                break;
+        HistoryAndLatestFilters parsedFilter = HistoryAndLatestFilters.find(filter);
+        if (parsedFilter == null) {
+            printException(ErrorConstant.INVALID_LATEST_OR_DELETE_FILTER);
+            return;
+        }
+        switch (parsedFilter) {
+        case RUN:
+            printLatestRun();
+            break;
 
-            case GYM:
-                printLatestGym();
-                break;
+        case GYM:
+            printLatestGym();
+            break;
 
-            case BMI:
-                printLatestBmi();
-                break;
+        case BMI:
+            printLatestBmi();
+            break;
 
-            case PERIOD:
-                printLatestPeriod();
-                break;
+        case PERIOD:
+            printLatestPeriod();
+            break;
 
-            case APPOINTMENT:
-                printLatestAppointment();
-                break;
+        case APPOINTMENT:
+            printLatestAppointment();
+            break;
 
-            default:
-                break;
-            }
-        } catch (IllegalArgumentException e) {
-            printException(ErrorConstant.INVALID_LATEST_OR_DELETE_FILTER);
+        default:
+            break;
         }
     }
 
@@ -505,30 +586,40 @@ public class Output {
      * @param filter The type of item, which is set to Workouts, Run, Gym, Bmi, Period, or Appointment.
      */
     public void printHistory(String filter) {
+        HistoryAndLatestFilters parsedFilter = HistoryAndLatestFilters.find(filter);
+        if (parsedFilter == null) {
+            printException(ErrorConstant.INVALID_HISTORY_FILTER_ERROR);
+            return;
+        }
         try {
-            HistoryAndLatestFilters parsedFilter = HistoryAndLatestFilters.valueOf(filter.toUpperCase());
             switch (parsedFilter) {
             case WORKOUTS:
+                DeferredHistory.load(DataType.RUN, DataType.GYM);
                 printWorkoutHistory();
                 break;
 
             case RUN:
+                DeferredHistory.load(DataType.RUN);
                 printRunHistory();
                 break;
 
             case GYM:
+                DeferredHistory.load(DataType.GYM);
                 printGymHistory();
                 break;
 
             case BMI:
+                DeferredHistory.load(DataType.BMI);
                 printBmiHistory();
                 break;
 
             case PERIOD:
+                DeferredHistory.load(DataType.PERIOD);
                 printPeriodHistory();
                 break;
 
             case APPOINTMENT:
+                DeferredHistory.load(DataType.APPOINTMENT);
                 printAppointmentHistory();
                 break;
 
@@ -536,9 +627,7 @@ public class Output {
                 break;
             }
         } catch (CustomExceptions.OutOfBounds | CustomExceptions.InvalidInput e ) {
-            printException(e.getMessage());
-        } catch (IllegalArgumentException e) {
-            printException(ErrorConstant.INVALID_HISTORY_FILTER_ERROR);
+            printException(e);
         }
     }
 
@@ -549,9 +638,20 @@ public class Output {
      * @param message The custom error to be printed.
      */
     public void printException(String message) {
+        EventLog.recordError(message);
         System.err.println("\u001b[31mException Caught!" + System.lineSeparator() + message + "\u001b[0m");
     }
 
+    /**
+     * Prints a caught error, noting the error message it was raised with in the event log.
+     *
+     * @param error The error to be printed.
+     */
+    public void printException(CustomExceptions error) {
+        EventLog.recordError(error.getErrorMessage());
+        System.err.println("\u001b[31mException Caught!" + System.lineSeparator() + error.getMessage() + "\u001b[0m");
+    }
+
     //@@author L5-Z
     /**
      * Prints the welcome banner for PulsePilot.
@@ -0,0 +1,144 @@
+package utility;
+
+import java.util.Arrays;
+
+/**
+ * Represents a tokenizer that splits a command into its command word and flags in a single pass.
+ * The command is scanned once, recording where the command word ends and where each {@code /} starts, as offsets
+ * into the original string. Flags such as {@code /e:} and {@code /date:} are then found by comparing the text at
+ * those offsets, and their values are cut from the original string without scanning it again.
+ * Tokenizing the same string again reuses the offsets already recorded, so the handler and parser can both read
+ * a command while it is only scanned once. The offsets are kept in an array reused for every command.
+ * A tokenizer is not thread-safe, as it holds the command last tokenized. Each {@link Parser} owns one, and only the
+ * thread reading user input tokenizes, so no lock is needed. The parsers shared by entries only parse dates and
+ * times, which do not use the tokenizer, and the data loader gives each of its threads its own parser.
+ */
+public class CommandTokenizer {
+    private static final int INITIAL_FLAG_CAPACITY = 8;
+    private static final char FLAG_START = '/';
+    private static final char WORD_SEPARATOR = ' ';
+
+    private String input = null;
+    private int commandEnd = 0;
+    private int[] slashOffsets = new int[INITIAL_FLAG_CAPACITY];
+    private int slashCount = 0;
+
+    /**
+     * Records the command word and the position of each flag in a command, unless it is the command last tokenized.
+     *
+     * @param command The command to tokenize.
+     * @return This tokenizer, holding the positions in the command.
+     */
+    public CommandTokenizer tokenize(String command) {
+        if (command == input) {
+            return this;
+        }
+        input = command;
+        commandEnd = -1;
+        slashCount = 0;
+        for (int i = 0; i < command.length(); i++) {
+            char c = command.charAt(i);
+            if (c == WORD_SEPARATOR && commandEnd == -1) {
+                commandEnd = i;
+            } else if (c == FLAG_START) {
+                if (slashCount == slashOffsets.length) {
+                    slashOffsets = Arrays.copyOf(slashOffsets, slashCount * 2);
+                }
+                slashOffsets[slashCount++] = i;
+            }
+        }
+        if (commandEnd == -1) {
+            commandEnd = command.length();
+        }
+        return this;
+    }
+
+    /**
+     * Retrieves the command word in upper case.
+     *
+     * @return The text before the first space, in upper case.
+     */
+    public String getCommandWord() {
+        return input.substring(0, commandEnd).toUpperCase();
+    }
+
+    /**
+     * Checks whether the command word is the given word, ignoring case.
+     *
+     * @param word The word to compare against.
+     * @return Returns true if the command word is the given word. Otherwise, returns false.
+     */
+    public boolean isCommandWord(String word) {
+        return commandEnd == word.length() && input.regionMatches(true, 0, word, 0, commandEnd);
+    }
+
+    /**
+     * Finds the command named by the command word, ignoring case, without cutting the word out of the command.
+     *
+     * @return The command, or null if the command word is not a command.
+     */
+    public Filters.Command findCommand() {
+        return Filters.Command.find(input, 0, commandEnd);
+    }
+
+    /**
+     * Retrieves the number of {@code /} characters in the command.
+     *
+     * @return The number of {@code /} characters recorded.
+     */
+    public int getSlashCount() {
+        return slashCount;
+    }
+
+    /**
+     * Checks whether the command holds a flag.
+     *
+     * @param flag The flag, such as {@code /date:}.
+     * @return Returns true if the flag is present. Otherwise, returns false.
+     */
+    public boolean hasFlag(String flag) {
+        return findFlag(flag) != -1;
+    }
+
+    /**
+     * Retrieves the value of the first occurrence of a flag, which runs until the next {@code /} or the end of
+     * the command.
+     *
+     * @param flag The flag, such as {@code /date:}.
+     * @return The value without surrounding whitespace, or an empty string if the flag is missing or has no value.
+     */
+    public String getValue(String flag) {
+        int slash = findFlag(flag);
+        if (slash == -1) {
+            return "";
+        }
+        int start = slashOffsets[slash] + flag.length();
+        int end = slash + 1 < slashCount ? slashOffsets[slash + 1] : input.length();
+        return input.substring(start, end).trim();
+    }
+
+    /**
+     * Retrieves the text before the first flag.
+     *
+     * @return The text before the first {@code /}, or the whole command if there is none.
+     */
+    public String getTextBeforeFlags() {
+        return slashCount == 0 ? input : input.substring(0, slashOffsets[0]);
+    }
+
+    /**
+     * Finds the first {@code /} at which a flag starts.
+     * Only flags starting with a single {@code /} can be found.
+     *
+     * @param flag The flag.
+     * @return The index of the {@code /} among those recorded, or -1 if the flag is missing.
+     */
+    private int findFlag(String flag) {
+        for (int i = 0; i < slashCount; i++) {
+            if (input.startsWith(flag, slashOffsets[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,22 +1,52 @@
 package utility;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import constants.ErrorConstant;
 import storage.LogFile;
 /**
  * Represents a custom exception class designed for PulsePilot to handle errors during command processing.
+ * Invalid and insufficient inputs are rejected often, such as for every bad row of an import, so they are thrown
+ * without a stack trace, and the exception for each error message is built once and reused through {@code of}.
  */
 public class CustomExceptions extends Exception {
+    private static final int MAX_CACHED_FAILURES = 256;
+
+    private final String errorMessage;
+
+    /**
+     * Constructs an error shown with the given message, which keeps the message it was raised with, so the error
+     * can be identified without reading it back out of the message shown.
+     *
+     * @param shownMessage The message shown to the user, including its heading.
+     * @param errorMessage The message the error was raised with, such as a constant from {@code ErrorConstant}.
+     * @param isStackless  Whether the error is thrown without a stack trace.
+     */
+    protected CustomExceptions(String shownMessage, String errorMessage, boolean isStackless) {
+        super(shownMessage, null, !isStackless, !isStackless);
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Retrieves the message the error was raised with, without the heading it is shown with.
+     *
+     * @return The error message, such as a constant from {@code ErrorConstant}.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
 
     //@@author JustinSoh
     /**
      * Prints the error for an OutOfBounds error, and logs it in the log file as an error.
      */
-    public static class OutOfBounds extends Exception {
+    public static class OutOfBounds extends CustomExceptions {
         public OutOfBounds(String message) {
             super(ErrorConstant.COLOR_HEADING
                     + ErrorConstant.OUT_OF_BOUND_HEADER
                     + message
-                    + ErrorConstant.COLOR_ENDING);
+                    + ErrorConstant.COLOR_ENDING, message, false);
             LogFile.writeLog(ErrorConstant.OUT_OF_BOUND_HEADER + message, true);
         }
     }
@@ -24,13 +54,47 @@ public class CustomExceptions extends Exception {
     /**
      * Prints the error for an InvalidInput error, and logs it in the log file as an error.
      */
-    public static class InvalidInput extends Exception {
+    public static class InvalidInput extends CustomExceptions {
+        private static final Map<String, InvalidInput> cachedFailures = new ConcurrentHashMap<>();
+
         public InvalidInput(String message) {
+            this(message, "");
+        }
+
+        /**
+         * Constructs an InvalidInput error whose message is followed by details, such as the error that caused it,
+         * and logs it in the log file as an error.
+         *
+         * @param message The error message, such as a constant from {@code ErrorConstant}.
+         * @param details The details shown after the error message.
+         */
+        public InvalidInput(String message, String details) {
             super(ErrorConstant.COLOR_HEADING
                     + ErrorConstant.INVALID_INPUT_HEADER
-                    + message
-                    + ErrorConstant.COLOR_ENDING);
-            LogFile.writeLog(ErrorConstant.INVALID_INPUT_HEADER + message, true);
+                    + message + details
+                    + ErrorConstant.COLOR_ENDING, message, true);
+            LogFile.writeLog(ErrorConstant.INVALID_INPUT_HEADER + message + details, true);
+        }
+
+        /**
+         * Retrieves the InvalidInput error for a message.
+         * The error built and logged the first time a message is seen is reused for later ones, which are only
+         * logged if debug logs are turned on.
+         *
+         * @param message The error message, such as a constant from {@code ErrorConstant}.
+         * @return The InvalidInput error.
+         */
+        public static InvalidInput of(String message) {
+            InvalidInput failure = cachedFailures.get(message);
+            if (failure == null) {
+                failure = new InvalidInput(message);
+                if (cachedFailures.size() < MAX_CACHED_FAILURES) {
+                    cachedFailures.putIfAbsent(message, failure);
+                }
+                return failure;
+            }
+            LogFile.writeDebug(ErrorConstant.INVALID_INPUT_HEADER + "%s", message);
+            return failure;
         }
     }
 
@@ -38,9 +102,10 @@ public class CustomExceptions extends Exception {
     /**
      * Prints the error for an FileReadError error, and logs it in the log file as an error.
      */
-    public static class FileReadError extends Exception{
+    public static class FileReadError extends CustomExceptions {
         public FileReadError(String message) {
-            super(ErrorConstant.COLOR_HEADING + ErrorConstant.FILE_READ_HEADER + message + ErrorConstant.COLOR_ENDING);
+            super(ErrorConstant.COLOR_HEADING + ErrorConstant.FILE_READ_HEADER + message + ErrorConstant.COLOR_ENDING,
+                    message, false);
             LogFile.writeLog(ErrorConstant.FILE_READ_HEADER + message, true);
         }
     }
@@ -48,10 +113,10 @@ public class CustomExceptions extends Exception {
     /**
      * Prints the error for an FileWriteError error, and logs it in the log file as an error.
      */
-    public static class FileWriteError extends Exception{
+    public static class FileWriteError extends CustomExceptions {
         public FileWriteError(String message) {
             super( ErrorConstant.COLOR_HEADING + ErrorConstant.FILE_WRITE_HEADER +
-                    message + ErrorConstant.COLOR_ENDING);
+                    message + ErrorConstant.COLOR_ENDING, message, false);
             LogFile.writeLog(ErrorConstant.FILE_WRITE_HEADER + message, true);
         }
     }
@@ -59,10 +124,10 @@ public class CustomExceptions extends Exception {
     /**
      * Prints the error for an FileCreateError error, and logs it in the log file as an error.
      */
-    public static class FileCreateError extends Exception{
+    public static class FileCreateError extends CustomExceptions {
         public FileCreateError(String message) {
             super(ErrorConstant.COLOR_HEADING + ErrorConstant.FILE_CREATE_HEADER +
-                    message + ErrorConstant.COLOR_ENDING);
+                    message + ErrorConstant.COLOR_ENDING, message, false);
             LogFile.writeLog(ErrorConstant.FILE_CREATE_HEADER + message, true);
         }
     }
@@ -71,13 +136,36 @@ public class CustomExceptions extends Exception {
     /**
      * Prints the error for an InsufficientInput error, and logs it in the log file as an error.
      */
-    public static class InsufficientInput extends Exception {
+    public static class InsufficientInput extends CustomExceptions {
+        private static final Map<String, InsufficientInput> cachedFailures = new ConcurrentHashMap<>();
+
         public InsufficientInput(String message) {
             super(ErrorConstant.COLOR_HEADING
                     + ErrorConstant.INSUFFICIENT_INPUT_HEADER
                     + message
-                    + ErrorConstant.COLOR_ENDING);
+                    + ErrorConstant.COLOR_ENDING, message, true);
             LogFile.writeLog(ErrorConstant.INSUFFICIENT_INPUT_HEADER + message, true);
         }
+
+        /**
+         * Retrieves the InsufficientInput error for a message.
+         * The error built and logged the first time a message is seen is reused for later ones, which are only
+         * logged if debug logs are turned on.
+         *
+         * @param message The error message, such as a constant from {@code ErrorConstant}.
+         * @return The InsufficientInput error.
+         */
+        public static InsufficientInput of(String message) {
+            InsufficientInput failure = cachedFailures.get(message);
+            if (failure == null) {
+                failure = new InsufficientInput(message);
+                if (cachedFailures.size() < MAX_CACHED_FAILURES) {
+                    cachedFailures.putIfAbsent(message, failure);
+                }
+                return failure;
+            }
+            LogFile.writeDebug(ErrorConstant.INSUFFICIENT_INPUT_HEADER + "%s", message);
+            return failure;
+        }
     }
 }
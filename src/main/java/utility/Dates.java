@@ -0,0 +1,118 @@
+package utility;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import constants.UiConstant;
+
+/**
+ * Represents the shared date and time formatters, and a cache of the dates used by entries.
+ * {@code DateTimeFormatter} is immutable and thread-safe, so one instance of each is shared instead of one being
+ * built on every call. Dates are cached both by their text and by epoch day, so an entry read from a file or
+ * entered by the user reuses the {@code LocalDate} and formatted text of any other entry on the same day, whatever
+ * its type. Only dates from 1967, the earliest year accepted, onwards for about 90 years are cached by epoch day.
+ */
+public class Dates {
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(UiConstant.DATE_PATTERN);
+    public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern(UiConstant.TIME_PATTERN);
+
+    private static final long FIRST_CACHED_EPOCH_DAY = LocalDate.of(UiConstant.MIN_YEAR, 1, 1).toEpochDay();
+    private static final int CACHED_DAY_COUNT = 1 << 15;
+    private static final int MAX_CACHED_TEXTS = 8192;
+
+    private static final AtomicReferenceArray<LocalDate> datesByDay = new AtomicReferenceArray<>(CACHED_DAY_COUNT);
+    private static final AtomicReferenceArray<String> textsByDay = new AtomicReferenceArray<>(CACHED_DAY_COUNT);
+    private static final ConcurrentHashMap<String, LocalDate> datesByText = new ConcurrentHashMap<>();
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private Dates() {
+    }
+
+    /**
+     * Parses a date in DD-MM-YYYY format, reusing the date already parsed from the same text if there is one.
+     *
+     * @param text The date text.
+     * @return The date.
+     * @throws DateTimeParseException If the text is not a date.
+     */
+    public static LocalDate parseDate(String text) {
+        LocalDate date = datesByText.get(text);
+        if (date != null) {
+            return date;
+        }
+        date = canonical(LocalDate.parse(text, DATE_FORMATTER));
+        if (datesByText.size() < MAX_CACHED_TEXTS) {
+            datesByText.putIfAbsent(text, date);
+        }
+        return date;
+    }
+
+    /**
+     * Retrieves the date of an epoch day, reusing the date of any entry on the same day.
+     *
+     * @param epochDay The number of days from 01-01-1970.
+     * @return The date.
+     */
+    public static LocalDate ofEpochDay(long epochDay) {
+        int slot = findSlot(epochDay);
+        if (slot == -1) {
+            return LocalDate.ofEpochDay(epochDay);
+        }
+        LocalDate date = datesByDay.get(slot);
+        if (date == null) {
+            datesByDay.compareAndSet(slot, null, LocalDate.ofEpochDay(epochDay));
+            date = datesByDay.get(slot);
+        }
+        return date;
+    }
+
+    /**
+     * Formats a date in DD-MM-YYYY format, reusing the text already formatted for the same day.
+     *
+     * @param date The date.
+     * @return The date text.
+     */
+    public static String formatDate(LocalDate date) {
+        int slot = findSlot(date.toEpochDay());
+        if (slot == -1) {
+            return date.format(DATE_FORMATTER);
+        }
+        String text = textsByDay.get(slot);
+        if (text == null) {
+            textsByDay.compareAndSet(slot, null, date.format(DATE_FORMATTER));
+            text = textsByDay.get(slot);
+        }
+        return text;
+    }
+
+    /**
+     * Retrieves the cached instance of a date, caching this one if there is none yet.
+     *
+     * @param date The date.
+     * @return The cached date equal to the one given, or the date itself if it is outside the cached range.
+     */
+    private static LocalDate canonical(LocalDate date) {
+        int slot = findSlot(date.toEpochDay());
+        if (slot == -1) {
+            return date;
+        }
+        datesByDay.compareAndSet(slot, null, date);
+        return datesByDay.get(slot);
+    }
+
+    /**
+     * Finds the cache slot of an epoch day.
+     *
+     * @param epochDay The number of days from 01-01-1970.
+     * @return The slot, or -1 if the day is outside the cached range.
+     */
+    private static int findSlot(long epochDay) {
+        long slot = epochDay - FIRST_CACHED_EPOCH_DAY;
+        return slot >= 0 && slot < CACHED_DAY_COUNT ? (int) slot : -1;
+    }
+}
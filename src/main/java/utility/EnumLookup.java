@@ -0,0 +1,103 @@
+package utility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a table for finding the constant of an enum from its name, ignoring case and surrounding whitespace.
+ * Names read back from PulsePilot's own files are instead found exactly, as written, so a label that was changed
+ * by hand is rejected rather than accepted. Unlike {@code Enum.valueOf}, a name that is not recognised returns null
+ * instead of throwing, so commands and entries that are not valid cost no more than valid ones. The constants are
+ * grouped by the length of their names when the table is built, so a name is only compared against the few
+ * constants of the same length, and can be found within a larger string without cutting it out first.
+ *
+ * @param <E> The type of the enum.
+ */
+public class EnumLookup<E extends Enum<E>> {
+    private final List<List<E>> constantsByLength = new ArrayList<>();
+
+    /**
+     * Constructs a table of the given constants.
+     *
+     * @param constants Every constant of the enum.
+     */
+    public EnumLookup(E[] constants) {
+        for (E constant : constants) {
+            int length = constant.name().length();
+            while (constantsByLength.size() <= length) {
+                constantsByLength.add(new ArrayList<>());
+            }
+            constantsByLength.get(length).add(constant);
+        }
+    }
+
+    /**
+     * Finds the constant with the given name.
+     *
+     * @param name The name, in any case.
+     * @return The constant, or null if there is no constant with that name.
+     */
+    public E find(String name) {
+        return find(name, 0, name.length());
+    }
+
+    /**
+     * Finds the constant named by part of a string.
+     *
+     * @param text  The string holding the name.
+     * @param start The index of the start of the name.
+     * @param end   The index just past the end of the name.
+     * @return The constant, or null if there is no constant with that name.
+     */
+    public E find(String text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
+        if (length >= constantsByLength.size()) {
+            return null;
+        }
+        List<E> candidates = constantsByLength.get(length);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (text.regionMatches(true, start, candidates.get(i).name(), 0, length)) {
+                return candidates.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the constant with exactly the given name, in the same case and without surrounding whitespace.
+     *
+     * @param name The name.
+     * @return The constant, or null if there is no constant with exactly that name.
+     */
+    public E findExact(String name) {
+        return findExact(name, 0, name.length());
+    }
+
+    /**
+     * Finds the constant named exactly by part of a string, in the same case and without surrounding whitespace.
+     *
+     * @param text  The string holding the name.
+     * @param start The index of the start of the name.
+     * @param end   The index just past the end of the name.
+     * @return The constant, or null if there is no constant with exactly that name.
+     */
+    public E findExact(String text, int start, int end) {
+        int length = end - start;
+        if (length < 0 || length >= constantsByLength.size()) {
+            return null;
+        }
+        List<E> candidates = constantsByLength.get(length);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (text.regionMatches(false, start, candidates.get(i).name(), 0, length)) {
+                return candidates.get(i);
+            }
+        }
+        return null;
+    }
+}
@@ -3,6 +3,8 @@ package utility;
 
 /**
  * Class representing the filters used for PulsePilot.
+ * Each filter is found from user input or a file with {@code find}, which returns null for names that are not
+ * recognised instead of throwing like {@code valueOf}.
  */
 
 public class Filters {
@@ -14,7 +16,34 @@ public class Filters {
         HEALTH,
         DELETE,
         HELP,
-        EXIT
+        IMPORT,
+        EXPORT,
+        EXIT;
+
+        private static final EnumLookup<Command> LOOKUP = new EnumLookup<>(values());
+
+        /**
+         * Finds the command with the given name, ignoring case and surrounding whitespace.
+         *
+         * @param name The name.
+         * @return The command, or null if the name is not recognised.
+         */
+        public static Command find(String name) {
+            return LOOKUP.find(name);
+        }
+
+        /**
+         * Finds the command named by part of a string, such as the first word of the user input, ignoring case and
+         * surrounding whitespace.
+         *
+         * @param text  The string holding the name.
+         * @param start The index of the start of the name.
+         * @param end   The index just past the end of the name.
+         * @return The command, or null if the name is not recognised.
+         */
+        public static Command find(String text, int start, int end) {
+            return LOOKUP.find(text, start, end);
+        }
     }
 
     public enum DeleteFilters {
@@ -22,19 +51,55 @@ public class Filters {
         GYM,
         PERIOD,
         BMI,
-        APPOINTMENT,
+        APPOINTMENT;
+
+        private static final EnumLookup<DeleteFilters> LOOKUP = new EnumLookup<>(values());
+
+        /**
+         * Finds the filter with the given name, ignoring case and surrounding whitespace.
+         *
+         * @param name The name.
+         * @return The filter, or null if the name is not recognised.
+         */
+        public static DeleteFilters find(String name) {
+            return LOOKUP.find(name);
+        }
     }
 
     public enum HealthFilters {
         PERIOD,
         BMI,
         APPOINTMENT,
-        PREDICTION,
+        PREDICTION;
+
+        private static final EnumLookup<HealthFilters> LOOKUP = new EnumLookup<>(values());
+
+        /**
+         * Finds the filter with the given name, ignoring case and surrounding whitespace.
+         *
+         * @param name The name.
+         * @return The filter, or null if the name is not recognised.
+         */
+        public static HealthFilters find(String name) {
+            return LOOKUP.find(name);
+        }
     }
 
     public enum WorkoutFilters {
         RUN,
-        GYM,
+        GYM;
+
+        private static final EnumLookup<WorkoutFilters> LOOKUP = new EnumLookup<>(values());
+
+        /**
+         * Finds the filter with the given name, ignoring case and surrounding whitespace.
+         *
+         * @param name The name.
+         * @return The filter, or null if the name is not recognised.
+         */
+        public static WorkoutFilters find(String name) {
+            return LOOKUP.find(name);
+        }
     }
 
     public enum HistoryAndLatestFilters {
@@ -43,7 +108,19 @@ public class Filters {
         PERIOD,
         BMI,
         APPOINTMENT,
-        WORKOUTS
+        WORKOUTS;
+
+        private static final EnumLookup<HistoryAndLatestFilters> LOOKUP = new EnumLookup<>(values());
+
+        /**
+         * Finds the filter with the given name, ignoring case and surrounding whitespace.
+         *
+         * @param name The name.
+         * @return The filter, or null if the name is not recognised.
+         */
+        public static HistoryAndLatestFilters find(String name) {
+            return LOOKUP.find(name);
+        }
     }
 
     public enum DataType {
@@ -51,7 +128,55 @@ public class Filters {
         APPOINTMENT,
         PERIOD,
         GYM,
-        RUN
+        RUN;
+
+        private static final EnumLookup<DataType> LOOKUP = new EnumLookup<>(values());
+
+        /**
+         * Finds the type with the given name, ignoring case and surrounding whitespace.
+         *
+         * @param name The name.
+         * @return The type, or null if the name is not recognised.
+         */
+        public static DataType find(String name) {
+            return LOOKUP.find(name);
+        }
+
+        /**
+         * Finds the type named by part of a string, such as the label of an entry, ignoring case and surrounding
+         * whitespace.
+         *
+         * @param text  The string holding the name.
+         * @param start The index of the start of the name.
+         * @param end   The index just past the end of the name.
+         * @return The type, or null if the name is not recognised.
+         */
+        public static DataType find(String text, int start, int end) {
+            return LOOKUP.find(text, start, end);
+        }
+
+        /**
+         * Finds the type with exactly the given name, such as a label read from a data file, which must be in
+         * upper case without surrounding whitespace.
+         *
+         * @param name The name.
+         * @return The type, or null if the name is not exactly the name of a type.
+         */
+        public static DataType findExact(String name) {
+            return LOOKUP.findExact(name);
+        }
+
+        /**
+         * Finds the type named exactly by part of a string, such as the label of an entry in a data file.
+         *
+         * @param text  The string holding the name.
+         * @param start The index of the start of the name.
+         * @param end   The index just past the end of the name.
+         * @return The type, or null if the name is not exactly the name of a type.
+         */
+        public static DataType findExact(String text, int start, int end) {
+            return LOOKUP.findExact(text, start, end);
+        }
     }
 
 }
@@ -0,0 +1,277 @@
+package utility;
+
+import java.util.regex.Pattern;
+
+/**
+ * Represents the matchers for the input formats accepted by PulsePilot.
+ * Each format is defined by a regular expression in {@code UiConstant} or {@code WorkoutConstant}, and matched here
+ * by hand, one character at a time, with the same result as {@link String#matches} on that expression. This avoids
+ * compiling a {@code Pattern} on every call and allocates nothing, which matters when loading or importing many
+ * entries. Expressions that are still needed as a {@code Pattern} are compiled once here.
+ */
+public class InputPatterns {
+    public static final Pattern LINE_BREAK = Pattern.compile("\\R");
+
+    private static final int MAX_WEIGHT_DECIMAL_PLACES = 3;
+    private static final int[] DATE_GROUPS = {2, 2, 4};
+    private static final int[] ISO_DATE_GROUPS = {4, 2, 2};
+    private static final int[] TIME_GROUPS = {2, 2};
+    private static final int[] TIME_WITH_HOURS_GROUPS = {2, 2, 2};
+
+    /**
+     * Private constructor to prevent instantiation from outside the class.
+     */
+    private InputPatterns() {
+    }
+
+    /**
+     * Checks whether a string is a date shaped as DD-MM-YYYY, matching {@code UiConstant.VALID_DATE_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string has the shape of a date. Otherwise, returns false.
+     */
+    public static boolean isDate(String input) {
+        return isDigitsWithSeparators(input, '-', DATE_GROUPS);
+    }
+
+    /**
+     * Checks whether a string is a date shaped as YYYY-MM-DD, matching {@code WorkoutConstant.ISO_DATE_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string has the shape of an ISO date. Otherwise, returns false.
+     */
+    public static boolean isIsoDate(String input) {
+        return isDigitsWithSeparators(input, '-', ISO_DATE_GROUPS);
+    }
+
+    /**
+     * Checks whether a string is a time shaped as HH:MM, matching {@code UiConstant.VALID_TIME_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string has the shape of a time. Otherwise, returns false.
+     */
+    public static boolean isTime(String input) {
+        return isDigitsWithSeparators(input, ':', TIME_GROUPS);
+    }
+
+    /**
+     * Checks whether a string is a time shaped as HH:MM:SS, matching {@code UiConstant.VALID_TIME_WITH_HOURS_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string has the shape of a time with hours. Otherwise, returns false.
+     */
+    public static boolean isTimeWithHours(String input) {
+        return isDigitsWithSeparators(input, ':', TIME_WITH_HOURS_GROUPS);
+    }
+
+    /**
+     * Checks whether a string is a number with exactly two decimal places, matching
+     * {@code UiConstant.VALID_TWO_DP_NUMBER_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string is a number with two decimal places. Otherwise, returns false.
+     */
+    public static boolean isTwoDpNumber(String input) {
+        int point = input.length() - 3;
+        return point > 0 && input.charAt(point) == '.' && isDigits(input, 0, point)
+                && isDigits(input, point + 1, input.length());
+    }
+
+    /**
+     * Checks whether a string is a positive integer without leading zeros, matching
+     * {@code UiConstant.VALID_POSITIVE_INTEGER_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string is a positive integer. Otherwise, returns false.
+     */
+    public static boolean isPositiveInteger(String input) {
+        return !input.isEmpty() && input.charAt(0) != '0' && isDigits(input, 0, input.length());
+    }
+
+    /**
+     * Checks whether a string only has letters, digits, whitespace and quotes, matching
+     * {@code UiConstant.VALID_APPOINTMENT_DESCRIPTION_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string is a valid description. Otherwise, returns false.
+     */
+    public static boolean isAppointmentDescription(String input) {
+        if (input.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!isAsciiLetter(c) && !isAsciiDigit(c) && !isWhitespace(c) && c != '\'' && c != '"') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string only has letters and whitespace, matching
+     * {@code UiConstant.VALID_GYM_STATION_NAME_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string is a valid gym station name. Otherwise, returns false.
+     */
+    public static boolean isGymStationName(String input) {
+        if (input.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!isAsciiLetter(c) && !isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string only has letters, digits and whitespace, matching
+     * {@code UiConstant.VALID_USERNAME_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string is a valid username. Otherwise, returns false.
+     */
+    public static boolean isUsername(String input) {
+        if (input.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (!isAsciiLetter(c) && !isAsciiDigit(c) && !isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a string is a list of weights separated by commas, each with up to three decimal places,
+     * matching {@code UiConstant.VALID_WEIGHTS_ARRAY_REGEX}.
+     *
+     * @param input The string to check.
+     * @return Returns true if the string is a valid list of weights. Otherwise, returns false.
+     */
+    public static boolean isWeightsArray(String input) {
+        int length = input.length();
+        int i = 0;
+        while (true) {
+            int start = i;
+            while (i < length && isAsciiDigit(input.charAt(i))) {
+                i++;
+            }
+            if (i == start) {
+                return false;
+            }
+            if (i < length && input.charAt(i) == '.') {
+                int decimalStart = ++i;
+                while (i < length && isAsciiDigit(input.charAt(i))) {
+                    i++;
+                }
+                int decimalPlaces = i - decimalStart;
+                if (decimalPlaces < 1 || decimalPlaces > MAX_WEIGHT_DECIMAL_PLACES) {
+                    return false;
+                }
+            }
+            if (i == length) {
+                return true;
+            }
+            if (input.charAt(i) != ',') {
+                return false;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Reads a run of two ASCII digits as a number. The caller must have checked that both are digits.
+     *
+     * @param input The string holding the digits.
+     * @param start The index of the first digit.
+     * @return The number.
+     */
+    public static int readTwoDigits(String input, int start) {
+        return (input.charAt(start) - '0') * 10 + (input.charAt(start + 1) - '0');
+    }
+
+    /**
+     * Reads a run of four ASCII digits as a number. The caller must have checked that all are digits.
+     *
+     * @param input The string holding the digits.
+     * @param start The index of the first digit.
+     * @return The number.
+     */
+    public static int readFourDigits(String input, int start) {
+        return readTwoDigits(input, start) * 100 + readTwoDigits(input, start + 2);
+    }
+
+    /**
+     * Checks whether a string is made of groups of ASCII digits of the given lengths, joined by a separator.
+     *
+     * @param input        The string to check.
+     * @param separator    The character between groups.
+     * @param groupLengths The number of digits in each group.
+     * @return Returns true if the string has that shape. Otherwise, returns false.
+     */
+    private static boolean isDigitsWithSeparators(String input, char separator, int[] groupLengths) {
+        int expectedLength = groupLengths.length - 1;
+        for (int groupLength : groupLengths) {
+            expectedLength += groupLength;
+        }
+        if (input.length() != expectedLength) {
+            return false;
+        }
+        int i = 0;
+        for (int group = 0; group < groupLengths.length; group++) {
+            if (group > 0 && input.charAt(i++) != separator) {
+                return false;
+            }
+            if (!isDigits(input, i, i + groupLengths[group])) {
+                return false;
+            }
+            i += groupLengths[group];
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether every character in a range of a string is an ASCII digit.
+     *
+     * @param input The string to check.
+     * @param start The index of the first character.
+     * @param end   The index just past the last character.
+     * @return Returns true if the range is not empty and only has digits. Otherwise, returns false.
+     */
+    private static boolean isDigits(String input, int start, int end) {
+        if (start >= end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!isAsciiDigit(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    /**
+     * Checks whether a character is whitespace as matched by {@code \s} in a regular expression.
+     *
+     * @param c The character to check.
+     * @return Returns true if the character is a space, tab, line break, vertical tab or form feed.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
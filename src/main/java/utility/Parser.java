@@ -8,17 +8,21 @@ import health.Appointment;
 import health.Bmi;
 import health.HealthList;
 import health.Period;
+import storage.DeferredHistory;
+import storage.JournalFile;
 import storage.LogFile;
 import ui.Output;
+import utility.Filters.DataType;
 
 import workouts.Gym;
+import workouts.GymStation;
 import workouts.Run;
 import workouts.WorkoutLists;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Scanner;
 
@@ -30,6 +34,7 @@ public class Parser {
     private final Scanner in;
     private final Validation validation;
     private final Output output;
+    private final CommandTokenizer tokenizer = new CommandTokenizer();
 
     public Parser(Scanner inputScanner) {
         in = inputScanner;
@@ -45,6 +50,18 @@ public class Parser {
 
     //@@author rouvinerh
 
+    /**
+     * Tokenizes a command, recording its command word and flags in one pass.
+     * Reading the same command again, from the handler or any parse method, reuses that pass.
+     * The tokenizer is not thread-safe, so a parser shared between threads must not tokenize.
+     *
+     * @param input The user input string.
+     * @return The tokenizer holding the positions in the command.
+     */
+    public CommandTokenizer tokenize(String input) {
+        return tokenizer.tokenize(input);
+    }
+
     /**
      * Counts the number of '/' characters there are in a given string.
      *
@@ -52,13 +69,7 @@ public class Parser {
      * @return An integer representing the number of '/' characters there are.
      */
     private int countForwardSlash(String input) {
-        int count = 0;
-        for (int i = 0; i < input.length(); i++) {
-            if (input.charAt(i) == '/') {
-                count++;
-            }
-        }
-        return count;
+        return tokenize(input).getSlashCount();
     }
 
     /**
@@ -69,10 +80,9 @@ public class Parser {
      * @throws DateTimeParseException If there is an error parsing the date.
      */
     public LocalDate parseDate(String date) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
         LocalDate formattedDate = null;
         try {
-            formattedDate = LocalDate.parse(date, formatter);
+            formattedDate = Dates.parseDate(date);
         } catch (DateTimeParseException e) {
             output.printException(ErrorConstant.PARSING_DATE_ERROR);
         }
@@ -87,11 +97,10 @@ public class Parser {
      * @return Formatted String representation of the date in the format "dd-MM-yyyy".
      */
     public String parseFormattedDate(LocalDate date) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy");
         if (date == null) {
             return "NA";
         }
-        return date.format(formatter);
+        return Dates.formatDate(date);
     }
 
     //@@author syj02
@@ -104,10 +113,9 @@ public class Parser {
      * @throws DateTimeParseException If there is an error parsing the time.
      */
     public LocalTime parseTime(String stringTime) throws DateTimeParseException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm");
         LocalTime formattedTime = null;
         try {
-            formattedTime = LocalTime.parse(stringTime, formatter);
+            formattedTime = LocalTime.parse(stringTime, Dates.TIME_FORMATTER);
         } catch (DateTimeParseException e) {
             output.printException(ErrorConstant.PARSING_TIME_ERROR);
         }
@@ -126,19 +134,18 @@ public class Parser {
      */
     protected String[] splitDeleteInput(String input) throws CustomExceptions.InsufficientInput,
             CustomExceptions.InvalidInput {
-        if (!input.contains(UiConstant.ITEM_FLAG) || !input.contains(UiConstant.INDEX_FLAG)) {
+        CommandTokenizer tokens = tokenize(input);
+        if (!tokens.hasFlag(UiConstant.ITEM_FLAG) || !tokens.hasFlag(UiConstant.INDEX_FLAG)) {
             throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR);
         }
 
-        if (countForwardSlash(input) > UiConstant.NUM_OF_SLASHES_FOR_DELETE) {
+        if (tokens.getSlashCount() > UiConstant.NUM_OF_SLASHES_FOR_DELETE) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
         }
 
         String[] results = new String[UiConstant.NUM_DELETE_PARAMETERS];
-        results[UiConstant.DELETE_ITEM_STRING_INDEX] = extractSubstringFromSpecificIndex(input,
-                UiConstant.ITEM_FLAG).trim();
-        results[UiConstant.DELETE_ITEM_NUMBER_INDEX] = extractSubstringFromSpecificIndex(input,
-                UiConstant.INDEX_FLAG).trim();
+        results[UiConstant.DELETE_ITEM_STRING_INDEX] = tokens.getValue(UiConstant.ITEM_FLAG);
+        results[UiConstant.DELETE_ITEM_NUMBER_INDEX] = tokens.getValue(UiConstant.INDEX_FLAG);
         return results;
     }
 
@@ -155,7 +162,7 @@ public class Parser {
             validation.validateDeleteInput(deleteDetails);
             return deleteDetails;
         } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
-            output.printException(e.getMessage());
+            output.printException(e);
             return null;
         }
     }
@@ -181,7 +188,134 @@ public class Parser {
             validation.validateHistoryFilter(filter.toLowerCase());
             return filter.toLowerCase();
         } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
-            output.printException(e.getMessage());
+            output.printException(e);
+            return null;
+        }
+    }
+
+    /**
+     * Function validates and parses the user input for the import command.
+     * Everything after the {@code /file:} flag is taken as the path, since paths may hold slashes.
+     *
+     * @param userInput The user input string.
+     * @return The path of the file to import, or null if the input is invalid.
+     */
+    public String parseImportInput(String userInput) {
+        try {
+            int flagIndex = userInput.indexOf(WorkoutConstant.FILE_FLAG);
+            String filePath = flagIndex == -1 ? UiConstant.EMPTY_STRING
+                    : userInput.substring(flagIndex + WorkoutConstant.FILE_FLAG.length()).trim();
+            if (filePath.isBlank()) {
+                throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_IMPORT_PARAMETERS_ERROR);
+            }
+            String lowerCasePath = filePath.toLowerCase();
+            if (!lowerCasePath.endsWith(WorkoutConstant.CSV_EXTENSION)
+                    && !lowerCasePath.endsWith(WorkoutConstant.GPX_EXTENSION)) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_IMPORT_FILE_ERROR);
+            }
+            return filePath;
+        } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
+            output.printException(e);
+            return null;
+        }
+    }
+
+    /**
+     * Function validates and parses the user input for the export command.
+     * The format defaults to CSV and the directory to the export directory. Everything after the {@code /dir:} flag
+     * is taken as the directory, since paths may hold slashes.
+     *
+     * @param userInput The user input string.
+     * @return The format and directory of the export, or null if the input is invalid.
+     */
+    public String[] parseExportInput(String userInput) {
+        try {
+            String[] results = new String[UiConstant.NUM_EXPORT_PARAMETERS];
+            int directoryIndex = userInput.indexOf(UiConstant.DIRECTORY_FLAG);
+            String options = directoryIndex == -1 ? userInput : userInput.substring(0, directoryIndex);
+            String format = extractSubstringFromSpecificIndex(options, UiConstant.FORMAT_FLAG).toLowerCase();
+            results[UiConstant.EXPORT_FORMAT_INDEX] = format.isBlank() ? UiConstant.CSV_FORMAT : format;
+            results[UiConstant.EXPORT_DIRECTORY_INDEX] = directoryIndex == -1 ? UiConstant.exportDirectoryPath
+                    : userInput.substring(directoryIndex + UiConstant.DIRECTORY_FLAG.length()).trim();
+
+            if (!results[UiConstant.EXPORT_FORMAT_INDEX].equals(UiConstant.CSV_FORMAT)
+                    && !results[UiConstant.EXPORT_FORMAT_INDEX].equals(UiConstant.TSV_FORMAT)) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_EXPORT_FORMAT_ERROR);
+            }
+            if (results[UiConstant.EXPORT_DIRECTORY_INDEX].isBlank()) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.EXPORT_WRITE_ERROR);
+            }
+            return results;
+        } catch (CustomExceptions.InvalidInput e) {
+            output.printException(e);
+            return null;
+        }
+    }
+
+    /**
+     * Function validates and parses a history command limited to a range of dates, used for reports.
+     *
+     * @param userInput The user input string.
+     * @return The filter string, start date and end date of the range, or null if the input is invalid.
+     */
+    public String[] parseHistoryDateRange(String userInput) {
+        try {
+            if (countForwardSlash(userInput) != UiConstant.NUM_OF_SLASHES_FOR_DATE_RANGE) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
+            }
+            String[] results = new String[UiConstant.NUM_DATE_RANGE_PARAMETERS];
+            results[UiConstant.DATE_RANGE_FILTER_INDEX] = extractSubstringFromSpecificIndex(userInput,
+                    UiConstant.ITEM_FLAG).toLowerCase();
+            results[UiConstant.DATE_RANGE_FROM_INDEX] = extractSubstringFromSpecificIndex(userInput,
+                    UiConstant.FROM_FLAG);
+            results[UiConstant.DATE_RANGE_TO_INDEX] = extractSubstringFromSpecificIndex(userInput,
+                    UiConstant.TO_FLAG);
+
+            if (results[UiConstant.DATE_RANGE_FILTER_INDEX].isBlank()) {
+                throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_HISTORY_FILTER_ERROR);
+            }
+            validation.validateHistoryFilter(results[UiConstant.DATE_RANGE_FILTER_INDEX]);
+            validation.validateDateInput(results[UiConstant.DATE_RANGE_FROM_INDEX]);
+            validation.validateDateInput(results[UiConstant.DATE_RANGE_TO_INDEX]);
+            if (parseDate(results[UiConstant.DATE_RANGE_FROM_INDEX])
+                    .isAfter(parseDate(results[UiConstant.DATE_RANGE_TO_INDEX]))) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_DATE_RANGE_ERROR);
+            }
+            return results;
+        } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
+            output.printException(e);
+            return null;
+        }
+    }
+
+    /**
+     * Function validates and parses a log command, which may hold the number of lines to show and the text to
+     * search for.
+     *
+     * @param userInput The user input string.
+     * @return The number of lines and the search text, which is empty if none is given, or null if the input is
+     *     invalid.
+     */
+    public String[] parseLogQuery(String userInput) {
+        try {
+            String[] results = new String[UiConstant.NUM_LOG_QUERY_PARAMETERS];
+            String lineCount = extractSubstringFromSpecificIndex(userInput, UiConstant.TAIL_FLAG);
+            if (lineCount.isEmpty()) {
+                lineCount = String.valueOf(UiConstant.DEFAULT_LOG_LINE_COUNT);
+            }
+            try {
+                if (Integer.parseInt(lineCount) <= 0) {
+                    throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_LOG_LINE_COUNT_ERROR);
+                }
+            } catch (NumberFormatException e) {
+                throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_LOG_LINE_COUNT_ERROR);
+            }
+            results[UiConstant.LOG_LINE_COUNT_INDEX] = lineCount;
+            results[UiConstant.LOG_SEARCH_TEXT_INDEX] = extractSubstringFromSpecificIndex(userInput,
+                    UiConstant.FIND_FLAG);
+            return results;
+        } catch (CustomExceptions.InvalidInput e) {
+            output.printException(e);
             return null;
         }
     }
@@ -207,7 +341,7 @@ public class Parser {
             validation.validateDeleteAndLatestFilter(filter.toLowerCase());
             return filter.toLowerCase();
         } catch (CustomExceptions.InvalidInput | CustomExceptions.InsufficientInput e) {
-            output.printException(e.getMessage());
+            output.printException(e);
             return null;
         }
     }
@@ -224,13 +358,16 @@ public class Parser {
     public void parseBmiInput(String userInput) throws CustomExceptions.InvalidInput,
             CustomExceptions.InsufficientInput {
         String[] bmiDetails = splitBmiInput(userInput);
+        // the date is checked against every BMI entry, including older ones not loaded yet
+        DeferredHistory.load(DataType.BMI);
         validation.validateBmiInput(bmiDetails);
         Bmi newBmi = new Bmi(
                 bmiDetails[HealthConstant.BMI_HEIGHT_INDEX],
                 bmiDetails[HealthConstant.BMI_WEIGHT_INDEX],
                 bmiDetails[HealthConstant.BMI_DATE_INDEX]);
         output.printAddBmi(newBmi);
-        LogFile.writeLog("Added BMI", false);
+        JournalFile.appendAdd(newBmi.toFileString());
+        LogFile.writeDebug("Added BMI");
     }
 
     /**
@@ -243,24 +380,21 @@ public class Parser {
      */
     protected String[] splitBmiInput(String input) throws CustomExceptions.InsufficientInput,
             CustomExceptions.InvalidInput {
-
-        if (!input.contains(HealthConstant.HEIGHT_FLAG)
-                || !input.contains(HealthConstant.WEIGHT_FLAG)
-                || !input.contains(HealthConstant.DATE_FLAG)) {
+        CommandTokenizer tokens = tokenize(input);
+        if (!tokens.hasFlag(HealthConstant.HEIGHT_FLAG)
+                || !tokens.hasFlag(HealthConstant.WEIGHT_FLAG)
+                || !tokens.hasFlag(HealthConstant.DATE_FLAG)) {
             throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_BMI_PARAMETERS_ERROR);
         }
 
-        if (countForwardSlash(input) > HealthConstant.NUM_OF_SLASHES_FOR_BMI) {
+        if (tokens.getSlashCount() > HealthConstant.NUM_OF_SLASHES_FOR_BMI) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
         }
 
         String[] results = new String[HealthConstant.NUM_BMI_PARAMETERS];
-        results[HealthConstant.BMI_HEIGHT_INDEX] = extractSubstringFromSpecificIndex(input,
-                HealthConstant.HEIGHT_FLAG).trim();
-        results[HealthConstant.BMI_WEIGHT_INDEX] = extractSubstringFromSpecificIndex(input,
-                HealthConstant.WEIGHT_FLAG).trim();
-        results[HealthConstant.BMI_DATE_INDEX] = extractSubstringFromSpecificIndex(input,
-                HealthConstant.DATE_FLAG).trim();
+        results[HealthConstant.BMI_HEIGHT_INDEX] = tokens.getValue(HealthConstant.HEIGHT_FLAG);
+        results[HealthConstant.BMI_WEIGHT_INDEX] = tokens.getValue(HealthConstant.WEIGHT_FLAG);
+        results[HealthConstant.BMI_DATE_INDEX] = tokens.getValue(HealthConstant.DATE_FLAG);
         return results;
     }
 
@@ -280,25 +414,30 @@ public class Parser {
         boolean isParser = true;
         validation.validatePeriodInput(periodDetails, isParser);
 
-        if (userInput.contains(HealthConstant.END_FLAG)) {
+        if (tokenize(userInput).hasFlag(HealthConstant.END_FLAG)) {
             if ((size == 0) || (size > 0 &&
                     Objects.requireNonNull(HealthList.getPeriod(HealthConstant.FIRST_ITEM).getEndDate() != null))) {
                 Period newPeriod = new Period(
                         periodDetails[HealthConstant.PERIOD_START_DATE_INDEX],
                         periodDetails[HealthConstant.PERIOD_END_DATE_INDEX]);
                 output.printAddPeriod(newPeriod);
-                LogFile.writeLog("Added Period", false);
+                JournalFile.appendAdd(newPeriod.toFileString());
+                LogFile.writeDebug("Added Period");
             } else if (size > 0 &&
                     Objects.requireNonNull(HealthList.getPeriod(HealthConstant.FIRST_ITEM)).getEndDate() == null) {
                 Period latestPeriod = Objects.requireNonNull(HealthList.getPeriod(HealthConstant.FIRST_ITEM));
                 latestPeriod.updateEndDate(periodDetails[HealthConstant.PERIOD_END_DATE_INDEX]);
                 output.printAddPeriod(latestPeriod);
-                LogFile.writeLog("Added Period", false);
+                // journal the updated period as a replacement of the latest one
+                JournalFile.appendDelete(DataType.PERIOD, HealthConstant.FIRST_ITEM);
+                JournalFile.appendAdd(latestPeriod.toFileString());
+                LogFile.writeDebug("Added Period");
             }
         } else {
             Period newPeriod = new Period(periodDetails[HealthConstant.PERIOD_START_DATE_INDEX]);
             output.printAddPeriod(newPeriod);
-            LogFile.writeLog("Added Period", false);
+            JournalFile.appendAdd(newPeriod.toFileString());
+            LogFile.writeDebug("Added Period");
         }
     }
 
@@ -312,25 +451,23 @@ public class Parser {
      */
     protected String[] splitPeriodInput(String input) throws CustomExceptions.InsufficientInput,
             CustomExceptions.InvalidInput {
-        if (!input.contains(HealthConstant.START_FLAG)
-                || (!input.contains(HealthConstant.START_FLAG) && !input.contains(HealthConstant.END_FLAG))) {
+        CommandTokenizer tokens = tokenize(input);
+        if (!tokens.hasFlag(HealthConstant.START_FLAG)
+                || (!tokens.hasFlag(HealthConstant.START_FLAG) && !tokens.hasFlag(HealthConstant.END_FLAG))) {
             throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_PERIOD_PARAMETERS_ERROR);
         }
 
-        if (countForwardSlash(input) > HealthConstant.NUM_OF_SLASHES_FOR_PERIOD) {
+        if (tokens.getSlashCount() > HealthConstant.NUM_OF_SLASHES_FOR_PERIOD) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
         }
 
         String[] results = new String[HealthConstant.NUM_PERIOD_PARAMETERS];
 
-        if (input.contains(HealthConstant.START_FLAG) && input.contains(HealthConstant.END_FLAG)) {
-            results[HealthConstant.PERIOD_START_DATE_INDEX] = extractSubstringFromSpecificIndex(input,
-                    HealthConstant.START_FLAG).trim();
-            results[HealthConstant.PERIOD_END_DATE_INDEX] = extractSubstringFromSpecificIndex(input,
-                    HealthConstant.END_FLAG).trim();
-        } else if (input.contains(HealthConstant.START_FLAG) && !input.contains(HealthConstant.END_FLAG)) {
-            results[HealthConstant.PERIOD_START_DATE_INDEX] = extractSubstringFromSpecificIndex(input,
-                    HealthConstant.START_FLAG).trim();
+        if (tokens.hasFlag(HealthConstant.START_FLAG) && tokens.hasFlag(HealthConstant.END_FLAG)) {
+            results[HealthConstant.PERIOD_START_DATE_INDEX] = tokens.getValue(HealthConstant.START_FLAG);
+            results[HealthConstant.PERIOD_END_DATE_INDEX] = tokens.getValue(HealthConstant.END_FLAG);
+        } else if (tokens.hasFlag(HealthConstant.START_FLAG) && !tokens.hasFlag(HealthConstant.END_FLAG)) {
+            results[HealthConstant.PERIOD_START_DATE_INDEX] = tokens.getValue(HealthConstant.START_FLAG);
         }
 
         return results;
@@ -349,7 +486,7 @@ public class Parser {
             HealthList.printLatestThreeCycles();
             LocalDate nextPeriodStartDate = HealthList.predictNextPeriodStartDate();
             Period.printNextCyclePrediction(nextPeriodStartDate);
-            LogFile.writeLog("Used prediction", false);
+            LogFile.writeDebug("Used prediction");
         } else {
             throw new CustomExceptions.InsufficientInput(ErrorConstant.UNABLE_TO_MAKE_PREDICTIONS_ERROR);
         }
@@ -367,23 +504,21 @@ public class Parser {
      */
     protected String[] splitAppointmentDetails(String input)
             throws CustomExceptions.InsufficientInput, CustomExceptions.InvalidInput {
+        CommandTokenizer tokens = tokenize(input);
         String[] results = new String[HealthConstant.NUM_APPOINTMENT_PARAMETERS];
-        if (!input.contains(HealthConstant.DATE_FLAG)
-                || !input.contains(HealthConstant.TIME_FLAG)
-                || !input.contains(HealthConstant.DESCRIPTION_FLAG)) {
+        if (!tokens.hasFlag(HealthConstant.DATE_FLAG)
+                || !tokens.hasFlag(HealthConstant.TIME_FLAG)
+                || !tokens.hasFlag(HealthConstant.DESCRIPTION_FLAG)) {
             throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_APPOINTMENT_PARAMETERS_ERROR);
         }
 
-        if (countForwardSlash(input) > HealthConstant.NUM_OF_SLASHES_FOR_APPOINTMENT) {
+        if (tokens.getSlashCount() > HealthConstant.NUM_OF_SLASHES_FOR_APPOINTMENT) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
         }
 
-        results[HealthConstant.APPOINTMENT_DATE_INDEX] = extractSubstringFromSpecificIndex(input,
-                HealthConstant.DATE_FLAG).trim();
-        results[HealthConstant.APPOINTMENT_TIME_INDEX] = extractSubstringFromSpecificIndex(input,
-                HealthConstant.TIME_FLAG).trim();
-        results[HealthConstant.APPOINTMENT_DESCRIPTION_INDEX] = extractSubstringFromSpecificIndex(input,
-                HealthConstant.DESCRIPTION_FLAG).trim();
+        results[HealthConstant.APPOINTMENT_DATE_INDEX] = tokens.getValue(HealthConstant.DATE_FLAG);
+        results[HealthConstant.APPOINTMENT_TIME_INDEX] = tokens.getValue(HealthConstant.TIME_FLAG);
+        results[HealthConstant.APPOINTMENT_DESCRIPTION_INDEX] = tokens.getValue(HealthConstant.DESCRIPTION_FLAG);
         return results;
     }
 
@@ -403,29 +538,22 @@ public class Parser {
                 appointmentDetails[HealthConstant.APPOINTMENT_TIME_INDEX],
                 appointmentDetails[HealthConstant.APPOINTMENT_DESCRIPTION_INDEX]);
         output.printAddAppointment(newAppointment);
-        LogFile.writeLog("Added appointment", false);
+        JournalFile.appendAdd(newAppointment.toFileString());
+        LogFile.writeDebug("Added appointment");
     }
 
     //@@author L5-Z
 
     /**
      * Extracts a substring from the given input string based on the provided delimiter.
+     * The substring runs from the delimiter to the next '/' or the end of the input.
      *
      * @param input The input string from which to extract the substring.
-     * @param delimiter The delimiter to search for in the input string.
+     * @param delimiter The flag to search for in the input string, starting with '/'.
      * @return The extracted substring, or an empty string if the delimiter is not found.
      */
     public String extractSubstringFromSpecificIndex(String input, String delimiter) {
-        int index = input.indexOf(delimiter);
-        if (index == -1 || index == input.length() - delimiter.length()) {
-            return "";
-        }
-        int startIndex = index + delimiter.length();
-        int endIndex = input.indexOf("/", startIndex);
-        if (endIndex == -1) {
-            endIndex = input.length();
-        }
-        return input.substring(startIndex, endIndex).trim();
+        return tokenize(input).getValue(delimiter);
     }
 
     //@@author JustinSoh
@@ -440,23 +568,23 @@ public class Parser {
      */
     protected String[] splitGymInput(String input) throws CustomExceptions.InsufficientInput,
             CustomExceptions.InvalidInput {
-        if (!input.contains(WorkoutConstant.NUMBER_OF_STATIONS_FLAG)) {
+        CommandTokenizer tokens = tokenize(input);
+        if (!tokens.hasFlag(WorkoutConstant.NUMBER_OF_STATIONS_FLAG)) {
             throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_GYM_PARAMETERS_ERROR);
         }
 
-        if (countForwardSlash(input) != WorkoutConstant.NUM_OF_SLASHES_FOR_GYM_WITH_DATE &&
-                countForwardSlash(input) != WorkoutConstant.NUM_OF_SLASHES_FOR_GYM_WITHOUT_DATE) {
+        if (tokens.getSlashCount() != WorkoutConstant.NUM_OF_SLASHES_FOR_GYM_WITH_DATE &&
+                tokens.getSlashCount() != WorkoutConstant.NUM_OF_SLASHES_FOR_GYM_WITHOUT_DATE) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
         }
 
 
         String[] results = new String[WorkoutConstant.NUMBER_OF_GYM_PARAMETERS];
-        results[WorkoutConstant.GYM_NUMBER_OF_STATIONS_INDEX] = extractSubstringFromSpecificIndex(input,
-                WorkoutConstant.NUMBER_OF_STATIONS_FLAG).trim();
+        results[WorkoutConstant.GYM_NUMBER_OF_STATIONS_INDEX] = tokens.getValue(
+                WorkoutConstant.NUMBER_OF_STATIONS_FLAG);
 
-        if (input.contains(WorkoutConstant.DATE_FLAG)) {
-            results[WorkoutConstant.GYM_DATE_INDEX] = extractSubstringFromSpecificIndex(input,
-                    WorkoutConstant.DATE_FLAG).trim();
+        if (tokens.hasFlag(WorkoutConstant.DATE_FLAG)) {
+            results[WorkoutConstant.GYM_DATE_INDEX] = tokens.getValue(WorkoutConstant.DATE_FLAG);
         }
         return results;
     }
@@ -497,25 +625,23 @@ public class Parser {
      */
     protected String[] splitRunInput(String input) throws CustomExceptions.InsufficientInput,
             CustomExceptions.InvalidInput {
-        if (!input.contains(WorkoutConstant.DISTANCE_FLAG) ||
-                !input.contains(WorkoutConstant.RUN_TIME_FLAG)) {
+        CommandTokenizer tokens = tokenize(input);
+        if (!tokens.hasFlag(WorkoutConstant.DISTANCE_FLAG) ||
+                !tokens.hasFlag(WorkoutConstant.RUN_TIME_FLAG)) {
             throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_RUN_PARAMETERS_ERROR);
         }
 
-        if (countForwardSlash(input) != WorkoutConstant.NUM_OF_SLASHES_FOR_RUN_WITH_DATE &&
-                countForwardSlash(input) != WorkoutConstant.NUM_OF_SLASHES_FOR_RUN_WITHOUT_DATE) {
+        if (tokens.getSlashCount() != WorkoutConstant.NUM_OF_SLASHES_FOR_RUN_WITH_DATE &&
+                tokens.getSlashCount() != WorkoutConstant.NUM_OF_SLASHES_FOR_RUN_WITHOUT_DATE) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
         }
 
         String[] results = new String[WorkoutConstant.NUMBER_OF_RUN_PARAMETERS];
-        results[WorkoutConstant.RUN_TIME_INDEX] = extractSubstringFromSpecificIndex(input,
-                WorkoutConstant.RUN_TIME_FLAG).trim();
-        results[WorkoutConstant.RUN_DISTANCE_INDEX] = extractSubstringFromSpecificIndex(input,
-                WorkoutConstant.DISTANCE_FLAG).trim();
+        results[WorkoutConstant.RUN_TIME_INDEX] = tokens.getValue(WorkoutConstant.RUN_TIME_FLAG);
+        results[WorkoutConstant.RUN_DISTANCE_INDEX] = tokens.getValue(WorkoutConstant.DISTANCE_FLAG);
 
-        if (input.contains(WorkoutConstant.DATE_FLAG)) {
-            results[WorkoutConstant.RUN_DATE_INDEX] = extractSubstringFromSpecificIndex(input,
-                    WorkoutConstant.DATE_FLAG).trim();
+        if (tokens.hasFlag(WorkoutConstant.DATE_FLAG)) {
+            results[WorkoutConstant.RUN_DATE_INDEX] = tokens.getValue(WorkoutConstant.DATE_FLAG);
         }
         return results;
     }
@@ -545,7 +671,8 @@ public class Parser {
                     runDetails[WorkoutConstant.RUN_DATE_INDEX]);
         }
         output.printAddRun(newRun);
-        LogFile.writeLog("Added Run", false);
+        JournalFile.appendAdd(newRun.toFileString());
+        LogFile.writeDebug("Added Run");
     }
 
     /**
@@ -556,16 +683,15 @@ public class Parser {
      * @throws CustomExceptions.InvalidInput If the parameters are invalid.
      */
     protected String[] splitGymStationInput(String input) throws CustomExceptions.InvalidInput {
-
-        if (countForwardSlash(input) > WorkoutConstant.NUM_OF_SLASHES_FOR_GYM_STATION) {
+        CommandTokenizer tokens = tokenize(input);
+        if (tokens.getSlashCount() > WorkoutConstant.NUM_OF_SLASHES_FOR_GYM_STATION) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.TOO_MANY_SLASHES_ERROR);
         }
 
-        Parser parser = new Parser();
-        String exerciseName = input.split(UiConstant.SPLIT_BY_SLASH)[WorkoutConstant.STATION_NAME_INDEX].trim();
-        String sets = parser.extractSubstringFromSpecificIndex(input, WorkoutConstant.SETS_FLAG).trim();
-        String reps = parser.extractSubstringFromSpecificIndex(input, WorkoutConstant.REPS_FLAG).trim();
-        String weights = parser.extractSubstringFromSpecificIndex(input, WorkoutConstant.WEIGHTS_FLAG).trim();
+        String exerciseName = tokens.getTextBeforeFlags().trim();
+        String sets = tokens.getValue(WorkoutConstant.SETS_FLAG);
+        String reps = tokens.getValue(WorkoutConstant.REPS_FLAG);
+        String weights = tokens.getValue(WorkoutConstant.WEIGHTS_FLAG);
 
 
         String[] validatedGymStationInputs = new String[WorkoutConstant.NUMBER_OF_GYM_STATION_PARAMETERS];
@@ -613,11 +739,12 @@ public class Parser {
             } catch (CustomExceptions.InsufficientInput | CustomExceptions.InvalidInput
                      | CustomExceptions.OutOfBounds e) {
                 i -= 1;
-                output.printException(e.getMessage());
+                output.printException(e);
             }
         }
         output.printAddGym(gym);
-        LogFile.writeLog("Added Gym", false);
+        JournalFile.appendAdd(gym.toFileString());
+        LogFile.writeDebug("Added Gym");
     }
 
     //@@author L5-Z
@@ -678,18 +805,18 @@ public class Parser {
     }
 
     /**
-     * Adds a station to the gym object based of the file input.
-     * This method is used in the {@code parseGymFileInput} method.
+     * Creates a station based of the file input.
+     * This method is used in the {@code parseGymFileStations} method.
      * How the method works is that it will check if the station details are valid
-     * and then add the station to the gym.
+     * and then add the station to the list of stations.
      *
-     * @param gym The gym object that the station will be added to.
+     * @param stations The list of stations that the station will be added to.
      * @param gymDetails The array of strings containing the gym details.
      * @param baseCounter The base counter to start adding the station.
      * @return The new base counter after adding the station.
      * @throws CustomExceptions.InvalidInput If the input is invalid.
      */
-    private int addStationFromFile(Gym gym, String[] gymDetails, int baseCounter)
+    private int addStationFromFile(ArrayList<GymStation> stations, String[] gymDetails, int baseCounter)
             throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput {
 
         String currentStationName;
@@ -705,7 +832,7 @@ public class Parser {
         } catch (ArrayIndexOutOfBoundsException e) {
             throw new CustomExceptions.InvalidInput(ErrorConstant.LOAD_GYM_FORMAT_ERROR);
         }
-        gym.addStation(currentStationName, numberOfSetsStr, repsStr, weightStrings);
+        stations.add(new GymStation(currentStationName, numberOfSetsStr, repsStr, weightStrings));
         baseCounter += WorkoutConstant.INCREMENT_OFFSET;
         return baseCounter;
     }
@@ -727,11 +854,59 @@ public class Parser {
             throws CustomExceptions.InvalidInput,
             CustomExceptions.FileReadError, CustomExceptions.InsufficientInput {
 
+        String[] gymDetails = validateGymFileInput(input);
+        return createGymFromFile(gymDetails, parseGymFileStations(gymDetails));
+    }
+
+    /**
+     * Splits and validates the gym input from the storage file, without adding anything to the workout lists.
+     *
+     * @param input The line read from the file.
+     * @return The array of strings containing the gym details.
+     * @throws CustomExceptions.InvalidInput  If there is invalid input from the file.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input from the file.
+     * @throws CustomExceptions.FileReadError If the file data is invalid or cannot be read.
+     */
+    public String[] validateGymFileInput(String input)
+            throws CustomExceptions.InvalidInput,
+            CustomExceptions.FileReadError, CustomExceptions.InsufficientInput {
+
         String[] gymDetails = splitGymFileInput(input);
         String[] checkGymDetails = new String[WorkoutConstant.NUMBER_OF_GYM_PARAMETERS];
         checkGymDetails[0] = gymDetails[1];
         checkGymDetails[1] = gymDetails[2];
         validation.validateGymInput(checkGymDetails);
+        return gymDetails;
+    }
+
+    /**
+     * Creates and validates every station in the gym details from the storage file.
+     * The stations are not attached to any gym, so this can be done before the gym is created.
+     *
+     * @param gymDetails The array of strings containing the gym details.
+     * @return The list of stations in the order they appear in the file.
+     * @throws CustomExceptions.InvalidInput  If there is invalid input from the file.
+     * @throws CustomExceptions.InsufficientInput If there is insufficient input from the file.
+     */
+    public ArrayList<GymStation> parseGymFileStations(String[] gymDetails)
+            throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput {
+
+        ArrayList<GymStation> stations = new ArrayList<>();
+        int counter = WorkoutConstant.GYM_FILE_BASE_COUNTER;
+        while (counter < gymDetails.length) {
+            counter = addStationFromFile(stations, gymDetails, counter);
+        }
+        return stations;
+    }
+
+    /**
+     * Creates a Gym object with the given stations, adding it to the workout lists.
+     *
+     * @param gymDetails The array of strings containing the gym details.
+     * @param stations   The stations done in the gym session.
+     * @return New gym object created from the input.
+     */
+    public Gym createGymFromFile(String[] gymDetails, ArrayList<GymStation> stations) {
         Gym gym;
         String date = gymDetails[WorkoutConstant.DATE_FILE_INDEX];
 
@@ -741,9 +916,8 @@ public class Parser {
             gym = new Gym(date);
         }
 
-        int counter = WorkoutConstant.GYM_FILE_BASE_COUNTER;
-        while (counter < gymDetails.length) {
-            counter = addStationFromFile(gym, gymDetails, counter);
+        for (GymStation station : stations) {
+            gym.addStation(station);
         }
         return gym;
     }
@@ -8,8 +8,8 @@ import health.Bmi;
 import health.HealthList;
 import ui.Output;
 
-import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.Month;
 import java.util.Objects;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -31,27 +31,25 @@ public class Validation {
      * @throws CustomExceptions.InvalidInput If the date is invalid.
      */
     public void validateDateInput(String date) throws CustomExceptions.InvalidInput {
-        if (!date.matches(UiConstant.VALID_DATE_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_DATE_ERROR);
+        if (!InputPatterns.isDate(date)) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_DATE_ERROR);
         }
-        String[] parts = date.split(UiConstant.DASH);
-        int day = Integer.parseInt(parts[0]);
-        int month = Integer.parseInt(parts[1]);
-        int year = Integer.parseInt(parts[2]);
+        int day = InputPatterns.readTwoDigits(date, UiConstant.DATE_DAY_OFFSET);
+        int month = InputPatterns.readTwoDigits(date, UiConstant.DATE_MONTH_OFFSET);
+        int year = InputPatterns.readFourDigits(date, UiConstant.DATE_YEAR_OFFSET);
 
         boolean isLeapYear = (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0);
         if (month == 2 && day == 29 && !isLeapYear) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_LEAP_YEAR_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_LEAP_YEAR_ERROR);
         }
 
-        if (year < 1967) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_YEAR_ERROR);
+        if (year < UiConstant.MIN_YEAR) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_YEAR_ERROR);
         }
 
-        try {
-            LocalDate check = LocalDate.of(year, month, day);
-        } catch (DateTimeException e) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_DATE_ERROR);
+        if (month < 1 || month > Month.DECEMBER.getValue() || day < 1
+                || day > Month.of(month).length(isLeapYear)) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_DATE_ERROR);
         }
     }
 
@@ -65,12 +63,12 @@ public class Validation {
     public void validateDeleteInput(String[] deleteDetails) throws CustomExceptions.InvalidInput,
             CustomExceptions.InsufficientInput {
         if (isEmptyParameterPresent(deleteDetails)) {
-            throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR);
+            throw CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR);
         }
         validateDeleteAndLatestFilter(deleteDetails[UiConstant.DELETE_ITEM_STRING_INDEX].toLowerCase());
 
-        if (!deleteDetails[UiConstant.DELETE_ITEM_NUMBER_INDEX].matches(UiConstant.VALID_POSITIVE_INTEGER_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_INDEX_ERROR);
+        if (!InputPatterns.isPositiveInteger(deleteDetails[UiConstant.DELETE_ITEM_NUMBER_INDEX])) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_INDEX_ERROR);
         }
     }
 
@@ -90,7 +88,7 @@ public class Validation {
                 || filter.equals(WorkoutConstant.ALL)) {
             return;
         }
-        throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_HISTORY_FILTER_ERROR);
+        throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_HISTORY_FILTER_ERROR);
     }
 
     // @@author L5-Z
@@ -108,7 +106,7 @@ public class Validation {
                 || filter.equals(HealthConstant.APPOINTMENT)) {
             return;
         }
-        throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_LATEST_OR_DELETE_FILTER);
+        throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_LATEST_OR_DELETE_FILTER);
     }
 
 
@@ -122,30 +120,42 @@ public class Validation {
      */
     public void validateBmiInput(String[] bmiDetails) throws CustomExceptions.InvalidInput,
             CustomExceptions.InsufficientInput {
+        validateBmiDetails(bmiDetails);
+        validateDateNotPresent(bmiDetails[HealthConstant.BMI_DATE_INDEX]);
+    }
+
+    /**
+     * Validates the BMI details entered, without checking them against the BMI entries already in HealthList.
+     *
+     * @param bmiDetails An array of strings with split BMI details.
+     * @throws CustomExceptions.InvalidInput If there are any errors in the details entered.
+     * @throws CustomExceptions.InsufficientInput If there are empty parameters specified.
+     */
+    public void validateBmiDetails(String[] bmiDetails) throws CustomExceptions.InvalidInput,
+            CustomExceptions.InsufficientInput {
         if (isEmptyParameterPresent(bmiDetails)) {
-            throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_BMI_PARAMETERS_ERROR);
+            throw CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_BMI_PARAMETERS_ERROR);
         }
 
-        if (!bmiDetails[HealthConstant.BMI_HEIGHT_INDEX].matches(UiConstant.VALID_TWO_DP_NUMBER_REGEX)
-                || !bmiDetails[HealthConstant.BMI_WEIGHT_INDEX].matches(UiConstant.VALID_TWO_DP_NUMBER_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_HEIGHT_WEIGHT_INPUT_ERROR);
+        if (!InputPatterns.isTwoDpNumber(bmiDetails[HealthConstant.BMI_HEIGHT_INDEX])
+                || !InputPatterns.isTwoDpNumber(bmiDetails[HealthConstant.BMI_WEIGHT_INDEX])) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_HEIGHT_WEIGHT_INPUT_ERROR);
         }
 
         double height = Double.parseDouble(bmiDetails[HealthConstant.BMI_HEIGHT_INDEX]);
         double weight = Double.parseDouble(bmiDetails[HealthConstant.BMI_WEIGHT_INDEX]);
         if (height <= HealthConstant.MIN_HEIGHT || weight <= HealthConstant.MIN_WEIGHT) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.ZERO_HEIGHT_AND_WEIGHT_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.ZERO_HEIGHT_AND_WEIGHT_ERROR);
         }
         if (height > HealthConstant.MAX_HEIGHT) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.MAX_HEIGHT_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.MAX_HEIGHT_ERROR);
         }
         if (weight > HealthConstant.MAX_WEIGHT) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.MAX_WEIGHT_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.MAX_WEIGHT_ERROR);
         }
 
         validateDateInput(bmiDetails[HealthConstant.BMI_DATE_INDEX]);
         validateDateNotAfterToday(bmiDetails[HealthConstant.BMI_DATE_INDEX]);
-        validateDateNotPresent(bmiDetails[HealthConstant.BMI_DATE_INDEX]);
     }
 
     /**
@@ -159,19 +169,19 @@ public class Validation {
     public void validatePeriodInput(String[] periodDetails, boolean isParser) throws CustomExceptions.InvalidInput,
             CustomExceptions.InsufficientInput {
         if (isEmptyParameterPresent(periodDetails)) {
-            throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_PERIOD_PARAMETERS_ERROR);
+            throw CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_PERIOD_PARAMETERS_ERROR);
         }
         try {
             validateDateInput(periodDetails[HealthConstant.PERIOD_START_DATE_INDEX]);
         } catch (CustomExceptions.InvalidInput e) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_START_DATE_ERROR + e.getMessage());
+            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_START_DATE_ERROR, e.getMessage());
         }
         try {
             if (validateDateNotEmpty(periodDetails[HealthConstant.PERIOD_END_DATE_INDEX])) {
                 validateDateInput(periodDetails[HealthConstant.PERIOD_END_DATE_INDEX]);
             }
         } catch (CustomExceptions.InvalidInput e) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_END_DATE_ERROR + e.getMessage());
+            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_END_DATE_ERROR, e.getMessage());
         }
 
         validateIfOnlyFromParser(isParser, periodDetails);
@@ -182,7 +192,7 @@ public class Validation {
             validateDateNotAfterToday(periodDetails[HealthConstant.PERIOD_END_DATE_INDEX]);
             LocalDate endDate = parser.parseDate(periodDetails[HealthConstant.PERIOD_END_DATE_INDEX]);
             if (startDate.isAfter(endDate)) {
-                throw new CustomExceptions.InvalidInput(ErrorConstant.PERIOD_END_BEFORE_START_ERROR);
+                throw CustomExceptions.InvalidInput.of(ErrorConstant.PERIOD_END_BEFORE_START_ERROR);
             }
         }
     }
@@ -198,16 +208,16 @@ public class Validation {
     public void validateRunInput(String[] runDetails) throws CustomExceptions.InvalidInput,
             CustomExceptions.InsufficientInput {
         if (isEmptyParameterPresent(runDetails)) {
-            throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_RUN_PARAMETERS_ERROR);
+            throw CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_RUN_PARAMETERS_ERROR);
         }
 
-        if (!runDetails[WorkoutConstant.RUN_TIME_INDEX].matches(UiConstant.VALID_TIME_REGEX) &&
-                !runDetails[WorkoutConstant.RUN_TIME_INDEX].matches(UiConstant.VALID_TIME_WITH_HOURS_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_RUN_TIME_ERROR);
+        if (!InputPatterns.isTime(runDetails[WorkoutConstant.RUN_TIME_INDEX]) &&
+                !InputPatterns.isTimeWithHours(runDetails[WorkoutConstant.RUN_TIME_INDEX])) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_RUN_TIME_ERROR);
         }
 
-        if (!runDetails[WorkoutConstant.RUN_DISTANCE_INDEX].matches(UiConstant.VALID_TWO_DP_NUMBER_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_RUN_DISTANCE_ERROR);
+        if (!InputPatterns.isTwoDpNumber(runDetails[WorkoutConstant.RUN_DISTANCE_INDEX])) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_RUN_DISTANCE_ERROR);
         }
 
         if (validateDateNotEmpty(runDetails[WorkoutConstant.RUN_DATE_INDEX])) {
@@ -228,17 +238,16 @@ public class Validation {
     public void validateGymInput(String[] gymDetails) throws CustomExceptions.InvalidInput,
             CustomExceptions.InsufficientInput {
         if (isEmptyParameterPresent(gymDetails)) {
-            throw new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_GYM_PARAMETERS_ERROR);
+            throw CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_GYM_PARAMETERS_ERROR);
         }
 
-        if (!gymDetails[WorkoutConstant.GYM_NUMBER_OF_STATIONS_INDEX]
-                .matches(UiConstant.VALID_POSITIVE_INTEGER_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_NUMBER_OF_STATIONS_ERROR);
+        if (!InputPatterns.isPositiveInteger(gymDetails[WorkoutConstant.GYM_NUMBER_OF_STATIONS_INDEX])) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_NUMBER_OF_STATIONS_ERROR);
         }
 
         int numberOfStations = Integer.parseInt(gymDetails[WorkoutConstant.GYM_NUMBER_OF_STATIONS_INDEX]);
         if (numberOfStations > WorkoutConstant.MAX_GYM_STATION_NUMBER) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.MAX_STATIONS_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.MAX_STATIONS_ERROR);
         }
 
         if (validateDateNotEmpty(gymDetails[WorkoutConstant.GYM_DATE_INDEX])) {
@@ -256,18 +265,17 @@ public class Validation {
      * @throws CustomExceptions.InvalidInput If time is formatted wrongly or is not valid.
      */
     protected void validateTimeInput(String time) throws CustomExceptions.InvalidInput {
-        if (!time.matches(UiConstant.VALID_TIME_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_ACTUAL_TIME_ERROR);
+        if (!InputPatterns.isTime(time)) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_ACTUAL_TIME_ERROR);
         }
-        String [] parts = time.split(UiConstant.SPLIT_BY_COLON);
-        int hours = Integer.parseInt(parts[UiConstant.SPLIT_TIME_HOUR_INDEX]);
-        int minutes = Integer.parseInt(parts[UiConstant.SPLIT_TIME_MINUTES_INDEX]);
+        int hours = InputPatterns.readTwoDigits(time, UiConstant.TIME_HOUR_OFFSET);
+        int minutes = InputPatterns.readTwoDigits(time, UiConstant.TIME_MINUTES_OFFSET);
 
         if (hours < UiConstant.MIN_HOURS || hours > UiConstant.MAX_HOURS) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_ACTUAL_TIME_HOUR_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_ACTUAL_TIME_HOUR_ERROR);
         }
         if (minutes < UiConstant.MIN_MINUTES || minutes > UiConstant.MAX_MINUTES) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_ACTUAL_TIME_MINUTE_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_ACTUAL_TIME_MINUTE_ERROR);
         }
     }
 
@@ -282,7 +290,7 @@ public class Validation {
     public void validateAppointmentDetails(String[] appointmentDetails)
             throws CustomExceptions.InvalidInput, CustomExceptions.InsufficientInput {
         if (isEmptyParameterPresent(appointmentDetails)) {
-            throw new CustomExceptions.InsufficientInput(ErrorConstant
+            throw CustomExceptions.InsufficientInput.of(ErrorConstant
                     .INSUFFICIENT_APPOINTMENT_PARAMETERS_ERROR);
         }
         validateDateInput(appointmentDetails[HealthConstant.APPOINTMENT_DATE_INDEX]);
@@ -290,11 +298,11 @@ public class Validation {
 
         if (appointmentDetails[HealthConstant.APPOINTMENT_DESCRIPTION_INDEX].length()
                 > HealthConstant.MAX_DESCRIPTION_LENGTH) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.DESCRIPTION_LENGTH_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.DESCRIPTION_LENGTH_ERROR);
         }
-        if (!appointmentDetails[HealthConstant.APPOINTMENT_DESCRIPTION_INDEX]
-                .matches(UiConstant.VALID_APPOINTMENT_DESCRIPTION_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_DESCRIPTION_ERROR);
+        if (!InputPatterns.isAppointmentDescription(
+                appointmentDetails[HealthConstant.APPOINTMENT_DESCRIPTION_INDEX])) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_DESCRIPTION_ERROR);
         }
     }
 
@@ -325,7 +333,7 @@ public class Validation {
         Parser parser = new Parser();
         LocalDate date = parser.parseDate(dateString);
         if (date.isAfter(LocalDate.now())) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.DATE_IN_FUTURE_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.DATE_IN_FUTURE_ERROR);
         }
     }
 
@@ -336,7 +344,7 @@ public class Validation {
      * @return Returns true if it only has alphanumeric characters, otherwise returns false.
      */
     public boolean validateIfUsernameIsValid(String name) {
-        return !name.matches(UiConstant.VALID_USERNAME_REGEX);
+        return !InputPatterns.isUsername(name);
     }
 
     /**
@@ -364,7 +372,7 @@ public class Validation {
         LocalDate date = parser.parseDate(dateString);
 
         if (latestPeriodEndDate != null && (date.isBefore(latestPeriodEndDate) || date.isEqual(latestPeriodEndDate))) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.CURRENT_START_BEFORE_PREVIOUS_END);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.CURRENT_START_BEFORE_PREVIOUS_END);
         }
     }
 
@@ -386,10 +394,10 @@ public class Validation {
 
         if (latestPeriodEndDate == null) {
             if (!startDate.equals(latestPeriodStartDate)) {
-                throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_START_DATE_INPUT_ERROR);
+                throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_START_DATE_INPUT_ERROR);
             }
             if (periodDetails[HealthConstant.PERIOD_END_DATE_INDEX] == null) {
-                throw new CustomExceptions.InvalidInput(ErrorConstant.END_DATE_NOT_FOUND_ERROR );
+                throw CustomExceptions.InvalidInput.of(ErrorConstant.END_DATE_NOT_FOUND_ERROR );
             }
         }
     }
@@ -435,10 +443,19 @@ public class Validation {
      */
     public void validateDateNotPresent(String dateString) throws CustomExceptions.InvalidInput {
         Parser parser = new Parser();
-        LocalDate dateToVerify = parser.parseDate(dateString);
+        validateDateNotPresent(parser.parseDate(dateString));
+    }
+
+    /**
+     * Validates whether a date that has already been parsed can be found in HealthList and throws error if it is.
+     *
+     * @param dateToVerify The date of the Bmi input to be added.
+     * @throws CustomExceptions.InvalidInput If the same date is found.
+     */
+    public void validateDateNotPresent(LocalDate dateToVerify) throws CustomExceptions.InvalidInput {
         for (Bmi bmi :  HealthList.getBmis()) {
             if (bmi.getDate().isEqual(dateToVerify)) {
-                throw new CustomExceptions.InvalidInput(ErrorConstant.DATE_ALREADY_EXISTS_ERROR);
+                throw CustomExceptions.InvalidInput.of(ErrorConstant.DATE_ALREADY_EXISTS_ERROR);
             }
         }
     }
@@ -7,6 +7,7 @@ import constants.UiConstant;
 import constants.WorkoutConstant;
 import utility.Validation;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 
 /**
@@ -37,6 +38,16 @@ public class Gym extends Workout {
         super.addIntoWorkoutList(this);
     }
 
+    /**
+     * Overloaded constructor that takes a date that has already been parsed, such as from a binary data file.
+     *
+     * @param date The date of the gym session, or null if it is not specified.
+     */
+    public Gym(LocalDate date) {
+        super(date);
+        super.addIntoWorkoutList(this);
+    }
+
     /**
      * Adds a new GymStation object into the Gym object.
      *
@@ -55,8 +66,17 @@ public class Gym extends Workout {
             CustomExceptions.InvalidInput {
 
         GymStation newStation = new GymStation(name, numberOfSet, numberOfRepetitions, weights);
-        appendIntoStations(newStation);
-        LogFile.writeLog("Added Gym Station: " + name, false);
+        addStation(newStation);
+    }
+
+    /**
+     * Adds a GymStation object that has already been validated into the Gym object.
+     *
+     * @param station The GymStation object to be added.
+     */
+    public void addStation(GymStation station) {
+        appendIntoStations(station);
+        LogFile.writeDebug("Added Gym Station: %s", station.getStationName());
     }
 
     /**
@@ -4,6 +4,7 @@ import constants.ErrorConstant;
 import constants.UiConstant;
 import constants.WorkoutConstant;
 import utility.CustomExceptions;
+import utility.InputPatterns;
 import utility.Validation;
 
 import java.util.ArrayList;
@@ -50,6 +51,35 @@ public class GymStation {
         processSets(validWeights, validNumberOfReps);
     }
 
+    /**
+     * Constructs a new GymStation object from values that have already been decoded, such as from a binary data
+     * file. The name, sets, repetitions and weights are checked in the same way as for user input.
+     *
+     * @param exerciseName        The name of the gym station.
+     * @param numberOfSets        The number of sets done.
+     * @param numberOfRepetitions The number of repetitions done for each set.
+     * @param weights             The weights done for each set.
+     * @throws CustomExceptions.InvalidInput If an invalid input is passed in.
+     * @throws CustomExceptions.InsufficientInput If the name is empty.
+     */
+    public GymStation(String exerciseName, int numberOfSets, int numberOfRepetitions, ArrayList<Double> weights)
+            throws CustomExceptions.InsufficientInput, CustomExceptions.InvalidInput {
+        this.stationName = validateGymStationName(exerciseName);
+        if (numberOfSets <= 0) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_SETS_POSITIVE_DIGIT_ERROR);
+        }
+        this.numberOfSets = numberOfSets;
+        if (numberOfRepetitions <= 0) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_REPS_POSITIVE_DIGIT_ERROR);
+        }
+        for (double weight : weights) {
+            validateWeightDoesNotExceedMax(weight);
+            validateWeightIsMultiple(weight);
+        }
+        checkIfNumberOfWeightsMatchesSets(weights, numberOfSets);
+        processSets(weights, numberOfRepetitions);
+    }
+
     /**
      * Retrieves the station name for the GymStation object.
      *
@@ -170,7 +200,7 @@ public class GymStation {
     protected int validateNumberOfSets(String numberOfSets) throws CustomExceptions.InvalidInput {
         boolean isSetsValid = Validation.validateIntegerIsPositive(numberOfSets);
         if (!isSetsValid) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_SETS_POSITIVE_DIGIT_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_SETS_POSITIVE_DIGIT_ERROR);
         }
 
         return Integer.parseInt(numberOfSets);
@@ -223,7 +253,7 @@ public class GymStation {
     private int validateNumberOfRepetitions(String numberOfRepetitions) throws CustomExceptions.InvalidInput {
         boolean isRepsValid = Validation.validateIntegerIsPositive(numberOfRepetitions);
         if (!isRepsValid) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_REPS_POSITIVE_DIGIT_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_REPS_POSITIVE_DIGIT_ERROR);
         }
         return Integer.parseInt(numberOfRepetitions);
     }
@@ -266,7 +296,7 @@ public class GymStation {
      */
     private void validateExerciseNameNotEmpty(String exerciseName) throws CustomExceptions.InsufficientInput {
         if (exerciseName.isEmpty()) {
-            throw new CustomExceptions.InsufficientInput(ErrorConstant.INVALID_GYM_STATION_EMPTY_NAME_ERROR);
+            throw CustomExceptions.InsufficientInput.of(ErrorConstant.INVALID_GYM_STATION_EMPTY_NAME_ERROR);
         }
     }
 
@@ -277,8 +307,8 @@ public class GymStation {
      * @throws CustomExceptions.InvalidInput if the exercise name does not match the pattern.
      */
     private void validateExerciseNamePattern(String exerciseName) throws CustomExceptions.InvalidInput {
-        if (!exerciseName.matches(UiConstant.VALID_GYM_STATION_NAME_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_GYM_STATION_NAME_ERROR);
+        if (!InputPatterns.isGymStationName(exerciseName)) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_GYM_STATION_NAME_ERROR);
         }
     }
 
@@ -290,7 +320,7 @@ public class GymStation {
      */
     private void validateExerciseNameLength(String exerciseName) throws CustomExceptions.InvalidInput {
         if (exerciseName.length() > WorkoutConstant.MAX_GYM_STATION_NAME_LENGTH) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_GYM_STATION_NAME_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_GYM_STATION_NAME_ERROR);
         }
     }
 
@@ -302,7 +332,7 @@ public class GymStation {
      */
     private void validateWeightDoesNotExceedMax(double weight) throws CustomExceptions.InvalidInput {
         if (weight > WorkoutConstant.MAX_GYM_WEIGHT) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_WEIGHT_MAX_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_WEIGHT_MAX_ERROR);
         }
     }
 
@@ -314,7 +344,7 @@ public class GymStation {
      */
     private void validateWeightIsMultiple(double weight) throws CustomExceptions.InvalidInput {
         if (weight % WorkoutConstant.WEIGHT_MULTIPLE != 0 ){
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_WEIGHTS_VALUE_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_WEIGHTS_VALUE_ERROR);
         }
     }
 
@@ -327,7 +357,7 @@ public class GymStation {
     private void checkIfNumberOfWeightsMatchesSets(ArrayList<Double> weights, int numberOfSets)
             throws CustomExceptions.InvalidInput {
         if (weights.size() != numberOfSets){
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_WEIGHTS_NUMBER_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_WEIGHTS_NUMBER_ERROR);
         }
     }
 
@@ -341,11 +371,11 @@ public class GymStation {
      */
     private void validateWeightString(String weightsString) throws CustomExceptions.InvalidInput {
         if (weightsString.isBlank()) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_WEIGHTS_EMPTY_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_WEIGHTS_EMPTY_ERROR);
         }
 
-        if (!weightsString.matches(UiConstant.VALID_WEIGHTS_ARRAY_REGEX)) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_WEIGHTS_ARRAY_FORMAT_ERROR);
+        if (!InputPatterns.isWeightsArray(weightsString)) {
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_WEIGHTS_ARRAY_FORMAT_ERROR);
         }
     }
 
@@ -1,6 +1,8 @@
 package workouts;
 
 
+import java.time.LocalDate;
+
 import utility.CustomExceptions;
 import constants.ErrorConstant;
 import constants.UiConstant;
@@ -49,6 +51,23 @@ public class Run extends Workout {
         workout.addIntoWorkoutList(this);
     }
 
+    /**
+     * Overloaded constructor that takes values that have already been decoded, such as from a binary data file.
+     * The time, distance and pace are checked in the same way as for user input.
+     *
+     * @param totalSeconds The time taken for the run in seconds.
+     * @param distance The distance of the run.
+     * @param date The date of the run, or null if it is not specified.
+     * @throws CustomExceptions.InvalidInput If there is invalid input in any parameters found.
+     */
+    public Run(int totalSeconds, double distance, LocalDate date) throws CustomExceptions.InvalidInput {
+        super(date);
+        times = processRunTime(totalSeconds);
+        this.distance = checkDistance(distance);
+        pace = calculatePace();
+        super.addIntoWorkoutList(this);
+    }
+
     /**
      * Returns string format of time taken for run.
      * If there isn't an hour present, returns only mm:ss.
@@ -79,6 +98,15 @@ public class Run extends Workout {
         return String.format(WorkoutConstant.TWO_DECIMAL_PLACE_FORMAT, distance);
     }
 
+    /**
+     * Retrieves the total time taken for the run.
+     *
+     * @return The time taken in seconds.
+     */
+    public int getDurationSeconds() {
+        return calculateTotalSeconds();
+    }
+
     /**
      * Retrieves run pace.
      *
@@ -119,6 +147,19 @@ public class Run extends Workout {
         );
     }
 
+    /**
+     * Converts the Run object into a string format suitable for writing into a file.
+     * Format is RUN:DISTANCE:TIME:DATE, with the colons in the time replaced by full stops.
+     *
+     * @return A string representing the Run object for the data file.
+     */
+    public String toFileString() {
+        String formattedTime = getTimes().replace(UiConstant.SPLIT_BY_COLON, UiConstant.FULL_STOP);
+        return WorkoutConstant.RUN.toUpperCase() + UiConstant.SPLIT_BY_COLON + getDistance()
+                + UiConstant.SPLIT_BY_COLON + formattedTime
+                + UiConstant.SPLIT_BY_COLON + super.getDateForFile();
+    }
+
     //@@author rouvinerh
     /**
      * Returns the total seconds based on the {@code times} taken for the run.
@@ -151,22 +192,22 @@ public class Run extends Workout {
         int seconds = runTimeParts[WorkoutConstant.RUN_TIME_SECOND_INDEX];
 
         if (hours == UiConstant.MIN_HOURS) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_HOUR_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_HOUR_ERROR);
         }
 
         // minutes can always be 00
         if (minutes > UiConstant.MAX_MINUTES) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_MINUTE_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_MINUTE_ERROR);
         }
 
         // seconds can never be > 59
         if (seconds > UiConstant.MAX_SECONDS) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.INVALID_SECOND_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_SECOND_ERROR);
         }
         if (hours == WorkoutConstant.NO_HOURS_PRESENT) {
             // if hours not present, minutes and seconds cannot be 00
             if (minutes == UiConstant.MIN_MINUTES && seconds == UiConstant.MIN_SECONDS) {
-                throw new CustomExceptions.InvalidInput(ErrorConstant.ZERO_TIME_ERROR);
+                throw CustomExceptions.InvalidInput.of(ErrorConstant.ZERO_TIME_ERROR);
             }
         }
     }
@@ -198,6 +239,26 @@ public class Run extends Workout {
         return runTimeParts;
     }
 
+    /**
+     * Method splits and validates a run time given in seconds, only including hours if there are any.
+     *
+     * @param totalSeconds The time taken in seconds.
+     * @return A list of integers representing the hours (if present), minutes and seconds.
+     * @throws CustomExceptions.InvalidInput if the time is not valid.
+     */
+    protected Integer[] processRunTime(int totalSeconds) throws CustomExceptions.InvalidInput {
+        int hours = totalSeconds / UiConstant.NUM_SECONDS_IN_HOUR;
+        int minutes = (totalSeconds % UiConstant.NUM_SECONDS_IN_HOUR) / UiConstant.NUM_SECONDS_IN_MINUTE;
+        int seconds = totalSeconds % UiConstant.NUM_SECONDS_IN_MINUTE;
+        if (hours == UiConstant.MIN_HOURS) {
+            hours = WorkoutConstant.NO_HOURS_PRESENT;
+        }
+
+        Integer[] runTimeParts = new Integer[]{hours, minutes, seconds};
+        checkRunTimeValues(runTimeParts);
+        return runTimeParts;
+    }
+
     /**
      * Checks the validity of distance value specified for the run. Returns the distance as a double if valid.
      *
@@ -206,13 +267,23 @@ public class Run extends Workout {
      * @throws CustomExceptions.InvalidInput If the distance is outside the valid range.
      */
     protected Double checkDistance(String stringDistance) throws CustomExceptions.InvalidInput {
-        double runDistance = Double.parseDouble(stringDistance);
+        return checkDistance(Double.parseDouble(stringDistance));
+    }
+
+    /**
+     * Checks the validity of a distance that has already been parsed. Returns the distance if valid.
+     *
+     * @param runDistance The distance of the run.
+     * @return The run distance as a Double.
+     * @throws CustomExceptions.InvalidInput If the distance is outside the valid range.
+     */
+    protected Double checkDistance(double runDistance) throws CustomExceptions.InvalidInput {
         if (runDistance > WorkoutConstant.MAX_RUN_DISTANCE) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.DISTANCE_TOO_LONG_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.DISTANCE_TOO_LONG_ERROR);
         }
 
         if (runDistance <= WorkoutConstant.MIN_RUN_DISTANCE) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.ZERO_DISTANCE_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.ZERO_DISTANCE_ERROR);
         }
         return runDistance;
     }
@@ -228,10 +299,10 @@ public class Run extends Workout {
         double paceInDecimal = ((double) totalSeconds / this.distance) / UiConstant.NUM_SECONDS_IN_MINUTE;
 
         if (paceInDecimal > WorkoutConstant.MAX_PACE) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.MAX_PACE_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.MAX_PACE_ERROR);
         }
         if (paceInDecimal < WorkoutConstant.MIN_PACE) {
-            throw new CustomExceptions.InvalidInput(ErrorConstant.MIN_PACE_ERROR);
+            throw CustomExceptions.InvalidInput.of(ErrorConstant.MIN_PACE_ERROR);
         }
 
         int minutes = (int) paceInDecimal;
@@ -10,6 +10,7 @@ import utility.Parser;
  */
 public class Workout {
     //@@author JustinSoh
+    private static final Parser parser = new Parser();
     private LocalDate date = null;
 
 
@@ -19,10 +20,18 @@ public class Workout {
      * @param stringDate String representing the date of the workout.
      */
     public Workout(String stringDate) {
-        Parser parser = new Parser();
         this.date = parser.parseDate(stringDate);
     }
 
+    /**
+     * Overloaded constructor that uses a date that has already been parsed, such as one read from a binary data file.
+     *
+     * @param date The date of the workout, or null if it is not specified.
+     */
+    public Workout(LocalDate date) {
+        this.date = date;
+    }
+
     /**
      * Constructor that builds a new Workout object.
      */
@@ -52,7 +61,6 @@ public class Workout {
      * @return Formatted date in dd-MM-yyyy format.
      */
     public String getDateForFile(){
-        Parser parser = new Parser();
         return parser.parseFormattedDate(this.date);
     }
 
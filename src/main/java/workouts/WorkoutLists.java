@@ -7,6 +7,10 @@ import constants.ErrorConstant;
 import utility.Validation;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
  * WorkoutLists class contains a static list of workouts, runs and gyms.
@@ -19,6 +23,7 @@ public class WorkoutLists {
     private static final ArrayList<Workout> WORKOUTS = new ArrayList<>();
     private static final ArrayList<Run> RUNS = new ArrayList<>();
     private static final ArrayList<Gym> GYMS = new ArrayList<>();
+    private static long modificationCount = 0;
 
     public WorkoutLists() {
 
@@ -114,7 +119,8 @@ public class WorkoutLists {
         Output.printDeleteGymMessage(deletedGym);
         WORKOUTS.remove(deletedGym);
         GYMS.remove(index);
-        LogFile.writeLog("Removed gym with index: " + index, false);
+        modificationCount++;
+        LogFile.writeDebug("Removed gym with index: %d", index);
     }
 
     /**
@@ -133,7 +139,62 @@ public class WorkoutLists {
         Output.printDeleteRunMessage(deletedRun);
         WORKOUTS.remove(deletedRun);
         RUNS.remove(index);
-        LogFile.writeLog("Removed run with index: " + index, false);
+        modificationCount++;
+        LogFile.writeDebug("Removed run with index: %d", index);
+    }
+
+    /**
+     * Retrieves the number of changes made to the lists so far.
+     * The count only ever increases, so a different count means the lists have changed.
+     *
+     * @return The number of changes made.
+     */
+    public static long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Moves the given workouts to the end of the lists, keeping their order.
+     * Used to place workouts loaded later before the ones already in the lists.
+     *
+     * @param workouts The workouts to be moved, all of which are already in the lists.
+     */
+    public static void moveWorkoutsToEnd(List<Workout> workouts) {
+        Set<Workout> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+        moved.addAll(workouts);
+        WORKOUTS.removeIf(moved::contains);
+        RUNS.removeIf(moved::contains);
+        GYMS.removeIf(moved::contains);
+        for (Workout workout : workouts) {
+            WORKOUTS.add(workout);
+            if (workout instanceof Run) {
+                RUNS.add((Run) workout);
+            } else if (workout instanceof Gym) {
+                GYMS.add((Gym) workout);
+            }
+        }
+    }
+
+    /**
+     * Makes room in the lists for the given number of runs about to be added, so a large import grows them once.
+     *
+     * @param additionalRuns The number of runs about to be added.
+     */
+    public static void ensureRunCapacity(int additionalRuns) {
+        WORKOUTS.ensureCapacity(WORKOUTS.size() + additionalRuns);
+        RUNS.ensureCapacity(RUNS.size() + additionalRuns);
+    }
+
+    /**
+     * Makes room in the lists for the given numbers of runs and gyms about to be loaded, so each list grows once.
+     *
+     * @param additionalRuns The number of runs about to be added.
+     * @param additionalGyms The number of gyms about to be added.
+     */
+    public static void ensureCapacity(int additionalRuns, int additionalGyms) {
+        WORKOUTS.ensureCapacity(WORKOUTS.size() + additionalRuns + additionalGyms);
+        RUNS.ensureCapacity(RUNS.size() + additionalRuns);
+        GYMS.ensureCapacity(GYMS.size() + additionalGyms);
     }
 
     /**
@@ -144,6 +205,7 @@ public class WorkoutLists {
         WORKOUTS.clear();
         RUNS.clear();
         GYMS.clear();
+        modificationCount++;
     }
 
     // Protected Methods
@@ -181,6 +243,7 @@ public class WorkoutLists {
      */
     private void addWorkout(Workout workout) {
         WORKOUTS.add(workout);
+        modificationCount++;
     }
 
 }
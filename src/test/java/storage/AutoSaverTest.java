@@ -0,0 +1,158 @@
+package storage;
+
+import constants.UiConstant;
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AutoSaverTest {
+    private final String testDataFilePath = "./test_autosave_data.txt";
+    private final String testHashFilePath = "./test_autosave_hash.txt";
+    private final String testJournalFilePath = "./test_autosave_journal.txt";
+    private final String originalDataFilePath = "./pulsepilot_data.txt";
+    private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final String originalJournalFilePath = "./pulsepilot_journal.txt";
+
+    /**
+     * Sets the file paths to the test files and starts a journal.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        UiConstant.dataFilePath = testDataFilePath;
+        UiConstant.saveFile = new File(testDataFilePath);
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.journalFilePath = testJournalFilePath;
+        DataFile.userName = "John Doe";
+        JournalFile.startJournal("base", new ArrayList<>());
+    }
+
+    /**
+     * Clears the lists, deletes the test files and resets the file paths.
+     */
+    @AfterEach
+    void tearDown() {
+        JournalFile.closeJournal();
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+        new File(testDataFilePath).delete();
+        new File(testHashFilePath).delete();
+        new File(testJournalFilePath).delete();
+        UiConstant.dataFilePath = originalDataFilePath;
+        UiConstant.saveFile = new File(originalDataFilePath);
+        UiConstant.hashFilePath = originalHashFilePath;
+        UiConstant.journalFilePath = originalJournalFilePath;
+    }
+
+    /**
+     * Tests that reaching the change threshold only forces the journal to disk, without rewriting the data file.
+     */
+    @Test
+    void onCommandProcessed_thresholdReached_syncsJournalOnly() throws Exception {
+        AutoSaver autoSaver = new AutoSaver(new DataFile(), 0, 2);
+        autoSaver.start();
+
+        new Run("25:00", "5.00");
+        JournalFile.appendAdd("RUN:25:00:5.00:NA");
+        autoSaver.onCommandProcessed();
+        new Run("30:00", "6.00");
+        JournalFile.appendAdd("RUN:30:00:6.00:NA");
+        autoSaver.onCommandProcessed();
+        autoSaver.stop();
+
+        assertFalse(new File(testDataFilePath).exists());
+        assertEquals(2, JournalFile.getRecordCount());
+        assertEquals(List.of("ADD:RUN:25:00:5.00:NA", "ADD:RUN:30:00:6.00:NA"), JournalFile.readJournal("base"));
+    }
+
+    /**
+     * Tests that records appended after the lists were copied are kept in the new journal, which is only moved into
+     * place together with the data file.
+     */
+    @Test
+    void rebaseJournal_recordsAfterSave_keepsLaterRecords() throws IOException {
+        JournalFile.appendAdd("RUN:25:00:5.00:NA");
+        JournalFile.appendAdd("RUN:30:00:6.00:NA");
+        JournalFile.appendAdd("RUN:35:00:7.00:NA");
+        Path tempJournalPath = Path.of(testJournalFilePath + UiConstant.TEMP_FILE_SUFFIX);
+
+        JournalFile.rebaseJournal("newbase", 2, () -> {
+            assertEquals(3, JournalFile.readJournal("base").size());
+            Files.move(tempJournalPath, Path.of(testJournalFilePath), StandardCopyOption.REPLACE_EXISTING);
+        });
+
+        assertEquals(List.of("ADD:RUN:35:00:7.00:NA"), JournalFile.readJournal("newbase"));
+        assertEquals(1, JournalFile.getRecordCount());
+        JournalFile.appendAdd("RUN:40:00:8.00:NA");
+        assertEquals(2, JournalFile.readJournal("newbase").size());
+    }
+
+    /**
+     * Tests that a save stopped after the data file was moved into place is finished at startup, moving the new
+     * journal into place with the hash file so the journal still applies to the data file.
+     */
+    @Test
+    void recoverInterruptedSave_dataFileMoved_movesHashAndJournal() throws IOException {
+        JournalFile.closeJournal();
+        Files.writeString(Path.of(testDataFilePath), "NAME:John Doe");
+        Files.writeString(Path.of(testHashFilePath + UiConstant.TEMP_FILE_SUFFIX), "newhash");
+        Files.writeString(Path.of(testJournalFilePath + UiConstant.TEMP_FILE_SUFFIX),
+                UiConstant.JOURNAL_BASE_LABEL + ":newbase" + System.lineSeparator() + "ADD:RUN:35:00:7.00:NA"
+                        + System.lineSeparator());
+
+        SaveCommitter.recoverInterruptedSave();
+
+        assertEquals("newhash", Files.readString(Path.of(testHashFilePath)));
+        assertEquals(List.of("ADD:RUN:35:00:7.00:NA"), JournalFile.readJournal("newbase"));
+        assertFalse(new File(testJournalFilePath + UiConstant.TEMP_FILE_SUFFIX).exists());
+    }
+
+    /**
+     * Tests that nothing is saved if the lists have not changed.
+     */
+    @Test
+    void saveIfChanged_noChanges_doesNotSave() {
+        AutoSaver autoSaver = new AutoSaver(new DataFile(), 0, 1);
+        autoSaver.saveIfChanged();
+
+        assertFalse(new File(testDataFilePath).exists());
+    }
+
+    /**
+     * Tests that a journal due for compaction is compacted in the background even if the lists have not changed
+     * since it was replayed.
+     */
+    @Test
+    void compactInBackground_longJournal_compactsJournal() throws Exception {
+        new Run("25:00", "5.00");
+        for (int i = 0; i < UiConstant.JOURNAL_COMPACTION_THRESHOLD; i++) {
+            JournalFile.appendAdd("RUN:25:00:5.00:NA");
+        }
+        AutoSaver autoSaver = new AutoSaver(new DataFile(), 0, Integer.MAX_VALUE);
+        autoSaver.start();
+
+        autoSaver.compactInBackground();
+        autoSaver.stop();
+
+        assertEquals(3, Files.readAllLines(Path.of(testDataFilePath)).size());
+        assertEquals(0, JournalFile.getRecordCount());
+        assertFalse(JournalFile.isCompactionDue());
+        assertTrue(Files.readAllLines(Path.of(testJournalFilePath)).get(0)
+                .endsWith(new DataFile().readBaseHash()));
+        assertFalse(new File(testJournalFilePath + UiConstant.TEMP_FILE_SUFFIX).exists());
+    }
+}
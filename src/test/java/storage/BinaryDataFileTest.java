@@ -0,0 +1,213 @@
+package storage;
+
+import constants.UiConstant;
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import workouts.Gym;
+import workouts.Run;
+import workouts.Workout;
+import workouts.WorkoutLists;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryDataFileTest {
+    private final String testTextFilePath = "./test_data.txt";
+    private final String testBinaryFilePath = "./test_data.bin";
+    private final String testHashFilePath = "./test_hash.txt";
+    private final String originalDataFilePath = "./pulsepilot_data.txt";
+    private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final List<String> textLines = Arrays.asList(
+            "NAME:Captain",
+            "BMI:1.75:70.00:22.86:15-03-2024",
+            "APPOINTMENT:10-03-2024:14.30:checkup",
+            "PERIOD:01-03-2024:07-03-2024:7",
+            "PERIOD:08-04-2024:NA:1",
+            "RUN:5.15:25.03:01-03-2024",
+            "RUN:21.10:01.30.00:NA",
+            "GYM:2:12-03-2024:bench press:2:4:10.0,20.0:squat:1:5:45.5"
+    );
+
+    /**
+     * Sets up the test environment by writing the text data file the binary data files are made from.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        Files.write(Path.of(testTextFilePath), textLines);
+    }
+
+    /**
+     * Deletes the test files and clears the lists.
+     */
+    @AfterEach
+    void tearDown() {
+        new File(testTextFilePath).delete();
+        new File(testBinaryFilePath).delete();
+        new File(testHashFilePath).delete();
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+    }
+
+    /**
+     * Writes the entries of the text data file used for the tests as a binary data file.
+     */
+    private void writeBinaryTestFile() throws IOException {
+        try (OutputStream out = Files.newOutputStream(Path.of(testBinaryFilePath))) {
+            new BinaryDataFile().writeBinaryFile(out, "Captain", textLines.subList(1, textLines.size()));
+        }
+    }
+
+    /**
+     * Returns the entries in the lists in the text data file format.
+     */
+    private List<String> listFileStrings() {
+        List<String> fileStrings = new ArrayList<>();
+        HealthList.getBmis().forEach(bmi -> fileStrings.add(bmi.toFileString()));
+        HealthList.getAppointments().forEach(appointment -> fileStrings.add(appointment.toFileString()));
+        HealthList.getPeriods().forEach(period -> fileStrings.add(period.toFileString()));
+        for (Workout workout : WorkoutLists.getWorkouts()) {
+            fileStrings.add(workout instanceof Run ? ((Run) workout).toFileString() : ((Gym) workout).toFileString());
+        }
+        return fileStrings;
+    }
+
+    /**
+     * Tests that only files starting with the binary magic number are detected as binary.
+     */
+    @Test
+    void isBinaryFile_textAndBinaryFiles_returnsCorrectly() throws IOException {
+        writeBinaryTestFile();
+
+        assertFalse(BinaryDataFile.isBinaryFile(new File(testTextFilePath)));
+        assertTrue(BinaryDataFile.isBinaryFile(new File(testBinaryFilePath)));
+        assertTrue(new File(testBinaryFilePath).length() < new File(testTextFilePath).length());
+    }
+
+    /**
+     * Tests that reading a binary data file returns the name and decodes every entry without adding it to a list
+     * until it is committed.
+     */
+    @Test
+    void readBinaryFile_validFile_returnsNameAndEntries() throws Exception {
+        writeBinaryTestFile();
+
+        List<PreparedRecord> records = new ArrayList<>();
+        String name;
+        try (InputStream in = new FileInputStream(testBinaryFilePath)) {
+            name = new BinaryDataFile().readBinaryFile(in, records);
+        }
+
+        assertEquals("Captain", name);
+        assertEquals(textLines.size() - 1, records.size());
+        assertEquals(0, WorkoutLists.getWorkouts().size());
+        for (PreparedRecord record : records) {
+            record.commit();
+        }
+        // periods are kept newest first, so only the entries are compared and not their order
+        List<String> expected = new ArrayList<>(textLines.subList(1, textLines.size()));
+        List<String> actual = listFileStrings();
+        expected.sort(null);
+        actual.sort(null);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Tests that a binary record holding a value its entry rejects is reported as corrupted.
+     */
+    @Test
+    void readBinaryFile_invalidStation_throwsIOException() throws IOException {
+        try (OutputStream out = Files.newOutputStream(Path.of(testBinaryFilePath))) {
+            new BinaryDataFile().writeBinaryFile(out, "Captain", List.of("GYM:1:12-03-2024:bench press:1:4:10.1"));
+        }
+
+        try (InputStream in = new FileInputStream(testBinaryFilePath)) {
+            assertThrows(IOException.class, () -> new BinaryDataFile().readBinaryFile(in, new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Tests that a text data file loaded while the binary format is configured is due to be converted, and is
+     * saved as a binary data file with matching block hashes.
+     */
+    @Test
+    void isFormatChangeDue_textFileWithBinaryFormat_convertsWithHash() throws Exception {
+        UiConstant.dataFilePath = testTextFilePath;
+        UiConstant.saveFile = new File(testTextFilePath);
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.storageFormat = UiConstant.BINARY_FORMAT;
+        try {
+            DataFile dataFile = new DataFile();
+            Files.writeString(Path.of(testHashFilePath), dataFile.generateFileHash(new File(testTextFilePath)));
+            dataFile.readDataFile();
+            assertTrue(dataFile.isFormatChangeDue());
+
+            dataFile.saveDataFile(DataFile.userName, HealthList.getBmis(), HealthList.getAppointments(),
+                    HealthList.getPeriods(), WorkoutLists.getWorkouts());
+            assertTrue(BinaryDataFile.isBinaryFile(new File(testTextFilePath)));
+            MerkleHasher hasher = new MerkleHasher(UiConstant.INTEGRITY_BLOCK_SIZE);
+            byte[] savedBytes = Files.readAllBytes(Path.of(testTextFilePath));
+            hasher.update(savedBytes, 0, savedBytes.length);
+            assertEquals(hasher.toHashFileString(), Files.readString(Path.of(testHashFilePath)));
+        } finally {
+            UiConstant.dataFilePath = originalDataFilePath;
+            UiConstant.saveFile = new File(originalDataFilePath);
+            UiConstant.hashFilePath = originalHashFilePath;
+            UiConstant.storageFormat = UiConstant.TEXT_FORMAT;
+        }
+    }
+
+    /**
+     * Tests that a binary data file is verified against its hash and loaded into the lists,
+     * and that saving the lists again in the binary format writes matching block hashes.
+     */
+    @Test
+    void readDataFile_binaryFile_addsEntriesToListsAndSavesMatchingHash() throws Exception {
+        UiConstant.dataFilePath = testBinaryFilePath;
+        UiConstant.saveFile = new File(testBinaryFilePath);
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.storageFormat = UiConstant.BINARY_FORMAT;
+        try {
+            DataFile dataFile = new DataFile();
+            writeBinaryTestFile();
+            Files.writeString(Path.of(testHashFilePath), dataFile.generateFileHash(new File(testBinaryFilePath)));
+
+            dataFile.readDataFile();
+
+            assertEquals("Captain", DataFile.userName);
+            assertEquals(1, HealthList.getBmisSize());
+            assertEquals(1, HealthList.getAppointments().size());
+            assertEquals(2, HealthList.getPeriodsSize());
+            assertEquals(2, WorkoutLists.getRuns().size());
+            assertEquals(1, WorkoutLists.getGyms().size());
+            assertEquals(2, WorkoutLists.getGyms().get(0).getStations().size());
+
+            dataFile.saveDataFile(DataFile.userName, HealthList.getBmis(), HealthList.getAppointments(),
+                    HealthList.getPeriods(), WorkoutLists.getWorkouts());
+            assertTrue(BinaryDataFile.isBinaryFile(new File(testBinaryFilePath)));
+            MerkleHasher hasher = new MerkleHasher(UiConstant.INTEGRITY_BLOCK_SIZE);
+            byte[] savedBytes = Files.readAllBytes(Path.of(testBinaryFilePath));
+            hasher.update(savedBytes, 0, savedBytes.length);
+            assertEquals(hasher.toHashFileString(), Files.readString(Path.of(testHashFilePath)));
+        } finally {
+            UiConstant.dataFilePath = originalDataFilePath;
+            UiConstant.saveFile = new File(originalDataFilePath);
+            UiConstant.hashFilePath = originalHashFilePath;
+            UiConstant.storageFormat = UiConstant.TEXT_FORMAT;
+        }
+    }
+}
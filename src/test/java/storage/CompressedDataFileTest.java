@@ -0,0 +1,166 @@
+package storage;
+
+import constants.UiConstant;
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import workouts.WorkoutLists;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedDataFileTest {
+    private final String testDataFilePath = "./test_compressed_data.txt";
+    private final String testHashFilePath = "./test_compressed_hash.txt";
+    private final String originalDataFilePath = "./pulsepilot_data.txt";
+    private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final List<String> textLines = Arrays.asList(
+            "NAME:Captain",
+            "BMI:1.75:70.00:22.86:15-03-2024",
+            "APPOINTMENT:10-03-2024:14.30:checkup",
+            "PERIOD:01-03-2024:07-03-2024:7",
+            "RUN:5.15:25.03:01-03-2024",
+            "GYM:2:12-03-2024:bench press:2:4:10.0,20.0:squat:1:5:45.5"
+    );
+
+    /**
+     * Sets the file paths to the test files and turns on compression.
+     */
+    @BeforeEach
+    void setUp() {
+        UiConstant.dataFilePath = testDataFilePath;
+        UiConstant.saveFile = new File(testDataFilePath);
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.storageCompression = UiConstant.GZIP_COMPRESSION;
+    }
+
+    /**
+     * Deletes the test files, clears the lists and resets the file paths and storage settings.
+     */
+    @AfterEach
+    void tearDown() {
+        new File(testDataFilePath).delete();
+        new File(testHashFilePath).delete();
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+        UiConstant.dataFilePath = originalDataFilePath;
+        UiConstant.saveFile = new File(originalDataFilePath);
+        UiConstant.hashFilePath = originalHashFilePath;
+        UiConstant.storageCompression = UiConstant.NO_COMPRESSION;
+        UiConstant.storageFormat = UiConstant.TEXT_FORMAT;
+    }
+
+    /**
+     * Compresses the test lines into the test data file.
+     */
+    private void writeCompressedTextFile() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = CompressedDataFile.compress(bytes)) {
+            out.write((String.join(System.lineSeparator(), textLines) + System.lineSeparator())
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(Path.of(testDataFilePath), bytes.toByteArray());
+    }
+
+    /**
+     * Tests that only files starting with the gzip magic number are detected as compressed.
+     */
+    @Test
+    void isCompressedFile_compressedAndPlainFiles_returnsCorrectly() throws IOException {
+        Files.write(Path.of(testDataFilePath), textLines);
+        assertFalse(CompressedDataFile.isCompressedFile(new File(testDataFilePath)));
+
+        writeCompressedTextFile();
+        assertTrue(CompressedDataFile.isCompressedFile(new File(testDataFilePath)));
+    }
+
+    /**
+     * Tests that streams are only decompressed when they start with the gzip magic number.
+     */
+    @Test
+    void decompressIfNeeded_compressedAndPlainStreams_returnsOriginalBytes() throws IOException {
+        byte[] original = "NAME:Captain".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = CompressedDataFile.compress(compressed)) {
+            out.write(original);
+        }
+
+        for (byte[] stored : new byte[][]{original, compressed.toByteArray()}) {
+            try (InputStream in = CompressedDataFile.decompressIfNeeded(new ByteArrayInputStream(stored))) {
+                assertArrayEquals(original, in.readAllBytes());
+            }
+        }
+    }
+
+    /**
+     * Tests that a compressed text data file is read line by line after being decompressed.
+     */
+    @Test
+    void open_compressedTextFile_readsEveryLine() throws Exception {
+        writeCompressedTextFile();
+
+        try (LineReader reader = LineReader.open(new File(testDataFilePath), null)) {
+            for (String expected : textLines) {
+                assertTrue(reader.hasNextLine());
+                assertEquals(expected, reader.nextLine());
+            }
+            assertFalse(reader.hasNextLine());
+        }
+    }
+
+    /**
+     * Tests that saving with compression turned on writes a compressed file, hashed as stored,
+     * which is loaded back into the lists in both storage formats.
+     */
+    @Test
+    void saveDataFile_compressionEnabled_writesCompressedFileThatLoadsBack() throws Exception {
+        for (String format : new String[]{UiConstant.TEXT_FORMAT, UiConstant.BINARY_FORMAT}) {
+            UiConstant.storageFormat = UiConstant.TEXT_FORMAT;
+            UiConstant.storageCompression = UiConstant.NO_COMPRESSION;
+            Files.write(Path.of(testDataFilePath), textLines);
+            DataFile dataFile = new DataFile();
+            Files.writeString(Path.of(testHashFilePath), dataFile.generateFileHash(new File(testDataFilePath)));
+            dataFile.readDataFile();
+
+            UiConstant.storageFormat = format;
+            UiConstant.storageCompression = UiConstant.GZIP_COMPRESSION;
+            dataFile.saveDataFile(DataFile.userName, HealthList.getBmis(), HealthList.getAppointments(),
+                    HealthList.getPeriods(), WorkoutLists.getWorkouts());
+            assertTrue(CompressedDataFile.isCompressedFile(new File(testDataFilePath)));
+            assertEquals(format.equals(UiConstant.BINARY_FORMAT),
+                    BinaryDataFile.isBinaryFile(new File(testDataFilePath)));
+            MerkleHasher hasher = new MerkleHasher(UiConstant.INTEGRITY_BLOCK_SIZE);
+            byte[] savedBytes = Files.readAllBytes(Path.of(testDataFilePath));
+            hasher.update(savedBytes, 0, savedBytes.length);
+            assertEquals(hasher.toHashFileString(), Files.readString(Path.of(testHashFilePath)));
+
+            WorkoutLists.clearWorkoutsRunGym();
+            HealthList.clearHealthLists();
+            dataFile.readDataFile();
+
+            assertEquals("Captain", DataFile.userName);
+            assertEquals(1, HealthList.getBmisSize());
+            assertEquals(1, HealthList.getAppointments().size());
+            assertEquals(1, HealthList.getPeriodsSize());
+            assertEquals(1, WorkoutLists.getRuns().size());
+            assertEquals(1, WorkoutLists.getGyms().size());
+            WorkoutLists.clearWorkoutsRunGym();
+            HealthList.clearHealthLists();
+        }
+    }
+}
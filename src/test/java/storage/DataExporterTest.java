@@ -0,0 +1,80 @@
+package storage;
+
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import workouts.Gym;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataExporterTest {
+    private final Path testExportPath = Path.of("./test_export");
+
+    /**
+     * Adds a dated run, an undated run and a gym session with two stations.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        new Run("25:00", "5.00", "15-02-2024");
+        new Run("01:02:30", "12.50");
+        Gym gym = new Gym("16-02-2024");
+        gym.addStation("bench press", "2", "4", "10.0,20.0");
+        gym.addStation("squat", "1", "5", "40.0");
+    }
+
+    /**
+     * Clears the lists and deletes the exported files.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+        if (Files.isDirectory(testExportPath)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(testExportPath)) {
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(testExportPath);
+        }
+    }
+
+    /**
+     * Tests that runs are exported with a header row and typed values, leaving missing dates empty.
+     */
+    @Test
+    void exportAll_csvFormat_writesRunsWithHeader() throws Exception {
+        int exportedCount = new DataExporter("csv").exportAll(testExportPath);
+
+        assertEquals(3, exportedCount);
+        assertEquals(List.of(
+                "run_index,date,distance_km,duration_s,pace_s_per_km",
+                "1,2024-02-15,5.00,1500,300",
+                "2,,12.50,3750,300"), Files.readAllLines(testExportPath.resolve("runs.csv")));
+        assertEquals(List.of("bmi_index,date,height_m,weight_kg,bmi"),
+                Files.readAllLines(testExportPath.resolve("bmi.csv")));
+    }
+
+    /**
+     * Tests that gym sessions are flattened to one row per set in TSV format.
+     */
+    @Test
+    void exportAll_tsvFormat_flattensGymSets() throws Exception {
+        new DataExporter("tsv").exportAll(testExportPath);
+
+        List<String> rows = Files.readAllLines(testExportPath.resolve("gym_sets.tsv"));
+        assertEquals(4, rows.size());
+        assertEquals("gym_index\tdate\tstation_index\tstation_name\tset_index\treps\tweight_kg", rows.get(0));
+        assertEquals("1\t2024-02-16\t1\tbench press\t2\t4\t20.0", rows.get(2));
+        assertEquals("1\t2024-02-16\t2\tsquat\t1\t5\t40.0", rows.get(3));
+    }
+}
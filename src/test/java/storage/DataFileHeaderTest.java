@@ -0,0 +1,70 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+import utility.CustomExceptions;
+import utility.Filters.DataType;
+import workouts.Gym;
+import workouts.Run;
+import workouts.Workout;
+import workouts.WorkoutLists;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DataFileHeaderTest {
+
+    /**
+     * Tests that the header of the current version counts the entries of each type, including types with none.
+     */
+    @Test
+    void fromLists_entries_countsEachType() throws CustomExceptions.InvalidInput {
+        try {
+            List<Workout> workouts = new ArrayList<>();
+            workouts.add(new Run("25:00", "5.00"));
+            workouts.add(new Gym());
+            workouts.add(new Run("20:00", "3.00"));
+
+            DataFileHeader header = DataFileHeader.fromLists(List.of(), List.of(), List.of(), workouts);
+
+            assertEquals("PULSEPILOT:2:BMI:0:APPOINTMENT:0:PERIOD:0:GYM:1:RUN:2", header.toHeaderLine());
+        } finally {
+            WorkoutLists.clearWorkoutsRunGym();
+        }
+    }
+
+    /**
+     * Tests that a data file starting with the name is read as version 1 without counts.
+     */
+    @Test
+    void parse_nameLine_returnsLegacyVersion() throws IOException {
+        DataFileHeader header = DataFileHeader.parse("NAME:John Doe");
+
+        assertEquals(1, header.getVersion());
+        assertEquals(0, header.getCount(DataType.RUN));
+    }
+
+    /**
+     * Tests that counts of types not known to this version are skipped.
+     */
+    @Test
+    void parse_unknownType_skipsCount() throws IOException {
+        DataFileHeader header = DataFileHeader.parse("PULSEPILOT:3:RUN:12:SLEEP:4:GYM:5");
+
+        assertEquals(3, header.getVersion());
+        assertEquals(12, header.getCount(DataType.RUN));
+        assertEquals(5, header.getCount(DataType.GYM));
+    }
+
+    /**
+     * Tests that a header without a valid version is rejected.
+     */
+    @Test
+    void parse_malformedHeader_throwsIoException() {
+        assertThrows(IOException.class, () -> DataFileHeader.parse("PULSEPILOT:two:RUN:1"));
+        assertThrows(IOException.class, () -> DataFileHeader.parse("PULSEPILOT:"));
+    }
+}
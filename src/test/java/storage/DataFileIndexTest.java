@@ -0,0 +1,208 @@
+package storage;
+
+import constants.UiConstant;
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utility.CustomExceptions;
+import utility.Filters.DataType;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DataFileIndexTest {
+    private final String testDataFilePath = "./test_index_data.txt";
+    private final String testHashFilePath = "./test_index_hash.txt";
+    private final String testIndexFilePath = "./test_index.bin";
+    private final String originalDataFilePath = "./pulsepilot_data.txt";
+    private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final String originalIndexFilePath = "./pulsepilot_index.bin";
+    private final LocalDate fromDate = LocalDate.of(2024, 3, 1);
+    private final LocalDate toDate = LocalDate.of(2024, 3, 31);
+
+    /**
+     * Sets the file paths to the test files, then loads a text data file and saves it with its index.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        UiConstant.dataFilePath = testDataFilePath;
+        UiConstant.saveFile = new File(testDataFilePath);
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.indexFilePath = testIndexFilePath;
+
+        Files.write(Path.of(testDataFilePath), List.of(
+                "NAME:John Doe",
+                "BMI:1.75:70.00:22.86:15-03-2024",
+                "BMI:1.75:71.00:23.18:10-02-2024",
+                "RUN:1.00:25.00:20-03-2024",
+                "RUN:2.00:25.00:01-02-2024",
+                "GYM:1:05-03-2024:bench press:2:4:10.0,20.0",
+                "RUN:3.00:25.00:NA",
+                "RUN:4.00:25.00:02-03-2024"));
+        DataFile dataFile = new DataFile();
+        Files.writeString(Path.of(testHashFilePath), dataFile.generateFileHash(new File(testDataFilePath)));
+        dataFile.readDataFile();
+        dataFile.saveDataFile(DataFile.userName, HealthList.getBmis(), HealthList.getAppointments(),
+                HealthList.getPeriods(), WorkoutLists.getWorkouts());
+        clearLists();
+    }
+
+    /**
+     * Clears the lists, deletes the test files and resets the settings.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        clearLists();
+        Files.deleteIfExists(Path.of(testDataFilePath));
+        Files.deleteIfExists(Path.of(testHashFilePath));
+        Files.deleteIfExists(Path.of(testIndexFilePath));
+        UiConstant.dataFilePath = originalDataFilePath;
+        UiConstant.saveFile = new File(originalDataFilePath);
+        UiConstant.hashFilePath = originalHashFilePath;
+        UiConstant.indexFilePath = originalIndexFilePath;
+        UiConstant.storageFormat = UiConstant.TEXT_FORMAT;
+    }
+
+    private void clearLists() {
+        DeferredHistory.clear();
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+    }
+
+    private List<String> getRunDistances() {
+        List<String> distances = new ArrayList<>();
+        for (Run run : WorkoutLists.getRuns()) {
+            distances.add(run.getDistance());
+        }
+        return distances;
+    }
+
+    /**
+     * Tests that only the entries of the given type dated within the range are read, in date order.
+     */
+    @Test
+    void readDateRange_indexedDataFile_readsOnlyMatchingEntries() throws CustomExceptions.FileReadError {
+        assertTrue(new File(testIndexFilePath).exists());
+
+        int readCount = new DataFile().readDateRange(List.of(DataType.RUN), fromDate, toDate);
+
+        assertEquals(2, readCount);
+        assertEquals(List.of("4.00", "1.00"), getRunDistances());
+        assertEquals(0, HealthList.getBmisSize());
+        assertTrue(WorkoutLists.getGyms().isEmpty());
+    }
+
+    /**
+     * Tests that the same entries are read by reading the whole data file when the index is out of date.
+     */
+    @Test
+    void readDateRange_staleIndex_scansDataFile() throws Exception {
+        String headerLine = DataFileHeader.fromLists(List.of(), List.of(), List.of(), List.of()).toHeaderLine();
+        Files.write(Path.of(testIndexFilePath), new DataFileIndex.Builder(headerLine, "John Doe").build("stale"));
+
+        int readCount = new DataFile().readDateRange(List.of(DataType.RUN, DataType.BMI), fromDate, toDate);
+
+        assertEquals(3, readCount);
+        assertEquals(List.of("1.00", "4.00"), getRunDistances());
+        assertEquals(1, HealthList.getBmisSize());
+    }
+
+    /**
+     * Tests that dates which are not valid, including ones shaped like a date, are left out instead of throwing.
+     */
+    @Test
+    void toEpochDay_malformedDate_returnsNull() {
+        assertEquals(LocalDate.of(2024, 3, 2).toEpochDay(), (long) DataFileIndex.toEpochDay("02-03-2024"));
+        assertNull(DataFileIndex.toEpochDay("NA"));
+        assertNull(DataFileIndex.toEpochDay("0x-03-2024"));
+        assertNull(DataFileIndex.toEpochDay("+1-03-2024"));
+        assertNull(DataFileIndex.toEpochDay("02-03"));
+        assertNull(DataFileIndex.toEpochDay("31-02-2024"));
+    }
+
+    /**
+     * Tests that an entry with a malformed date is skipped when the data file is scanned, and left out of its index.
+     */
+    @Test
+    void readDateRange_malformedDate_skipsEntry() throws Exception {
+        List<String> lines = List.of("NAME:John Doe", "RUN:1.00:25.00:20-03-2024", "RUN:2.00:25.00:0x-03-2024",
+                "RUN:3.00:25.00:31-03-2o24", "RUN:4.00:25.00:32-03-2024");
+        Files.write(Path.of(testDataFilePath), lines);
+        Files.writeString(Path.of(testHashFilePath), new DataFile().generateFileHash(new File(testDataFilePath)));
+        Files.deleteIfExists(Path.of(testIndexFilePath));
+
+        int readCount = new DataFile().readDateRange(List.of(DataType.RUN), fromDate, toDate);
+
+        assertEquals(1, readCount);
+        assertEquals(List.of("1.00"), getRunDistances());
+
+        DataFileIndex.Builder builder = new DataFileIndex.Builder(UiConstant.HEADER_LABEL, "John Doe");
+        for (String line : lines.subList(1, lines.size())) {
+            builder.add(line);
+        }
+        DataInputStream index = new DataInputStream(new ByteArrayInputStream(builder.build("root")));
+        index.readInt();
+        index.readInt();
+        index.readUTF();
+        assertEquals(1, index.readInt());
+    }
+
+    /**
+     * Tests that an entry in a block that no longer matches its hash is not read.
+     */
+    @Test
+    void readDateRange_tamperedEntry_throwsFileReadError() throws IOException {
+        String contents = Files.readString(Path.of(testDataFilePath));
+        Files.writeString(Path.of(testDataFilePath), contents.replace("RUN:1.00", "RUN:9.00"));
+
+        assertThrows(CustomExceptions.FileReadError.class, () ->
+                new DataFile().readDateRange(List.of(DataType.RUN), fromDate, toDate));
+        assertTrue(WorkoutLists.getRuns().isEmpty());
+    }
+
+    /**
+     * Tests that a hash file that does not match its own root is reported without deleting any file.
+     */
+    @Test
+    void readDateRange_tamperedHashFile_throwsWithoutDeletingFiles() throws IOException {
+        List<String> hashLines = Files.readAllLines(Path.of(testHashFilePath));
+        hashLines.set(1, "0".repeat(hashLines.get(1).length()));
+        Files.write(Path.of(testHashFilePath), hashLines);
+
+        assertThrows(CustomExceptions.FileReadError.class, () ->
+                new DataFile().readDateRange(List.of(DataType.RUN), fromDate, toDate));
+        assertTrue(new File(testDataFilePath).exists());
+        assertTrue(new File(testHashFilePath).exists());
+    }
+
+    /**
+     * Tests that saving in a format that is not indexed removes the index.
+     */
+    @Test
+    void saveDataFile_binaryFormat_deletesIndex() throws Exception {
+        DataFile dataFile = new DataFile();
+        dataFile.readDataFile();
+        UiConstant.storageFormat = UiConstant.BINARY_FORMAT;
+
+        dataFile.saveDataFile(DataFile.userName, HealthList.getBmis(), HealthList.getAppointments(),
+                HealthList.getPeriods(), WorkoutLists.getWorkouts());
+
+        assertFalse(new File(testIndexFilePath).exists());
+    }
+}
@@ -15,7 +15,6 @@ import workouts.Workout;
 import workouts.WorkoutLists;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -37,6 +36,8 @@ public class DataFileTest {
     private final String testHashFilePath = "./test_hash.txt";
     private final String originalDataFilePath = "./pulsepilot_data.txt";
     private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final String testJournalFilePath = "./test_data_journal.txt";
+    private final String originalJournalFilePath = "./pulsepilot_journal.txt";
 
     /**
      * Sets up the test environment by setting the file paths to the test files.
@@ -47,6 +48,7 @@ public class DataFileTest {
         UiConstant.dataFilePath = testDataFilePath;
         UiConstant.saveFile = new File(testDataFilePath);
         UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.journalFilePath = testJournalFilePath;
     }
 
     /**
@@ -62,6 +64,9 @@ public class DataFileTest {
         UiConstant.dataFilePath = originalDataFilePath;
         UiConstant.saveFile = new File(originalDataFilePath);
         UiConstant.hashFilePath = originalHashFilePath;
+        JournalFile.closeJournal();
+        new File(testJournalFilePath).delete();
+        UiConstant.journalFilePath = originalJournalFilePath;
     }
 
     /**
@@ -87,9 +92,10 @@ public class DataFileTest {
                                         ArrayList<Workout> workoutArrayList) {
         try {
             List<String> lines = Files.readAllLines(Path.of(testDataFilePath));
-            assertEquals("NAME:" + name, lines.get(0));
+            assertTrue(lines.get(0).startsWith("PULSEPILOT:2:"));
+            assertEquals("NAME:" + name, lines.get(1));
 
-            int index = 1;
+            int index = 2;
             for (Bmi bmi : bmiArrayList) {
                 assertEquals("BMI:" + bmi.getHeight() + ":" + bmi.getWeight() + ":" + bmi.getBmiValueString() + ":" +
                         bmi.getDate(), lines.get(index++));
@@ -172,18 +178,19 @@ public class DataFileTest {
         List<String> lines = Files.readAllLines(Path.of(testDataFilePath));
 
         if (!lines.isEmpty()) {
-            assertEquals("NAME:John Doe", lines.get(0));
-            assertEquals("BMI:1.70:70.00:24.22:01-04-2023", lines.get(1));
-            assertEquals("BMI:1.80:80.00:24.69:15-04-2023", lines.get(2));
-            assertEquals("APPOINTMENT:01-05-2023:10.00:Dentist Appointment", lines.get(3));
-            assertEquals("APPOINTMENT:15-05-2023:14.30:Doctor's Checkup", lines.get(4));
-            assertEquals("PERIOD:01-03-2023:05-03-2023:5", lines.get(5));
-            assertEquals("PERIOD:01-04-2023:04-04-2023:4", lines.get(6));
-            assertEquals("RUN:5.00:30.00:01-04-2023", lines.get(7));
+            assertEquals("PULSEPILOT:2:BMI:2:APPOINTMENT:2:PERIOD:2:GYM:2:RUN:1", lines.get(0));
+            assertEquals("NAME:John Doe", lines.get(1));
+            assertEquals("BMI:1.70:70.00:24.22:01-04-2023", lines.get(2));
+            assertEquals("BMI:1.80:80.00:24.69:15-04-2023", lines.get(3));
+            assertEquals("APPOINTMENT:01-05-2023:10.00:Dentist Appointment", lines.get(4));
+            assertEquals("APPOINTMENT:15-05-2023:14.30:Doctor's Checkup", lines.get(5));
+            assertEquals("PERIOD:01-03-2023:05-03-2023:5", lines.get(6));
+            assertEquals("PERIOD:01-04-2023:04-04-2023:4", lines.get(7));
+            assertEquals("RUN:5.00:30.00:01-04-2023", lines.get(8));
             assertEquals("GYM:2:11-11-1997:bench press:4:4:10.0,20.0,30.0," +
-                    "40.0:squats:4:3:20.0,30.0,40.0,50.0", lines.get(8));
+                    "40.0:squats:4:3:20.0,30.0,40.0,50.0", lines.get(9));
             assertEquals("GYM:2:NA:bench press:4:4:10.0,20.0,30.0,40.0:squats:4:3:20.0,30.0,40.0,50.0",
-                    lines.get(9));
+                    lines.get(10));
         } else {
             fail("Data file is empty");
         }
@@ -346,35 +353,44 @@ public class DataFileTest {
     }
 
     /**
-     * Tests the verifyIntegrity method with an invalid file.
-     * Expects a FileCreateError exception to be thrown.
+     * Tests the readDataFile method with a data file that has a corrupted block.
+     * Verifies that only the entries touching the corrupted block are discarded.
      */
     @Test
-    void verifyIntegrity_invalidFileName_expectsFileCreateErrorException() {
-        File testFile = new File("");
-        DataFile dataFile = new DataFile();
-        assertThrows(CustomExceptions.FileCreateError.class, () -> dataFile.verifyIntegrity(testFile));
+    void readDataFile_corruptedBlock_recoversEntriesInIntactBlocks() throws Exception {
+        cleanup();
+        String runLine = "RUN:5.00:25.00:NA" + System.lineSeparator();
+        StringBuilder contents = new StringBuilder("NAME:John Doe" + System.lineSeparator());
+        int numberOfRuns = UiConstant.INTEGRITY_BLOCK_SIZE * 2 / runLine.length();
+        for (int i = 0; i < numberOfRuns; i++) {
+            contents.append(runLine);
+        }
+        byte[] bytes = contents.toString().getBytes();
+        MerkleHasher hasher = new MerkleHasher(UiConstant.INTEGRITY_BLOCK_SIZE);
+        hasher.update(bytes, 0, bytes.length);
+        Files.writeString(Path.of(testHashFilePath), hasher.toHashFileString());
+
+        bytes[UiConstant.INTEGRITY_BLOCK_SIZE + 1] = 'X';
+        Files.write(Path.of(testDataFilePath), bytes);
+
+        new DataFile().readDataFile();
+
+        int maxDiscarded = UiConstant.INTEGRITY_BLOCK_SIZE / runLine.length() + 2;
+        assertEquals("John Doe", DataFile.userName);
+        assertTrue(WorkoutLists.getRuns().size() < numberOfRuns);
+        assertTrue(WorkoutLists.getRuns().size() >= numberOfRuns - maxDiscarded);
+        cleanup();
     }
 
     /**
-     * Tests the readHashFromFile method with a valid hash file.
-     * Verifies that the correct hash is read.
+     * Tests the verifyIntegrity method with an invalid file.
+     * Expects a FileCreateError exception to be thrown.
      */
     @Test
-    void readHashFromFile_validHashFile_returnsCorrectHash() throws IOException {
-        // Arrange
-        String expectedHash = "abc123def456";
-        File hashFile = new File(testHashFilePath);
-        try (FileWriter writer = new FileWriter(hashFile)) {
-            writer.write(expectedHash);
-        }
-
-        // Act
+    void verifyIntegrity_invalidFileName_expectsFileCreateErrorException() {
+        File testFile = new File("");
         DataFile dataFile = new DataFile();
-        String actualHash = dataFile.readHashFromFile(hashFile);
-
-        // Assert
-        assertEquals(expectedHash, actualHash);
+        assertThrows(CustomExceptions.FileCreateError.class, () -> dataFile.verifyIntegrity(testFile));
     }
 
     /**
@@ -467,7 +483,7 @@ public class DataFileTest {
      * Verifies that the error is logged and the files are deleted.
      */
     @Test
-    void processFail_logsErrorAndDeletesFiles() {
+    void processFail_logsErrorAndDeletesFiles() throws IOException {
         // Arrange
         DataFile dataFile = new DataFile();
         String errorString = "Test error string";
@@ -488,4 +504,58 @@ public class DataFileTest {
         // Check if the hash file was deleted
         assertFalse(new File(hashFilePath).exists());
     }
+
+    /**
+     * Tests the applyJournalRecord method with an add record followed by a delete record.
+     * Verifies that the run is added and then removed from both the run and workout lists.
+     */
+    @Test
+    void applyJournalRecord_addThenDelete_updatesWorkoutLists() throws CustomExceptions.InvalidInput,
+            CustomExceptions.InsufficientInput, CustomExceptions.FileReadError {
+        // Arrange
+        cleanup();
+        DataFile dataFile = new DataFile();
+
+        // Act and Assert
+        dataFile.applyJournalRecord("ADD:RUN:5.00:25.00:01-03-2024");
+        assertEquals(1, WorkoutLists.getRunSize());
+        assertEquals(1, WorkoutLists.getWorkouts().size());
+
+        dataFile.applyJournalRecord("DELETE:RUN:0");
+        assertEquals(0, WorkoutLists.getRunSize());
+        assertEquals(0, WorkoutLists.getWorkouts().size());
+        cleanup();
+    }
+
+    /**
+     * Tests the replayJournal method with a record that cannot be applied in the middle of the journal.
+     * Verifies that the journal is set aside with every record instead of being cut short.
+     */
+    @Test
+    void replayJournal_invalidRecord_setsJournalAside() throws Exception {
+        // Arrange
+        cleanup();
+        DataFile dataFile = new DataFile();
+        dataFile.saveDataFile("John Doe", new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>());
+        List<String> journal = List.of("BASE:" + dataFile.readBaseHash(), "ADD:RUN:5.00:25.00:01-03-2024",
+                "ADD:RUN:invalid", "ADD:RUN:5.00:30.00:02-03-2024");
+        Files.write(Path.of(testJournalFilePath), journal);
+
+        // Act
+        dataFile.replayJournal();
+
+        // Assert
+        assertEquals(1, WorkoutLists.getRunSize());
+        assertFalse(JournalFile.isOpen());
+        assertFalse(new File(testJournalFilePath).exists());
+        File[] rejectedFiles = new File(".").listFiles((directory, fileName) ->
+                fileName.startsWith("test_data_journal.txt.")
+                        && fileName.endsWith(UiConstant.JOURNAL_REJECTED_FILE_SUFFIX));
+        assertNotNull(rejectedFiles);
+        assertEquals(1, rejectedFiles.length);
+        assertEquals(journal, Files.readAllLines(rejectedFiles[0].toPath()));
+        rejectedFiles[0].delete();
+        cleanup();
+    }
 }
@@ -0,0 +1,127 @@
+package storage;
+
+import constants.UiConstant;
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utility.CustomExceptions;
+import utility.Filters.DataType;
+import workouts.Gym;
+import workouts.WorkoutLists;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeferredHistoryTest {
+    private final String testDataFilePath = "./test_deferred_data.txt";
+    private final String testHashFilePath = "./test_deferred_hash.txt";
+    private final String originalDataFilePath = "./pulsepilot_data.txt";
+    private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final int originalRecentHistoryCount = UiConstant.recentHistoryCount;
+
+    /**
+     * Sets the file paths to the test files and keeps two recent entries of each type.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        UiConstant.dataFilePath = testDataFilePath;
+        UiConstant.saveFile = new File(testDataFilePath);
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.recentHistoryCount = 2;
+
+        String contents = String.join(System.lineSeparator(),
+                "NAME:John Doe",
+                "BMI:1.75:70.00:22.86:15-03-2024",
+                "BMI:1.75:71.00:23.18:10-03-2024",
+                "BMI:1.75:72.00:23.51:05-03-2024",
+                "RUN:1.00:25.00:NA",
+                "RUN:2.00:25.00:NA",
+                "GYM:1:NA:bench press:2:4:10.0,20.0",
+                "RUN:3.00:25.00:NA",
+                "RUN:4.00:25.00:NA") + System.lineSeparator();
+        byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+        Files.write(Path.of(testDataFilePath), bytes);
+        MerkleHasher hasher = new MerkleHasher(UiConstant.INTEGRITY_BLOCK_SIZE);
+        hasher.update(bytes, 0, bytes.length);
+        Files.writeString(Path.of(testHashFilePath), hasher.toHashFileString());
+    }
+
+    /**
+     * Clears the lists and deferred entries, deletes the test files and resets the settings.
+     */
+    @AfterEach
+    void tearDown() {
+        DeferredHistory.clear();
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+        new File(testDataFilePath).delete();
+        new File(testHashFilePath).delete();
+        UiConstant.dataFilePath = originalDataFilePath;
+        UiConstant.saveFile = new File(originalDataFilePath);
+        UiConstant.hashFilePath = originalHashFilePath;
+        UiConstant.recentHistoryCount = originalRecentHistoryCount;
+    }
+
+    /**
+     * Tests that only the recent entries of each type are loaded when the data file is read.
+     */
+    @Test
+    void readDataFile_longHistory_loadsRecentEntriesOnly() throws Exception {
+        new DataFile().readDataFile();
+
+        assertTrue(DeferredHistory.isPending());
+        assertEquals(2, HealthList.getBmisSize());
+        assertEquals("2024-03-15", HealthList.getBmis().get(0).getDate().toString());
+        assertEquals(2, WorkoutLists.getRuns().size());
+        assertEquals("3.00", WorkoutLists.getRuns().get(0).getDistance());
+        assertEquals(0, WorkoutLists.getGyms().size());
+        assertEquals(2, DeferredHistory.getDeferredCount(DataType.RUN));
+        assertEquals(1, DeferredHistory.getDeferredCount(DataType.GYM));
+    }
+
+    /**
+     * Tests that loading the older entries adds them before the recent workouts, keeping the order of the file.
+     */
+    @Test
+    void load_afterLazyRead_addsOlderEntriesInFileOrder() throws Exception {
+        new DataFile().readDataFile();
+        DeferredHistory.load();
+
+        assertFalse(DeferredHistory.isPending());
+        assertEquals(3, HealthList.getBmisSize());
+        assertEquals("2024-03-05", HealthList.getBmis().get(2).getDate().toString());
+        assertEquals(4, WorkoutLists.getRuns().size());
+        assertEquals(5, WorkoutLists.getWorkouts().size());
+        assertEquals(Gym.class, WorkoutLists.getWorkouts().get(2).getClass());
+        for (int i = 0; i < 4; i++) {
+            assertEquals((i + 1) + ".00", WorkoutLists.getRuns().get(i).getDistance());
+        }
+    }
+
+    /**
+     * Tests that older entries are not loaded from a data file changed since it was read,
+     * and that the data file is not saved without them.
+     */
+    @Test
+    void load_dataFileChanged_keepsEntriesPendingAndRefusesToSave() throws Exception {
+        DataFile dataFile = new DataFile();
+        dataFile.readDataFile();
+        Files.writeString(Path.of(testDataFilePath), "NAME:Jane" + System.lineSeparator());
+
+        DeferredHistory.load();
+
+        assertTrue(DeferredHistory.isPending());
+        assertEquals(2, WorkoutLists.getRuns().size());
+        assertThrows(CustomExceptions.FileWriteError.class, () -> dataFile.saveDataFile(DataFile.userName,
+                HealthList.getBmis(), HealthList.getAppointments(), HealthList.getPeriods(),
+                WorkoutLists.getWorkouts()));
+    }
+}
@@ -0,0 +1,104 @@
+package storage;
+
+import constants.ErrorConstant;
+import constants.UiConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utility.CustomExceptions;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EventLogTest {
+    private String originalEventLogPath;
+    private File eventLogFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        originalEventLogPath = UiConstant.eventLogPath;
+        eventLogFile = File.createTempFile("events", ".ndjson");
+        UiConstant.eventLogPath = eventLogFile.getPath();
+    }
+
+    @AfterEach
+    void tearDown() {
+        UiConstant.eventLogPath = originalEventLogPath;
+        eventLogFile.delete();
+    }
+
+    /**
+     * Tests that each field of an event line can be read back, with a null error for a command that succeeded.
+     */
+    @Test
+    void readField_eventLine_returnsValues() {
+        String line = EventLog.toEventLine(1712000000000L, "WORKOUT", "RUN", 81234, null);
+
+        assertEquals("{\"time\":1712000000000,\"command\":\"WORKOUT\",\"type\":\"RUN\",\"nanos\":81234,"
+                + "\"outcome\":\"OK\",\"error\":null}", line);
+        assertEquals("WORKOUT", EventLog.readField(line, "command"));
+        assertEquals("81234", EventLog.readField(line, "nanos"));
+        assertNull(EventLog.readField(line, "error"));
+    }
+
+    /**
+     * Tests that an error is put down to the error constant it was raised with, and other messages to OTHER,
+     * including shown messages that only contain a constant.
+     */
+    @Test
+    void findErrorCode_errorMessage_returnsConstantName() {
+        CustomExceptions.InvalidInput error = new CustomExceptions.InvalidInput(
+                ErrorConstant.INVALID_START_DATE_ERROR, ErrorConstant.INVALID_RUN_DISTANCE_ERROR);
+
+        assertEquals("INVALID_RUN_DISTANCE_ERROR", EventLog.findErrorCode(ErrorConstant.INVALID_RUN_DISTANCE_ERROR));
+        assertEquals("INVALID_START_DATE_ERROR", EventLog.findErrorCode(error.getErrorMessage()));
+        assertEquals(UiConstant.OTHER_ERROR_CODE, EventLog.findErrorCode(error.getMessage()));
+        assertEquals(UiConstant.OTHER_ERROR_CODE, EventLog.findErrorCode("Something unexpected"));
+        assertEquals(UiConstant.OTHER_ERROR_CODE, EventLog.findErrorCode(null));
+    }
+
+    /**
+     * Tests that only errors shown by the command thread while a command runs are noted for it.
+     */
+    @Test
+    void recordError_outsideCommand_isIgnored() throws InterruptedException {
+        EventLog.recordCommand("HELP", "NA", 0);
+        EventLog.recordError(ErrorConstant.HISTORY_LOAD_ERROR);
+        assertNull(EventLog.getPendingErrorCode());
+
+        EventLog.startCommand();
+        Thread background = new Thread(() -> EventLog.recordError(ErrorConstant.HISTORY_LOAD_ERROR));
+        background.start();
+        background.join();
+        assertNull(EventLog.getPendingErrorCode());
+
+        EventLog.recordError(ErrorConstant.INVALID_RUN_DISTANCE_ERROR);
+        assertEquals("INVALID_RUN_DISTANCE_ERROR", EventLog.getPendingErrorCode());
+        EventLog.recordCommand("WORKOUT", "RUN", 0);
+        assertNull(EventLog.getPendingErrorCode());
+    }
+
+    /**
+     * Tests that the event log is summarised line by line, skipping lines that are not events.
+     */
+    @Test
+    void summarise_eventLog_countsCommandsAndErrors() throws IOException {
+        Files.write(eventLogFile.toPath(), List.of(
+                EventLog.toEventLine(1L, "WORKOUT", "RUN", 3000000, null),
+                EventLog.toEventLine(2L, "WORKOUT", "GYM", 1000000, "INVALID_RUN_TIME_ERROR"),
+                "not an event",
+                EventLog.toEventLine(3L, "HELP", "NA", 500000, null)));
+
+        EventSummary summary = EventLog.summarise();
+
+        assertEquals(List.of("HELP", "WORKOUT"), List.copyOf(summary.getCommands()));
+        assertEquals(2, summary.getCount("WORKOUT"));
+        assertEquals(1, summary.getErrorCount("WORKOUT"));
+        assertEquals(Integer.valueOf(1), summary.getErrorCounts().get("INVALID_RUN_TIME_ERROR"));
+    }
+}
@@ -0,0 +1,24 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventSummaryTest {
+
+    /**
+     * Tests that percentiles use the nearest rank of the sorted latencies, beyond the initial capacity.
+     */
+    @Test
+    void getPercentileNanos_manyEvents_returnsNearestRank() {
+        EventSummary summary = new EventSummary();
+        for (int i = 100; i >= 1; i--) {
+            summary.add("HISTORY", i * 1000L, null);
+        }
+
+        assertEquals(100, summary.getCount("HISTORY"));
+        assertEquals(50000, summary.getPercentileNanos("HISTORY", 50));
+        assertEquals(99000, summary.getPercentileNanos("HISTORY", 99));
+        assertEquals(0, summary.getPercentileNanos("LATEST", 50));
+    }
+}
@@ -0,0 +1,139 @@
+package storage;
+
+import constants.UiConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utility.Filters.DataType;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalFileTest {
+    private final String testJournalFilePath = "./test_journal.txt";
+    private final String originalJournalFilePath = "./pulsepilot_journal.txt";
+
+    /**
+     * Sets up the test environment by setting the journal path to the test file.
+     */
+    @BeforeEach
+    void setUp() {
+        UiConstant.journalFilePath = testJournalFilePath;
+    }
+
+    /**
+     * Closes the journal, deletes the test file and resets the journal path.
+     */
+    @AfterEach
+    void tearDown() {
+        JournalFile.closeJournal();
+        new File(testJournalFilePath).delete();
+        UiConstant.journalFilePath = originalJournalFilePath;
+    }
+
+    /**
+     * Tests that records appended to the journal are read back in order for the same base hash.
+     */
+    @Test
+    void readJournal_sameBaseHash_returnsAppendedRecords() throws IOException {
+        JournalFile.startJournal("abc", new ArrayList<>());
+        JournalFile.appendAdd("RUN:5.00:25.00:01-03-2024");
+        JournalFile.appendDelete(DataType.RUN, 0);
+        JournalFile.closeJournal();
+
+        List<String> records = JournalFile.readJournal("abc");
+        assertEquals(2, records.size());
+        assertEquals("ADD:RUN:5.00:25.00:01-03-2024", records.get(0));
+        assertEquals("DELETE:RUN:0", records.get(1));
+    }
+
+    /**
+     * Tests that a journal written on top of another data file is not replayed.
+     */
+    @Test
+    void readJournal_differentBaseHash_returnsNoRecords() throws IOException {
+        JournalFile.startJournal("abc", new ArrayList<>());
+        JournalFile.appendAdd("RUN:5.00:25.00:01-03-2024");
+        JournalFile.closeJournal();
+
+        assertTrue(JournalFile.readJournal("def").isEmpty());
+    }
+
+    /**
+     * Tests that compaction is only due once the journal is closed or has grown past the threshold.
+     */
+    @Test
+    void isCompactionDue_journalStates_returnsCorrectly() throws IOException {
+        assertTrue(JournalFile.isCompactionDue());
+
+        JournalFile.startJournal("abc", new ArrayList<>());
+        assertFalse(JournalFile.isCompactionDue());
+
+        for (int i = 0; i < UiConstant.JOURNAL_COMPACTION_THRESHOLD; i++) {
+            JournalFile.appendDelete(DataType.BMI, i);
+        }
+        assertTrue(JournalFile.isCompactionDue());
+    }
+
+    /**
+     * Tests that the size of the journal tracked as records are appended matches the size of the file.
+     */
+    @Test
+    void getByteCount_recordsAppended_matchesFileSize() throws IOException {
+        JournalFile.startJournal("abc", List.of("ADD:RUN:5.00:25.00:01-03-2024"));
+        JournalFile.appendAdds(List.of("BMI:1.75:70.00:22.86:15-03-2024", "RUN:3.00:25.00:NA"));
+        JournalFile.appendDelete(DataType.RUN, 0);
+
+        assertEquals(new File(testJournalFilePath).length(), JournalFile.getByteCount());
+    }
+
+    /**
+     * Tests that a final record cut short by a crash is dropped, while complete records are kept.
+     */
+    @Test
+    void readJournal_incompleteFinalRecord_dropsOnlyThatRecord() throws IOException {
+        Files.writeString(Path.of(testJournalFilePath), "BASE:abc" + System.lineSeparator()
+                + "ADD:RUN:5.00:25.00:01-03-2024" + System.lineSeparator() + "DELETE:RUN:1");
+
+        assertEquals(List.of("ADD:RUN:5.00:25.00:01-03-2024"), JournalFile.readJournal("abc"));
+    }
+
+    /**
+     * Tests that starting a journal replaces the old one through a temporary file that is not left behind.
+     */
+    @Test
+    void startJournal_existingJournal_replacesWithoutTempFile() throws IOException {
+        Files.writeString(Path.of(testJournalFilePath), "BASE:old" + System.lineSeparator());
+
+        JournalFile.startJournal("abc", List.of("ADD:RUN:5.00:25.00:01-03-2024"));
+        JournalFile.appendDelete(DataType.RUN, 0);
+
+        assertEquals(List.of("BASE:abc", "ADD:RUN:5.00:25.00:01-03-2024", "DELETE:RUN:0"),
+                Files.readAllLines(Path.of(testJournalFilePath)));
+        assertFalse(new File(testJournalFilePath + UiConstant.JOURNAL_START_FILE_SUFFIX).exists());
+    }
+
+    /**
+     * Tests that a journal set aside keeps all of its records and is no longer appended to.
+     */
+    @Test
+    void setAsideJournal_openJournal_movesJournalAndCloses() throws IOException {
+        JournalFile.startJournal("abc", List.of("ADD:RUN:5.00:25.00:01-03-2024"));
+
+        Path rejectedPath = JournalFile.setAsideJournal();
+        JournalFile.appendDelete(DataType.RUN, 0);
+
+        assertFalse(new File(testJournalFilePath).exists());
+        assertFalse(JournalFile.isOpen());
+        assertEquals(List.of("BASE:abc", "ADD:RUN:5.00:25.00:01-03-2024"), Files.readAllLines(rejectedPath));
+        Files.delete(rejectedPath);
+    }
+}
@@ -2,7 +2,16 @@ package storage;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
 class LogFileTest {
     static LogFile logTest = LogFile.getInstance();
@@ -15,4 +24,66 @@ class LogFileTest {
     void initializeLogFile_noInput_logFileHandlerNotNull() {
         assertNotNull(LogFile.logFileHandler);
     }
+
+    /**
+     * Tests that a log written to the buffer can be read back from the log file straight away.
+     */
+    @Test
+    void searchLog_logJustWritten_findsLog() throws IOException {
+        LogFile.writeLog("Buffered log test entry", false);
+
+        List<String> matches = LogFile.searchLog("Buffered log test entry", 1);
+        assertEquals(1, matches.size());
+        assertTrue(matches.get(0).contains("Buffered log test entry"));
+    }
+
+    /**
+     * Tests that the tail of the log ends with the latest log and holds no more lines than asked for.
+     */
+    @Test
+    void tailLog_logJustWritten_endsWithLog() throws IOException {
+        LogFile.writeLog("Tail log test entry", false);
+
+        List<String> lines = LogFile.tailLog(3);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(2).contains("Tail log test entry"));
+    }
+
+    /**
+     * Tests that lines are read from the last to the first, including a last line with no line break and blocks
+     * that split a line.
+     */
+    @Test
+    void previousLine_multipleBlocks_readsLinesBackwards() throws IOException {
+        File textFile = File.createTempFile("reverse", ".txt");
+        textFile.deleteOnExit();
+        String longLine = "x".repeat(10000);
+        try (FileWriter writer = new FileWriter(textFile)) {
+            writer.write("first\r\n" + longLine + "\n\nlast");
+        }
+
+        try (ReverseLineReader reader = new ReverseLineReader(textFile)) {
+            assertEquals("last", reader.previousLine());
+            assertEquals("", reader.previousLine());
+            assertEquals(longLine, reader.previousLine());
+            assertEquals("first", reader.previousLine());
+            assertEquals(null, reader.previousLine());
+        }
+    }
+
+    /**
+     * Tests that the message of a debug log is never built at the default level.
+     */
+    @Test
+    void writeDebug_defaultLevel_doesNotBuildMessage() throws IOException {
+        assertFalse(LogFile.isDebugEnabled());
+
+        LogFile.writeDebug(() -> {
+            fail("Debug message built while debug logs are off");
+            return "";
+        });
+        LogFile.writeDebug("Debug log test entry %s", "argument");
+
+        assertTrue(LogFile.searchLog("Debug log test entry", 1).isEmpty());
+    }
 }
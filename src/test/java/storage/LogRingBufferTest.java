@@ -0,0 +1,65 @@
+package storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LogRingBufferTest {
+
+    /**
+     * Tests that records are refused once the buffer is full, and accepted again after it is drained.
+     */
+    @Test
+    void offer_fullBuffer_refusesUntilDrained() {
+        LogRingBuffer<String> buffer = new LogRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("log " + i));
+        }
+        assertFalse(buffer.offer("log 4"));
+
+        List<String> records = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(records));
+        assertEquals(List.of("log 0", "log 1", "log 2", "log 3"), records);
+        assertTrue(buffer.isEmpty());
+        assertTrue(buffer.offer("log 4"));
+    }
+
+    /**
+     * Tests that every record added by several threads at once is drained exactly once.
+     */
+    @Test
+    void drainTo_concurrentProducers_drainsEveryRecord() throws InterruptedException {
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(64);
+        int producerCount = 4;
+        int recordsPerProducer = 10000;
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            int first = p * recordsPerProducer;
+            Thread producer = new Thread(() -> {
+                for (int i = first; i < first + recordsPerProducer; i++) {
+                    while (!buffer.offer(i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+
+        List<Integer> records = new ArrayList<>();
+        while (records.size() < producerCount * recordsPerProducer) {
+            buffer.drainTo(records);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertEquals(producerCount * recordsPerProducer, records.stream().distinct().count());
+        assertTrue(buffer.isEmpty());
+    }
+}
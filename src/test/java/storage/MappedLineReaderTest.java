@@ -0,0 +1,59 @@
+package storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedLineReaderTest {
+    private final String testFilePath = "./test_mapped.txt";
+
+    /**
+     * Deletes the test file.
+     */
+    @AfterEach
+    void tearDown() {
+        new File(testFilePath).delete();
+    }
+
+    /**
+     * Tests that LF and CRLF line endings are both stripped, and that the last line does not need a line ending.
+     */
+    @Test
+    void nextLine_mixedLineEndings_returnsLinesWithoutEndings() throws IOException {
+        Files.write(Path.of(testFilePath), "NAME:Captain\r\nRUN:5.15:25.03:NA\n\nBMI:1.75:70.00:22.86:NA"
+                .getBytes(StandardCharsets.UTF_8));
+
+        try (MappedLineReader reader = new MappedLineReader(new File(testFilePath))) {
+            assertEquals("NAME:Captain", reader.nextLine());
+            assertEquals("RUN:5.15:25.03:NA", reader.nextLine());
+            assertEquals("", reader.nextLine());
+            assertTrue(reader.hasNextLine());
+            assertEquals("BMI:1.75:70.00:22.86:NA", reader.nextLine());
+            assertFalse(reader.hasNextLine());
+            assertNull(reader.nextLine());
+        }
+    }
+
+    /**
+     * Tests that an empty file has no lines.
+     */
+    @Test
+    void hasNextLine_emptyFile_returnsFalse() throws IOException {
+        Files.write(Path.of(testFilePath), new byte[0]);
+
+        try (MappedLineReader reader = new MappedLineReader(new File(testFilePath))) {
+            assertFalse(reader.hasNextLine());
+            assertNull(reader.nextLine());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package storage;
+
+import constants.UiConstant;
+import org.junit.jupiter.api.Test;
+
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MerkleHasherTest {
+    private static final int BLOCK_SIZE = 4;
+
+    /**
+     * Creates a hasher with a small block size and adds the given bytes to it in one go.
+     */
+    private MerkleHasher hash(byte[] bytes) throws NoSuchAlgorithmException {
+        MerkleHasher hasher = new MerkleHasher(BLOCK_SIZE);
+        hasher.update(bytes, 0, bytes.length);
+        return hasher;
+    }
+
+    /**
+     * Tests that bytes added across several calls produce the same leaves as adding them all at once.
+     */
+    @Test
+    void getLeaves_updatesAcrossBlockBoundaries_matchesSingleUpdate() throws NoSuchAlgorithmException {
+        byte[] bytes = "NAME:John Doe".getBytes();
+        MerkleHasher hasher = new MerkleHasher(BLOCK_SIZE);
+        hasher.update(bytes, 0, 3);
+        hasher.update(bytes, 3, 6);
+        hasher.update(bytes, 9, bytes.length - 9);
+
+        List<String> leaves = hasher.getLeaves();
+        assertEquals(4, leaves.size());
+        assertEquals(hash(bytes).getLeaves(), leaves);
+    }
+
+    /**
+     * Tests that changing a single byte only changes the leaf of the block holding it, and changes the root.
+     */
+    @Test
+    void findCorruptBlocks_singleByteChanged_returnsOnlyThatBlock() throws NoSuchAlgorithmException {
+        byte[] bytes = "RUN:5.00:25.00:NA".getBytes();
+        List<String> expectedLeaves = hash(bytes).getLeaves();
+        bytes[6] = '9';
+        List<String> actualLeaves = hash(bytes).getLeaves();
+
+        assertEquals(List.of(1), MerkleHasher.findCorruptBlocks(expectedLeaves, actualLeaves));
+        assertNotEquals(MerkleHasher.computeRoot(expectedLeaves), MerkleHasher.computeRoot(actualLeaves));
+    }
+
+    /**
+     * Tests that blocks missing from either side are reported as corrupted.
+     */
+    @Test
+    void findCorruptBlocks_differentBlockCounts_returnsMissingBlocks() {
+        List<String> expectedLeaves = Arrays.asList("aa", "bb", "cc");
+        List<String> actualLeaves = Arrays.asList("aa");
+
+        assertEquals(List.of(1, 2), MerkleHasher.findCorruptBlocks(expectedLeaves, actualLeaves));
+        assertEquals(List.of(1, 2), MerkleHasher.findCorruptBlocks(actualLeaves, expectedLeaves));
+    }
+
+    /**
+     * Tests that the hash file layout starts with the label, block size and root, followed by the leaves.
+     */
+    @Test
+    void toHashFileString_validBytes_writesHeaderAndLeaves() throws NoSuchAlgorithmException {
+        MerkleHasher hasher = hash("BMI:1.75:70.00".getBytes());
+        String[] lines = hasher.toHashFileString().split(System.lineSeparator());
+        List<String> leaves = new ArrayList<>(Arrays.asList(lines).subList(1, lines.length));
+
+        assertEquals(UiConstant.MERKLE_LABEL + ":" + BLOCK_SIZE + ":" + MerkleHasher.computeRoot(leaves), lines[0]);
+        assertEquals(hasher.getLeaves(), leaves);
+        assertTrue(MerkleHasher.computeRoot(new ArrayList<>()).length() > 0);
+    }
+}
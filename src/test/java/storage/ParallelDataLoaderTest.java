@@ -0,0 +1,79 @@
+package storage;
+
+import constants.UiConstant;
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import utility.CustomExceptions;
+import workouts.Gym;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelDataLoaderTest {
+
+    /**
+     * Clears the lists after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+    }
+
+    /**
+     * Tests that entries spread across several chunks are added to the lists in file order.
+     */
+    @Test
+    void load_entriesAcrossChunks_addedInFileOrder() throws Exception {
+        List<String> lines = new ArrayList<>();
+        int numberOfRuns = UiConstant.PARALLEL_LOAD_CHUNK_SIZE * 2 + 1;
+        for (int i = 0; i < numberOfRuns; i++) {
+            lines.add(String.format("RUN:%d.00:25.00:NA", i % 5 + 1));
+        }
+        lines.add("GYM:1:NA:bench press:2:4:10.0,20.0");
+        lines.add("PERIOD:01-03-2024:07-03-2024:7");
+        lines.add("PERIOD:01-04-2024:NA:1");
+
+        int loadedCount = new ParallelDataLoader(new DataFile(), lines).load();
+
+        assertEquals(lines.size(), loadedCount);
+        ArrayList<Run> runs = WorkoutLists.getRuns();
+        assertEquals(numberOfRuns, runs.size());
+        for (int i = 0; i < numberOfRuns; i++) {
+            assertEquals(String.format("%d.00", i % 5 + 1), runs.get(i).getDistance());
+        }
+        assertEquals(1, WorkoutLists.getGyms().size());
+        assertEquals(Gym.class, WorkoutLists.getWorkouts().get(numberOfRuns).getClass());
+        assertEquals(2, HealthList.getPeriodsSize());
+        assertEquals(31, HealthList.getPeriod(1).getCycleLength());
+    }
+
+    /**
+     * Tests that entries before the first invalid entry are added, and the error for it is thrown.
+     */
+    @Test
+    void load_invalidEntry_addsEarlierEntriesAndThrows() {
+        List<String> lines = new ArrayList<>();
+        lines.add("RUN:5.00:25.00:NA");
+        lines.add("RUN:abc:25.00:NA");
+        lines.add("RUN:6.00:25.00:NA");
+
+        assertThrows(CustomExceptions.InvalidInput.class, () -> new ParallelDataLoader(new DataFile(), lines).load());
+        assertEquals(1, WorkoutLists.getRuns().size());
+    }
+
+    /**
+     * Tests that small data files are not loaded in parallel.
+     */
+    @Test
+    void isParallelLoadWorthwhile_smallFile_returnsFalse() {
+        assertFalse(ParallelDataLoader.isParallelLoadWorthwhile(UiConstant.PARALLEL_LOAD_THRESHOLD - 1));
+    }
+}
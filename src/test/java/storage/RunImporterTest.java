@@ -0,0 +1,93 @@
+package storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import utility.CustomExceptions;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RunImporterTest {
+    private final Path testCsvPath = Path.of("./test_import.csv");
+    private final Path testGpxPath = Path.of("./test_import.gpx");
+
+    /**
+     * Clears the lists and deletes the test files.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        WorkoutLists.clearWorkoutsRunGym();
+        Files.deleteIfExists(testCsvPath);
+        Files.deleteIfExists(testGpxPath);
+    }
+
+    /**
+     * Tests that valid rows of a CSV file are added as runs in order, and that the header and invalid rows are
+     * skipped.
+     */
+    @Test
+    void importFile_csvFile_addsValidRowsAndSkipsInvalidRows() throws Exception {
+        Files.write(testCsvPath, List.of(
+                "date,distance,time",
+                "01-02-2024,5.00,25:00",
+                "2024-02-03,10,1:05:30",
+                ",3.5,0:20:00",
+                "01-02-2024,abc,25:00",
+                "01-02-2024,5.00",
+                "31-02-2024,5.00,25:00"));
+        RunImporter importer = new RunImporter();
+
+        importer.importFile(testCsvPath);
+
+        assertEquals(3, importer.getImportedCount());
+        assertEquals(3, importer.getSkippedCount());
+        List<Run> runs = WorkoutLists.getRuns();
+        assertEquals("RUN:5.00:25.00:01-02-2024", runs.get(0).toFileString());
+        assertEquals("RUN:10.00:01.05.30:03-02-2024", runs.get(1).toFileString());
+        assertEquals("RUN:3.50:20.00:NA", runs.get(2).toFileString());
+    }
+
+    /**
+     * Tests that each track of a GPX file is added as a run with the distance along its points and the time between
+     * its first and last timestamps, and that a track without timestamps is skipped.
+     */
+    @Test
+    void importFile_gpxFile_addsOneRunPerTrack() throws Exception {
+        Files.writeString(testGpxPath, "<?xml version=\"1.0\"?>"
+                + "<gpx version=\"1.1\" xmlns=\"http://www.topografix.com/GPX/1/1\">"
+                + "<metadata><time>2024-01-01T00:00:00Z</time></metadata>"
+                + "<trk><trkseg>"
+                + "<trkpt lat=\"0.0\" lon=\"0.0\"><time>2024-03-02T08:00:00Z</time></trkpt>"
+                + "<trkpt lat=\"0.0\" lon=\"0.04497\"><time>2024-03-02T08:25:00Z</time></trkpt>"
+                + "</trkseg></trk>"
+                + "<trk><trkseg><trkpt lat=\"0.0\" lon=\"0.0\"/></trkseg></trk>"
+                + "</gpx>");
+        RunImporter importer = new RunImporter();
+
+        importer.importFile(testGpxPath);
+
+        assertEquals(1, importer.getImportedCount());
+        assertEquals(1, importer.getSkippedCount());
+        Run run = WorkoutLists.getRuns().get(0);
+        assertEquals("5.00", run.getDistance());
+        assertEquals("25:00", run.getTimes());
+    }
+
+    /**
+     * Tests that a GPX file that is not well-formed is rejected without adding any runs.
+     */
+    @Test
+    void importFile_malformedGpxFile_throwsFileReadError() throws IOException {
+        Files.writeString(testGpxPath, "<gpx><trk><trkseg>");
+
+        assertThrows(CustomExceptions.FileReadError.class, () -> new RunImporter().importFile(testGpxPath));
+        assertEquals(0, WorkoutLists.getRunSize());
+    }
+}
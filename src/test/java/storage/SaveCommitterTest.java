@@ -0,0 +1,247 @@
+package storage;
+
+import constants.UiConstant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SaveCommitterTest {
+    private final String testDataFilePath = "./test_commit_data.txt";
+    private final String testHashFilePath = "./test_commit_hash.txt";
+    private final String originalDataFilePath = "./pulsepilot_data.txt";
+    private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final String testJournalFilePath = "./test_commit_journal.txt";
+    private final String originalJournalFilePath = "./pulsepilot_journal.txt";
+
+    /**
+     * Sets the file paths to the test files.
+     */
+    @BeforeEach
+    void setUp() {
+        UiConstant.dataFilePath = testDataFilePath;
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.journalFilePath = testJournalFilePath;
+    }
+
+    /**
+     * Deletes the test files and resets the file paths.
+     */
+    @AfterEach
+    void tearDown() {
+        for (String path : new String[]{testDataFilePath, testHashFilePath, testJournalFilePath}) {
+            new File(path).delete();
+            new File(path + UiConstant.TEMP_FILE_SUFFIX).delete();
+        }
+        UiConstant.dataFilePath = originalDataFilePath;
+        UiConstant.hashFilePath = originalHashFilePath;
+        UiConstant.journalFilePath = originalJournalFilePath;
+    }
+
+    /**
+     * Writes the given contents as the data file, with the contents reversed as its hash.
+     */
+    private SaveCommitter.SaveWriter writerOf(String contents) {
+        return dataFile -> {
+            dataFile.write(contents.getBytes(StandardCharsets.UTF_8));
+            return new StringBuilder(contents).reverse().toString();
+        };
+    }
+
+    /**
+     * Tests that a save moves both files into place and leaves no temporary files behind.
+     */
+    @Test
+    void save_validWriter_writesBothFilesWithoutTempFiles() throws IOException {
+        new SaveCommitter().save(writerOf("NAME:John Doe"));
+
+        assertEquals("NAME:John Doe", Files.readString(Path.of(testDataFilePath)));
+        assertEquals("eoD nhoJ:EMAN", Files.readString(Path.of(testHashFilePath)));
+        assertFalse(new File(testDataFilePath + UiConstant.TEMP_FILE_SUFFIX).exists());
+        assertFalse(new File(testHashFilePath + UiConstant.TEMP_FILE_SUFFIX).exists());
+    }
+
+    /**
+     * Tests that a failed save leaves the previous data file and hash file untouched.
+     */
+    @Test
+    void save_failingWriter_keepsPreviousFiles() throws IOException {
+        SaveCommitter committer = new SaveCommitter();
+        committer.save(writerOf("NAME:John Doe"));
+
+        assertThrows(IOException.class, () -> committer.save(dataFile -> {
+            dataFile.write("NAME:Jane".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("disk full");
+        }));
+        assertEquals("NAME:John Doe", Files.readString(Path.of(testDataFilePath)));
+        assertEquals("eoD nhoJ:EMAN", Files.readString(Path.of(testHashFilePath)));
+    }
+
+    /**
+     * Tests that a save interrupted after the data file was moved into place is finished by moving the hash file.
+     */
+    @Test
+    void recoverInterruptedSave_onlyTempHashLeft_movesHashIntoPlace() throws IOException {
+        Files.writeString(Path.of(testDataFilePath), "NAME:Jane");
+        Files.writeString(Path.of(testHashFilePath), "old hash");
+        Files.writeString(Path.of(testHashFilePath + UiConstant.TEMP_FILE_SUFFIX), "new hash");
+
+        SaveCommitter.recoverInterruptedSave();
+
+        assertEquals("new hash", Files.readString(Path.of(testHashFilePath)));
+        assertFalse(new File(testHashFilePath + UiConstant.TEMP_FILE_SUFFIX).exists());
+    }
+
+    /**
+     * Tests that a save interrupted before the data file was moved into place is discarded.
+     */
+    @Test
+    void recoverInterruptedSave_bothTempFilesLeft_keepsPreviousFiles() throws IOException {
+        Files.writeString(Path.of(testDataFilePath), "NAME:John Doe");
+        Files.writeString(Path.of(testHashFilePath), "old hash");
+        Files.writeString(Path.of(testDataFilePath + UiConstant.TEMP_FILE_SUFFIX), "NAME:Jane");
+        Files.writeString(Path.of(testHashFilePath + UiConstant.TEMP_FILE_SUFFIX), "new hash");
+
+        SaveCommitter.recoverInterruptedSave();
+
+        assertEquals("NAME:John Doe", Files.readString(Path.of(testDataFilePath)));
+        assertEquals("old hash", Files.readString(Path.of(testHashFilePath)));
+        assertFalse(new File(testDataFilePath + UiConstant.TEMP_FILE_SUFFIX).exists());
+        assertFalse(new File(testHashFilePath + UiConstant.TEMP_FILE_SUFFIX).exists());
+    }
+
+    /**
+     * Tests that saves requested while another save is being written are grouped into one write of the latest save.
+     */
+    @Test
+    void save_savesWhileWriting_groupsIntoOneWrite() throws Exception {
+        SaveCommitter committer = new SaveCommitter();
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        AtomicInteger writeCount = new AtomicInteger();
+
+        Thread first = new Thread(() -> {
+            try {
+                committer.save(dataFile -> {
+                    writeCount.incrementAndGet();
+                    firstWriteStarted.countDown();
+                    try {
+                        releaseFirstWrite.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "first";
+                });
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        first.start();
+        firstWriteStarted.await();
+
+        List<Thread> waiting = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            String contents = "NAME:User " + i;
+            Thread thread = new Thread(() -> {
+                try {
+                    committer.save(dataFile -> {
+                        writeCount.incrementAndGet();
+                        dataFile.write(contents.getBytes(StandardCharsets.UTF_8));
+                        return contents;
+                    });
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            thread.start();
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            waiting.add(thread);
+        }
+
+        releaseFirstWrite.countDown();
+        first.join();
+        for (Thread thread : waiting) {
+            thread.join();
+        }
+
+        assertEquals(2, writeCount.get());
+        assertEquals("NAME:User 3", Files.readString(Path.of(testDataFilePath)));
+    }
+
+    /**
+     * Tests that a save that keeps the journal is not grouped with a waiting save that starts it again, so the
+     * journal is still started again.
+     */
+    @Test
+    void save_rebaseThenPlainSaveWhileWriting_keepsRebase() throws Exception {
+        SaveCommitter committer = new SaveCommitter();
+        CountDownLatch firstWriteStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+        AtomicInteger rebaseCount = new AtomicInteger();
+
+        Thread first = new Thread(() -> {
+            try {
+                committer.save(dataFile -> {
+                    firstWriteStarted.countDown();
+                    try {
+                        releaseFirstWrite.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "first";
+                });
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        first.start();
+        firstWriteStarted.await();
+
+        List<Thread> waiting = new ArrayList<>();
+        for (boolean isRebase : new boolean[]{true, false}) {
+            String contents = isRebase ? "NAME:Rebased" : "NAME:Plain";
+            SaveCommitter.JournalRebase rebase = !isRebase ? null : (hashFileString, moveFiles) -> {
+                rebaseCount.incrementAndGet();
+                Files.writeString(Path.of(testJournalFilePath + UiConstant.TEMP_FILE_SUFFIX), hashFileString);
+                moveFiles.run();
+            };
+            Thread thread = new Thread(() -> {
+                try {
+                    committer.save(writerOf(contents), rebase);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            thread.start();
+            while (thread.getState() != Thread.State.WAITING) {
+                Thread.sleep(1);
+            }
+            waiting.add(thread);
+        }
+
+        releaseFirstWrite.countDown();
+        first.join();
+        for (Thread thread : waiting) {
+            thread.join();
+        }
+
+        assertEquals(1, rebaseCount.get());
+        assertEquals("desabeR:EMAN", Files.readString(Path.of(testJournalFilePath)));
+        assertEquals("NAME:Plain", Files.readString(Path.of(testDataFilePath)));
+    }
+}
@@ -0,0 +1,64 @@
+package storage;
+
+import constants.UiConstant;
+import org.junit.jupiter.api.Test;
+import utility.CustomExceptions;
+import utility.Filters.DataType;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SegmentManifestTest {
+
+    /**
+     * Tests that a manifest is read back with the same segments and order of workouts it was written with.
+     */
+    @Test
+    void parse_formattedManifest_returnsSameManifest() throws CustomExceptions.InvalidInput {
+        SegmentManifest manifest = new SegmentManifest(UiConstant.YEAR_SEGMENTS, "John Doe");
+        Map<DataType, Integer> counts = new EnumMap<>(DataType.class);
+        counts.put(DataType.BMI, 1);
+        counts.put(DataType.RUN, 2);
+        manifest.addSegment(new SegmentManifest.Segment("2024", "2024-0123456789abcdef.txt", "01-02-2024",
+                "15-03-2024", "0123456789abcdef", counts));
+        manifest.appendWorkout("2024");
+        manifest.appendWorkout("2024");
+        manifest.appendWorkout("undated");
+
+        SegmentManifest parsed = SegmentManifest.parse(manifest.toFileString());
+
+        assertEquals(manifest.toFileString(), parsed.toFileString());
+        assertEquals("John Doe", parsed.getName());
+        assertEquals(3, parsed.getSegments().get("2024").getTotalCount());
+        assertEquals(List.of("2024", "undated"), parsed.getOrderKeys());
+        assertEquals(List.of(2, 1), parsed.getOrderCounts());
+    }
+
+    /**
+     * Tests that contents that are not a manifest are rejected.
+     */
+    @Test
+    void parse_notManifest_throwsInvalidInput() {
+        assertThrows(CustomExceptions.InvalidInput.class, () -> SegmentManifest.parse("NAME:John Doe"));
+        assertThrows(CustomExceptions.InvalidInput.class, () -> SegmentManifest.parse(
+                "MANIFEST:1:year" + System.lineSeparator() + "NAME:John Doe" + System.lineSeparator() + "RUN:1"));
+    }
+
+    /**
+     * Tests that entries are placed in yearly or monthly segments by their date, and undated entries apart.
+     */
+    @Test
+    void findSegmentKey_datedAndUndatedEntries_returnsCorrectKeys() {
+        String[] run = "RUN:5.00:25.00:01-02-2024".split(":");
+        String date = SegmentManifest.findDate(DataType.RUN, run);
+
+        assertEquals("2024", SegmentManifest.findSegmentKey(UiConstant.YEAR_SEGMENTS, date));
+        assertEquals("2024-02", SegmentManifest.findSegmentKey(UiConstant.MONTH_SEGMENTS, date));
+        assertEquals(UiConstant.UNDATED_SEGMENT_KEY, SegmentManifest.findSegmentKey(UiConstant.YEAR_SEGMENTS,
+                SegmentManifest.findDate(DataType.RUN, "RUN:5.00:25.00:NA".split(":"))));
+    }
+}
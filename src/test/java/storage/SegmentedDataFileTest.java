@@ -0,0 +1,198 @@
+package storage;
+
+import constants.UiConstant;
+import health.HealthList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import utility.Filters.DataType;
+import workouts.Run;
+import workouts.WorkoutLists;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SegmentedDataFileTest {
+    private final String testDataFilePath = "./test_segmented_data.txt";
+    private final String testHashFilePath = "./test_segmented_hash.txt";
+    private final String testSegmentDirectoryPath = "./test_segments";
+    private final String originalDataFilePath = "./pulsepilot_data.txt";
+    private final String originalHashFilePath = "./pulsepilot_hash.txt";
+    private final String originalSegmentDirectoryPath = "./pulsepilot_segments";
+    private final int originalRecentHistoryCount = UiConstant.recentHistoryCount;
+
+    /**
+     * Sets the file paths to the test files, then loads a text data file spanning two years and saves it in the
+     * segmented layout. The run dated 2023 is added after the run dated 2024.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        UiConstant.dataFilePath = testDataFilePath;
+        UiConstant.saveFile = new File(testDataFilePath);
+        UiConstant.hashFilePath = testHashFilePath;
+        UiConstant.segmentDirectoryPath = testSegmentDirectoryPath;
+        UiConstant.recentHistoryCount = 0;
+
+        Files.write(Path.of(testDataFilePath), List.of(
+                "NAME:John Doe",
+                "BMI:1.75:70.00:22.86:15-03-2024",
+                "BMI:1.75:71.00:23.18:10-03-2023",
+                "RUN:1.00:25.00:01-02-2024",
+                "RUN:2.00:25.00:01-02-2023",
+                "GYM:1:05-02-2024:bench press:2:4:10.0,20.0",
+                "RUN:3.00:25.00:NA"));
+        DataFile dataFile = new DataFile();
+        Files.writeString(Path.of(testHashFilePath), dataFile.generateFileHash(new File(testDataFilePath)));
+        dataFile.readDataFile();
+
+        UiConstant.storageLayout = UiConstant.SEGMENTED_LAYOUT;
+        saveLists(dataFile);
+        clearLists();
+    }
+
+    /**
+     * Clears the lists and deferred entries, deletes the test files and resets the settings.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        clearLists();
+        new File(testDataFilePath).delete();
+        new File(testHashFilePath).delete();
+        for (Path segmentFile : listSegmentFiles()) {
+            Files.delete(segmentFile);
+        }
+        Files.deleteIfExists(Path.of(testSegmentDirectoryPath));
+        UiConstant.dataFilePath = originalDataFilePath;
+        UiConstant.saveFile = new File(originalDataFilePath);
+        UiConstant.hashFilePath = originalHashFilePath;
+        UiConstant.segmentDirectoryPath = originalSegmentDirectoryPath;
+        UiConstant.storageLayout = UiConstant.SINGLE_FILE_LAYOUT;
+        UiConstant.recentHistoryCount = originalRecentHistoryCount;
+    }
+
+    private void saveLists(DataFile dataFile) throws Exception {
+        dataFile.saveDataFile(DataFile.userName, HealthList.getBmis(), HealthList.getAppointments(),
+                HealthList.getPeriods(), WorkoutLists.getWorkouts());
+    }
+
+    private void clearLists() {
+        DeferredHistory.clear();
+        WorkoutLists.clearWorkoutsRunGym();
+        HealthList.clearHealthLists();
+    }
+
+    private List<Path> listSegmentFiles() throws IOException {
+        List<Path> segmentFiles = new ArrayList<>();
+        if (Files.isDirectory(Path.of(testSegmentDirectoryPath))) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(testSegmentDirectoryPath))) {
+                files.forEach(segmentFiles::add);
+            }
+        }
+        return segmentFiles;
+    }
+
+    private Path findSegmentFile(String key) throws IOException {
+        for (Path segmentFile : listSegmentFiles()) {
+            if (segmentFile.getFileName().toString().startsWith(key + "-")) {
+                return segmentFile;
+            }
+        }
+        return null;
+    }
+
+    private List<String> getRunDistances() {
+        List<String> distances = new ArrayList<>();
+        for (Run run : WorkoutLists.getRuns()) {
+            distances.add(run.getDistance());
+        }
+        return distances;
+    }
+
+    /**
+     * Tests that the data file is saved as a manifest with one segment per year, and that loading it back keeps
+     * every entry with the workouts in the order they were added.
+     */
+    @Test
+    void saveDataFile_segmentedLayout_writesSegmentsThatLoadBackInOrder() throws Exception {
+        assertTrue(SegmentedDataFile.isManifestFile(new File(testDataFilePath)));
+        assertEquals(3, listSegmentFiles().size());
+
+        new DataFile().readDataFile();
+
+        assertEquals("John Doe", DataFile.userName);
+        assertEquals(2, HealthList.getBmisSize());
+        assertEquals(List.of("1.00", "2.00", "3.00"), getRunDistances());
+        assertEquals(1, WorkoutLists.getGyms().size());
+        assertEquals(WorkoutLists.getGyms().get(0), WorkoutLists.getWorkouts().get(2));
+    }
+
+    /**
+     * Tests that saving again only writes the segments whose entries have changed.
+     */
+    @Test
+    void saveDataFile_oneSegmentChanged_rewritesOnlyThatSegment() throws Exception {
+        DataFile dataFile = new DataFile();
+        dataFile.readDataFile();
+        Path olderSegment = findSegmentFile("2023");
+        Path newerSegment = findSegmentFile("2024");
+        long olderModifiedTime = olderSegment.toFile().lastModified() - 60000;
+        olderSegment.toFile().setLastModified(olderModifiedTime);
+
+        new Run("30:00", "4.00", "01-03-2024");
+        saveLists(dataFile);
+
+        assertEquals(olderSegment, findSegmentFile("2023"));
+        assertEquals(olderModifiedTime, olderSegment.toFile().lastModified());
+        assertNotEquals(newerSegment, findSegmentFile("2024"));
+    }
+
+    /**
+     * Tests that a corrupted segment only loses its own entries.
+     */
+    @Test
+    void readDataFile_corruptedSegment_keepsOtherSegments() throws Exception {
+        Path olderSegment = findSegmentFile("2023");
+        Files.writeString(olderSegment, "RUN:9.00:25.00:01-02-2023");
+
+        new DataFile().readDataFile();
+
+        assertEquals(1, HealthList.getBmisSize());
+        assertEquals(List.of("1.00", "3.00"), getRunDistances());
+        assertEquals(1, WorkoutLists.getGyms().size());
+        assertFalse(DeferredHistory.isPending());
+    }
+
+    /**
+     * Tests that only the newest segments are read at first, and that older segments are read only for the types
+     * of entry they hold.
+     */
+    @Test
+    void readDataFile_recentEntriesOnly_defersOlderSegmentsByType() throws Exception {
+        UiConstant.recentHistoryCount = 1;
+
+        new DataFile().readDataFile();
+
+        assertTrue(DeferredHistory.isPending());
+        assertEquals(1, HealthList.getBmisSize());
+        assertEquals(1, DeferredHistory.getDeferredCount(DataType.BMI));
+        assertEquals(List.of("1.00", "3.00"), getRunDistances());
+
+        DeferredHistory.load(DataType.GYM);
+        assertTrue(DeferredHistory.isPending());
+
+        DeferredHistory.load(DataType.BMI);
+        assertFalse(DeferredHistory.isPending());
+        assertEquals(2, HealthList.getBmisSize());
+        assertEquals(List.of("1.00", "2.00", "3.00"), getRunDistances());
+    }
+}
@@ -0,0 +1,57 @@
+package utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommandTokenizerTest {
+    private final CommandTokenizer tokenizer = new CommandTokenizer();
+
+    /**
+     * Tests that the command word and flag values are read from one pass over a command.
+     */
+    @Test
+    void tokenize_runCommand_readsCommandAndFlags() {
+        tokenizer.tokenize("workout /e:run /d:5.00 /t:25:00 /date:19-03-2024");
+
+        assertEquals("WORKOUT", tokenizer.getCommandWord());
+        assertTrue(tokenizer.isCommandWord("workout"));
+        assertFalse(tokenizer.isCommandWord("work"));
+        assertEquals(4, tokenizer.getSlashCount());
+        assertEquals("run", tokenizer.getValue("/e:"));
+        assertEquals("25:00", tokenizer.getValue("/t:"));
+        assertEquals("19-03-2024", tokenizer.getValue("/date:"));
+        assertTrue(tokenizer.hasFlag("/d:"));
+        assertFalse(tokenizer.hasFlag("/item:"));
+    }
+
+    /**
+     * Tests that missing flags, flags with no value and repeated flags are read like the earlier substring search.
+     */
+    @Test
+    void getValue_edgeCases_matchesSubstringSearch() {
+        tokenizer.tokenize("history /item:");
+        assertEquals("", tokenizer.getValue("/item:"));
+        assertEquals("", tokenizer.getValue("/e:"));
+
+        tokenizer.tokenize("delete /item: run /item:gym /index:");
+        assertEquals("run", tokenizer.getValue("/item:"));
+        assertEquals("", tokenizer.getValue("/index:"));
+    }
+
+    /**
+     * Tests that the text before the first flag is kept, and that commands with many flags are recorded in full.
+     */
+    @Test
+    void tokenize_manyFlags_recordsEveryFlag() {
+        tokenizer.tokenize("Bench Press /s:2 /r:4 /w:10,20");
+        assertEquals("Bench Press ", tokenizer.getTextBeforeFlags());
+
+        tokenizer.tokenize("a/1/2/3/4/5/6/7/8/9/10:x");
+        assertEquals(10, tokenizer.getSlashCount());
+        assertEquals("x", tokenizer.getValue("/10:"));
+        assertEquals("A/1/2/3/4/5/6/7/8/9/10:X", tokenizer.getCommandWord());
+    }
+}
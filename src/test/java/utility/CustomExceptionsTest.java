@@ -0,0 +1,83 @@
+package utility;
+
+import org.junit.jupiter.api.Test;
+
+import constants.ErrorConstant;
+import storage.LogFile;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomExceptionsTest {
+    static LogFile logTest = LogFile.getInstance();
+
+    /**
+     * Tests that the error for a message is built once and has the same message as a new one.
+     */
+    @Test
+    void of_sameMessage_reusesErrorWithSameMessage() {
+        CustomExceptions.InvalidInput first = CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_DATE_ERROR);
+        CustomExceptions.InvalidInput second = CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_DATE_ERROR);
+
+        assertSame(first, second);
+        assertEquals(new CustomExceptions.InvalidInput(ErrorConstant.INVALID_DATE_ERROR).getMessage(),
+                first.getMessage());
+        assertNotSame(first, CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_YEAR_ERROR));
+
+        CustomExceptions.InsufficientInput insufficient =
+                CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR);
+        assertSame(insufficient,
+                CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR));
+        assertEquals(new CustomExceptions.InsufficientInput(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR)
+                .getMessage(), insufficient.getMessage());
+    }
+
+    /**
+     * Tests that retrieving a cached error again adds nothing to the log at the default level.
+     */
+    @Test
+    void of_cachedError_doesNotGrowLog() throws IOException {
+        CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_DATE_ERROR);
+        CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR);
+        LogFile.writeLog("Cached error test marker", true);
+
+        for (int i = 0; i < 100; i++) {
+            CustomExceptions.InvalidInput.of(ErrorConstant.INVALID_DATE_ERROR);
+            CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR);
+        }
+
+        List<String> lastLines = LogFile.tailLog(1);
+        assertTrue(lastLines.get(0).contains("Cached error test marker"));
+    }
+
+    /**
+     * Tests that rejected inputs are thrown without filling in a stack trace.
+     */
+    @Test
+    void invalidInput_thrown_hasNoStackTrace() {
+        assertEquals(0, new CustomExceptions.InvalidInput(ErrorConstant.INVALID_DATE_ERROR).getStackTrace().length);
+        assertEquals(0, CustomExceptions.InsufficientInput.of(ErrorConstant.INSUFFICIENT_DELETE_PARAMETERS_ERROR)
+                .getStackTrace().length);
+    }
+
+    /**
+     * Tests that an error keeps the message it was raised with apart from the heading and details it is shown with.
+     */
+    @Test
+    void getErrorMessage_raisedWithDetails_returnsErrorMessageOnly() {
+        CustomExceptions.InvalidInput error = new CustomExceptions.InvalidInput(
+                ErrorConstant.INVALID_START_DATE_ERROR, ErrorConstant.INVALID_DATE_ERROR);
+
+        assertEquals(ErrorConstant.INVALID_START_DATE_ERROR, error.getErrorMessage());
+        assertEquals(ErrorConstant.COLOR_HEADING + ErrorConstant.INVALID_INPUT_HEADER
+                + ErrorConstant.INVALID_START_DATE_ERROR + ErrorConstant.INVALID_DATE_ERROR
+                + ErrorConstant.COLOR_ENDING, error.getMessage());
+        assertEquals(ErrorConstant.LOG_READ_ERROR,
+                new CustomExceptions.FileReadError(ErrorConstant.LOG_READ_ERROR).getErrorMessage());
+    }
+}
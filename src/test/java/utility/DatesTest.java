@@ -0,0 +1,43 @@
+package utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DatesTest {
+
+    /**
+     * Tests that the same day is returned as the same object whether parsed from text or read as an epoch day.
+     */
+    @Test
+    void parseDate_sameDay_returnsSameInstance() {
+        LocalDate parsed = Dates.parseDate("08-03-2024");
+
+        assertEquals(LocalDate.of(2024, 3, 8), parsed);
+        assertSame(parsed, Dates.parseDate("08-03-2024"));
+        assertSame(parsed, Dates.ofEpochDay(parsed.toEpochDay()));
+    }
+
+    /**
+     * Tests that dates outside the cached range are still parsed and formatted.
+     */
+    @Test
+    void formatDate_outsideCachedRange_formatsDate() {
+        assertEquals("01-01-1900", Dates.formatDate(Dates.parseDate("01-01-1900")));
+        assertEquals("08-03-2024", Dates.formatDate(LocalDate.of(2024, 3, 8)));
+        assertSame(Dates.formatDate(LocalDate.of(2024, 3, 8)), Dates.formatDate(LocalDate.of(2024, 3, 8)));
+    }
+
+    /**
+     * Tests that text that is not a date is rejected and not cached.
+     */
+    @Test
+    void parseDate_invalidText_throwsException() {
+        assertThrows(DateTimeParseException.class, () -> Dates.parseDate("2024-03-08"));
+    }
+}
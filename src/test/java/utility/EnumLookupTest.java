@@ -0,0 +1,77 @@
+package utility;
+
+import org.junit.jupiter.api.Test;
+
+import utility.Filters.Command;
+import utility.Filters.DataType;
+import utility.Filters.HistoryAndLatestFilters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class EnumLookupTest {
+
+    /**
+     * Tests that every constant is found from its name in any case and with surrounding whitespace.
+     */
+    @Test
+    void find_everyConstant_matchesValueOf() {
+        for (Command command : Command.values()) {
+            assertEquals(command, Command.find(command.name()));
+            assertEquals(command, Command.find(command.name().toLowerCase()));
+            assertEquals(command, Command.find("  " + command.name() + "\t"));
+        }
+        for (HistoryAndLatestFilters filter : HistoryAndLatestFilters.values()) {
+            assertEquals(filter, HistoryAndLatestFilters.find(filter.name().toLowerCase()));
+        }
+        assertEquals(Command.HISTORY, Command.find("HiStOrY"));
+    }
+
+    /**
+     * Tests that names that are not constants return null instead of throwing.
+     */
+    @Test
+    void find_unknownName_returnsNull() {
+        assertNull(Command.find(""));
+        assertNull(Command.find("   "));
+        assertNull(Command.find("exi"));
+        assertNull(Command.find("exits"));
+        assertNull(Command.find("workouts"));
+        assertNull(Command.find("a very long command that is not recognised"));
+        assertNull(DataType.find("run gym"));
+    }
+
+    /**
+     * Tests that a constant is found from part of a string, such as the label of an entry or the first word of a
+     * command.
+     */
+    @Test
+    void find_region_readsOnlyThatPart() {
+        String line = "APPOINTMENT:19-03-2024:14.00:checkup";
+        assertEquals(DataType.APPOINTMENT, DataType.find(line, 0, line.indexOf(':')));
+        assertEquals(DataType.RUN, DataType.find(" run :5.00", 0, 5));
+        assertNull(DataType.find("RUNNER:5.00", 0, 6));
+        assertNull(DataType.find(line, 0, 0));
+
+        String command = "delete /item:run /index:1";
+        assertEquals(Command.DELETE, Command.find(command, 0, command.indexOf(' ')));
+        assertEquals(Command.DELETE, new CommandTokenizer().tokenize(command).findCommand());
+        assertNull(new CommandTokenizer().tokenize("del /item:run").findCommand());
+    }
+
+    /**
+     * Tests that labels read from a data file are only found when written exactly, while user input stays lenient.
+     */
+    @Test
+    void findExact_labelNotExact_returnsNull() {
+        String line = "APPOINTMENT:19-03-2024:14.00:checkup";
+        assertEquals(DataType.APPOINTMENT, DataType.findExact(line, 0, line.indexOf(':')));
+        assertEquals(DataType.RUN, DataType.findExact("RUN"));
+        assertNull(DataType.findExact(" RUN:5.00", 0, 4));
+        assertNull(DataType.findExact("Run:5.00", 0, 3));
+        assertNull(DataType.findExact("run"));
+        assertNull(DataType.findExact("RUNNER:5.00", 0, 6));
+        assertNull(DataType.findExact(line, 0, 0));
+        assertEquals(DataType.RUN, DataType.find("Run"));
+    }
+}
@@ -0,0 +1,52 @@
+package utility;
+
+import constants.UiConstant;
+import constants.WorkoutConstant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InputPatternsTest {
+    private static final List<String> INPUTS = List.of("", " ", "0", "1", "10", "007", "12.34", "1.2", "1.234",
+            ".12", "12.", "12.345", "1,2", "1.5,2.25,3.125", "1.5,", ",1", "1.2345", "1..2", "08-03-2024",
+            "8-03-2024", "08-03-24", "08/03/2024", "2024-03-08", "2024-3-08", "23:34", "2:34", "23:34:00",
+            "23:34:0", "ab", "Bench Press", "bench\tpress", "John Doe 2", "Doctor's \"visit\"", "a-b", "\u00e4",
+            "\u0661\u0662:\u0663\u0664", "12:34\n", "12.34\n", "x12.34");
+
+    /**
+     * Tests that each hand-written matcher gives the same result as the regular expression it replaces.
+     */
+    @Test
+    void matchers_sampleInputs_agreeWithRegex() {
+        assertAgrees(UiConstant.VALID_DATE_REGEX, InputPatterns::isDate);
+        assertAgrees(WorkoutConstant.ISO_DATE_REGEX, InputPatterns::isIsoDate);
+        assertAgrees(UiConstant.VALID_TIME_REGEX, InputPatterns::isTime);
+        assertAgrees(UiConstant.VALID_TIME_WITH_HOURS_REGEX, InputPatterns::isTimeWithHours);
+        assertAgrees(UiConstant.VALID_TWO_DP_NUMBER_REGEX, InputPatterns::isTwoDpNumber);
+        assertAgrees(UiConstant.VALID_POSITIVE_INTEGER_REGEX, InputPatterns::isPositiveInteger);
+        assertAgrees(UiConstant.VALID_APPOINTMENT_DESCRIPTION_REGEX, InputPatterns::isAppointmentDescription);
+        assertAgrees(UiConstant.VALID_GYM_STATION_NAME_REGEX, InputPatterns::isGymStationName);
+        assertAgrees(UiConstant.VALID_USERNAME_REGEX, InputPatterns::isUsername);
+        assertAgrees(UiConstant.VALID_WEIGHTS_ARRAY_REGEX, InputPatterns::isWeightsArray);
+    }
+
+    /**
+     * Tests that digits are read at the offsets of a date.
+     */
+    @Test
+    void readDigits_date_returnsParts() {
+        assertEquals(8, InputPatterns.readTwoDigits("08-03-2024", UiConstant.DATE_DAY_OFFSET));
+        assertEquals(3, InputPatterns.readTwoDigits("08-03-2024", UiConstant.DATE_MONTH_OFFSET));
+        assertEquals(2024, InputPatterns.readFourDigits("08-03-2024", UiConstant.DATE_YEAR_OFFSET));
+    }
+
+    private void assertAgrees(String regex, Predicate<String> matcher) {
+        for (String input : INPUTS) {
+            assertTrue(input.matches(regex) == matcher.test(input), regex + " disagrees on \"" + input + "\"");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package utility;
 
+import constants.ErrorConstant;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -57,6 +58,37 @@ class ParserTest {
         assertNull(result);
     }
 
+    /**
+     * Tests the behaviour of parseLogQuery when both flags are given.
+     * Expects the line count and search text returned.
+     */
+    @Test
+    void parseLogQuery_tailAndFind_returnCountAndText() {
+        String[] result = parser.parseLogQuery("log /tail:50 /find:Added Run");
+        assertArrayEquals(new String[]{"50", "Added Run"}, result);
+    }
+
+    /**
+     * Tests the behaviour of parseLogQuery when no flags are given.
+     * Expects the default line count and empty search text returned.
+     */
+    @Test
+    void parseLogQuery_noFlags_returnDefaultCount() {
+        String[] result = parser.parseLogQuery("log");
+        assertArrayEquals(new String[]{"20", ""}, result);
+    }
+
+    /**
+     * Tests the behaviour of parseLogQuery when the line count is not a positive integer.
+     * Expects null returned and the error printed.
+     */
+    @Test
+    void parseLogQuery_invalidCount_returnNull() {
+        assertNull(parser.parseLogQuery("log /tail:0"));
+        assertNull(parser.parseLogQuery("log /tail:ten"));
+        assertTrue(errContent.toString().contains(ErrorConstant.INVALID_LOG_LINE_COUNT_ERROR));
+    }
+
     /**
      * Tests the behaviour of parseFormattedDate when valid LocalDate variable is passed.
      * Expects correct string date returned.